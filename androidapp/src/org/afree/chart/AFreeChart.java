@@ -41,6 +41,8 @@
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
  * 14-Jan-2011 : renamed method name
  * 14-Jan-2011 : Updated API docs
+ * 18-Oct-2026 : Pin the dataset snapshots while the plot is drawn
+ * 18-Oct-2026 : Restored the progress listeners
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2000-2009, by Object Refinery Limited and Contributors.
@@ -167,6 +169,8 @@
 
 package org.afree.chart;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -190,7 +194,10 @@ import org.afree.data.Range;
 import org.afree.chart.entity.EntityCollection;
 import org.afree.chart.entity.AFreeChartEntity;
 import org.afree.chart.event.ChartChangeEvent;
-//import org.afree.chart.event.EventListenerList;
+import org.afree.chart.event.ChartChangeListener;
+import org.afree.chart.event.ChartProgressEvent;
+import org.afree.chart.event.ChartProgressListener;
+import org.afree.chart.event.EventListenerList;
 import org.afree.chart.event.PlotChangeEvent;
 import org.afree.chart.event.PlotChangeListener;
 import org.afree.chart.event.TitleChangeEvent;
@@ -289,7 +296,10 @@ public class AFreeChart implements Drawable, TitleChangeListener,
     private transient PaintType backgroundPaintType;
 
     /** Storage for registered change listeners. */
-//    private transient EventListenerList changeListeners;
+    private transient EventListenerList changeListeners;
+
+    /** Storage for registered progress listeners. */
+    private transient EventListenerList progressListeners;
     
     /**
      * A flag that can be used to enable/disable notification of chart change
@@ -325,8 +335,8 @@ public class AFreeChart implements Drawable, TitleChangeListener,
             throw new NullPointerException("Null 'plot' argument.");
         }
         // create storage for listeners...
-//        this.progressListeners = new EventListenerList();
-//        this.changeListeners = new EventListenerList();
+        this.progressListeners = new EventListenerList();
+        this.changeListeners = new EventListenerList();
         this.notify = true; // default is to notify listeners when the
 
         this.borderVisible = true;
@@ -335,6 +345,7 @@ public class AFreeChart implements Drawable, TitleChangeListener,
         this.borderEffect = DEFAULT_BORDER_EFFECT;
 
         this.plot = plot;
+        plot.addChangeListener(this);
 
         this.subtitles = new ArrayList();
 
@@ -920,6 +931,8 @@ public class AFreeChart implements Drawable, TitleChangeListener,
      */
     public void draw(Canvas canvas, RectShape chartArea, PointF anchor,
             ChartRenderingInfo info) {
+        notifyListeners(new ChartProgressEvent(this, this,
+                ChartProgressEvent.DRAWING_STARTED, 0));
         EntityCollection entities = null;
         
         // record the chart area, if info is requested...
@@ -987,10 +1000,19 @@ public class AFreeChart implements Drawable, TitleChangeListener,
         if (info != null) {
             plotInfo = info.getPlotInfo();
         }
-        this.plot.draw(canvas, plotArea, anchor, null, plotInfo);
+        this.plot.pinDatasetSnapshots();
+        try {
+            this.plot.draw(canvas, plotArea, anchor, null, plotInfo);
+        }
+        finally {
+            this.plot.releaseDatasetSnapshots();
+        }
 
         canvas.clipRect(savedClip, Op.REPLACE);
 
+        notifyListeners(new ChartProgressEvent(this, this,
+                ChartProgressEvent.DRAWING_FINISHED, 100));
+
     }
 
     /**
@@ -1138,14 +1160,93 @@ public class AFreeChart implements Drawable, TitleChangeListener,
 
     }
     
-    public void titleChanged(TitleChangeEvent event) {
-        // TODO Auto-generated method stub
+    /**
+     * Registers an object for notification of changes to the chart.
+     *
+     * @param listener  the listener (<code>null</code> not permitted).
+     *
+     * @see #removeChangeListener(ChartChangeListener)
+     */
+    public void addChangeListener(ChartChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Null 'listener' argument.");
+        }
+        this.changeListeners.add(ChartChangeListener.class, listener);
+    }
 
+    /**
+     * Deregisters an object for notification of changes to the chart.
+     *
+     * @param listener  the listener (<code>null</code> not permitted)
+     *
+     * @see #addChangeListener(ChartChangeListener)
+     */
+    public void removeChangeListener(ChartChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Null 'listener' argument.");
+        }
+        this.changeListeners.remove(ChartChangeListener.class, listener);
     }
 
-    public void plotChanged(PlotChangeEvent event) {
-        // TODO Auto-generated method stub
+    /**
+     * Registers an object for notification of progress as the chart is
+     * drawn.  The events are sent on the thread that draws the chart.
+     *
+     * @param listener  the listener (<code>null</code> not permitted).
+     *
+     * @see #removeProgressListener(ChartProgressListener)
+     */
+    public void addProgressListener(ChartProgressListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Null 'listener' argument.");
+        }
+        this.progressListeners.add(ChartProgressListener.class, listener);
+    }
 
+    /**
+     * Deregisters an object for notification of chart progress events.
+     *
+     * @param listener  the listener (<code>null</code> not permitted).
+     *
+     * @see #addProgressListener(ChartProgressListener)
+     */
+    public void removeProgressListener(ChartProgressListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Null 'listener' argument.");
+        }
+        this.progressListeners.remove(ChartProgressListener.class, listener);
+    }
+
+    /**
+     * Sends a default {@link ChartChangeEvent} to all registered listeners.
+     * <P>
+     * This method is for convenience only.
+     */
+    public void fireChartChanged() {
+        ChartChangeEvent event = new ChartChangeEvent(this);
+        notifyListeners(event);
+    }
+
+    /**
+     * Receives notification that a chart title has changed, and passes this
+     * on to registered listeners.
+     *
+     * @param event  information about the chart title change.
+     */
+    public void titleChanged(TitleChangeEvent event) {
+        event.setChart(this);
+        notifyListeners(event);
+    }
+
+    /**
+     * Receives notification that the plot has changed, and passes this on to
+     * registered listeners.
+     *
+     * @param event  information about the plot change.
+     */
+    public void plotChanged(PlotChangeEvent event) {
+        event.setChart(this);
+        notifyListeners(event);
     }
     
     /**
@@ -1182,8 +1283,8 @@ public class AFreeChart implements Drawable, TitleChangeListener,
             chart.plot.addChangeListener(chart);
         }
 
-//        chart.progressListeners = new EventListenerList();
-//        chart.changeListeners = new EventListenerList();
+        chart.progressListeners = new EventListenerList();
+        chart.changeListeners = new EventListenerList();
         return chart;
     }
 
@@ -1212,15 +1313,31 @@ public class AFreeChart implements Drawable, TitleChangeListener,
      */
     protected void notifyListeners(ChartChangeEvent event) {
         if (this.notify) {
-//            Object[] listeners = this.changeListeners.getListenerList();
-//            for (int i = listeners.length - 2; i >= 0; i -= 2) {
-//                if (listeners[i] == ChartChangeListener.class) {
-//                    ((ChartChangeListener) listeners[i + 1]).chartChanged(event);
-//                }
-//            }
+            Object[] listeners = this.changeListeners.getListenerList();
+            for (int i = listeners.length - 2; i >= 0; i -= 2) {
+                if (listeners[i] == ChartChangeListener.class) {
+                    ((ChartChangeListener) listeners[i + 1]).chartChanged(
+                            event);
+                }
+            }
         }
     }
     
+    /**
+     * Sends a {@link ChartProgressEvent} to all registered listeners.
+     *
+     * @param event  information about the drawing progress.
+     */
+    protected void notifyListeners(ChartProgressEvent event) {
+        Object[] listeners = this.progressListeners.getListenerList();
+        for (int i = listeners.length - 2; i >= 0; i -= 2) {
+            if (listeners[i] == ChartProgressListener.class) {
+                ((ChartProgressListener) listeners[i + 1]).chartProgress(
+                        event);
+            }
+        }
+    }
+
     /**
      * Tests this chart for equality with another object.
      *
@@ -1281,4 +1398,23 @@ public class AFreeChart implements Drawable, TitleChangeListener,
         return true;
     }
 
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.progressListeners = new EventListenerList();
+        this.changeListeners = new EventListenerList();
+        // register as a listener with sub-components...
+        if (this.plot != null) {
+            this.plot.addChangeListener(this);
+        }
+    }
+
 }
@@ -39,27 +39,54 @@
  * 19-Nov-2010 : Version 0.0.1 (NM);
  * 14-Jan-2011 : renamed method name
  * 14-Jan-2011 : Updated API docs
+ * 18-Oct-2026 : Cache the chart in separate base and data layer buffers
+ * 18-Oct-2026 : Preview pan and pinch-zoom gestures by transforming the data
+ *               layer buffer
+ * 18-Oct-2026 : Lock the crosshairs onto the data without redrawing the data
+ *               layer
+ * 18-Oct-2026 : Pin the dataset snapshots while the layers are drawn
+ * 18-Oct-2026 : Added incremental drawing of the data layer for scrolling
+ *               charts
+ * 18-Oct-2026 : Added an asynchronous rendering mode with a background
+ *               render thread
+ * 18-Oct-2026 : Recycle the frame buffers that are dropped by the view
+ * 18-Oct-2026 : Make the gesture changes to the chart on the render thread
+ *               in the asynchronous rendering mode
  */ 
 
 package org.afree.chart.demo;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.afree.ui.RectangleInsets;
 import org.afree.chart.ChartTouchListener;
 import org.afree.chart.ChartRenderingInfo;
 import org.afree.chart.AFreeChart;
+import org.afree.chart.axis.ValueAxis;
+import org.afree.chart.entity.ChartEntity;
 import org.afree.chart.entity.EntityCollection;
+import org.afree.chart.event.ChartChangeEvent;
+import org.afree.chart.event.ChartChangeEventType;
+import org.afree.chart.event.ChartChangeListener;
 //import org.afree.chart.event.EventListenerList;
 import org.afree.chart.plot.Movable;
 import org.afree.chart.plot.Plot;
 import org.afree.chart.plot.PlotOrientation;
 import org.afree.chart.plot.PlotRenderingInfo;
+import org.afree.chart.plot.XYPlot;
 import org.afree.chart.plot.Zoomable;
+import org.afree.data.DomainOrder;
+import org.afree.data.xy.XYDataset;
+import org.afree.ui.RectangleEdge;
 import org.afree.graphics.geom.Dimension;
 import org.afree.graphics.geom.RectShape;
 import org.afree.graphics.SolidColor;
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Matrix;
 import android.graphics.PointF;
 import android.os.Handler;
 import android.util.AttributeSet;
@@ -68,7 +95,7 @@ import android.view.MotionEvent;
 import android.view.View;
 
 
-public class DemoView extends View {
+public class DemoView extends View implements ChartChangeListener {
     
     /** The user interface thread handler. */
     private Handler mHandler;
@@ -95,6 +122,7 @@ public class DemoView extends View {
         this.maximumDrawWidth = DEFAULT_MAXIMUM_DRAW_WIDTH;
         this.maximumDrawHeight = DEFAULT_MAXIMUM_DRAW_HEIGHT;
         this.moveTriggerDistance = DEFAULT_MOVE_TRIGGER_DISTANCE;
+        this.useBuffer = DEFAULT_BUFFER_USED;
         new SolidColor(Color.BLUE);
         new SolidColor(Color.argb(0, 0, 255, 63));
         new java.util.ArrayList();
@@ -211,6 +239,155 @@ public class DemoView extends View {
     private float mScale = 1.0f;
     
     private long mPrevTimeMillis = 0;
+
+    /** The lock guarding the redraw request state and counters. */
+    private final Object redrawLock = new Object();
+
+    /**
+     * A flag that records whether a redraw has been requested by a chart
+     * change event and not yet performed.
+     */
+    private boolean redrawPending = false;
+
+    /** The thread that is currently drawing the chart (if any). */
+    private Thread drawThread;
+
+    /** The number of chart change events that requested a redraw. */
+    private long deliveredChangeEventCount;
+
+    /**
+     * The number of chart change events that were absorbed by a redraw that
+     * had already been requested.
+     */
+    private long suppressedChangeEventCount;
+
+    /** A flag that controls whether or not the layer buffers are used. */
+    private boolean useBuffer;
+
+    /**
+     * The buffer for the base layer of the chart: the background, titles,
+     * legend, axes and gridlines.
+     */
+    private Bitmap baseLayerBuffer;
+
+    /** The buffer for the data layer of the plot. */
+    private Bitmap dataLayerBuffer;
+
+    /**
+     * A second data layer buffer, which the data layer is copied into when
+     * it is scrolled (<code>null</code> until it is first needed).
+     */
+    private Bitmap spareLayerBuffer;
+
+    /**
+     * A flag that indicates that the base layer buffer must be redrawn
+     * (guarded by the redraw lock).
+     */
+    private boolean refreshBaseLayer = true;
+
+    /**
+     * A flag that indicates that the data layer buffer must be redrawn
+     * (guarded by the redraw lock).
+     */
+    private boolean refreshDataLayer = true;
+
+    /**
+     * The axis ranges and series keys that the base layer buffer was drawn
+     * with.
+     */
+    private List baseLayerKey;
+
+    /**
+     * The number of entities that were recorded while drawing the base
+     * layer.
+     */
+    private int baseLayerEntityCount;
+
+    /**
+     * The data area that the data layer buffer was drawn for (or
+     * <code>null</code> if the buffer has not been drawn).
+     */
+    private RectShape dataLayerArea;
+
+    /**
+     * The axis values at the left, right, top and bottom edges of the data
+     * area when the data layer buffer was drawn.
+     */
+    private double[] dataLayerBounds = new double[4];
+
+    /**
+     * A flag that controls whether or not the data layer buffer is
+     * transformed to preview a pan or pinch-zoom gesture, instead of being
+     * redrawn for each move.
+     */
+    private boolean gesturePreviewEnabled = true;
+
+    /**
+     * A flag that indicates that a pan or pinch-zoom gesture (or the
+     * inertial move that follows it) is in progress.
+     */
+    private boolean gestureInProgress = false;
+
+    /**
+     * A flag that controls whether or not the data layer buffer is scrolled
+     * and drawn incrementally after a dataset update.
+     */
+    private boolean incrementalDrawingEnabled = false;
+
+    /**
+     * The smallest x-value of the last items of the series when the data
+     * layer buffer was drawn (<code>Double.NaN</code> if the items were not
+     * known to be in ascending order, or there were none).
+     */
+    private double dataLayerLastX = Double.NaN;
+
+    /**
+     * A flag that controls whether or not the chart is drawn by a background
+     * render thread.
+     */
+    private boolean asyncRenderingEnabled = false;
+
+    /** The background render thread (<code>null</code> if not running). */
+    private Thread renderThread;
+
+    /** The number of frames that have been requested from the render thread. */
+    private long renderRequestCount;
+
+    /**
+     * The value of {@link #renderRequestCount} when the render thread last
+     * started a frame.
+     */
+    private long renderStartCount;
+
+    /** The width of the next frame (zero until the view is first drawn). */
+    private int renderWidth;
+
+    /** The height of the next frame (zero until the view is first drawn). */
+    private int renderHeight;
+
+    /** The anchor point for the next frame (<code>null</code> permitted). */
+    private PointF renderAnchor;
+
+    /** The frame that is displayed by the view. */
+    private Bitmap frontBuffer;
+
+    /** A finished frame that has not been displayed yet. */
+    private Bitmap readyBuffer;
+
+    /** The rendering info for the ready frame. */
+    private ChartRenderingInfo readyInfo;
+
+    /** An image that the render thread can draw the next frame into. */
+    private Bitmap spareBuffer;
+
+    /** The rendering info that goes with the spare image. */
+    private ChartRenderingInfo spareInfo;
+
+    /**
+     * Changes to the chart (<code>Runnable</code> instances) that the render
+     * thread makes before it draws the next frame.
+     */
+    private List pendingChartChanges = new ArrayList();
     private long mNowTimeMillis = System.currentTimeMillis();
     
     /**
@@ -244,16 +421,25 @@ public class DemoView extends View {
 //                    ((ChartTouchListener) listeners[i]).chartTouchClicked(chartEvent);
 //                }
                 
-                chart.handleClick((int)ev.getX(), (int)ev.getY(), info);
+                final int clickX = (int) ev.getX();
+                final int clickY = (int) ev.getY();
+                final ChartRenderingInfo clickInfo = this.info;
+                changeChart(new Runnable() {
+                    public void run() {
+                        chart.handleClick(clickX, clickY, clickInfo);
+                    }
+                });
                 invalidate();
                 inertialMovedFlag = false;
                 break;
             case MotionEvent.ACTION_MOVE:
                 Log.i("TouchEvent", "ACTION_MOVE");
                 if(count == 1 && this.singleTouchStartInfo != null) {
+                    this.gestureInProgress = true;
                     moveAdjustment(ev);
                 } else if (count == 2 && this.multiTouchStartInfo != null) {
                     //scaleAdjustment(ev);    
+                    this.gestureInProgress = true;
                     zoomAdjustment(ev);
                 }
                 
@@ -282,6 +468,12 @@ public class DemoView extends View {
                     inertialMovedFlag = true;
                 }
                 mPrevTimeMillis = mNowTimeMillis;
+
+                // the gesture preview ends with the inertial move (if any)
+                if (this.gestureInProgress) {
+                    this.gestureInProgress = inertialMovedFlag;
+                    invalidate();
+                }
                 break;
             default:
                 break;
@@ -384,29 +576,33 @@ public class DemoView extends View {
      * @param dataAreaWidth
      * @param dataAreaHeight
      */
-    private void move(PointF source, double moveBoundX, double moveBoundY,
-            double dataAreaWidth, double dataAreaHeight) {
+    private void move(final PointF source, double moveBoundX,
+            double moveBoundY, double dataAreaWidth, double dataAreaHeight) {
         
-        double hMovePercent = moveBoundX / dataAreaWidth;
-        double vMovePercent = - moveBoundY / dataAreaHeight;
+        final double hMovePercent = moveBoundX / dataAreaWidth;
+        final double vMovePercent = - moveBoundY / dataAreaHeight;
         
         Plot p = this.chart.getPlot();
         if (p instanceof Movable) {
-            PlotRenderingInfo info = this.info.getPlotInfo();
+            final PlotRenderingInfo info = this.info.getPlotInfo();
             // here we tweak the notify flag on the plot so that only
             // one notification happens even though we update multiple
             // axes...
             //boolean savedNotify = p.isNotify();
             //p.setNotify(false);
-            Movable z = (Movable) p;
-            if (z.getOrientation() == PlotOrientation.HORIZONTAL) {
-                z.moveDomainAxes(vMovePercent, info, source);
-                z.moveRangeAxes(hMovePercent, info, source);
-            }
-            else {
-                z.moveDomainAxes(hMovePercent, info, source);
-                z.moveRangeAxes(vMovePercent, info, source);
-            }
+            final Movable z = (Movable) p;
+            changeChart(new Runnable() {
+                public void run() {
+                    if (z.getOrientation() == PlotOrientation.HORIZONTAL) {
+                        z.moveDomainAxes(vMovePercent, info, source);
+                        z.moveRangeAxes(hMovePercent, info, source);
+                    }
+                    else {
+                        z.moveDomainAxes(hMovePercent, info, source);
+                        z.moveRangeAxes(vMovePercent, info, source);
+                    }
+                }
+            });
             //p.setNotify(savedNotify);
             
             //repaint
@@ -440,16 +636,21 @@ public class DemoView extends View {
     public void restoreAutoDomainBounds() {
         Plot plot = this.chart.getPlot();
         if (plot instanceof Zoomable) {
-            Zoomable z = (Zoomable) plot;
+            final Zoomable z = (Zoomable) plot;
             // here we tweak the notify flag on the plot so that only
             // one notification happens even though we update multiple
             // axes...
             //boolean savedNotify = plot.isNotify();
             //plot.setNotify(false);
             // we need to guard against this.zoomPoint being null
-            PointF zp = (this.zoomPoint != null
+            final PointF zp = (this.zoomPoint != null
                     ? this.zoomPoint : new PointF());
-            z.zoomDomainAxes(0.0, this.info.getPlotInfo(), zp);
+            final PlotRenderingInfo info = this.info.getPlotInfo();
+            changeChart(new Runnable() {
+                public void run() {
+                    z.zoomDomainAxes(0.0, info, zp);
+                }
+            });
             //plot.setNotify(savedNotify);
         }
     }
@@ -460,16 +661,21 @@ public class DemoView extends View {
     public void restoreAutoRangeBounds() {
         Plot plot = this.chart.getPlot();
         if (plot instanceof Zoomable) {
-            Zoomable z = (Zoomable) plot;
+            final Zoomable z = (Zoomable) plot;
             // here we tweak the notify flag on the plot so that only
             // one notification happens even though we update multiple
             // axes...
             //boolean savedNotify = plot.isNotify();
             //plot.setNotify(false);
             // we need to guard against this.zoomPoint being null
-            PointF zp = (this.zoomPoint != null
+            final PointF zp = (this.zoomPoint != null
                     ? this.zoomPoint : new PointF());
-            z.zoomRangeAxes(0.0, this.info.getPlotInfo(), zp);
+            final PlotRenderingInfo info = this.info.getPlotInfo();
+            changeChart(new Runnable() {
+                public void run() {
+                    z.zoomRangeAxes(0.0, info, zp);
+                }
+            });
             //plot.setNotify(savedNotify);
         }
     }
@@ -511,15 +717,15 @@ public class DemoView extends View {
     public void setChart(AFreeChart chart) {
 
         // stop listening for changes to the existing chart
-//        if (this.chart != null) {
-//            this.chart.removeChangeListener(this);
+        if (this.chart != null) {
+            this.chart.removeChangeListener(this);
 //            this.chart.removeProgressListener(this);
-//        }
+        }
 
         // add the new chart
         this.chart = chart;
         if (chart != null) {
-//            this.chart.addChangeListener(this);
+            this.chart.addChangeListener(this);
 //            this.chart.addProgressListener(this);
             Plot plot = chart.getPlot();
             if (plot instanceof Zoomable) {
@@ -541,9 +747,13 @@ public class DemoView extends View {
             this.domainMovable = false;
             this.rangeMovable = false;
         }
-//        if (this.useBuffer) {
-//            this.refreshBuffer = true;
-//        }
+        synchronized (this.redrawLock) {
+            this.refreshBaseLayer = true;
+            this.refreshDataLayer = true;
+            if (this.asyncRenderingEnabled) {
+                requestFrame();
+            }
+        }
 //        repaint();
 
     }
@@ -659,10 +869,31 @@ public class DemoView extends View {
 
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
-        
-        inertialMove();
 
-        paintComponent(canvas);
+        boolean async;
+        synchronized (this.redrawLock) {
+            async = this.asyncRenderingEnabled;
+            if (!async) {
+                // any change made before this point is drawn by this frame
+                this.redrawPending = false;
+                this.drawThread = Thread.currentThread();
+            }
+        }
+        if (async) {
+            inertialMove();
+            paintFrame(canvas);
+            return;
+        }
+        try {
+            inertialMove();
+
+            paintComponent(canvas);
+        }
+        finally {
+            synchronized (this.redrawLock) {
+                this.drawThread = null;
+            }
+        }
     }
 
     @Override
@@ -682,6 +913,254 @@ public class DemoView extends View {
     public void paintComponent(Canvas canvas) {
 
         // first determine the size of the chart rendering area...
+        RectShape chartArea = createChartArea();
+
+        // TODO:AffineTransform
+        // or redrawing the chart every time...
+//        else {
+
+//            AffineTransform saved = canvas.getTransform();
+//            canvas.translate(insets.left, insets.top);
+//            if (scale) {
+//                AffineTransform st = AffineTransform.getScaleInstance(
+//                        this.scaleX, this.scaleY);
+//                canvas.transform(st);
+//            }
+//            this.chart.draw(canvas, chartArea, this.anchor, this.info);
+//            canvas.setTransform(saved);
+
+//        }
+        Plot plot = this.chart.getPlot();
+        if (this.useBuffer && plot instanceof XYPlot
+                && ((XYPlot) plot).isLayeredDrawingSupported()) {
+            plot.pinDatasetSnapshots();
+            try {
+                drawLayers(canvas, chartArea, (XYPlot) plot);
+            }
+            finally {
+                plot.releaseDatasetSnapshots();
+            }
+        }
+        else {
+            this.chart.draw(canvas, chartArea, this.anchor, this.info);
+        }
+        
+
+//        Iterator iterator = this.overlays.iterator();
+//        while (iterator.hasNext()) {
+//            Overlay overlay = (Overlay) iterator.next();
+//            overlay.paintOverlay(canvas, this);
+//        }
+
+        // redraw the zoom RectShape (if present) - if useBuffer is false,
+        // we use XOR so we can XOR the RectShape away again without redrawing
+        // the chart
+        //drawZoomRectShape(canvas, !this.useBuffer);
+
+        //canvas.dispose();
+
+        this.anchor = null;
+//        this.verticalTraceLine = null;
+//        this.horizontalTraceLine = null;
+
+    }
+
+
+    /**
+     * Draws the latest frame from the render thread, and requests a new
+     * frame if the size of the view or the anchor point has changed.  The
+     * view is left blank until the first frame is ready.
+     *
+     * @param canvas  the graphics device.
+     */
+    private void paintFrame(Canvas canvas) {
+        RectShape chartArea = createChartArea();
+        int width = (int) Math.ceil(chartArea.getWidth());
+        int height = (int) Math.ceil(chartArea.getHeight());
+        synchronized (this.redrawLock) {
+            if (this.readyBuffer != null) {
+                if (this.spareBuffer == null) {
+                    this.spareBuffer = this.frontBuffer;
+                    this.spareInfo = this.info;
+                }
+                else if (this.frontBuffer != null) {
+                    // the render thread does not hold the front buffer
+                    this.frontBuffer.recycle();
+                }
+                this.frontBuffer = this.readyBuffer;
+                this.info = this.readyInfo;
+                this.readyBuffer = null;
+                this.readyInfo = null;
+            }
+            if (this.anchor != null || width != this.renderWidth
+                    || height != this.renderHeight) {
+                this.renderWidth = width;
+                this.renderHeight = height;
+                this.renderAnchor = this.anchor;
+                requestFrame();
+            }
+        }
+        if (this.frontBuffer != null) {
+            canvas.drawBitmap(this.frontBuffer, 0, 0, null);
+        }
+        this.anchor = null;
+    }
+
+    /**
+     * Makes a change to the chart for a gesture.  When asynchronous
+     * rendering is enabled, the change is made by the render thread before
+     * it draws the next frame (which is requested), so that the plot and
+     * axes are never changed while the render thread is drawing them;
+     * otherwise it is made at once.
+     *
+     * @param change  the change.
+     */
+    private void changeChart(Runnable change) {
+        synchronized (this.redrawLock) {
+            if (this.asyncRenderingEnabled) {
+                this.pendingChartChanges.add(change);
+                requestFrame();
+                return;
+            }
+        }
+        change.run();
+    }
+
+    /**
+     * Makes the changes that are waiting for the render thread on the
+     * calling thread.  The caller must not hold the redraw lock.
+     *
+     * @param changes  the changes (<code>Runnable</code> instances).
+     */
+    private static void runChartChanges(List changes) {
+        for (int i = 0; i < changes.size(); i++) {
+            ((Runnable) changes.get(i)).run();
+        }
+    }
+
+    /**
+     * Requests a new frame from the render thread, starting the thread if
+     * it is not running.  The caller must hold the redraw lock.
+     */
+    private void requestFrame() {
+        this.renderRequestCount++;
+        if (this.renderWidth <= 0 || this.renderHeight <= 0) {
+            // the view has not been drawn yet, and will request a frame
+            return;
+        }
+        if (this.renderThread == null) {
+            this.renderThread = new Thread(new Runnable() {
+                public void run() {
+                    renderFrames();
+                }
+            }, "AFreeChart render");
+            this.renderThread.setDaemon(true);
+            this.renderThread.start();
+        }
+        this.redrawLock.notifyAll();
+    }
+
+    /**
+     * Draws frames on the render thread until the thread is replaced or
+     * stopped.  Requests that arrive while a frame is being drawn are
+     * merged into a single new frame, and a finished frame that has not
+     * been displayed by the time the next one is finished is discarded.
+     */
+    private void renderFrames() {
+        Thread thread = Thread.currentThread();
+        while (true) {
+            AFreeChart chart;
+            int width;
+            int height;
+            PointF anchor;
+            Bitmap buffer;
+            ChartRenderingInfo info;
+            List changes;
+            synchronized (this.redrawLock) {
+                while (this.renderThread == thread
+                        && this.renderStartCount == this.renderRequestCount) {
+                    try {
+                        this.redrawLock.wait();
+                    }
+                    catch (InterruptedException e) {
+                        if (this.renderThread == thread) {
+                            this.renderThread = null;
+                        }
+                        return;
+                    }
+                }
+                if (this.renderThread != thread) {
+                    return;
+                }
+                this.renderStartCount = this.renderRequestCount;
+                chart = this.chart;
+                width = this.renderWidth;
+                height = this.renderHeight;
+                anchor = this.renderAnchor;
+                this.renderAnchor = null;
+                if (chart == null) {
+                    // keep the spare image for the next chart
+                    continue;
+                }
+                changes = null;
+                if (!this.pendingChartChanges.isEmpty()) {
+                    changes = this.pendingChartChanges;
+                    this.pendingChartChanges = new ArrayList();
+                }
+                buffer = this.spareBuffer;
+                info = this.spareInfo;
+                this.spareBuffer = null;
+                this.spareInfo = null;
+            }
+            if (changes != null) {
+                runChartChanges(changes);
+            }
+            if (buffer != null && buffer.getWidth() == width
+                    && buffer.getHeight() == height) {
+                buffer.eraseColor(Color.TRANSPARENT);
+            }
+            else {
+                if (buffer != null) {
+                    buffer.recycle();
+                }
+                buffer = Bitmap.createBitmap(width, height,
+                        Bitmap.Config.ARGB_8888);
+            }
+            if (info == null) {
+                info = new ChartRenderingInfo();
+            }
+            chart.draw(new Canvas(buffer), new RectShape(0.0, 0.0, width,
+                    height), anchor, info);
+            synchronized (this.redrawLock) {
+                if (this.renderThread != thread) {
+                    buffer.recycle();
+                    return;
+                }
+                if (this.readyBuffer != null) {
+                    // the previous frame was never displayed
+                    if (this.spareBuffer == null) {
+                        this.spareBuffer = this.readyBuffer;
+                        this.spareInfo = this.readyInfo;
+                    }
+                    else {
+                        this.readyBuffer.recycle();
+                    }
+                }
+                this.readyBuffer = buffer;
+                this.readyInfo = info;
+            }
+            postInvalidate();
+        }
+    }
+
+    /**
+     * Returns the area in which the chart is drawn, and updates the scale
+     * factors for the view size (see {@link #getMinimumDrawWidth()} and
+     * {@link #getMaximumDrawWidth()}).
+     *
+     * @return The chart area.
+     */
+    private RectShape createChartArea() {
         Dimension size = getSize();
         RectangleInsets insets = getInsets();
         RectShape available = new RectShape(insets.getLeft(), insets.getTop(),
@@ -711,97 +1190,556 @@ public class DemoView extends View {
             drawHeight = this.maximumDrawHeight;
         }
 
-        RectShape chartArea = new RectShape(0.0, 0.0, drawWidth,
-                drawHeight);
-
-        // are we using the chart buffer?
-//        if (this.useBuffer) {
-//
-//            // do we need to resize the buffer?
-//            if ((this.chartBuffer == null)
-//                    || (this.chartBufferWidth != available.getWidth())
-//                    || (this.chartBufferHeight != available.getHeight())) {
-//                this.chartBufferWidth = (int) available.getWidth();
-//                this.chartBufferHeight = (int) available.getHeight();
-//                GraphicsConfiguration gc = canvas.getDeviceConfiguration();
-//                this.chartBuffer = gc.createCompatibleImage(
-//                        this.chartBufferWidth, this.chartBufferHeight,
-//                        Transparency.TRANSLUCENT);
-//                this.refreshBuffer = true;
-//            }
-//
-//            // do we need to redraw the buffer?
-//            if (this.refreshBuffer) {
-//
-//                this.refreshBuffer = false; // clear the flag
-//
-//                RectShape bufferArea = new RectShape(
-//                        0, 0, this.chartBufferWidth, this.chartBufferHeight);
-//
-//                Graphics2D bufferG2 = (Graphics2D)
-//                        this.chartBuffer.getGraphics();
-//                RectShape r = new RectShape(0, 0, this.chartBufferWidth,
-//                        this.chartBufferHeight);
-//                bufferG2.setPaint(getBackground());
-//                bufferG2.fill(r);
-//                if (scale) {
-//                    AffineTransform saved = bufferG2.getTransform();
-//                    AffineTransform st = AffineTransform.getScaleInstance(
-//                            this.scaleX, this.scaleY);
-//                    bufferG2.transform(st);
-//                    this.chart.draw(bufferG2, chartArea, this.anchor,
-//                            this.info);
-//                    bufferG2.setTransform(saved);
-//                }
-//                else {
-//                    this.chart.draw(bufferG2, bufferArea, this.anchor,
-//                            this.info);
-//                }
-//
-//            }
-//
-//            // zap the buffer onto the panel...
-//            canvas.drawImage(this.chartBuffer, insets.left, insets.top, this);
-//
-//        }
+        return new RectShape(0.0, 0.0, drawWidth, drawHeight);
+    }
 
-        // TODO:AffineTransform
-        // or redrawing the chart every time...
-//        else {
+    /**
+     * Draws the chart from the layer buffers.  The base layer (the chart
+     * background, titles, legend, axes and gridlines) is redrawn only after
+     * a chart change other than a dataset update, or when the axis ranges
+     * or series keys have changed.  The data layer is redrawn after any
+     * chart change, but not while a gesture is previewed (see
+     * {@link #setGesturePreviewEnabled(boolean)}).  The overlay layer (the
+     * crosshairs, which find the data item nearest the anchor point without
+     * drawing the data) is drawn directly onto the canvas every time.
+     *
+     * @param canvas  the graphics device.
+     * @param chartArea  the chart area.
+     * @param plot  the plot.
+     */
+    private void drawLayers(Canvas canvas, RectShape chartArea, XYPlot plot) {
+        boolean refreshBase;
+        boolean refreshData;
+        synchronized (this.redrawLock) {
+            refreshBase = this.refreshBaseLayer;
+            refreshData = this.refreshDataLayer;
+            this.refreshBaseLayer = false;
+            this.refreshDataLayer = false;
+        }
+        // only dataset updates allow the data layer to be drawn incrementally
+        boolean datasetUpdatedOnly = !refreshBase;
+
+        // do we need to resize the buffers?
+        int width = (int) Math.ceil(chartArea.getWidth());
+        int height = (int) Math.ceil(chartArea.getHeight());
+        if (this.baseLayerBuffer == null
+                || this.baseLayerBuffer.getWidth() != width
+                || this.baseLayerBuffer.getHeight() != height) {
+            releaseBuffers();
+            this.baseLayerBuffer = Bitmap.createBitmap(width, height,
+                    Bitmap.Config.ARGB_8888);
+            this.dataLayerBuffer = Bitmap.createBitmap(width, height,
+                    Bitmap.Config.ARGB_8888);
+            refreshBase = true;
+        }
 
-//            AffineTransform saved = canvas.getTransform();
-//            canvas.translate(insets.left, insets.top);
-//            if (scale) {
-//                AffineTransform st = AffineTransform.getScaleInstance(
-//                        this.scaleX, this.scaleY);
-//                canvas.transform(st);
-//            }
-//            this.chart.draw(canvas, chartArea, this.anchor, this.info);
-//            canvas.setTransform(saved);
+        // a dataset update can change the axis ranges and legend...
+        if (refreshBase || !createBaseLayerKey(plot).equals(
+                this.baseLayerKey)) {
+            this.baseLayerBuffer.eraseColor(Color.TRANSPARENT);
+            plot.setBaseLayerOnly(true);
+            try {
+                this.chart.draw(new Canvas(this.baseLayerBuffer), chartArea,
+                        null, this.info);
+            }
+            finally {
+                plot.setBaseLayerOnly(false);
+            }
+            this.baseLayerKey = createBaseLayerKey(plot);
+            EntityCollection entities = this.info.getEntityCollection();
+            this.baseLayerEntityCount = (entities != null
+                    ? entities.getEntityCount() : 0);
+            refreshData = true;
+        }
+        RectShape dataArea = this.info.getPlotInfo().getDataArea();
+        canvas.drawBitmap(this.baseLayerBuffer, 0, 0, null);
+        if (dataArea.getWidth() <= 0.0 || dataArea.getHeight() <= 0.0) {
+            return;
+        }
 
-//        }
-        this.chart.draw(canvas, chartArea, this.anchor, this.info);
-        
+        if (refreshData && this.gestureInProgress && this.gesturePreviewEnabled
+                && this.dataLayerArea != null) {
+            // keep the data layer pending until the gesture ends...
+            synchronized (this.redrawLock) {
+                this.refreshDataLayer = true;
+            }
+            drawDataLayerPreview(canvas, dataArea, plot);
+        }
+        else {
+            if (refreshData && !(datasetUpdatedOnly
+                    && drawDataLayerIncrementally(plot, dataArea))) {
+                discardDataLayerEntities();
+                this.dataLayerBuffer.eraseColor(Color.TRANSPARENT);
+                plot.drawDataLayer(new Canvas(this.dataLayerBuffer), dataArea,
+                        this.anchor, this.info.getPlotInfo());
+                recordDataLayer(plot, dataArea);
+            }
+            canvas.drawBitmap(this.dataLayerBuffer, 0, 0, null);
+        }
+        plot.drawOverlayLayer(canvas, dataArea, this.anchor);
+    }
 
-//        Iterator iterator = this.overlays.iterator();
-//        while (iterator.hasNext()) {
-//            Overlay overlay = (Overlay) iterator.next();
-//            overlay.paintOverlay(canvas, this);
-//        }
+    /**
+     * Records the data area, the axis values at its edges and the x-value
+     * of the last items after the data layer buffer has been drawn.
+     *
+     * @param plot  the plot.
+     * @param dataArea  the data area.
+     */
+    private void recordDataLayer(XYPlot plot, RectShape dataArea) {
+        this.dataLayerBounds[0] = dataArea.getMinX();
+        this.dataLayerBounds[1] = dataArea.getMaxX();
+        this.dataLayerBounds[2] = dataArea.getMinY();
+        this.dataLayerBounds[3] = dataArea.getMaxY();
+        this.dataLayerArea = convertDataAreaBounds(plot, dataArea,
+                this.dataLayerBounds, true)
+                ? (RectShape) dataArea.clone() : null;
+        this.dataLayerLastX = findLastItemXValue(plot);
+    }
 
-        // redraw the zoom RectShape (if present) - if useBuffer is false,
-        // we use XOR so we can XOR the RectShape away again without redrawing
-        // the chart
-        //drawZoomRectShape(canvas, !this.useBuffer);
+    /**
+     * Brings the data layer buffer up to date after a dataset update
+     * without drawing all the data items again, if the incremental drawing
+     * mode is enabled and the update allows it: the buffer is scrolled by
+     * the distance the domain axis has moved, then the strip that the
+     * scroll exposed (extended to the left, if necessary, to the last item
+     * previously drawn) is cleared and drawn again with
+     * {@link XYPlot#drawDataLayerStrip(Canvas, RectShape, double, double,
+     * PlotRenderingInfo)}.
+     *
+     * @param plot  the plot.
+     * @param dataArea  the data area.
+     *
+     * @return <code>false</code> if the data layer must be drawn in full
+     *     instead.
+     */
+    private boolean drawDataLayerIncrementally(XYPlot plot,
+            RectShape dataArea) {
+        if (!this.incrementalDrawingEnabled || this.anchor != null
+                || this.dataLayerArea == null
+                || !this.dataLayerArea.equals(dataArea)
+                || Double.isNaN(this.dataLayerLastX)
+                || plot.getOrientation() != PlotOrientation.VERTICAL) {
+            return false;
+        }
 
-        //canvas.dispose();
+        // the range axis must not have rescaled, and the domain axis must
+        // have kept its scale and moved forward by a whole number of pixels
+        double[] bounds = (double[]) this.dataLayerBounds.clone();
+        convertDataAreaBounds(plot, dataArea, bounds, false);
+        double tolerance = 0.01;
+        double shift = dataArea.getMinX() - bounds[0];
+        long pixels = Math.round(shift);
+        if (Math.abs(bounds[2] - dataArea.getMinY()) > tolerance
+                || Math.abs(bounds[3] - dataArea.getMaxY()) > tolerance
+                || Math.abs(bounds[1] - bounds[0] - dataArea.getWidth())
+                        > tolerance
+                || Math.abs(shift - pixels) > tolerance || pixels < 0
+                || pixels >= dataArea.getWidth()) {
+            return false;
+        }
+        double lastX = plot.getDomainAxis().valueToJava2D(this.dataLayerLastX,
+                dataArea, plot.getDomainAxisEdge());
+        double lower = Math.max(Math.min(dataArea.getMaxX() - pixels,
+                Math.floor(lastX)), dataArea.getMinX());
+
+        if (this.spareLayerBuffer == null) {
+            this.spareLayerBuffer = Bitmap.createBitmap(
+                    this.dataLayerBuffer.getWidth(),
+                    this.dataLayerBuffer.getHeight(), Bitmap.Config.ARGB_8888);
+        }
+        Bitmap target = this.spareLayerBuffer;
+        target.eraseColor(Color.TRANSPARENT);
+        Canvas layer = new Canvas(target);
+        layer.save();
+        layer.clipRect((float) dataArea.getMinX(), (float) dataArea.getMinY(),
+                (float) lower, (float) dataArea.getMaxY());
+        layer.drawBitmap(this.dataLayerBuffer, -pixels, 0, null);
+        layer.restore();
+        this.spareLayerBuffer = this.dataLayerBuffer;
+        this.dataLayerBuffer = target;
+
+        discardDataLayerEntities();
+        plot.drawDataLayerStrip(layer, dataArea, lower, dataArea.getMaxX(),
+                this.info.getPlotInfo());
+        recordDataLayer(plot, dataArea);
+        return true;
+    }
 
-        this.anchor = null;
-//        this.verticalTraceLine = null;
-//        this.horizontalTraceLine = null;
+    /**
+     * Returns the smallest x-value of the last items of the series in the
+     * plot's datasets, which marks the point after which appended items
+     * are drawn by an incremental update.
+     *
+     * @param plot  the plot.
+     *
+     * @return The x-value (<code>Double.NaN</code> if a dataset is not in
+     *     ascending x-order, or there are no items).
+     */
+    private double findLastItemXValue(XYPlot plot) {
+        double result = Double.NaN;
+        for (int i = 0; i < plot.getDatasetCount(); i++) {
+            XYDataset dataset = plot.getDataset(i);
+            if (dataset == null) {
+                continue;
+            }
+            if (dataset.getDomainOrder() != DomainOrder.ASCENDING) {
+                return Double.NaN;
+            }
+            for (int series = 0; series < dataset.getSeriesCount(); series++) {
+                int count = dataset.getItemCount(series);
+                if (count > 0) {
+                    double x = dataset.getXValue(series, count - 1);
+                    if (Double.isNaN(result) || x < result) {
+                        result = x;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Draws the data layer buffer, as it was last drawn, scaled and
+     * translated so that the axis values at its edges line up with the
+     * current axis ranges.  This previews a pan or pinch-zoom gesture
+     * without rendering the data items, which are drawn again once the
+     * gesture ends.
+     *
+     * @param canvas  the graphics device.
+     * @param dataArea  the current data area.
+     * @param plot  the plot.
+     */
+    private void drawDataLayerPreview(Canvas canvas, RectShape dataArea,
+            XYPlot plot) {
+        double[] bounds = (double[]) this.dataLayerBounds.clone();
+        convertDataAreaBounds(plot, dataArea, bounds, false);
+        RectShape area = this.dataLayerArea;
+        Matrix matrix = new Matrix();
+        matrix.setTranslate((float) -area.getMinX(), (float) -area.getMinY());
+        matrix.postScale((float) ((bounds[1] - bounds[0]) / area.getWidth()),
+                (float) ((bounds[3] - bounds[2]) / area.getHeight()));
+        matrix.postTranslate((float) bounds[0], (float) bounds[2]);
+        canvas.save();
+        canvas.clipRect((float) dataArea.getMinX(), (float) dataArea.getMinY(),
+                (float) dataArea.getMaxX(), (float) dataArea.getMaxY());
+        canvas.drawBitmap(this.dataLayerBuffer, matrix, null);
+        canvas.restore();
+    }
+
+    /**
+     * Converts the left, right, top and bottom edges of the data area
+     * between Java2D coordinates and the values of the plot's primary axes.
+     *
+     * @param plot  the plot.
+     * @param dataArea  the data area.
+     * @param bounds  the left, right, top and bottom edges, which are
+     *     replaced by the converted values.
+     * @param toValues  <code>true</code> to convert Java2D coordinates to
+     *     axis values, <code>false</code> to convert axis values to Java2D
+     *     coordinates.
+     *
+     * @return <code>false</code> if the plot does not have both primary
+     *     axes.
+     */
+    private boolean convertDataAreaBounds(XYPlot plot, RectShape dataArea,
+            double[] bounds, boolean toValues) {
+        ValueAxis xAxis = plot.getDomainAxis();
+        RectangleEdge xEdge = plot.getDomainAxisEdge();
+        ValueAxis yAxis = plot.getRangeAxis();
+        RectangleEdge yEdge = plot.getRangeAxisEdge();
+        if (plot.getOrientation() == PlotOrientation.HORIZONTAL) {
+            xAxis = plot.getRangeAxis();
+            xEdge = plot.getRangeAxisEdge();
+            yAxis = plot.getDomainAxis();
+            yEdge = plot.getDomainAxisEdge();
+        }
+        if (xAxis == null || yAxis == null) {
+            return false;
+        }
+        for (int i = 0; i < bounds.length; i++) {
+            ValueAxis axis = (i < 2 ? xAxis : yAxis);
+            RectangleEdge edge = (i < 2 ? xEdge : yEdge);
+            if (toValues) {
+                bounds[i] = axis.java2DToValue(bounds[i], dataArea, edge);
+            }
+            else {
+                bounds[i] = axis.valueToJava2D(bounds[i], dataArea, edge);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the flag that controls whether or not pan and pinch-zoom
+     * gestures are previewed by transforming the data layer buffer.
+     *
+     * @return A boolean.
+     *
+     * @see #setGesturePreviewEnabled(boolean)
+     */
+    public boolean isGesturePreviewEnabled() {
+        return this.gesturePreviewEnabled;
+    }
+
+    /**
+     * Sets the flag that controls whether or not pan and pinch-zoom
+     * gestures are previewed by transforming the data layer buffer.  While
+     * a gesture (or the inertial move that follows it) is in progress the
+     * axes are redrawn for each move, but the data items are only drawn
+     * again when it ends.  The preview needs the layer buffers (see
+     * {@link #setUseBuffer(boolean)}).
+     *
+     * @param flag  the flag.
+     *
+     * @see #isGesturePreviewEnabled()
+     */
+    public void setGesturePreviewEnabled(boolean flag) {
+        this.gesturePreviewEnabled = flag;
+    }
+
+    /**
+     * Returns the flag that controls whether or not the data layer is drawn
+     * incrementally after a dataset update.
+     *
+     * @return A boolean.
+     *
+     * @see #setIncrementalDrawingEnabled(boolean)
+     */
+    public boolean isIncrementalDrawingEnabled() {
+        return this.incrementalDrawingEnabled;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the data layer is drawn
+     * incrementally after a dataset update, for strip charts that append
+     * data to the end of their series.  When the range axis has not changed
+     * and the domain axis has either stayed put or moved forward by a whole
+     * number of pixels, the data layer buffer is scrolled and only the strip
+     * that the scroll exposed, plus the items appended since the last
+     * drawing, are drawn.  Any other chart change redraws the whole layer.
+     * <P>
+     * The mode assumes that a dataset update only appends items after the
+     * last items already drawn, and only removes items that have scrolled
+     * out of the data area.  Only the entities of the items in the redrawn
+     * strip are recorded, so item tooltips and clicks need the renderer's
+     * virtual entities (see
+     * {@link org.afree.chart.renderer.xy.AbstractXYItemRenderer#setVirtualEntities(boolean)}).
+     * The mode needs the layer buffers (see {@link #setUseBuffer(boolean)}).
+     *
+     * @param flag  the flag.
+     *
+     * @see #isIncrementalDrawingEnabled()
+     */
+    public void setIncrementalDrawingEnabled(boolean flag) {
+        this.incrementalDrawingEnabled = flag;
+    }
+
+    /**
+     * Returns the inputs of the base layer that can change without a chart
+     * change event other than a dataset update: the ranges of the axes, and
+     * the keys of the series (which appear in the legend).
+     *
+     * @param plot  the plot.
+     *
+     * @return A list that can be compared with the list for a later frame.
+     */
+    private List createBaseLayerKey(XYPlot plot) {
+        List result = new ArrayList();
+        for (int i = 0; i < plot.getDomainAxisCount(); i++) {
+            ValueAxis axis = plot.getDomainAxis(i);
+            result.add(axis != null ? axis.getRange() : null);
+        }
+        for (int i = 0; i < plot.getRangeAxisCount(); i++) {
+            ValueAxis axis = plot.getRangeAxis(i);
+            result.add(axis != null ? axis.getRange() : null);
+        }
+        for (int i = 0; i < plot.getDatasetCount(); i++) {
+            XYDataset dataset = plot.getDataset(i);
+            int seriesCount = (dataset != null ? dataset.getSeriesCount() : 0);
+            result.add(new Integer(seriesCount));
+            for (int series = 0; series < seriesCount; series++) {
+                result.add(dataset.getSeriesKey(series));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes the entities recorded by the last drawing of the data layer,
+     * keeping those recorded by the base layer.
+     */
+    private void discardDataLayerEntities() {
+        EntityCollection entities = this.info.getEntityCollection();
+        if (entities == null
+                || entities.getEntityCount() <= this.baseLayerEntityCount) {
+            return;
+        }
+        List baseEntities = new ArrayList(this.baseLayerEntityCount);
+        for (int i = 0; i < this.baseLayerEntityCount; i++) {
+            baseEntities.add(entities.getEntity(i));
+        }
+        entities.clear();
+        for (int i = 0; i < baseEntities.size(); i++) {
+            entities.add((ChartEntity) baseEntities.get(i));
+        }
+    }
+
+    /**
+     * Releases the layer buffers.
+     */
+    private void releaseBuffers() {
+        if (this.baseLayerBuffer != null) {
+            this.baseLayerBuffer.recycle();
+            this.baseLayerBuffer = null;
+        }
+        if (this.dataLayerBuffer != null) {
+            this.dataLayerBuffer.recycle();
+            this.dataLayerBuffer = null;
+        }
+        if (this.spareLayerBuffer != null) {
+            this.spareLayerBuffer.recycle();
+            this.spareLayerBuffer = null;
+        }
+        this.baseLayerKey = null;
+        this.dataLayerArea = null;
+    }
 
+    /**
+     * Returns the flag that controls whether or not the chart is drawn from
+     * off-screen layer buffers.
+     *
+     * @return A boolean.
+     *
+     * @see #setUseBuffer(boolean)
+     */
+    public boolean getUseBuffer() {
+        return this.useBuffer;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the chart is drawn from
+     * off-screen layer buffers, so that a redraw that does not change the
+     * chart (for example, to move the crosshairs) does not render every
+     * series again.  The buffers are only used for an {@link XYPlot} that
+     * supports layered drawing.
+     *
+     * @param flag  the flag.
+     *
+     * @see #getUseBuffer()
+     */
+    public void setUseBuffer(boolean flag) {
+        if (this.useBuffer != flag) {
+            this.useBuffer = flag;
+            releaseBuffers();
+            invalidate();
+        }
     }
 
+    /**
+     * Returns the flag that controls whether or not the chart is drawn by a
+     * background render thread.
+     *
+     * @return A boolean.
+     *
+     * @see #setAsyncRenderingEnabled(boolean)
+     */
+    public boolean isAsyncRenderingEnabled() {
+        synchronized (this.redrawLock) {
+            return this.asyncRenderingEnabled;
+        }
+    }
+
+    /**
+     * Sets the flag that controls whether or not the chart is drawn by a
+     * background render thread, so that a chart that is slow to draw does
+     * not block the user interface thread.  In this mode a chart change
+     * event requests a new frame, which the render thread draws into an
+     * off-screen image with
+     * {@link AFreeChart#draw(Canvas, RectShape, PointF, ChartRenderingInfo)}
+     * and hands to the view, which displays it on its next draw.  The image
+     * and the rendering info are swapped together, so the entities always
+     * match the frame on the screen.  Requests that arrive while a frame is
+     * being drawn are merged into one new frame, and a frame that is
+     * superseded before it is displayed is discarded.  The layer buffers
+     * (see {@link #setUseBuffer(boolean)}) are not used in this mode.
+     * <P>
+     * The view is blank until the first frame is ready.  A placeholder can
+     * be shown by a {@link org.afree.chart.event.ChartProgressListener}
+     * registered with the chart, which receives the drawing started and
+     * finished events on the render thread.  The pan and zoom gestures of
+     * the view change the chart on the render thread, between frames, but
+     * the chart is not locked while a frame is drawn, so other changes
+     * should be made with care, and datasets that are updated by other
+     * threads should support snapshots (see
+     * {@link org.afree.data.general.SnapshotDataset}).
+     *
+     * @param flag  the flag.
+     *
+     * @see #isAsyncRenderingEnabled()
+     */
+    public void setAsyncRenderingEnabled(boolean flag) {
+        List changes;
+        synchronized (this.redrawLock) {
+            if (this.asyncRenderingEnabled == flag) {
+                return;
+            }
+            this.asyncRenderingEnabled = flag;
+            stopRenderThread();
+            releaseFrames();
+            this.refreshBaseLayer = true;
+            this.refreshDataLayer = true;
+            changes = this.pendingChartChanges;
+            this.pendingChartChanges = new ArrayList();
+        }
+        runChartChanges(changes);
+        releaseBuffers();
+        invalidate();
+    }
+
+    /**
+     * Releases the frames held for the render thread.  A frame that the
+     * thread is drawing is not held here, and is recycled by the thread
+     * when it finds that it has been stopped.  The caller must hold the
+     * redraw lock.
+     */
+    private void releaseFrames() {
+        if (this.frontBuffer != null) {
+            this.frontBuffer.recycle();
+            this.frontBuffer = null;
+        }
+        if (this.readyBuffer != null) {
+            this.readyBuffer.recycle();
+            this.readyBuffer = null;
+        }
+        if (this.spareBuffer != null) {
+            this.spareBuffer.recycle();
+            this.spareBuffer = null;
+        }
+        this.readyInfo = null;
+        this.spareInfo = null;
+    }
+
+    /**
+     * Stops the render thread (if it is running) after the frame that it is
+     * drawing, and discards the size of the next frame so that the next
+     * draw of the view requests a new one.  The caller must hold the redraw
+     * lock.
+     */
+    private void stopRenderThread() {
+        this.renderThread = null;
+        this.renderWidth = 0;
+        this.renderHeight = 0;
+        this.redrawLock.notifyAll();
+    }
+
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        synchronized (this.redrawLock) {
+            stopRenderThread();
+            releaseFrames();
+        }
+    }
 
     public Dimension getSize() {
         return this.size;
@@ -895,20 +1833,25 @@ public class DemoView extends View {
      * @param startDistance
      * @param endDistance
      */
-    private void zoom(PointF source, double startDistance, double endDistance) {
+    private void zoom(final PointF source, double startDistance,
+            double endDistance) {
 
         Plot plot = this.chart.getPlot();
-        PlotRenderingInfo info = this.info.getPlotInfo();
+        final PlotRenderingInfo info = this.info.getPlotInfo();
 
         if(plot instanceof Zoomable) {
-            float scaleDistance = (float)(startDistance / endDistance);
+            final float scaleDistance = (float)(startDistance / endDistance);
             
             if (this.mScale * scaleDistance < 10.0f &&
                     this.mScale * scaleDistance > 0.1f) {
                 this.mScale *= scaleDistance;
-                Zoomable z = (Zoomable) plot;
-                z.zoomDomainAxes(scaleDistance, info, source, false);
-                z.zoomRangeAxes(scaleDistance, info, source, false);
+                final Zoomable z = (Zoomable) plot;
+                changeChart(new Runnable() {
+                    public void run() {
+                        z.zoomDomainAxes(scaleDistance, info, source, false);
+                        z.zoomRangeAxes(scaleDistance, info, source, false);
+                    }
+                });
             }
         }
         
@@ -938,6 +1881,7 @@ public class DemoView extends View {
             
             if(accelX == 0 && accelY == 0) {
                 inertialMovedFlag = false;
+                this.gestureInProgress = false;
             }
         }
     }    /**
@@ -1002,6 +1946,92 @@ public class DemoView extends View {
 //        this.chartMotionListeners.remove(ChartTouchListener.class, listener);
     }
 
+    /**
+     * Receives notification of changes to the chart and schedules a redraw.
+     * This method may be called on any thread.  Only the first event after a
+     * frame has been drawn requests a redraw (through
+     * <code>postInvalidate()</code>, which the view system performs on the
+     * next display frame); any further events received before that frame is
+     * drawn are counted as suppressed, so a burst of changes costs a single
+     * redraw.  Events fired on the drawing thread while the chart is being
+     * drawn are also suppressed, since the frame in progress reflects them.
+     * Every other event marks the layer buffers that it affects (the data
+     * layer, and the base layer unless the event is a dataset update) to be
+     * redrawn.
+     *
+     * @param event  details of the chart change event.
+     */
+    public void chartChanged(ChartChangeEvent event) {
+        synchronized (this.redrawLock) {
+            if (this.drawThread == Thread.currentThread()
+                    || this.renderThread == Thread.currentThread()) {
+                this.suppressedChangeEventCount++;
+                return;
+            }
+            this.refreshDataLayer = true;
+            if (event.getType() != ChartChangeEventType.DATASET_UPDATED) {
+                this.refreshBaseLayer = true;
+            }
+            if (this.asyncRenderingEnabled) {
+                if (this.renderStartCount != this.renderRequestCount) {
+                    this.suppressedChangeEventCount++;
+                }
+                else {
+                    this.deliveredChangeEventCount++;
+                }
+                requestFrame();
+                return;
+            }
+            if (this.redrawPending) {
+                this.suppressedChangeEventCount++;
+                return;
+            }
+            this.redrawPending = true;
+            this.deliveredChangeEventCount++;
+        }
+        postInvalidate();
+    }
+
+    /**
+     * Returns the number of chart change events that have requested a redraw
+     * of this view.
+     *
+     * @return The event count.
+     *
+     * @see #getSuppressedChangeEventCount()
+     * @see #resetChangeEventCounts()
+     */
+    public long getDeliveredChangeEventCount() {
+        synchronized (this.redrawLock) {
+            return this.deliveredChangeEventCount;
+        }
+    }
+
+    /**
+     * Returns the number of chart change events that were coalesced into a
+     * redraw that had already been requested.
+     *
+     * @return The event count.
+     *
+     * @see #getDeliveredChangeEventCount()
+     * @see #resetChangeEventCounts()
+     */
+    public long getSuppressedChangeEventCount() {
+        synchronized (this.redrawLock) {
+            return this.suppressedChangeEventCount;
+        }
+    }
+
+    /**
+     * Resets the delivered and suppressed chart change event counts to zero.
+     */
+    public void resetChangeEventCounts() {
+        synchronized (this.redrawLock) {
+            this.deliveredChangeEventCount = 0;
+            this.suppressedChangeEventCount = 0;
+        }
+    }
+
     /**
      * Schedule a user interface repaint.
      */
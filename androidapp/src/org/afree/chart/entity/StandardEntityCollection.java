@@ -39,6 +39,8 @@
  * Changes (from 19-Nov-2010)
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
+ * 18-Oct-2026 : Find entities with a grid index instead of a linear scan
+ * 18-Oct-2026 : Resolve virtual entities in getEntity(double, double)
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2001-2008, by Object Refinery Limited.
@@ -64,16 +66,26 @@
 package org.afree.chart.entity;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+import org.afree.graphics.geom.RectShape;
 import org.afree.util.ObjectUtilities;
 import org.afree.util.PublicCloneable;
 
 /**
  * A standard implementation of the {@link EntityCollection} interface.
+ * <P>
+ * The {@link #getEntity(double, double)} and {@link #getEntities(RectShape)}
+ * methods use a uniform grid over the bounds of the entity areas, built on
+ * the first query after the collection is modified, so a query only tests
+ * the entities that overlap the grid cells it touches.  The index is not
+ * updated if the area of an entity is changed after the entity has been
+ * added to the collection.
  */
 public class StandardEntityCollection implements EntityCollection,
         Cloneable, PublicCloneable, Serializable {
@@ -81,9 +93,21 @@ public class StandardEntityCollection implements EntityCollection,
     /** For serialization. */
     private static final long serialVersionUID = 5384773031184897047L;
 
+    /**
+     * The minimum number of entities for which the grid index is built
+     * (smaller collections are searched with a linear scan).
+     */
+    private static final int MINIMUM_INDEXED_ENTITY_COUNT = 64;
+
     /** Storage for the entities. */
     private List entities;
 
+    /**
+     * The grid index for the entities (<code>null</code> until it is needed,
+     * and reset when the collection is modified).
+     */
+    private transient EntityGrid grid;
+
     /**
      * Constructs a new entity collection (initially empty).
      */
@@ -119,6 +143,7 @@ public class StandardEntityCollection implements EntityCollection,
      */
     public void clear() {
         this.entities.clear();
+        this.grid = null;
     }
 
     /**
@@ -132,6 +157,7 @@ public class StandardEntityCollection implements EntityCollection,
             throw new IllegalArgumentException("Null 'entity' argument.");
         }
         this.entities.add(entity);
+        this.grid = null;
     }
 
     /**
@@ -142,11 +168,14 @@ public class StandardEntityCollection implements EntityCollection,
      */
     public void addAll(EntityCollection collection) {
         this.entities.addAll(collection.getEntities());
+        this.grid = null;
     }
 
     /**
      * Returns the last entity in the list with an area that encloses the
      * specified coordinates, or <code>null</code> if there is no such entity.
+     * A {@link VirtualEntity} is replaced by the entity it resolves at the
+     * specified coordinates (or skipped, if it resolves no entity).
      * 
      * @param x
      *            the x coordinate.
@@ -157,15 +186,88 @@ public class StandardEntityCollection implements EntityCollection,
      */
     public ChartEntity getEntity(double x, double y) {
         int entityCount = this.entities.size();
+        if (entityCount >= MINIMUM_INDEXED_ENTITY_COUNT) {
+            if (this.grid == null) {
+                this.grid = new EntityGrid(this.entities);
+            }
+            int index = entityCount;
+            while ((index = this.grid.findEntity(this.entities, (float) x,
+                    (float) y, index)) >= 0) {
+                ChartEntity entity = resolve(
+                        (ChartEntity) this.entities.get(index), x, y);
+                if (entity != null) {
+                    return entity;
+                }
+            }
+            return null;
+        }
         for (int i = entityCount - 1; i >= 0; i--) {
             ChartEntity entity = (ChartEntity) this.entities.get(i);
             if (entity.getArea().contains((float)x, (float)y)) {
-                return entity;
+                entity = resolve(entity, x, y);
+                if (entity != null) {
+                    return entity;
+                }
             }
         }
         return null;
     }
 
+    /**
+     * Resolves a virtual entity at the specified coordinates.
+     * 
+     * @param entity
+     *            an entity that contains the coordinates.
+     * @param x
+     *            the x coordinate.
+     * @param y
+     *            the y coordinate.
+     * 
+     * @return The entity itself, the entity resolved by a virtual entity,
+     *         or <code>null</code>.
+     */
+    private ChartEntity resolve(ChartEntity entity, double x, double y) {
+        if (entity instanceof VirtualEntity) {
+            return ((VirtualEntity) entity).resolve(x, y);
+        }
+        return entity;
+    }
+
+    /**
+     * Returns the entities with an area that intersects the specified
+     * rectangle, in the order they appear in the collection.
+     * 
+     * @param area
+     *            the rectangle (<code>null</code> not permitted).
+     * 
+     * @return A list of entities (possibly empty).
+     */
+    public List getEntities(RectShape area) {
+        if (area == null) {
+            throw new IllegalArgumentException("Null 'area' argument.");
+        }
+        List result = new ArrayList();
+        int entityCount = this.entities.size();
+        if (entityCount >= MINIMUM_INDEXED_ENTITY_COUNT) {
+            if (this.grid == null) {
+                this.grid = new EntityGrid(this.entities);
+            }
+            BitSet found = this.grid.findEntities(this.entities, area);
+            for (int i = found.nextSetBit(0); i >= 0;
+                    i = found.nextSetBit(i + 1)) {
+                result.add(this.entities.get(i));
+            }
+            return result;
+        }
+        for (int i = 0; i < entityCount; i++) {
+            ChartEntity entity = (ChartEntity) this.entities.get(i);
+            if (entity.getArea().intersects(area)) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+
     /**
      * Returns the entities in an unmodifiable collection.
      * 
@@ -205,6 +307,7 @@ public class StandardEntityCollection implements EntityCollection,
     public Object clone() throws CloneNotSupportedException {
         StandardEntityCollection clone
                 = (StandardEntityCollection) super.clone();
+        clone.grid = null;
         clone.entities = new java.util.ArrayList(this.entities.size());
         for (int i = 0; i < this.entities.size(); i++) {
             ChartEntity entity = (ChartEntity) this.entities.get(i);
@@ -213,4 +316,285 @@ public class StandardEntityCollection implements EntityCollection,
         return clone;
     }    
     
+    /**
+     * A uniform grid over the bounds of the entity areas.  Each cell lists
+     * (in ascending order) the indices of the entities whose bounds overlap
+     * it; entities that would overlap many cells (such as the chart and plot
+     * entities) are listed once, separately.
+     */
+    private static final class EntityGrid {
+
+        /** The target number of entities per grid cell. */
+        private static final int ENTITIES_PER_CELL = 2;
+
+        /**
+         * The margin added to the bounds of each entity area, since some
+         * shapes round the coordinates of a point to integers before testing
+         * whether they contain it.
+         */
+        private static final float MARGIN = 1.0f;
+
+        /** The maximum number of cells in the grid. */
+        private static final int MAXIMUM_CELL_COUNT = 1 << 16;
+
+        /**
+         * The maximum number of cells an entity is listed in; larger
+         * entities are listed separately.
+         */
+        private static final int MAXIMUM_CELLS_PER_ENTITY = 16;
+
+        /** The bounds of the grid. */
+        private float minX, minY, maxX, maxY;
+
+        /** The number of columns and rows in the grid. */
+        private int columns, rows;
+
+        /** The width and height of a cell. */
+        private float cellWidth, cellHeight;
+
+        /**
+         * The bounds of each entity area, plus the margin (minX, minY, maxX,
+         * maxY for entity i at offset 4 * i).
+         */
+        private float[] bounds;
+
+        /**
+         * The offset of the first index for each cell in cellEntities (with
+         * an extra final element holding the total length).
+         */
+        private int[] cellStart;
+
+        /** The entity indices for all the cells. */
+        private int[] cellEntities;
+
+        /** The indices of the entities that overlap many cells. */
+        private int[] largeEntities;
+
+        /**
+         * Builds a grid for a list of entities.
+         *
+         * @param entities  the entities.
+         */
+        EntityGrid(List entities) {
+            int count = entities.size();
+            this.bounds = new float[4 * count];
+            this.minX = Float.POSITIVE_INFINITY;
+            this.minY = Float.POSITIVE_INFINITY;
+            this.maxX = Float.NEGATIVE_INFINITY;
+            this.maxY = Float.NEGATIVE_INFINITY;
+            RectShape r = new RectShape();
+            for (int i = 0; i < count; i++) {
+                ChartEntity entity = (ChartEntity) entities.get(i);
+                entity.getArea().getBounds(r);
+                this.bounds[4 * i] = r.getX() - MARGIN;
+                this.bounds[4 * i + 1] = r.getY() - MARGIN;
+                this.bounds[4 * i + 2] = r.getX() + r.getWidth() + MARGIN;
+                this.bounds[4 * i + 3] = r.getY() + r.getHeight() + MARGIN;
+                this.minX = Math.min(this.minX, this.bounds[4 * i]);
+                this.minY = Math.min(this.minY, this.bounds[4 * i + 1]);
+                this.maxX = Math.max(this.maxX, this.bounds[4 * i + 2]);
+                this.maxY = Math.max(this.maxY, this.bounds[4 * i + 3]);
+            }
+
+            // choose roughly square cells...
+            float width = Math.max(this.maxX - this.minX, 1.0f);
+            float height = Math.max(this.maxY - this.minY, 1.0f);
+            int cellCount = Math.min(Math.max(count / ENTITIES_PER_CELL, 1),
+                    MAXIMUM_CELL_COUNT);
+            double cellSize = Math.sqrt(width * height / cellCount);
+            this.columns = Math.max((int) Math.ceil(width / cellSize), 1);
+            this.rows = Math.max((int) Math.ceil(height / cellSize), 1);
+            this.cellWidth = width / this.columns;
+            this.cellHeight = height / this.rows;
+
+            // count the entities in each cell, then fill the cells...
+            this.cellStart = new int[this.columns * this.rows + 1];
+            int largeCount = 0;
+            for (int i = 0; i < count; i++) {
+                int c0 = column(this.bounds[4 * i]);
+                int c1 = column(this.bounds[4 * i + 2]);
+                int r0 = row(this.bounds[4 * i + 1]);
+                int r1 = row(this.bounds[4 * i + 3]);
+                if ((c1 - c0 + 1) * (r1 - r0 + 1) > MAXIMUM_CELLS_PER_ENTITY) {
+                    largeCount++;
+                    continue;
+                }
+                for (int row = r0; row <= r1; row++) {
+                    for (int column = c0; column <= c1; column++) {
+                        this.cellStart[row * this.columns + column + 1]++;
+                    }
+                }
+            }
+            for (int cell = 0; cell < this.columns * this.rows; cell++) {
+                this.cellStart[cell + 1] += this.cellStart[cell];
+            }
+            this.cellEntities = new int[this.cellStart[this.cellStart.length
+                    - 1]];
+            this.largeEntities = new int[largeCount];
+            int[] next = (int[]) this.cellStart.clone();
+            largeCount = 0;
+            for (int i = 0; i < count; i++) {
+                int c0 = column(this.bounds[4 * i]);
+                int c1 = column(this.bounds[4 * i + 2]);
+                int r0 = row(this.bounds[4 * i + 1]);
+                int r1 = row(this.bounds[4 * i + 3]);
+                if ((c1 - c0 + 1) * (r1 - r0 + 1) > MAXIMUM_CELLS_PER_ENTITY) {
+                    this.largeEntities[largeCount++] = i;
+                    continue;
+                }
+                for (int row = r0; row <= r1; row++) {
+                    for (int column = c0; column <= c1; column++) {
+                        this.cellEntities[next[row * this.columns
+                                + column]++] = i;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the grid column for an x-coordinate (clamped to the
+         * grid).
+         *
+         * @param x  the x-coordinate.
+         *
+         * @return The column index.
+         */
+        private int column(float x) {
+            int column = (int) ((x - this.minX) / this.cellWidth);
+            return Math.min(Math.max(column, 0), this.columns - 1);
+        }
+
+        /**
+         * Returns the grid row for a y-coordinate (clamped to the grid).
+         *
+         * @param y  the y-coordinate.
+         *
+         * @return The row index.
+         */
+        private int row(float y) {
+            int row = (int) ((y - this.minY) / this.cellHeight);
+            return Math.min(Math.max(row, 0), this.rows - 1);
+        }
+
+        /**
+         * Returns <code>true</code> if the bounds of an entity contain a
+         * point and the entity area contains the point.
+         *
+         * @param entities  the entities.
+         * @param i  the entity index.
+         * @param x  the x-coordinate.
+         * @param y  the y-coordinate.
+         *
+         * @return A boolean.
+         */
+        private boolean contains(List entities, int i, float x, float y) {
+            return x >= this.bounds[4 * i] && x <= this.bounds[4 * i + 2]
+                    && y >= this.bounds[4 * i + 1]
+                    && y <= this.bounds[4 * i + 3]
+                    && ((ChartEntity) entities.get(i)).getArea().contains(x,
+                            y);
+        }
+
+        /**
+         * Returns the index of the last entity before the specified index
+         * with an area that contains the specified point.
+         *
+         * @param entities  the entities the grid was built for.
+         * @param x  the x-coordinate.
+         * @param y  the y-coordinate.
+         * @param before  the index to search before.
+         *
+         * @return The entity index (or -1 if no entity contains the point).
+         */
+        int findEntity(List entities, float x, float y, int before) {
+            if (!(x >= this.minX && x <= this.maxX && y >= this.minY
+                    && y <= this.maxY)) {
+                return -1;
+            }
+            int result = -1;
+            int cell = row(y) * this.columns + column(x);
+            for (int k = this.cellStart[cell + 1] - 1;
+                    k >= this.cellStart[cell]; k--) {
+                int i = this.cellEntities[k];
+                if (i < before && contains(entities, i, x, y)) {
+                    result = i;
+                    break;
+                }
+            }
+            for (int k = this.largeEntities.length - 1; k >= 0; k--) {
+                int i = this.largeEntities[k];
+                if (i < result) {
+                    break;
+                }
+                if (i < before && contains(entities, i, x, y)) {
+                    return i;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns the indices of the entities with an area that intersects
+         * the specified rectangle.
+         *
+         * @param entities  the entities the grid was built for.
+         * @param area  the rectangle.
+         *
+         * @return The set of entity indices.
+         */
+        BitSet findEntities(List entities, RectShape area) {
+            BitSet result = new BitSet(entities.size());
+            float x0 = area.getX();
+            float y0 = area.getY();
+            float x1 = x0 + area.getWidth();
+            float y1 = y0 + area.getHeight();
+            for (int k = 0; k < this.largeEntities.length; k++) {
+                testEntity(entities, this.largeEntities[k], area, result);
+            }
+            if (x1 < this.minX || x0 > this.maxX || y1 < this.minY
+                    || y0 > this.maxY) {
+                return result;
+            }
+            int c1 = column(x1);
+            int r1 = row(y1);
+            for (int row = row(y0); row <= r1; row++) {
+                for (int column = column(x0); column <= c1; column++) {
+                    int cell = row * this.columns + column;
+                    for (int k = this.cellStart[cell];
+                            k < this.cellStart[cell + 1]; k++) {
+                        int i = this.cellEntities[k];
+                        if (!result.get(i)) {
+                            testEntity(entities, i, area, result);
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Adds an entity index to a set if the entity area intersects a
+         * rectangle.
+         *
+         * @param entities  the entities.
+         * @param i  the entity index.
+         * @param area  the rectangle.
+         * @param result  the set of entity indices.
+         */
+        private void testEntity(List entities, int i, RectShape area,
+                BitSet result) {
+            float x0 = area.getX();
+            float y0 = area.getY();
+            if (this.bounds[4 * i + 2] < x0 || this.bounds[4 * i] > x0
+                    + area.getWidth() || this.bounds[4 * i + 3] < y0
+                    || this.bounds[4 * i + 1] > y0 + area.getHeight()) {
+                return;
+            }
+            if (((ChartEntity) entities.get(i)).getArea().intersects(area)) {
+                result.set(i);
+            }
+        }
+
+    }
+
 }
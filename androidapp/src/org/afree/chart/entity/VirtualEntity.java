@@ -0,0 +1,81 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ------------------
+ * VirtualEntity.java
+ * ------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.entity;
+
+import org.afree.graphics.geom.Shape;
+
+/**
+ * An entity that stands in for the entities of many items, which are only
+ * created when they are looked up.  A renderer can add one virtual entity
+ * for a dataset, instead of an entity for every item it draws.  The
+ * {@link StandardEntityCollection#getEntity(double, double)} method asks a
+ * virtual entity that contains the point to resolve the entity at that
+ * point, and continues with the earlier entities in the collection if it
+ * returns <code>null</code>.
+ */
+public abstract class VirtualEntity extends ChartEntity {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 3349816297035216045L;
+
+    /**
+     * Creates a new entity.
+     *
+     * @param area  the area covered by the items (<code>null</code> not
+     *     permitted).
+     */
+    public VirtualEntity(Shape area) {
+        super(area);
+    }
+
+    /**
+     * Returns the entity at the specified point.
+     *
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     *
+     * @return The entity (or <code>null</code> if there is no item at the
+     *     point).
+     */
+    public abstract ChartEntity resolve(double x, double y);
+
+}
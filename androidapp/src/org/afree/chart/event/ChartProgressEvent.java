@@ -39,6 +39,7 @@
  * Changes (from 19-Nov-2010)
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
+ * 18-Oct-2026 : Store the percent argument in the constructor
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2003-2008, by Object Refinery Limited.
@@ -96,6 +97,7 @@ public class ChartProgressEvent extends java.util.EventObject {
         super(source);
         this.chart = chart;
         this.type = type;
+        this.percent = percent;
     }
 
     /**
@@ -0,0 +1,244 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------
+ * EventListenerList.java
+ * ----------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.event;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.EventListener;
+
+/**
+ * Storage for event listeners, used in place of
+ * <code>javax.swing.event.EventListenerList</code> (which is not available
+ * on Android).  The listeners are held in an array of alternating
+ * (listener class, listener) pairs that is replaced, never modified, when a
+ * listener is added or removed, so events can be fired by iterating over
+ * the array returned by {@link #getListenerList()} without locking, even
+ * while other threads register or deregister listeners.
+ * <P>
+ * Only listeners that implement <code>Serializable</code> are written when
+ * the list is serialized.
+ */
+public class EventListenerList implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -4326546637585314578L;
+
+    /** An empty listener array, shared by all empty lists. */
+    private static final Object[] NULL_ARRAY = new Object[0];
+
+    /** The (listener class, listener) pairs. */
+    private transient volatile Object[] listenerList = NULL_ARRAY;
+
+    /**
+     * Creates a new empty list.
+     */
+    public EventListenerList() {
+        super();
+    }
+
+    /**
+     * Returns the listeners as an array of alternating (listener class,
+     * listener) pairs.  The array must not be modified by the caller.
+     *
+     * @return The listener array (never <code>null</code>).
+     */
+    public Object[] getListenerList() {
+        return this.listenerList;
+    }
+
+    /**
+     * Returns all the listeners registered for the specified class.
+     *
+     * @param t  the listener class (<code>null</code> not permitted).
+     *
+     * @return An array of listeners (possibly empty).
+     */
+    public EventListener[] getListeners(Class t) {
+        Object[] list = this.listenerList;
+        int n = getListenerCount(list, t);
+        EventListener[] result = (EventListener[]) Array.newInstance(t, n);
+        int j = 0;
+        for (int i = list.length - 2; i >= 0; i -= 2) {
+            if (list[i] == t) {
+                result[j++] = (EventListener) list[i + 1];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the total number of listeners in the list.
+     *
+     * @return The listener count.
+     */
+    public int getListenerCount() {
+        return this.listenerList.length / 2;
+    }
+
+    /**
+     * Returns the number of listeners registered for the specified class.
+     *
+     * @param t  the listener class.
+     *
+     * @return The listener count.
+     */
+    public int getListenerCount(Class t) {
+        return getListenerCount(this.listenerList, t);
+    }
+
+    /**
+     * Counts the listeners of the specified class in a listener array.
+     *
+     * @param list  the listener array.
+     * @param t  the listener class.
+     *
+     * @return The listener count.
+     */
+    private static int getListenerCount(Object[] list, Class t) {
+        int count = 0;
+        for (int i = 0; i < list.length; i += 2) {
+            if (t == (Class) list[i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds a listener for the specified class.
+     *
+     * @param t  the listener class (<code>null</code> not permitted).
+     * @param l  the listener (<code>null</code> is ignored).
+     */
+    public synchronized void add(Class t, EventListener l) {
+        if (l == null) {
+            return;
+        }
+        if (!t.isInstance(l)) {
+            throw new IllegalArgumentException("Listener " + l
+                    + " is not of type " + t + ".");
+        }
+        Object[] list = this.listenerList;
+        Object[] tmp = new Object[list.length + 2];
+        System.arraycopy(list, 0, tmp, 0, list.length);
+        tmp[list.length] = t;
+        tmp[list.length + 1] = l;
+        this.listenerList = tmp;
+    }
+
+    /**
+     * Removes a listener for the specified class.  If the listener is not
+     * registered, this method does nothing.
+     *
+     * @param t  the listener class (<code>null</code> not permitted).
+     * @param l  the listener (<code>null</code> is ignored).
+     */
+    public synchronized void remove(Class t, EventListener l) {
+        if (l == null) {
+            return;
+        }
+        if (!t.isInstance(l)) {
+            throw new IllegalArgumentException("Listener " + l
+                    + " is not of type " + t + ".");
+        }
+        Object[] list = this.listenerList;
+        int index = -1;
+        for (int i = list.length - 2; i >= 0; i -= 2) {
+            if (list[i] == t && list[i + 1].equals(l)) {
+                index = i;
+                break;
+            }
+        }
+        if (index != -1) {
+            Object[] tmp = new Object[list.length - 2];
+            System.arraycopy(list, 0, tmp, 0, index);
+            System.arraycopy(list, index + 2, tmp, index,
+                    tmp.length - index);
+            this.listenerList = (tmp.length == 0) ? NULL_ARRAY : tmp;
+        }
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        Object[] list = this.listenerList;
+        stream.defaultWriteObject();
+        for (int i = 0; i < list.length; i += 2) {
+            Class t = (Class) list[i];
+            EventListener l = (EventListener) list[i + 1];
+            if (l instanceof Serializable) {
+                stream.writeObject(t.getName());
+                stream.writeObject(l);
+            }
+        }
+        stream.writeObject(null);
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        this.listenerList = NULL_ARRAY;
+        stream.defaultReadObject();
+        Object className;
+        while ((className = stream.readObject()) != null) {
+            ClassLoader cl = Thread.currentThread().getContextClassLoader();
+            EventListener l = (EventListener) stream.readObject();
+            add(Class.forName((String) className, true, cl), l);
+        }
+    }
+
+}
@@ -107,6 +107,10 @@
  * 28-Apr-2008 : Fixed zooming problem (see bug 1950037) (DG);
  * 11-Aug-2008 : Don't store totalWeight of subplots, calculate it as
  *               required (DG);
+ * 18-Oct-2026 : Override isLayeredDrawingSupported();
+ * 18-Oct-2026 : Pin and release the dataset snapshots of the subplots;
+ * 18-Oct-2026 : Added an optional executor for drawing the data layers of
+ *               the subplots in parallel;
  *
  */
 
@@ -115,6 +119,7 @@ package org.afree.chart.plot;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.afree.ui.RectangleEdge;
 import org.afree.ui.RectangleInsets;
@@ -150,6 +155,15 @@ public class CombinedRangeXYPlot extends XYPlot
     /** Temporary storage for the subplot areas. */
     private transient RectShape[] subplotAreas;
 
+    /**
+     * The executor that draws the data layers of the subplots in parallel
+     * (<code>null</code> if the subplots are drawn one after another).
+     */
+    private transient ExecutorService renderingExecutor;
+
+    /** Draws the subplots when there is a rendering executor. */
+    private transient ParallelSubplotRenderer parallelRenderer;
+
     /**
      * Default constructor.
      */
@@ -371,6 +385,83 @@ public class CombinedRangeXYPlot extends XYPlot
         return space;
     }
 
+    /**
+     * Returns <code>false</code>, since the subplots are drawn together and
+     * their layers cannot be drawn separately.
+     *
+     * @return <code>false</code>.
+     */
+    public boolean isLayeredDrawingSupported() {
+        return false;
+    }
+
+    /**
+     * Pins the dataset snapshots of this plot and all the subplots.
+     */
+    public void pinDatasetSnapshots() {
+        super.pinDatasetSnapshots();
+        Iterator iterator = getSubplots().iterator();
+        while (iterator.hasNext()) {
+            XYPlot plot = (XYPlot) iterator.next();
+            plot.pinDatasetSnapshots();
+        }
+    }
+
+    /**
+     * Releases the dataset snapshots pinned by
+     * {@link #pinDatasetSnapshots()}.
+     */
+    public void releaseDatasetSnapshots() {
+        super.releaseDatasetSnapshots();
+        Iterator iterator = getSubplots().iterator();
+        while (iterator.hasNext()) {
+            XYPlot plot = (XYPlot) iterator.next();
+            plot.releaseDatasetSnapshots();
+        }
+    }
+
+    /**
+     * Returns the executor that draws the data layers of the subplots in
+     * parallel.
+     *
+     * @return The executor (possibly <code>null</code>).
+     *
+     * @see #setRenderingExecutor(ExecutorService)
+     */
+    public ExecutorService getRenderingExecutor() {
+        return this.renderingExecutor;
+    }
+
+    /**
+     * Sets the executor that draws the data layers of the subplots in
+     * parallel, for plots with several large subplots.  When an executor is
+     * set, the base layers of the subplots (and the shared axis) are drawn
+     * first, then the data layer of each subplot is drawn into its own
+     * off-screen image by a task on the executor, and the images are drawn
+     * onto the canvas once all the tasks have finished.  The executor
+     * should have about as many threads as the device has processors, for
+     * example:
+     * <pre>
+     * Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())
+     * </pre>
+     * The subplots must not share renderers or datasets, and the datasets
+     * must not be modified while the plot is drawn unless they support
+     * snapshots.  No change event is sent, since the executor does not
+     * change the appearance of the plot.
+     *
+     * @param executor  the executor (<code>null</code> permitted, to draw
+     *     the subplots one after another on the calling thread).
+     *
+     * @see #getRenderingExecutor()
+     */
+    public void setRenderingExecutor(ExecutorService executor) {
+        this.renderingExecutor = executor;
+        if (executor == null && this.parallelRenderer != null) {
+            this.parallelRenderer.releaseBuffers();
+            this.parallelRenderer = null;
+        }
+    }
+
     /**
      * Draws the plot within the specified area on a graphics device.
      *
@@ -417,15 +508,25 @@ public class CombinedRangeXYPlot extends XYPlot
         parentState.getSharedAxisStates().put(axis, axisState);
 
         // draw all the charts
-        for (int i = 0; i < this.subplots.size(); i++) {
-            XYPlot plot = (XYPlot) this.subplots.get(i);
-            PlotRenderingInfo subplotInfo = null;
-            if (info != null) {
-                subplotInfo = new PlotRenderingInfo(info.getOwner());
-                info.addSubplotInfo(subplotInfo);
+        if (this.renderingExecutor != null && this.subplots.size() > 1) {
+            if (this.parallelRenderer == null) {
+                this.parallelRenderer = new ParallelSubplotRenderer();
+            }
+            this.parallelRenderer.draw(canvas, this.subplots,
+                    this.subplotAreas, anchor, parentState, info,
+                    this.renderingExecutor);
+        }
+        else {
+            for (int i = 0; i < this.subplots.size(); i++) {
+                XYPlot plot = (XYPlot) this.subplots.get(i);
+                PlotRenderingInfo subplotInfo = null;
+                if (info != null) {
+                    subplotInfo = new PlotRenderingInfo(info.getOwner());
+                    info.addSubplotInfo(subplotInfo);
+                }
+                plot.draw(canvas, this.subplotAreas[i], anchor, parentState,
+                        subplotInfo);
             }
-            plot.draw(canvas, this.subplotAreas[i], anchor, parentState,
-                    subplotInfo);
         }
 
         if (info != null) {
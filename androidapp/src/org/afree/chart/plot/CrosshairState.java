@@ -39,6 +39,7 @@
  * Changes (from 19-Nov-2010)
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
+ * 18-Oct-2026 : Added isCalculateDistanceInDataSpace()
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2002-2008, by Object Refinery Limited.
@@ -144,6 +145,16 @@ public class CrosshairState {
         this.calculateDistanceInDataSpace = calculateDistanceInDataSpace;
     }
 
+    /**
+     * Returns <code>true</code> if the distance is calculated in data space,
+     * and <code>false</code> if it is calculated in Java2D space.
+     * 
+     * @return A boolean.
+     */
+    public boolean isCalculateDistanceInDataSpace() {
+        return this.calculateDistanceInDataSpace;
+    }
+
     /**
      * Returns the distance between the anchor point and the current crosshair
      * point.
@@ -0,0 +1,322 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------------
+ * ParallelSubplotRenderer.java
+ * ----------------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.plot;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.afree.chart.ChartRenderingInfo;
+import org.afree.chart.entity.EntityCollection;
+import org.afree.chart.renderer.AbstractRenderer;
+import org.afree.data.xy.XYDataset;
+import org.afree.graphics.geom.RectShape;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.PointF;
+
+/**
+ * Draws the subplots of a combined plot with their data layers rendered in
+ * parallel.  The base layer of each subplot (background, gridlines, axes
+ * and outline) is drawn first on the calling thread, which also fixes the
+ * layout.  Then the data layer of each subplot is drawn into its own
+ * off-screen bitmap by a task on an executor (the calling thread draws the
+ * first one itself), and the bitmaps are drawn onto the canvas, followed
+ * by the crosshairs, once all the tasks have finished.
+ * <P>
+ * The tasks draw different subplots at the same time, so the subplots must
+ * not share renderers or datasets, and the datasets must not be modified
+ * while the plot is drawn (unless their snapshots are pinned).  The series
+ * paints, strokes and shapes are looked up on the calling thread before
+ * the tasks start, so that any values that the renderers take from the
+ * shared drawing supplier are assigned in the usual order.
+ */
+class ParallelSubplotRenderer {
+
+    /** The off-screen images for the subplot data layers. */
+    private Bitmap[] buffers;
+
+    /**
+     * Creates a new renderer.
+     */
+    ParallelSubplotRenderer() {
+        this.buffers = new Bitmap[0];
+    }
+
+    /**
+     * Draws the subplots.
+     *
+     * @param canvas  the graphics device.
+     * @param subplots  the subplots (<code>null</code> not permitted).
+     * @param subplotAreas  the areas for the subplots, in the same order.
+     * @param anchor  an anchor point in Java2D space (<code>null</code>
+     *     permitted).
+     * @param parentState  the state from the parent plot.
+     * @param info  collects chart drawing information (<code>null</code>
+     *     permitted).
+     * @param executor  the executor that runs the data layer tasks
+     *     (<code>null</code> not permitted).
+     */
+    void draw(Canvas canvas, List subplots, RectShape[] subplotAreas,
+            final PointF anchor, PlotState parentState, PlotRenderingInfo info,
+            ExecutorService executor) {
+
+        int n = subplots.size();
+        if (this.buffers.length != n) {
+            releaseBuffers();
+            this.buffers = new Bitmap[n];
+        }
+        RectShape[] dataAreas = new RectShape[n];
+        PlotRenderingInfo[] layerInfo = new PlotRenderingInfo[n];
+
+        // draw the base layers and prepare the buffers...
+        for (int i = 0; i < n; i++) {
+            XYPlot plot = (XYPlot) subplots.get(i);
+            PlotRenderingInfo subplotInfo;
+            if (info != null) {
+                subplotInfo = new PlotRenderingInfo(info.getOwner());
+                info.addSubplotInfo(subplotInfo);
+            }
+            else {
+                subplotInfo = new PlotRenderingInfo(null);
+            }
+            boolean baseLayerOnly = plot.isBaseLayerOnly();
+            plot.setBaseLayerOnly(true);
+            try {
+                plot.draw(canvas, subplotAreas[i], anchor, parentState,
+                        subplotInfo);
+            }
+            finally {
+                plot.setBaseLayerOnly(baseLayerOnly);
+            }
+            RectShape dataArea = subplotInfo.getDataArea();
+            if (dataArea.getWidth() < 1.0 || dataArea.getHeight() < 1.0) {
+                // the plot was too small to draw
+                continue;
+            }
+            dataAreas[i] = dataArea;
+            if (subplotInfo.getOwner() != null
+                    && subplotInfo.getOwner().getEntityCollection() != null) {
+                // the item entities are collected separately by each task
+                layerInfo[i] = new PlotRenderingInfo(new ChartRenderingInfo());
+                layerInfo[i].setPlotArea(subplotInfo.getPlotArea());
+                layerInfo[i].setDataArea(dataArea);
+            }
+            prepareRenderers(plot);
+            int left = (int) Math.floor(dataArea.getMinX());
+            int top = (int) Math.floor(dataArea.getMinY());
+            int width = (int) Math.ceil(dataArea.getMaxX()) - left;
+            int height = (int) Math.ceil(dataArea.getMaxY()) - top;
+            Bitmap buffer = this.buffers[i];
+            if (buffer != null && buffer.getWidth() == width
+                    && buffer.getHeight() == height) {
+                buffer.eraseColor(Color.TRANSPARENT);
+            }
+            else {
+                if (buffer != null) {
+                    buffer.recycle();
+                }
+                this.buffers[i] = Bitmap.createBitmap(width, height,
+                        Bitmap.Config.ARGB_8888);
+            }
+        }
+
+        // draw the data layers...
+        Runnable[] tasks = new Runnable[n];
+        for (int i = 0; i < n; i++) {
+            if (dataAreas[i] != null) {
+                tasks[i] = createTask((XYPlot) subplots.get(i),
+                        this.buffers[i], dataAreas[i], anchor, layerInfo[i]);
+            }
+        }
+        Future[] futures = new Future[n];
+        int first = -1;
+        for (int i = 0; i < n; i++) {
+            if (tasks[i] == null) {
+                continue;
+            }
+            if (first < 0) {
+                first = i;
+            }
+            else {
+                futures[i] = executor.submit(tasks[i]);
+            }
+        }
+        Throwable failure = null;
+        if (first >= 0) {
+            try {
+                tasks[first].run();
+            }
+            catch (RuntimeException e) {
+                failure = e;
+            }
+            catch (Error e) {
+                failure = e;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (futures[i] == null) {
+                continue;
+            }
+            try {
+                futures[i].get();
+            }
+            catch (InterruptedException e) {
+                // abandon the buffers, since unfinished tasks may still be
+                // drawing into them
+                for (int j = i; j < n; j++) {
+                    if (futures[j] != null) {
+                        futures[j].cancel(false);
+                    }
+                }
+                this.buffers = new Bitmap[0];
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+
+        // draw the buffers onto the canvas, followed by the crosshairs...
+        for (int i = 0; i < n; i++) {
+            RectShape dataArea = dataAreas[i];
+            if (dataArea == null) {
+                continue;
+            }
+            canvas.drawBitmap(this.buffers[i],
+                    (float) Math.floor(dataArea.getMinX()),
+                    (float) Math.floor(dataArea.getMinY()), null);
+            if (layerInfo[i] != null) {
+                EntityCollection entities
+                        = info.getOwner().getEntityCollection();
+                entities.addAll(
+                        layerInfo[i].getOwner().getEntityCollection());
+            }
+            XYPlot plot = (XYPlot) subplots.get(i);
+            plot.drawOverlayLayer(canvas, dataArea, anchor);
+        }
+    }
+
+    /**
+     * Creates a task that draws the data layer of a subplot into a buffer.
+     *
+     * @param plot  the subplot.
+     * @param buffer  the buffer, which covers the data area.
+     * @param dataArea  the data area.
+     * @param anchor  the anchor point (<code>null</code> permitted).
+     * @param info  collects the item entities (<code>null</code>
+     *     permitted).
+     *
+     * @return The task.
+     */
+    private Runnable createTask(final XYPlot plot, final Bitmap buffer,
+            final RectShape dataArea, final PointF anchor,
+            final PlotRenderingInfo info) {
+        return new Runnable() {
+            public void run() {
+                Canvas canvas = new Canvas(buffer);
+                canvas.translate((float) -Math.floor(dataArea.getMinX()),
+                        (float) -Math.floor(dataArea.getMinY()));
+                plot.drawDataLayer(canvas, dataArea, anchor, info);
+            }
+        };
+    }
+
+    /**
+     * Looks up the series paints, strokes and shapes of the renderers in a
+     * subplot, so that any that are auto-populated are taken from the
+     * drawing supplier on the calling thread.
+     *
+     * @param plot  the subplot.
+     */
+    private void prepareRenderers(XYPlot plot) {
+        for (int i = 0; i < plot.getDatasetCount(); i++) {
+            XYDataset dataset = plot.getDataset(i);
+            if (dataset == null) {
+                continue;
+            }
+            Object renderer = plot.getRendererForDataset(dataset);
+            if (!(renderer instanceof AbstractRenderer)) {
+                continue;
+            }
+            AbstractRenderer r = (AbstractRenderer) renderer;
+            for (int series = 0; series < dataset.getSeriesCount(); series++) {
+                r.lookupSeriesPaintType(series);
+                r.lookupSeriesFillPaintType(series);
+                r.lookupSeriesOutlinePaintType(series);
+                r.lookupSeriesStroke(series);
+                r.lookupSeriesEffect(series);
+                r.lookupSeriesOutlineStroke(series);
+                r.lookupSeriesOutlineEffect(series);
+                r.lookupSeriesShape(series);
+            }
+        }
+    }
+
+    /**
+     * Releases the off-screen images.
+     */
+    void releaseBuffers() {
+        for (int i = 0; i < this.buffers.length; i++) {
+            if (this.buffers[i] != null) {
+                this.buffers[i].recycle();
+            }
+        }
+        this.buffers = new Bitmap[0];
+    }
+
+}
@@ -40,6 +40,7 @@
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
  * 14-Jan-2011 : Updated API docs
+ * 18-Oct-2026 : Added pinDatasetSnapshots() and releaseDatasetSnapshots()
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2000-2009, by Object Refinery Limited and Contributors.
@@ -145,6 +146,8 @@
 
 package org.afree.chart.plot;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 import org.afree.chart.AFreeChart;
@@ -157,7 +160,7 @@ import org.afree.data.general.DatasetGroup;
 import org.afree.chart.entity.EntityCollection;
 import org.afree.chart.entity.PlotEntity;
 import org.afree.chart.event.ChartChangeEventType;
-//import org.afree.chart.event.EventListenerList;
+import org.afree.chart.event.EventListenerList;
 import org.afree.chart.event.PlotChangeEvent;
 import org.afree.chart.event.PlotChangeListener;
 import org.afree.chart.text.G2TextMeasurer;
@@ -280,7 +283,7 @@ public abstract class Plot implements LegendItemSource, Cloneable, Serializable,
     private DrawingSupplier drawingSupplier;
 
     /** Storage for registered change listeners. */
-//    private transient EventListenerList listenerList;
+    private transient EventListenerList listenerList;
     
     /**
      * A flag that controls whether or not the plot will notify listeners of
@@ -313,7 +316,8 @@ public abstract class Plot implements LegendItemSource, Cloneable, Serializable,
         this.noDataMessagePaintType = new SolidColor(Color.argb(0, 255, 255, 255));
 
         this.drawingSupplier = new DefaultDrawingSupplier();
-//        this.listenerList = new EventListenerList();
+        this.listenerList = new EventListenerList();
+        this.notify = true;
     }
 
     /**
@@ -829,6 +833,24 @@ public abstract class Plot implements LegendItemSource, Cloneable, Serializable,
         return this.notify;
     }
 
+    /**
+     * Sets a flag that controls whether or not listeners receive
+     * {@link PlotChangeEvent} notifications.
+     *
+     * @param notify  a boolean.
+     *
+     * @see #isNotify()
+     *
+     * @since JFreeChart 1.0.13
+     */
+    public void setNotify(boolean notify) {
+        this.notify = notify;
+        // if the flag is being set to true, there may be queued up changes...
+        if (notify) {
+            notifyListeners(new PlotChangeEvent(this));
+        }
+    }
+
     /**
      * Draws the plot within the specified area. The anchor is a point on the
      * chart that is specified externally (for instance, it may be the last
@@ -851,6 +873,27 @@ public abstract class Plot implements LegendItemSource, Cloneable, Serializable,
     public abstract void draw(Canvas canvas, RectShape area, PointF anchor,
             PlotState parentState, PlotRenderingInfo info);
 
+    /**
+     * Pins a snapshot of each dataset used by the plot that supports it (see
+     * {@link org.afree.data.general.SnapshotDataset}) for the calling
+     * thread, so that the plot can be drawn from consistent data while other
+     * threads update the datasets.
+     * Each call must be matched by a call to
+     * {@link #releaseDatasetSnapshots()}.  The default implementation does
+     * nothing.
+     */
+    public void pinDatasetSnapshots() {
+        // nothing to pin by default
+    }
+
+    /**
+     * Releases the snapshots pinned by {@link #pinDatasetSnapshots()}.  The
+     * default implementation does nothing.
+     */
+    public void releaseDatasetSnapshots() {
+        // nothing to release by default
+    }
+
     /**
      * Draws the plot background (the background color and/or image).
      * <P>
@@ -1246,12 +1289,12 @@ public abstract class Plot implements LegendItemSource, Cloneable, Serializable,
         if (!this.notify) {
             return;
         }
-//        Object[] listeners = this.listenerList.getListenerList();
-//        for (int i = listeners.length - 2; i >= 0; i -= 2) {
-//            if (listeners[i] == PlotChangeListener.class) {
-//                ((PlotChangeListener) listeners[i + 1]).plotChanged(event);
-//            }
-//        }
+        Object[] listeners = this.listenerList.getListenerList();
+        for (int i = listeners.length - 2; i >= 0; i -= 2) {
+            if (listeners[i] == PlotChangeListener.class) {
+                ((PlotChangeListener) listeners[i + 1]).plotChanged(event);
+            }
+        }
     }
     
     /**
@@ -1262,7 +1305,7 @@ public abstract class Plot implements LegendItemSource, Cloneable, Serializable,
      * @see #removeChangeListener(PlotChangeListener)
      */
     public void addChangeListener(PlotChangeListener listener) {
-//        this.listenerList.add(PlotChangeListener.class, listener);
+        this.listenerList.add(PlotChangeListener.class, listener);
     }
 
     /**
@@ -1273,7 +1316,7 @@ public abstract class Plot implements LegendItemSource, Cloneable, Serializable,
      * @see #addChangeListener(PlotChangeListener)
      */
     public void removeChangeListener(PlotChangeListener listener) {
-//        this.listenerList.remove(PlotChangeListener.class, listener);
+        this.listenerList.remove(PlotChangeListener.class, listener);
     }
     
     /**
@@ -1307,8 +1350,22 @@ public abstract class Plot implements LegendItemSource, Cloneable, Serializable,
         }
         clone.drawingSupplier
             = (DrawingSupplier) ObjectUtilities.clone(this.drawingSupplier);
-//        clone.listenerList = new EventListenerList();
+        clone.listenerList = new EventListenerList();
         return clone;
 
     }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.listenerList = new EventListenerList();
+    }
 }
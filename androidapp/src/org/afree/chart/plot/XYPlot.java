@@ -41,6 +41,15 @@
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
  * 14-Jan-2011 : renamed method name
  * 14-Jan-2011 : Updated API docs
+ * 18-Oct-2026 : Ignore appends that fall outside a fixed domain axis range
+ * 18-Oct-2026 : Added drawDataLayer() and drawOverlayLayer() so that the
+ *               plot layers can be cached separately
+ * 18-Oct-2026 : Add the renderer's virtual entity (if any) in render()
+ * 18-Oct-2026 : Added findCrosshairPoint() so that drawOverlayLayer() can
+ *               lock the crosshairs onto the data without rendering it
+ * 18-Oct-2026 : Pin the snapshots of the datasets that support them
+ * 18-Oct-2026 : Added drawDataLayerStrip() for incremental drawing of
+ *               scrolling charts
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2000-2009, by Object Refinery Limited and Contributors.
@@ -268,9 +277,12 @@ import org.afree.chart.axis.AxisState;
 import org.afree.chart.axis.TickType;
 import org.afree.chart.axis.ValueAxis;
 import org.afree.chart.axis.ValueTick;
+import org.afree.data.DomainOrder;
 import org.afree.data.Range;
 import org.afree.data.xy.XYDataset;
 import org.afree.data.general.DatasetChangeEvent;
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.SnapshotDataset;
 import org.afree.data.general.DatasetUtilities;
 import org.afree.chart.event.ChartChangeEventType;
 import org.afree.chart.event.PlotChangeEvent;
@@ -312,6 +324,13 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     /** The default grid line stroke. */
     public static final Float DEFAULT_GRIDLINE_STROKE = 1f;
 
+    /**
+     * The distance (in Java2D units) beyond the edges of a data layer strip
+     * within which items are still rendered, so that the parts of their
+     * shapes and lines that fall inside the strip are drawn.
+     */
+    private static final double STRIP_ITEM_MARGIN = 16.0;
+
     /** The default grid line paint. */
     public static final PaintType DEFAULT_GRIDLINE_PAINT = new SolidColor(Color.LTGRAY);
     
@@ -603,6 +622,21 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
      */
     private boolean rangePannable;
 
+    /**
+     * A flag that controls whether or not the {@link #draw(Canvas, RectShape,
+     * PointF, PlotState, PlotRenderingInfo)} method draws only the base layer
+     * of the plot, leaving the data and overlay layers to be drawn by the
+     * caller.
+     */
+    private transient boolean baseLayerOnly;
+
+    /**
+     * The Java2D bounds, along the domain axis, of the strip that is being
+     * drawn by {@link #drawDataLayerStrip(Canvas, RectShape, double, double,
+     * PlotRenderingInfo)} (<code>null</code> at other times).
+     */
+    private transient double[] stripBounds;
+
     /**
      * Creates a new <code>XYPlot</code> instance with no dataset, no axes and
      * no renderer. You should specify these items before using the plot.
@@ -3328,47 +3362,12 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         drawBackground(canvas, dataArea);
         Map axisStateMap = drawAxes(canvas, area, dataArea, info);
 
-        PlotOrientation orient = getOrientation();
-
         // the anchor point is typically the point where the mouse last
         // clicked - the crosshairs will be driven off this point...
         if (anchor != null && !dataArea.contains(anchor)) {
             anchor = null;
         }
-        CrosshairState crosshairState = new CrosshairState();
-        crosshairState.setCrosshairDistance(Double.POSITIVE_INFINITY);
-        crosshairState.setAnchor(anchor);
-
-        crosshairState.setAnchorX(Double.NaN);
-        crosshairState.setAnchorY(Double.NaN);
-        if (anchor != null) {
-            ValueAxis domainAxis = getDomainAxis();
-            if (domainAxis != null) {
-                double x;
-                if (orient == PlotOrientation.VERTICAL) {
-                    x = domainAxis.java2DToValue(anchor.x, dataArea,
-                            getDomainAxisEdge());
-                } else {
-                    x = domainAxis.java2DToValue(anchor.y, dataArea,
-                            getDomainAxisEdge());
-                }
-                crosshairState.setAnchorX(x);
-            }
-            ValueAxis rangeAxis = getRangeAxis();
-            if (rangeAxis != null) {
-                double y;
-                if (orient == PlotOrientation.VERTICAL) {
-                    y = rangeAxis.java2DToValue(anchor.y, dataArea,
-                            getRangeAxisEdge());
-                } else {
-                    y = rangeAxis.java2DToValue(anchor.x, dataArea,
-                            getRangeAxisEdge());
-                }
-                crosshairState.setAnchorY(y);
-            }
-        }
-        crosshairState.setCrosshairX(getDomainCrosshairValue());
-        crosshairState.setCrosshairY(getRangeCrosshairValue());
+        CrosshairState crosshairState = createCrosshairState(dataArea, anchor);
 
         canvas.save();
         canvas.clipRect((float) dataArea.getMinX(), (float) dataArea.getMinY(),
@@ -3413,7 +3412,454 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
             drawRangeMarkers(canvas, dataArea, i, Layer.BACKGROUND);
         }
 
-        // now draw annotations and render data items...
+        if (!this.baseLayerOnly) {
+            // now draw annotations and render data items...
+            boolean foundData = drawDatasets(canvas, dataArea, info,
+                    crosshairState);
+
+            updateCrosshairValues(dataArea, anchor, crosshairState);
+            drawCrosshairs(canvas, dataArea, crosshairState);
+
+            if (!foundData) {
+                drawNoDataMessage(canvas, dataArea);
+            }
+
+            drawForegroundLayers(canvas, dataArea, info);
+        }
+        canvas.restore();
+        drawOutline(canvas, dataArea);
+
+    }
+
+    /**
+     * Returns the flag that controls whether or not the
+     * {@link #draw(Canvas, RectShape, PointF, PlotState, PlotRenderingInfo)}
+     * method draws only the base layer of the plot (the background,
+     * gridlines, background markers, axes and outline).
+     *
+     * @return A boolean.
+     *
+     * @see #setBaseLayerOnly(boolean)
+     */
+    public boolean isBaseLayerOnly() {
+        return this.baseLayerOnly;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the
+     * {@link #draw(Canvas, RectShape, PointF, PlotState, PlotRenderingInfo)}
+     * method draws only the base layer of the plot.  A caller that caches
+     * the layers in separate off-screen images sets this flag while drawing
+     * the base layer, then draws the other layers with
+     * {@link #drawDataLayer(Canvas, RectShape, PointF, PlotRenderingInfo)} and
+     * {@link #drawOverlayLayer(Canvas, RectShape, PointF)}.  No change event
+     * is sent, since the flag does not change the appearance of the plot.
+     *
+     * @param flag  the flag.
+     *
+     * @see #isBaseLayerOnly()
+     */
+    public void setBaseLayerOnly(boolean flag) {
+        this.baseLayerOnly = flag;
+    }
+
+    /**
+     * Pins a snapshot of each dataset that implements
+     * {@link SnapshotDataset}.
+     */
+    public void pinDatasetSnapshots() {
+        for (int i = 0; i < getDatasetCount(); i++) {
+            XYDataset dataset = getDataset(i);
+            if (dataset instanceof SnapshotDataset) {
+                ((SnapshotDataset) dataset).pinSnapshot();
+            }
+        }
+    }
+
+    /**
+     * Releases the snapshots pinned by {@link #pinDatasetSnapshots()}.
+     */
+    public void releaseDatasetSnapshots() {
+        for (int i = 0; i < getDatasetCount(); i++) {
+            XYDataset dataset = getDataset(i);
+            if (dataset instanceof SnapshotDataset) {
+                ((SnapshotDataset) dataset).releaseSnapshot();
+            }
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the layers of this plot can be drawn
+     * separately (see {@link #setBaseLayerOnly(boolean)}).  Subclasses that
+     * override the draw() method should return <code>false</code>.
+     *
+     * @return A boolean.
+     */
+    public boolean isLayeredDrawingSupported() {
+        return true;
+    }
+
+    /**
+     * Draws the data layer of the plot: the annotations, data items,
+     * foreground markers and the "no data" message (if there is no data).
+     * The crosshair values are updated as they would be by the
+     * {@link #draw(Canvas, RectShape, PointF, PlotState, PlotRenderingInfo)}
+     * method, but the crosshairs are not drawn.
+     *
+     * @param canvas  the graphics device.
+     * @param dataArea  the data area, as recorded in the plot rendering info
+     *     by a prior call to the draw() method.
+     * @param anchor  an anchor point in Java2D space (<code>null</code>
+     *     permitted).
+     * @param info  collects chart drawing information (<code>null</code>
+     *     permitted).
+     *
+     * @see #drawOverlayLayer(Canvas, RectShape, PointF)
+     */
+    public void drawDataLayer(Canvas canvas, RectShape dataArea, PointF anchor,
+            PlotRenderingInfo info) {
+        if (anchor != null && !dataArea.contains(anchor)) {
+            anchor = null;
+        }
+        CrosshairState crosshairState = createCrosshairState(dataArea, anchor);
+        canvas.save();
+        canvas.clipRect((float) dataArea.getMinX(), (float) dataArea.getMinY(),
+                (float) dataArea.getMaxX(), (float) dataArea.getMaxY());
+        boolean foundData = drawDatasets(canvas, dataArea, info,
+                crosshairState);
+        updateCrosshairValues(dataArea, anchor, crosshairState);
+        if (!foundData) {
+            drawNoDataMessage(canvas, dataArea);
+        }
+        drawForegroundLayers(canvas, dataArea, info);
+        canvas.restore();
+    }
+
+    /**
+     * Draws the part of the data layer that lies in a strip of the data
+     * area, bounded along the domain axis by two Java2D coordinates (x for a
+     * vertical plot, y for a horizontal one).  Only the items near the strip
+     * are rendered, and the drawing is clipped to the strip, so a caller
+     * that keeps the data layer in a buffer can scroll the buffer and draw
+     * just the strip that the scroll exposed (together with any items
+     * appended since).  The crosshair values and the "no data" message are
+     * not updated.
+     *
+     * @param canvas  the graphics device.
+     * @param dataArea  the data area, as recorded in the plot rendering info
+     *     by a prior call to the draw() method.
+     * @param lower  the lower Java2D bound of the strip.
+     * @param upper  the upper Java2D bound of the strip.
+     * @param info  collects chart drawing information (<code>null</code>
+     *     permitted).
+     *
+     * @see #drawDataLayer(Canvas, RectShape, PointF, PlotRenderingInfo)
+     */
+    public void drawDataLayerStrip(Canvas canvas, RectShape dataArea,
+            double lower, double upper, PlotRenderingInfo info) {
+        CrosshairState crosshairState = createCrosshairState(dataArea, null);
+        canvas.save();
+        if (this.orientation == PlotOrientation.HORIZONTAL) {
+            canvas.clipRect((float) dataArea.getMinX(), (float) Math.max(lower,
+                    dataArea.getMinY()), (float) dataArea.getMaxX(),
+                    (float) Math.min(upper, dataArea.getMaxY()));
+        }
+        else {
+            canvas.clipRect((float) Math.max(lower, dataArea.getMinX()),
+                    (float) dataArea.getMinY(), (float) Math.min(upper,
+                    dataArea.getMaxX()), (float) dataArea.getMaxY());
+        }
+        this.stripBounds = new double[] {lower, upper};
+        try {
+            drawDatasets(canvas, dataArea, info, crosshairState);
+            drawForegroundLayers(canvas, dataArea, info);
+        }
+        finally {
+            this.stripBounds = null;
+            canvas.restore();
+        }
+    }
+
+    /**
+     * Draws the overlay layer of the plot, which contains the crosshairs.
+     * If there is an anchor point, a crosshair that is locked onto the data
+     * moves to the data item nearest the anchor point, found with
+     * {@link #findCrosshairPoint(RectShape, CrosshairState)}, so the data
+     * layer does not need to be drawn again.
+     *
+     * @param canvas  the graphics device.
+     * @param dataArea  the data area.
+     * @param anchor  an anchor point in Java2D space (<code>null</code>
+     *     permitted).
+     *
+     * @see #drawDataLayer(Canvas, RectShape, PointF, PlotRenderingInfo)
+     */
+    public void drawOverlayLayer(Canvas canvas, RectShape dataArea,
+            PointF anchor) {
+        if (anchor != null && !dataArea.contains(anchor)) {
+            anchor = null;
+        }
+        CrosshairState crosshairState = createCrosshairState(dataArea, anchor);
+        if (anchor != null && (this.domainCrosshairLockedOnData
+                || this.rangeCrosshairLockedOnData)) {
+            findCrosshairPoint(dataArea, crosshairState);
+        }
+        updateCrosshairValues(dataArea, anchor, crosshairState);
+        canvas.save();
+        canvas.clipRect((float) dataArea.getMinX(), (float) dataArea.getMinY(),
+                (float) dataArea.getMaxX(), (float) dataArea.getMaxY());
+        drawCrosshairs(canvas, dataArea, crosshairState);
+        canvas.restore();
+    }
+
+    /**
+     * Finds the visible data item nearest (in Java2D space) to the anchor
+     * point of the crosshair state, across all the datasets in the plot,
+     * and passes it to the crosshair state as the renderers do while the
+     * items are drawn.  Only the items that the renderers process (those
+     * within the domain axis range, plus one on either side) are examined.
+     * For a series whose x-values are sorted, the item
+     * with the nearest x-value is found with a binary search, and the items
+     * on either side of it are examined only until their horizontal
+     * distance alone exceeds the distance to the nearest item so far (in
+     * data space, measured from the anchor x-value of the state, if the
+     * state calculates distances in data space).  Other series are examined
+     * in full.
+     * <P>
+     * The item values are those in the dataset, so renderers that adjust
+     * the values they pass to the crosshair state (stacked renderers, for
+     * example) still need a drawing pass to find the crosshair point.
+     *
+     * @param dataArea  the data area.
+     * @param crosshairState  the crosshair state, with the anchor point set
+     *     (<code>null</code> not permitted).
+     */
+    public void findCrosshairPoint(RectShape dataArea,
+            CrosshairState crosshairState) {
+        if (crosshairState == null) {
+            throw new IllegalArgumentException(
+                    "Null 'crosshairState' argument.");
+        }
+        PointF anchor = crosshairState.getAnchor();
+        if (anchor == null) {
+            return;
+        }
+        PlotOrientation orientation = getOrientation();
+        double anchorX = anchor.x;
+        double anchorY = anchor.y;
+        if (orientation == PlotOrientation.HORIZONTAL) {
+            anchorX = anchor.y;
+            anchorY = anchor.x;
+        }
+        boolean dataSpace = crosshairState.isCalculateDistanceInDataSpace();
+        RectangleEdge xAxisLocation = getDomainAxisEdge();
+        RectangleEdge yAxisLocation = getRangeAxisEdge();
+        for (int i = 0; i < getDatasetCount(); i++) {
+            XYDataset dataset = getDataset(i);
+            XYItemRenderer renderer = getRendererForDataset(dataset);
+            if (DatasetUtilities.isEmptyOrNull(dataset) || renderer == null) {
+                continue;
+            }
+            ValueAxis xAxis = getDomainAxisForDataset(i);
+            ValueAxis yAxis = getRangeAxisForDataset(i);
+            int xAxisIndex = getDomainAxisIndex(xAxis);
+            int yAxisIndex = getRangeAxisIndex(yAxis);
+            double x = xAxis.java2DToValue(anchorX, dataArea, xAxisLocation);
+            DomainOrder order = dataset.getDomainOrder();
+            for (int series = 0; series < dataset.getSeriesCount(); series++) {
+                if (!renderer.isSeriesVisible(series)) {
+                    continue;
+                }
+                int itemCount = dataset.getItemCount(series);
+                if (itemCount == 0) {
+                    continue;
+                }
+                int[] itemBounds = RendererUtilities.findLiveItems(dataset,
+                        series, xAxis.getLowerBound(), xAxis.getUpperBound());
+                int firstItem = Math.max(itemBounds[0] - 1, 0);
+                int lastItem = Math.min(itemBounds[1] + 1, itemCount - 1);
+                int start = firstItem;
+                boolean sorted = order == DomainOrder.ASCENDING
+                        || order == DomainOrder.DESCENDING;
+                if (sorted) {
+                    start = findCrosshairItem(dataset, series, x,
+                            order == DomainOrder.ASCENDING);
+                    start = Math.max(firstItem, Math.min(start, lastItem + 1));
+                }
+
+                // walk down from the start item...
+                for (int item = start - 1; item >= firstItem; item--) {
+                    double itemX = dataset.getXValue(series, item);
+                    double transX = xAxis.valueToJava2D(itemX, dataArea,
+                            xAxisLocation);
+                    if (sorted && isBeyondCrosshairDistance(crosshairState,
+                            dataSpace ? itemX : transX,
+                            dataSpace ? crosshairState.getAnchorX()
+                                    : anchorX)) {
+                        break;
+                    }
+                    updateCrosshairPoint(crosshairState, dataset, renderer,
+                            series, item, xAxisIndex, yAxisIndex, transX,
+                            yAxis, dataArea, yAxisLocation);
+                }
+                // ...and up from it
+                for (int item = start; item <= lastItem; item++) {
+                    double itemX = dataset.getXValue(series, item);
+                    double transX = xAxis.valueToJava2D(itemX, dataArea,
+                            xAxisLocation);
+                    if (sorted && isBeyondCrosshairDistance(crosshairState,
+                            dataSpace ? itemX : transX,
+                            dataSpace ? crosshairState.getAnchorX()
+                                    : anchorX)) {
+                        break;
+                    }
+                    updateCrosshairPoint(crosshairState, dataset, renderer,
+                            series, item, xAxisIndex, yAxisIndex, transX,
+                            yAxis, dataArea, yAxisLocation);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if an item is at least as far from the
+     * anchor point as the current crosshair point, judging by the x-values
+     * alone (in the space in which the state calculates distances).
+     *
+     * @param crosshairState  the crosshair state.
+     * @param x  the x-value of the item.
+     * @param anchorX  the x-value of the anchor point.
+     *
+     * @return A boolean (<code>false</code> if either x-value is
+     *     <code>NaN</code>).
+     */
+    private static boolean isBeyondCrosshairDistance(
+            CrosshairState crosshairState, double x, double anchorX) {
+        return (x - anchorX) * (x - anchorX)
+                >= crosshairState.getCrosshairDistance();
+    }
+
+    /**
+     * Returns the index of the first item in a series with sorted x-values
+     * that is on or after the specified x-value, in the sort order.
+     *
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param x  the x-value.
+     * @param ascending  a flag that indicates the sort order.
+     *
+     * @return The item index (equal to the item count if there is no such
+     *     item).
+     */
+    private static int findCrosshairItem(XYDataset dataset, int series,
+            double x, boolean ascending) {
+        int low = 0;
+        int high = dataset.getItemCount(series);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            double midX = dataset.getXValue(series, mid);
+            if (ascending ? midX < x : midX > x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Passes a data item to the crosshair state, if it is visible and has a
+     * y-value.
+     *
+     * @param crosshairState  the crosshair state.
+     * @param dataset  the dataset.
+     * @param renderer  the renderer for the dataset.
+     * @param series  the series index.
+     * @param item  the item index.
+     * @param xAxisIndex  the index of the domain axis for the dataset.
+     * @param yAxisIndex  the index of the range axis for the dataset.
+     * @param transX  the x-value of the item in Java2D space.
+     * @param yAxis  the range axis for the dataset.
+     * @param dataArea  the data area.
+     * @param yAxisLocation  the range axis location.
+     */
+    private void updateCrosshairPoint(CrosshairState crosshairState,
+            XYDataset dataset, XYItemRenderer renderer, int series, int item,
+            int xAxisIndex, int yAxisIndex, double transX, ValueAxis yAxis,
+            RectShape dataArea, RectangleEdge yAxisLocation) {
+        double y = dataset.getYValue(series, item);
+        if (Double.isNaN(y) || Double.isNaN(transX)
+                || !renderer.getItemVisible(series, item)) {
+            return;
+        }
+        double transY = yAxis.valueToJava2D(y, dataArea, yAxisLocation);
+        crosshairState.updateCrosshairPoint(dataset.getXValue(series, item),
+                y, xAxisIndex, yAxisIndex, transX, transY, getOrientation());
+    }
+
+    /**
+     * Creates the crosshair state for a drawing pass, initialised with the
+     * current crosshair values and the data values at the anchor point.
+     *
+     * @param dataArea  the data area.
+     * @param anchor  the anchor point (<code>null</code> permitted).
+     *
+     * @return The crosshair state.
+     */
+    private CrosshairState createCrosshairState(RectShape dataArea,
+            PointF anchor) {
+        PlotOrientation orient = getOrientation();
+        CrosshairState crosshairState = new CrosshairState();
+        crosshairState.setCrosshairDistance(Double.POSITIVE_INFINITY);
+        crosshairState.setAnchor(anchor);
+        crosshairState.setAnchorX(Double.NaN);
+        crosshairState.setAnchorY(Double.NaN);
+        if (anchor != null) {
+            ValueAxis domainAxis = getDomainAxis();
+            if (domainAxis != null) {
+                double x;
+                if (orient == PlotOrientation.VERTICAL) {
+                    x = domainAxis.java2DToValue(anchor.x, dataArea,
+                            getDomainAxisEdge());
+                } else {
+                    x = domainAxis.java2DToValue(anchor.y, dataArea,
+                            getDomainAxisEdge());
+                }
+                crosshairState.setAnchorX(x);
+            }
+            ValueAxis rangeAxis = getRangeAxis();
+            if (rangeAxis != null) {
+                double y;
+                if (orient == PlotOrientation.VERTICAL) {
+                    y = rangeAxis.java2DToValue(anchor.y, dataArea,
+                            getRangeAxisEdge());
+                } else {
+                    y = rangeAxis.java2DToValue(anchor.x, dataArea,
+                            getRangeAxisEdge());
+                }
+                crosshairState.setAnchorY(y);
+            }
+        }
+        crosshairState.setCrosshairX(getDomainCrosshairValue());
+        crosshairState.setCrosshairY(getRangeCrosshairValue());
+        return crosshairState;
+    }
+
+    /**
+     * Draws the renderer annotations and the data items for all datasets, in
+     * the dataset rendering order.
+     *
+     * @param canvas  the graphics device.
+     * @param dataArea  the data area.
+     * @param info  collects chart drawing information (<code>null</code>
+     *     permitted).
+     * @param crosshairState  collects crosshair information.
+     *
+     * @return A flag that indicates whether any data was actually rendered.
+     */
+    private boolean drawDatasets(Canvas canvas, RectShape dataArea,
+            PlotRenderingInfo info, CrosshairState crosshairState) {
         boolean foundData = false;
         DatasetRenderingOrder order = getDatasetRenderingOrder();
         if (order == DatasetRenderingOrder.FORWARD) {
@@ -3484,8 +3930,20 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
             }
 
         }
+        return foundData;
+    }
 
-        // draw domain crosshair if required...
+    /**
+     * Updates the crosshair values at the end of a drawing pass.  A
+     * crosshair that is not locked onto the data follows the anchor point.
+     *
+     * @param dataArea  the data area.
+     * @param anchor  the anchor point (<code>null</code> permitted).
+     * @param crosshairState  the crosshair state for the drawing pass.
+     */
+    private void updateCrosshairValues(RectShape dataArea, PointF anchor,
+            CrosshairState crosshairState) {
+        PlotOrientation orient = getOrientation();
         int xAxisIndex = crosshairState.getDomainAxisIndex();
         ValueAxis xAxis = getDomainAxis(xAxisIndex);
         RectangleEdge xAxisEdge = getDomainAxisEdge(xAxisIndex);
@@ -3499,18 +3957,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
             crosshairState.setCrosshairX(xx);
         }
         setDomainCrosshairValue(crosshairState.getCrosshairX(), false);
-        if (isDomainCrosshairVisible()) {
-            double x = getDomainCrosshairValue();
-            PaintType paintType = getDomainCrosshairPaintType();
-            int oldAlpha = paintType.getAlpha();
-            paintType.setAlpha(getForegroundAlpha());
-            Float stroke = getDomainCrosshairStroke();
-            PathEffect pathEffect = getDomainCrosshairEffect();
-            drawDomainCrosshair(canvas, dataArea, orient, x, xAxis, stroke, paintType, pathEffect);
-            paintType.setAlpha(oldAlpha);
-        }
 
-        // draw range crosshair if required...
         int yAxisIndex = crosshairState.getRangeAxisIndex();
         ValueAxis yAxis = getRangeAxis(yAxisIndex);
         RectangleEdge yAxisEdge = getRangeAxisEdge(yAxisIndex);
@@ -3524,7 +3971,36 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
             crosshairState.setCrosshairY(yy);
         }
         setRangeCrosshairValue(crosshairState.getCrosshairY(), false);
+    }
+
+    /**
+     * Draws the domain and range crosshairs, if they are visible.
+     *
+     * @param canvas  the graphics device.
+     * @param dataArea  the data area.
+     * @param crosshairState  the crosshair state for the drawing pass.
+     */
+    private void drawCrosshairs(Canvas canvas, RectShape dataArea,
+            CrosshairState crosshairState) {
+        PlotOrientation orient = getOrientation();
+
+        // draw domain crosshair if required...
+        if (isDomainCrosshairVisible()) {
+            ValueAxis xAxis = getDomainAxis(
+                    crosshairState.getDomainAxisIndex());
+            double x = getDomainCrosshairValue();
+            PaintType paintType = getDomainCrosshairPaintType();
+            int oldAlpha = paintType.getAlpha();
+            paintType.setAlpha(getForegroundAlpha());
+            Float stroke = getDomainCrosshairStroke();
+            PathEffect pathEffect = getDomainCrosshairEffect();
+            drawDomainCrosshair(canvas, dataArea, orient, x, xAxis, stroke, paintType, pathEffect);
+            paintType.setAlpha(oldAlpha);
+        }
+
+        // draw range crosshair if required...
         if (isRangeCrosshairVisible()) {
+            ValueAxis yAxis = getRangeAxis(crosshairState.getRangeAxisIndex());
             double y = getRangeCrosshairValue();
             PaintType paintType = getRangeCrosshairPaintType();
             int oldAlpha = paintType.getAlpha();
@@ -3534,11 +4010,17 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
             drawRangeCrosshair(canvas, dataArea, orient, y, yAxis, stroke, paintType, effect);
             paintType.setAlpha(oldAlpha);
         }
+    }
 
-        if (!foundData) {
-            drawNoDataMessage(canvas, dataArea);
-        }
-
+    /**
+     * Draws the foreground markers and the plot annotations.
+     *
+     * @param canvas  the graphics device.
+     * @param dataArea  the data area.
+     * @param info  the plot rendering info (<code>null</code> permitted).
+     */
+    private void drawForegroundLayers(Canvas canvas, RectShape dataArea,
+            PlotRenderingInfo info) {
         for (int i = 0; i < this.renderers.size(); i++) {
             drawDomainMarkers(canvas, dataArea, i, Layer.FOREGROUND);
         }
@@ -3547,9 +4029,6 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         }
 
         drawAnnotations(canvas, dataArea, info);
-        canvas.restore();
-        drawOutline(canvas, dataArea);
-
     }
 
     /**
@@ -3886,8 +4365,26 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 
             XYItemRendererState state = renderer.initialise(canvas, dataArea, this,
                     dataset, info);
+            if (renderer instanceof AbstractXYItemRenderer) {
+                ((AbstractXYItemRenderer) renderer).addVirtualEntity(dataArea,
+                        this, dataset, xAxis, yAxis, info);
+            }
             int passCount = renderer.getPassCount();
 
+            // the domain values of the items to render (just those near the
+            // strip when a data layer strip is drawn)
+            double xLower = xAxis.getLowerBound();
+            double xUpper = xAxis.getUpperBound();
+            if (this.stripBounds != null) {
+                RectangleEdge xEdge = getDomainAxisEdge();
+                double v0 = xAxis.java2DToValue(this.stripBounds[0]
+                        - STRIP_ITEM_MARGIN, dataArea, xEdge);
+                double v1 = xAxis.java2DToValue(this.stripBounds[1]
+                        + STRIP_ITEM_MARGIN, dataArea, xEdge);
+                xLower = Math.max(xLower, Math.min(v0, v1));
+                xUpper = Math.min(xUpper, Math.max(v0, v1));
+            }
+
             SeriesRenderingOrder seriesOrder = getSeriesRenderingOrder();
             if (seriesOrder == SeriesRenderingOrder.REVERSE) {
                 // render series in reverse order
@@ -3901,14 +4398,14 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
                         }
                         if (state.getProcessVisibleItemsOnly()) {
                             int[] itemBounds = RendererUtilities.findLiveItems(
-                                    dataset, series, xAxis.getLowerBound(),
-                                    xAxis.getUpperBound());
+                                    dataset, series, xLower, xUpper);
                             firstItem = Math.max(itemBounds[0] - 1, 0);
                             lastItem = Math.min(itemBounds[1] + 1, lastItem);
                         }
                         state.startSeriesPass(dataset, series, firstItem,
                                 lastItem, pass, passCount);
-                        for (int item = firstItem; item <= lastItem; item++) {
+                        for (int item = firstItem; item <= lastItem
+                                && !state.isSeriesPassComplete(); item++) {
                             renderer.drawItem(canvas, state, dataArea, info, this,
                                     xAxis, yAxis, dataset, series, item,
                                     crosshairState, pass);
@@ -3926,14 +4423,14 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
                         int lastItem = dataset.getItemCount(series) - 1;
                         if (state.getProcessVisibleItemsOnly()) {
                             int[] itemBounds = RendererUtilities.findLiveItems(
-                                    dataset, series, xAxis.getLowerBound(),
-                                    xAxis.getUpperBound());
+                                    dataset, series, xLower, xUpper);
                             firstItem = Math.max(itemBounds[0] - 1, 0);
                             lastItem = Math.min(itemBounds[1] + 1, lastItem);
                         }
                         state.startSeriesPass(dataset, series, firstItem,
                                 lastItem, pass, passCount);
-                        for (int item = firstItem; item <= lastItem; item++) {
+                        for (int item = firstItem; item <= lastItem
+                                && !state.isSeriesPassComplete(); item++) {
                             renderer.drawItem(canvas, state, dataArea, info, this,
                                     xAxis, yAxis, dataset, series, item,
                                     crosshairState, pass);
@@ -4741,12 +5238,17 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     /*  *//**
      * Receives notification of a change to the plot's dataset.
      * <P>
-     * The axis ranges are updated if necessary.
+     * The axis ranges are updated if necessary.  An append that falls
+     * entirely outside a fixed domain axis range changes neither the axes
+     * nor the visible data, so it is ignored.
      * 
      * @param event
-     *            information about the event (not used here).
+     *            information about the event.
      */
      public void datasetChanged(DatasetChangeEvent event) {
+         if (isAppendOutsideDomainAxis(event)) {
+             return;
+         }
          configureDomainAxes();
          configureRangeAxes();
          if (getParent() != null) {
@@ -4757,7 +5259,74 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
              notifyListeners(e);
          }
      }
-     
+
+    /**
+     * Returns <code>true</code> if the event reports items appended to a
+     * series where the new items (and the line segment joining them to the
+     * previous item) lie entirely on one side of the domain axis range, that
+     * range is fixed, and the range axis bounds cannot be affected by items
+     * outside the domain axis range.
+     * 
+     * @param event
+     *            the event.
+     * 
+     * @return A boolean.
+     */
+    private boolean isAppendOutsideDomainAxis(DatasetChangeEvent event) {
+        if (event.getType() != DatasetChangeType.APPEND
+                || event.getSeriesIndex() < 0
+                || !(event.getDataset() instanceof XYDataset)) {
+            return false;
+        }
+        XYDataset dataset = (XYDataset) event.getDataset();
+        int index = indexOf(dataset);
+        if (index < 0) {
+            return false;
+        }
+        ValueAxis xAxis = getDomainAxisForDataset(index);
+        ValueAxis yAxis = getRangeAxisForDataset(index);
+        if (xAxis == null || xAxis.isAutoRange() || yAxis == null) {
+            return false;
+        }
+        if (yAxis.isAutoRange() && !hasVisibleDomainRangeBounds(
+                getRendererForDataset(dataset))) {
+            return false;
+        }
+        Range xRange = xAxis.getRange();
+        int series = event.getSeriesIndex();
+        int first = Math.max(event.getFirstItemIndex() - 1, 0);
+        int last = event.getLastItemIndex();
+        if (last < first || last >= dataset.getItemCount(series)) {
+            return false;
+        }
+        boolean below = true;
+        boolean above = true;
+        for (int item = first; item <= last; item++) {
+            double x = dataset.getXValue(series, item);
+            below = below && x < xRange.getLowerBound();
+            above = above && x > xRange.getUpperBound();
+            if (!below && !above) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns <code>true</code> if the renderer calculates the range bounds
+     * of a dataset using only the items inside the domain axis range.
+     * 
+     * @param renderer
+     *            the renderer (<code>null</code> permitted).
+     * 
+     * @return A boolean.
+     */
+    private static boolean hasVisibleDomainRangeBounds(
+            XYItemRenderer renderer) {
+        return renderer instanceof AbstractXYItemRenderer
+                && ((AbstractXYItemRenderer) renderer)
+                        .isRangeBoundsVisibleDomainOnly();
+    }
 
     /**
      * Receives notification of a renderer change event.
@@ -40,6 +40,7 @@
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
  * 14-Jan-2011 : Updated API docs
+ * 18-Oct-2026 : Added useMarkerSprites flag and marker sprite cache
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2002-2009, by Object Refinery Limited.
@@ -389,6 +390,15 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
     /** The default radius for the entity 'hotspot' */
     private int defaultEntityRadius;
 
+    /**
+     * A flag that controls whether or not item shapes are drawn from
+     * pre-rasterized sprites.
+     */
+    private boolean useMarkerSprites;
+
+    /** The marker sprite cache (<code>null</code> until it is needed). */
+    private transient MarkerSpriteCache markerSpriteCache;
+
     /**
      * Default constructor.
      */
@@ -2731,6 +2741,58 @@ public abstract class AbstractRenderer implements Cloneable, Serializable {
         this.defaultEntityRadius = radius;
     }
 
+    /**
+     * Returns the flag that controls whether or not item shapes are drawn
+     * from pre-rasterized sprites.
+     * 
+     * @return A boolean.
+     * 
+     * @see #setUseMarkerSprites(boolean)
+     */
+    public boolean getUseMarkerSprites() {
+        return this.useMarkerSprites;
+    }
+
+    /**
+     * Sets the flag that controls whether or not item shapes are drawn from
+     * pre-rasterized sprites.  When this flag is set, renderers that support
+     * it draw each distinct item shape once to a bitmap and stamp that
+     * bitmap at every item location (see {@link MarkerSpriteCache}).  This
+     * is much faster for charts with many items, but the shapes are aligned
+     * to whole pixels.
+     * 
+     * @param flag
+     *            the flag.
+     * 
+     * @see #getUseMarkerSprites()
+     */
+    public void setUseMarkerSprites(boolean flag) {
+        this.useMarkerSprites = flag;
+        if (!flag && this.markerSpriteCache != null) {
+            this.markerSpriteCache.clear();
+            this.markerSpriteCache = null;
+        }
+    }
+
+    /**
+     * Returns the cache used to draw item shapes from pre-rasterized
+     * sprites.
+     * 
+     * @return The cache, or <code>null</code> if the
+     *         <code>useMarkerSprites</code> flag is not set.
+     * 
+     * @see #getUseMarkerSprites()
+     */
+    protected MarkerSpriteCache getMarkerSpriteCache() {
+        if (!this.useMarkerSprites) {
+            return null;
+        }
+        if (this.markerSpriteCache == null) {
+            this.markerSpriteCache = new MarkerSpriteCache();
+        }
+        return this.markerSpriteCache;
+    }
+
     /**
      * Performs a lookup for the legend shape.
      * 
@@ -0,0 +1,355 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------
+ * MarkerSpriteCache.java
+ * ----------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.renderer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.afree.graphics.PaintType;
+import org.afree.graphics.PaintUtility;
+import org.afree.graphics.SolidColor;
+import org.afree.graphics.geom.RectShape;
+import org.afree.graphics.geom.Shape;
+import org.afree.util.ObjectUtilities;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.PathEffect;
+
+/**
+ * A cache of pre-rasterized item shapes (markers).  Each distinct
+ * combination of shape, fill paint, outline paint and outline stroke is
+ * drawn once to a small <code>Bitmap</code>, which is then stamped at every
+ * item location with <code>Canvas.drawBitmap()</code>, so that renderers
+ * drawing many identical markers avoid translating, tessellating and
+ * filling a new shape for each item.
+ * <P>
+ * Shapes are matched by identity, and paints by <code>equals()</code>, so a
+ * paint that is modified in place after it has been used requires a call
+ * to {@link #clear()}.  Only {@link SolidColor} paints are cached, because
+ * the coordinates of a gradient depend on the position of the item.
+ * <P>
+ * The sprites are aligned to whole pixels, so a marker may be drawn up to
+ * half a pixel away from the position at which the shape itself would be
+ * drawn.
+ */
+public class MarkerSpriteCache {
+
+    /** The default maximum number of sprites held by the cache. */
+    public static final int DEFAULT_MAXIMUM_SPRITE_COUNT = 64;
+
+    /** The maximum width or height of a sprite, in pixels. */
+    public static final int MAXIMUM_SPRITE_SIZE = 128;
+
+    /** The maximum number of sprites held by the cache. */
+    private int maximumSpriteCount;
+
+    /** The sprites. */
+    private List sprites;
+
+    /** The sprite that was drawn last (<code>null</code> permitted). */
+    private Sprite lastSprite;
+
+    /**
+     * Creates a new cache holding up to
+     * {@link #DEFAULT_MAXIMUM_SPRITE_COUNT} sprites.
+     */
+    public MarkerSpriteCache() {
+        this(DEFAULT_MAXIMUM_SPRITE_COUNT);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSpriteCount  the maximum number of sprites held by the
+     *                            cache (must be positive).
+     */
+    public MarkerSpriteCache(int maximumSpriteCount) {
+        if (maximumSpriteCount <= 0) {
+            throw new IllegalArgumentException(
+                    "Requires 'maximumSpriteCount' > 0.");
+        }
+        this.maximumSpriteCount = maximumSpriteCount;
+        this.sprites = new ArrayList();
+    }
+
+    /**
+     * Returns the number of sprites held by the cache.
+     *
+     * @return The sprite count.
+     */
+    public int getSpriteCount() {
+        return this.sprites.size();
+    }
+
+    /**
+     * Draws a marker centred on the specified location, unless it lies
+     * entirely outside the data area.  If the marker cannot be drawn from a
+     * sprite (because a paint is not a {@link SolidColor}, or the shape is
+     * too large), this method draws nothing and returns <code>false</code>,
+     * and the caller should draw the shape itself.
+     *
+     * @param canvas  the graphics device.
+     * @param dataArea  the data area.
+     * @param shape  the marker shape, centred on (0, 0) (<code>null</code>
+     *               not permitted).
+     * @param fillPaintType  the fill paint (<code>null</code> if the shape is
+     *                       not filled).
+     * @param outlinePaintType  the outline paint (<code>null</code> if the
+     *                          outline is not drawn).
+     * @param outlineStroke  the outline stroke (<code>null</code> for the
+     *                       default stroke).
+     * @param outlineEffect  the outline effect (<code>null</code> permitted).
+     * @param x  the x-coordinate of the item (in Java2D space).
+     * @param y  the y-coordinate of the item (in Java2D space).
+     *
+     * @return A boolean that indicates whether or not the sprite was used.
+     */
+    public boolean draw(Canvas canvas, RectShape dataArea, Shape shape,
+            PaintType fillPaintType, PaintType outlinePaintType,
+            Float outlineStroke, PathEffect outlineEffect, double x,
+            double y) {
+        if (shape == null) {
+            throw new IllegalArgumentException("Null 'shape' argument.");
+        }
+        Sprite sprite = this.lastSprite;
+        if (sprite == null || !sprite.matches(shape, fillPaintType,
+                outlinePaintType, outlineStroke, outlineEffect)) {
+            sprite = findSprite(shape, fillPaintType, outlinePaintType,
+                    outlineStroke, outlineEffect);
+            if (sprite == null) {
+                return false;
+            }
+            this.lastSprite = sprite;
+        }
+        float left = (float) Math.floor(x + 0.5) + sprite.originX;
+        float top = (float) Math.floor(y + 0.5) + sprite.originY;
+        Bitmap bitmap = sprite.bitmap;
+        if (left > dataArea.getMaxX() || top > dataArea.getMaxY()
+                || left + bitmap.getWidth() < dataArea.getMinX()
+                || top + bitmap.getHeight() < dataArea.getMinY()) {
+            return true;
+        }
+        canvas.drawBitmap(bitmap, left, top, null);
+        return true;
+    }
+
+    /**
+     * Removes all the sprites from the cache.
+     */
+    public void clear() {
+        for (int i = 0; i < this.sprites.size(); i++) {
+            ((Sprite) this.sprites.get(i)).bitmap.recycle();
+        }
+        this.sprites.clear();
+        this.lastSprite = null;
+    }
+
+    /**
+     * Returns the sprite for a marker, rasterizing it if it is not in the
+     * cache yet.
+     *
+     * @param shape  the marker shape.
+     * @param fillPaintType  the fill paint (<code>null</code> permitted).
+     * @param outlinePaintType  the outline paint (<code>null</code>
+     *                          permitted).
+     * @param outlineStroke  the outline stroke (<code>null</code> permitted).
+     * @param outlineEffect  the outline effect (<code>null</code> permitted).
+     *
+     * @return The sprite, or <code>null</code> if the marker cannot be
+     *         drawn from a sprite.
+     */
+    private Sprite findSprite(Shape shape, PaintType fillPaintType,
+            PaintType outlinePaintType, Float outlineStroke,
+            PathEffect outlineEffect) {
+        if (!isCacheable(fillPaintType) || !isCacheable(outlinePaintType)) {
+            return null;
+        }
+        for (int i = 0; i < this.sprites.size(); i++) {
+            Sprite sprite = (Sprite) this.sprites.get(i);
+            if (sprite.matches(shape, fillPaintType, outlinePaintType,
+                    outlineStroke, outlineEffect)) {
+                return sprite;
+            }
+        }
+
+        // leave room for the outline and the antialiased edge
+        float stroke = (outlinePaintType == null || outlineStroke == null)
+                ? 1.0f : outlineStroke.floatValue();
+        int pad = (int) Math.ceil(stroke / 2.0) + 1;
+        RectShape bounds = shape.getBounds();
+        int originX = (int) Math.floor(bounds.getMinX()) - pad;
+        int originY = (int) Math.floor(bounds.getMinY()) - pad;
+        int width = (int) Math.ceil(bounds.getMaxX()) + pad - originX;
+        int height = (int) Math.ceil(bounds.getMaxY()) + pad - originY;
+        if (width > MAXIMUM_SPRITE_SIZE || height > MAXIMUM_SPRITE_SIZE) {
+            return null;
+        }
+
+        Bitmap bitmap = Bitmap.createBitmap(width, height,
+                Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        canvas.translate(-originX, -originY);
+        if (fillPaintType != null) {
+            Paint paint = PaintUtility.createPaint(Paint.ANTI_ALIAS_FLAG,
+                    fillPaintType);
+            shape.fill(canvas, paint);
+        }
+        if (outlinePaintType != null) {
+            Paint paint;
+            if (outlineStroke != null) {
+                paint = PaintUtility.createPaint(Paint.ANTI_ALIAS_FLAG,
+                        outlinePaintType, outlineStroke.floatValue(),
+                        outlineEffect);
+            } else {
+                paint = PaintUtility.createPaint(Paint.ANTI_ALIAS_FLAG,
+                        outlinePaintType);
+            }
+            shape.draw(canvas, paint);
+        }
+
+        if (this.sprites.size() >= this.maximumSpriteCount) {
+            clear();
+        }
+        Sprite sprite = new Sprite(shape, fillPaintType, outlinePaintType,
+                outlineStroke, outlineEffect, bitmap, originX, originY);
+        this.sprites.add(sprite);
+        return sprite;
+    }
+
+    /**
+     * Returns <code>true</code> if a marker drawn with the specified paint
+     * can be cached.
+     *
+     * @param paintType  the paint (<code>null</code> permitted).
+     *
+     * @return A boolean.
+     */
+    private static boolean isCacheable(PaintType paintType) {
+        return paintType == null || paintType instanceof SolidColor;
+    }
+
+    /**
+     * A rasterized marker.
+     */
+    private static class Sprite {
+
+        /** The marker shape. */
+        private Shape shape;
+
+        /** The fill paint (<code>null</code> permitted). */
+        private PaintType fillPaintType;
+
+        /** The outline paint (<code>null</code> permitted). */
+        private PaintType outlinePaintType;
+
+        /** The outline stroke (<code>null</code> permitted). */
+        private Float outlineStroke;
+
+        /** The outline effect (<code>null</code> permitted). */
+        private PathEffect outlineEffect;
+
+        /** The rasterized marker. */
+        private Bitmap bitmap;
+
+        /** The x-offset of the bitmap relative to the item location. */
+        private int originX;
+
+        /** The y-offset of the bitmap relative to the item location. */
+        private int originY;
+
+        /**
+         * Creates a new sprite.
+         *
+         * @param shape  the marker shape.
+         * @param fillPaintType  the fill paint.
+         * @param outlinePaintType  the outline paint.
+         * @param outlineStroke  the outline stroke.
+         * @param outlineEffect  the outline effect.
+         * @param bitmap  the rasterized marker.
+         * @param originX  the x-offset of the bitmap.
+         * @param originY  the y-offset of the bitmap.
+         */
+        Sprite(Shape shape, PaintType fillPaintType,
+                PaintType outlinePaintType, Float outlineStroke,
+                PathEffect outlineEffect, Bitmap bitmap, int originX,
+                int originY) {
+            this.shape = shape;
+            this.fillPaintType = fillPaintType;
+            this.outlinePaintType = outlinePaintType;
+            this.outlineStroke = outlineStroke;
+            this.outlineEffect = outlineEffect;
+            this.bitmap = bitmap;
+            this.originX = originX;
+            this.originY = originY;
+        }
+
+        /**
+         * Returns <code>true</code> if this sprite draws the specified
+         * marker.
+         *
+         * @param shape  the marker shape.
+         * @param fillPaintType  the fill paint.
+         * @param outlinePaintType  the outline paint.
+         * @param outlineStroke  the outline stroke.
+         * @param outlineEffect  the outline effect.
+         *
+         * @return A boolean.
+         */
+        boolean matches(Shape shape, PaintType fillPaintType,
+                PaintType outlinePaintType, Float outlineStroke,
+                PathEffect outlineEffect) {
+            return this.shape == shape
+                    && ObjectUtilities.equal(this.fillPaintType,
+                            fillPaintType)
+                    && ObjectUtilities.equal(this.outlinePaintType,
+                            outlinePaintType)
+                    && (outlinePaintType == null
+                            || (ObjectUtilities.equal(this.outlineStroke,
+                                    outlineStroke)
+                            && this.outlineEffect == outlineEffect));
+        }
+
+    }
+
+}
@@ -39,6 +39,7 @@
  * Changes (from 19-Nov-2010)
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
+ * 18-Oct-2026 : Draw shapes from marker sprites when enabled
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2001-2009, by Object Refinery Limited and Contributors.
@@ -120,6 +121,7 @@ import org.afree.chart.event.RendererChangeEvent;
 import org.afree.chart.event.RendererChangeListener;
 import org.afree.chart.plot.CategoryPlot;
 import org.afree.chart.plot.PlotOrientation;
+import org.afree.chart.renderer.MarkerSpriteCache;
 import org.afree.chart.renderer.category.BarRenderer;
 import org.afree.chart.renderer.category.CategoryItemRendererState;
 import org.afree.graphics.geom.LineShape;
@@ -997,13 +999,47 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
 
         if (pass == 1) {
             Shape shape = getItemShape(row, column);
-            if (orientation == PlotOrientation.HORIZONTAL) {
-                shape = ShapeUtilities.createTranslatedShape(shape, y1, x1);
-            } else if (orientation == PlotOrientation.VERTICAL) {
-                shape = ShapeUtilities.createTranslatedShape(shape, x1, y1);
+            EntityCollection entities = state.getEntityCollection();
+
+            // stamp a pre-rasterized sprite if possible...
+            boolean drawn = false;
+            MarkerSpriteCache sprites = getMarkerSpriteCache();
+            if (sprites != null && getItemShapeVisible(row, column)) {
+                PaintType fillPaintType = null;
+                if (getItemShapeFilled(row, column)) {
+                    if (this.useFillPaint) {
+                        fillPaintType = getItemFillPaintType(row, column);
+                    } else {
+                        fillPaintType = getItemPaintType(row, column);
+                    }
+                }
+                PaintType outlinePaintType = null;
+                if (this.drawOutlines) {
+                    if (this.useOutlinePaintType) {
+                        outlinePaintType = getItemOutlinePaintType(row, column);
+                    } else {
+                        outlinePaintType = getItemPaintType(row, column);
+                    }
+                }
+                if (orientation == PlotOrientation.HORIZONTAL) {
+                    drawn = sprites.draw(canvas, dataArea, shape,
+                            fillPaintType, outlinePaintType, null, null, y1, x1);
+                } else if (orientation == PlotOrientation.VERTICAL) {
+                    drawn = sprites.draw(canvas, dataArea, shape,
+                            fillPaintType, outlinePaintType, null, null, x1, y1);
+                }
+            }
+
+            // ...the translated shape is still needed for the entity area
+            if (!drawn || entities != null) {
+                if (orientation == PlotOrientation.HORIZONTAL) {
+                    shape = ShapeUtilities.createTranslatedShape(shape, y1, x1);
+                } else if (orientation == PlotOrientation.VERTICAL) {
+                    shape = ShapeUtilities.createTranslatedShape(shape, x1, y1);
+                }
             }
 
-            if (getItemShapeVisible(row, column)) {
+            if (!drawn && getItemShapeVisible(row, column)) {
                 if (getItemShapeFilled(row, column)) {
                     PaintType paintType ;
                     if (this.useFillPaint) {
@@ -1050,7 +1086,6 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
                     datasetIndex, x1, y1, orientation);
 
             // add an item entity, if this information is being collected
-            EntityCollection entities = state.getEntityCollection();
             if (entities != null) {
                 addItemEntity(entities, dataset, row, column, shape);
             }
@@ -41,6 +41,8 @@
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
  * 17-Dec-2010 : performance tuning
  * 14-Jan-2011 : Updated API docs
+ * 18-Oct-2026 : Added virtual entities mode
+ * 18-Oct-2026 : Added isRangeBoundsVisibleDomainOnly()
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2002-2009, by Object Refinery Limited and Contributors.
@@ -140,6 +142,7 @@ import org.afree.ui.LengthAdjustmentType;
 import org.afree.util.ObjectList;
 import org.afree.util.ObjectUtilities;
 import org.afree.ui.RectangleAnchor;
+import org.afree.ui.RectangleEdge;
 import org.afree.ui.RectangleInsets;
 import org.afree.chart.LegendItem;
 import org.afree.chart.LegendItemCollection;
@@ -148,7 +151,9 @@ import org.afree.chart.axis.ValueAxis;
 import org.afree.data.Range;
 import org.afree.data.xy.XYDataset;
 import org.afree.data.general.DatasetUtilities;
+import org.afree.chart.entity.ChartEntity;
 import org.afree.chart.entity.EntityCollection;
+import org.afree.chart.entity.VirtualEntity;
 import org.afree.chart.entity.XYItemEntity;
 import org.afree.chart.event.RendererChangeEvent;
 import org.afree.chart.labels.CategorySeriesLabelGenerator;
@@ -164,9 +169,11 @@ import org.afree.chart.plot.Marker;
 import org.afree.chart.plot.Plot;
 import org.afree.chart.plot.PlotOrientation;
 import org.afree.chart.plot.PlotRenderingInfo;
+import org.afree.chart.plot.SeriesRenderingOrder;
 import org.afree.chart.plot.ValueMarker;
 import org.afree.chart.plot.XYPlot;
 import org.afree.chart.renderer.AbstractRenderer;
+import org.afree.chart.renderer.RendererUtilities;
 import org.afree.chart.text.TextUtilities;
 import org.afree.graphics.geom.Font;
 import org.afree.graphics.geom.LineShape;
@@ -227,6 +234,12 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer implements
 
     /** work LineShape object */
     private LineShape mWorkLineShape = new LineShape();
+
+    /**
+     * A flag that controls whether or not the renderer adds one virtual
+     * entity for each dataset instead of an entity for each item.
+     */
+    private boolean virtualEntities;
     
     /**
      * Creates a renderer where the tooltip generator and the URL generator are
@@ -623,6 +636,22 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer implements
         }
     }
 
+    /**
+     * Returns <code>true</code> if {@link #findRangeBounds(XYDataset)} uses
+     * only the items inside the current domain axis range, so that a change
+     * to items outside that range can't change the range bounds.  This is
+     * the case when the data bounds include the visible series only, unless
+     * a subclass calculates the range bounds in its own way, in which case
+     * it should override this method to return <code>false</code>.
+     * 
+     * @return A boolean.
+     * 
+     * @see #getDataBoundsIncludesVisibleSeriesOnly()
+     */
+    public boolean isRangeBoundsVisibleDomainOnly() {
+        return getDataBoundsIncludesVisibleSeriesOnly();
+    }
+
     /**
      * Returns a (possibly empty) collection of legend items for the series that
      * this renderer is responsible for drawing.
@@ -1456,7 +1485,7 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer implements
      */
     protected void addEntity(EntityCollection entities, Shape area, XYDataset dataset, int series,
             int item, double entityX, double entityY) {
-        if (!getItemCreateEntity(series, item)) {
+        if (this.virtualEntities || !getItemCreateEntity(series, item)) {
             return;
         }
         Shape hotspot = area;
@@ -1474,6 +1503,76 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer implements
         entities.add(entity);
     }
 
+    /**
+     * Returns the flag that controls whether or not the renderer adds a
+     * single virtual entity for each dataset, instead of an entity for each
+     * item.
+     * 
+     * @return A boolean.
+     * 
+     * @see #setVirtualEntities(boolean)
+     */
+    public boolean isVirtualEntities() {
+        return this.virtualEntities;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the renderer adds a single
+     * virtual entity for each dataset, instead of an entity for each item.
+     * With virtual entities nothing is created for the items while they are
+     * drawn.  Instead, the {@link XYItemEntity} for an item is created when
+     * a point is looked up in the entity collection: the point is converted
+     * to axis values and the items near it are found with
+     * {@link RendererUtilities#findLiveItems(XYDataset, int, double, double)}.
+     * The entity for each item has a circular area with the default entity
+     * radius (see {@link #getDefaultEntityRadius()}), centred on the data
+     * point, whatever area the renderer would have used.
+     * 
+     * @param flag
+     *            the flag.
+     * 
+     * @see #isVirtualEntities()
+     */
+    public void setVirtualEntities(boolean flag) {
+        this.virtualEntities = flag;
+        // fireChangeEvent();
+    }
+
+    /**
+     * Adds a virtual entity for a dataset to the entity collection, if the
+     * renderer is in virtual entities mode and the collection exists.  This
+     * method is called by the plot before the items in the dataset are
+     * drawn.
+     * 
+     * @param dataArea
+     *            the data area.
+     * @param plot
+     *            the plot.
+     * @param dataset
+     *            the dataset.
+     * @param domainAxis
+     *            the domain axis.
+     * @param rangeAxis
+     *            the range axis.
+     * @param info
+     *            the plot rendering info (<code>null</code> permitted).
+     * 
+     * @see #setVirtualEntities(boolean)
+     */
+    public void addVirtualEntity(RectShape dataArea, XYPlot plot,
+            XYDataset dataset, ValueAxis domainAxis, ValueAxis rangeAxis,
+            PlotRenderingInfo info) {
+        if (!this.virtualEntities || info == null
+                || info.getOwner() == null) {
+            return;
+        }
+        EntityCollection entities = info.getOwner().getEntityCollection();
+        if (entities != null) {
+            entities.add(new VirtualItemEntity(this, (RectShape)
+                    dataArea.clone(), plot, dataset, domainAxis, rangeAxis));
+        }
+    }
+
     /**
      * Returns <code>true</code> if the specified point (x, y) falls within or
      * on the boundary of the specified RectShape.
@@ -1565,4 +1664,118 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer implements
         return super.equals(obj);
     }
 
+    /**
+     * A virtual entity for the items in one dataset drawn by a renderer.
+     */
+    private static class VirtualItemEntity extends VirtualEntity {
+
+        /** For serialization. */
+        private static final long serialVersionUID = -2194418536325371407L;
+
+        /** The renderer. */
+        private transient AbstractXYItemRenderer renderer;
+
+        /** The plot. */
+        private transient XYPlot plot;
+
+        /** The dataset. */
+        private transient XYDataset dataset;
+
+        /** The domain axis. */
+        private transient ValueAxis domainAxis;
+
+        /** The range axis. */
+        private transient ValueAxis rangeAxis;
+
+        /**
+         * Creates a new entity.
+         *
+         * @param renderer  the renderer.
+         * @param dataArea  the data area.
+         * @param plot  the plot.
+         * @param dataset  the dataset.
+         * @param domainAxis  the domain axis.
+         * @param rangeAxis  the range axis.
+         */
+        VirtualItemEntity(AbstractXYItemRenderer renderer,
+                RectShape dataArea, XYPlot plot, XYDataset dataset,
+                ValueAxis domainAxis, ValueAxis rangeAxis) {
+            super(dataArea);
+            this.renderer = renderer;
+            this.plot = plot;
+            this.dataset = dataset;
+            this.domainAxis = domainAxis;
+            this.rangeAxis = rangeAxis;
+        }
+
+        /**
+         * Returns the entity for the item drawn last with a data point
+         * within the default entity radius of the specified point.
+         *
+         * @param x  the x-coordinate.
+         * @param y  the y-coordinate.
+         *
+         * @return The entity (or <code>null</code>).
+         */
+        public ChartEntity resolve(double x, double y) {
+            if (this.renderer == null) {
+                return null;
+            }
+            RectShape dataArea = (RectShape) getArea();
+            PlotOrientation orientation = this.plot.getOrientation();
+            RectangleEdge xEdge = this.plot.getDomainAxisEdge();
+            RectangleEdge yEdge = this.plot.getRangeAxisEdge();
+            boolean vertical = (orientation == PlotOrientation.VERTICAL);
+            double xx = (vertical ? x : y);
+            double yy = (vertical ? y : x);
+            double r = this.renderer.getDefaultEntityRadius();
+            double x0 = this.domainAxis.java2DToValue(xx - r, dataArea, xEdge);
+            double x1 = this.domainAxis.java2DToValue(xx + r, dataArea, xEdge);
+
+            // search the series in the opposite order to the drawing...
+            boolean reverse = (this.plot.getSeriesRenderingOrder()
+                    == SeriesRenderingOrder.REVERSE);
+            int seriesCount = this.dataset.getSeriesCount();
+            for (int k = 0; k < seriesCount; k++) {
+                int series = (reverse ? k : seriesCount - 1 - k);
+                if (this.dataset.getItemCount(series) == 0) {
+                    continue;
+                }
+                int[] itemBounds = RendererUtilities.findLiveItems(
+                        this.dataset, series, Math.min(x0, x1),
+                        Math.max(x0, x1));
+                for (int item = itemBounds[1]; item >= itemBounds[0];
+                        item--) {
+                    if (!this.renderer.getItemVisible(series, item)
+                            || !this.renderer.getItemCreateEntity(series,
+                                    item)) {
+                        continue;
+                    }
+                    double transX = this.domainAxis.valueToJava2D(
+                            this.dataset.getXValue(series, item), dataArea,
+                            xEdge);
+                    double transY = this.rangeAxis.valueToJava2D(
+                            this.dataset.getYValue(series, item), dataArea,
+                            yEdge);
+                    double dx = xx - transX;
+                    double dy = yy - transY;
+                    if (!(dx * dx + dy * dy <= r * r)) {
+                        continue;
+                    }
+                    double entityX = (vertical ? transX : transY);
+                    double entityY = (vertical ? transY : transX);
+                    if (!isPointInRect(dataArea, entityX, entityY)) {
+                        continue;
+                    }
+                    Shape hotspot = new OvalShape(entityX - r, entityY - r,
+                            r * 2, r * 2);
+                    return new XYItemEntity(hotspot, this.dataset, series,
+                            item, "", "");
+                }
+            }
+            return null;
+        }
+
+    }
+
 }
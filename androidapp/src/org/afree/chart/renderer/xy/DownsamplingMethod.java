@@ -0,0 +1,140 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------------
+ * DownsamplingMethod.java
+ * -----------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.renderer.xy;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/**
+ * Defines tokens for the methods used by a {@link DownsamplingXYRenderer} to
+ * choose the items it draws.
+ */
+public final class DownsamplingMethod implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -6203178562017347925L;
+
+    /**
+     * Largest-Triangle-Three-Buckets: splits the items into equal-sized
+     * buckets and keeps the item in each bucket that forms the largest
+     * triangle with its neighbours.  Preserves the visual shape of the line.
+     */
+    public static final DownsamplingMethod LTTB = new DownsamplingMethod(
+            "DownsamplingMethod.LTTB");
+
+    /**
+     * M4: keeps the first, last, minimum and maximum item in each pixel
+     * column.  The result is pixel-exact for line charts.
+     */
+    public static final DownsamplingMethod M4 = new DownsamplingMethod(
+            "DownsamplingMethod.M4");
+
+    /** The name. */
+    private String name;
+
+    /**
+     * Private constructor.
+     *
+     * @param name  the name.
+     */
+    private DownsamplingMethod(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns a string representing the object.
+     *
+     * @return The string.
+     */
+    public String toString() {
+        return this.name;
+    }
+
+    /**
+     * Returns <code>true</code> if this object is equal to the specified
+     * object, and <code>false</code> otherwise.
+     *
+     * @param obj  the object (<code>null</code> permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DownsamplingMethod)) {
+            return false;
+        }
+        DownsamplingMethod that = (DownsamplingMethod) obj;
+        if (!this.name.equals(that.toString())) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code value for the object.
+     *
+     * @return The hashcode
+     */
+    public int hashCode() {
+        return this.name.hashCode();
+    }
+
+    /**
+     * Ensures that serialization returns the unique instances.
+     *
+     * @return The object.
+     *
+     * @throws ObjectStreamException if there is a problem.
+     */
+    private Object readResolve() throws ObjectStreamException {
+        if (this.equals(DownsamplingMethod.LTTB)) {
+            return DownsamplingMethod.LTTB;
+        }
+        else if (this.equals(DownsamplingMethod.M4)) {
+            return DownsamplingMethod.M4;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,745 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ---------------------------
+ * DownsamplingXYRenderer.java
+ * ---------------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.chart.renderer.xy;
+
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import org.afree.util.ObjectUtilities;
+import org.afree.util.PublicCloneable;
+import org.afree.util.ShapeUtilities;
+import org.afree.ui.RectangleEdge;
+import org.afree.chart.LegendItem;
+import org.afree.chart.axis.ValueAxis;
+import org.afree.chart.plot.CrosshairState;
+import org.afree.chart.plot.PlotOrientation;
+import org.afree.chart.plot.PlotRenderingInfo;
+import org.afree.chart.plot.XYPlot;
+import org.afree.data.general.AbstractDataset;
+import org.afree.data.general.Series;
+import org.afree.data.time.TimeSeriesCollection;
+import org.afree.data.xy.XYDataset;
+import org.afree.data.xy.XYSeriesCollection;
+import org.afree.graphics.PaintType;
+import org.afree.graphics.PaintUtility;
+import org.afree.graphics.geom.LineShape;
+import org.afree.graphics.geom.PathShape;
+import org.afree.graphics.geom.RectShape;
+import org.afree.graphics.geom.Shape;
+
+/**
+ * A renderer that draws each series as a line through a downsampled subset
+ * of its visible items, chosen with the {@link DownsamplingMethod#M4} or
+ * {@link DownsamplingMethod#LTTB} method so that at most a few points are
+ * drawn per pixel column while peaks and the shape of the line are kept.
+ * Items with a <code>null</code> or <code>Double.NaN</code> y-value break
+ * the line.
+ * <P>
+ * The chosen items are cached for each series and reused while the dataset,
+ * the domain axis range and the width of the data area are unchanged, so
+ * repaints cost O(points drawn) rather than O(items).  The series of an
+ * {@link XYSeriesCollection} or a {@link TimeSeriesCollection} are known to
+ * be unchanged when their modification count (which also counts changes
+ * made without sending an event) is the same as before, and any other
+ * {@link AbstractDataset} when it has sent no change event; other datasets
+ * are downsampled on every repaint.  The cache does not keep the dataset
+ * from being garbage collected.
+ * <P>
+ * This renderer is designed for use with the {@link XYPlot} class.  It does
+ * not create entities or update the crosshair.
+ */
+public class DownsamplingXYRenderer extends AbstractXYItemRenderer
+        implements XYItemRenderer, Cloneable, PublicCloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 4073526928305541630L;
+
+    /** The number of points per pixel column kept by the LTTB method. */
+    private static final int LTTB_POINTS_PER_PIXEL = 2;
+
+    /** A marker for a break in the line. */
+    private static final int GAP = -1;
+
+    /** The downsampling method. */
+    private DownsamplingMethod method;
+
+    /** The shape that is used to represent a line in the legend. */
+    private transient Shape legendLine;
+
+    /**
+     * The downsampled items for each series, indexed by series (entries may
+     * be <code>null</code>, or belong to another dataset).
+     */
+    private transient Sample[] samples;
+
+    /**
+     * Creates a new renderer that uses the {@link DownsamplingMethod#M4}
+     * method.
+     */
+    public DownsamplingXYRenderer() {
+        this(DownsamplingMethod.M4);
+    }
+
+    /**
+     * Creates a new renderer.
+     *
+     * @param method  the downsampling method (<code>null</code> not
+     *                permitted).
+     */
+    public DownsamplingXYRenderer(DownsamplingMethod method) {
+        if (method == null) {
+            throw new IllegalArgumentException("Null 'method' argument.");
+        }
+        this.method = method;
+        this.legendLine = new LineShape(-7.0, 0.0, 7.0, 0.0);
+        this.samples = new Sample[0];
+    }
+
+    /**
+     * Returns the downsampling method.
+     *
+     * @return The method (never <code>null</code>).
+     *
+     * @see #setMethod(DownsamplingMethod)
+     */
+    public DownsamplingMethod getMethod() {
+        return this.method;
+    }
+
+    /**
+     * Sets the downsampling method.
+     *
+     * @param method  the method (<code>null</code> not permitted).
+     *
+     * @see #getMethod()
+     */
+    public void setMethod(DownsamplingMethod method) {
+        if (method == null) {
+            throw new IllegalArgumentException("Null 'method' argument.");
+        }
+        this.method = method;
+        this.samples = new Sample[0];
+    }
+
+    /**
+     * Returns the shape used to represent a line in the legend.
+     *
+     * @return The legend line (never <code>null</code>).
+     *
+     * @see #setLegendLine(Shape)
+     */
+    public Shape getLegendLine() {
+        return this.legendLine;
+    }
+
+    /**
+     * Sets the shape used as a line in each legend item.
+     *
+     * @param line  the line (<code>null</code> not permitted).
+     *
+     * @see #getLegendLine()
+     */
+    public void setLegendLine(Shape line) {
+        if (line == null) {
+            throw new IllegalArgumentException("Null 'line' argument.");
+        }
+        this.legendLine = line;
+    }
+
+    /**
+     * Draws the visual representation of a single data item.  The whole
+     * series is drawn when the first item of the pass is reached, after which
+     * the plot is told that the pass is complete.
+     *
+     * @param canvas  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot (can be used to obtain standard color
+     *              information etc).
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     * @param crosshairState  crosshair information for the plot
+     *                        (<code>null</code> permitted).
+     * @param pass  the pass index.
+     */
+    public void drawItem(Canvas canvas,
+                         XYItemRendererState state,
+                         RectShape dataArea,
+                         PlotRenderingInfo info,
+                         XYPlot plot,
+                         ValueAxis domainAxis,
+                         ValueAxis rangeAxis,
+                         XYDataset dataset,
+                         int series,
+                         int item,
+                         CrosshairState crosshairState,
+                         int pass) {
+
+        if (!getItemVisible(series, item)) {
+            return;
+        }
+        int first = state.getFirstItemIndex();
+        int last = state.getLastItemIndex();
+        RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
+        RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
+        boolean horizontal = plot.getOrientation()
+                == PlotOrientation.HORIZONTAL;
+        int width = (int) Math.ceil(horizontal ? dataArea.getHeight()
+                : dataArea.getWidth());
+
+        if (series >= this.samples.length) {
+            Sample[] grown = new Sample[dataset.getSeriesCount()];
+            System.arraycopy(this.samples, 0, grown, 0, this.samples.length);
+            this.samples = grown;
+        }
+        Sample sample = this.samples[series];
+        if (sample == null || !sample.isValid(this.method, dataset, series,
+                first, last, domainAxis, width)) {
+            sample = new Sample(this.method, dataset, series, first, last,
+                    domainAxis, width);
+            if (this.method == DownsamplingMethod.M4) {
+                sampleM4(sample, dataset, series, first, last, dataArea,
+                        domainAxis, xAxisLocation);
+            }
+            else {
+                sampleLTTB(sample, dataset, series, first, last,
+                        width * LTTB_POINTS_PER_PIXEL);
+            }
+            this.samples[series] = sample;
+        }
+
+        PathShape path = new PathShape();
+        boolean lastPointGood = false;
+        for (int i = 0; i < sample.size; i++) {
+            int index = sample.items[i];
+            if (index == GAP) {
+                lastPointGood = false;
+                continue;
+            }
+            double transX = domainAxis.valueToJava2D(
+                    dataset.getXValue(series, index), dataArea,
+                    xAxisLocation);
+            double transY = rangeAxis.valueToJava2D(
+                    dataset.getYValue(series, index), dataArea,
+                    yAxisLocation);
+            float x = (float) (horizontal ? transY : transX);
+            float y = (float) (horizontal ? transX : transY);
+            if (lastPointGood) {
+                path.lineTo(x, y);
+            }
+            else {
+                path.moveTo(x, y);
+            }
+            lastPointGood = true;
+        }
+        Paint paint = PaintUtility.createPaint(
+                Paint.ANTI_ALIAS_FLAG,
+                getItemPaintType(series, last),
+                getItemStroke(series, last),
+                getItemEffect(series, last));
+        path.draw(canvas, paint);
+        state.setSeriesPassComplete(true);
+    }
+
+    /**
+     * Chooses the first, last, lowest and highest item in each pixel column.
+     *
+     * @param sample  the sample to fill.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param first  the index of the first item.
+     * @param last  the index of the last item.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param domainAxis  the domain axis.
+     * @param xAxisLocation  the domain axis location.
+     */
+    private static void sampleM4(Sample sample, XYDataset dataset,
+            int series, int first, int last, RectShape dataArea,
+            ValueAxis domainAxis, RectangleEdge xAxisLocation) {
+
+        boolean open = false;
+        double column = 0.0;
+        int firstItem = 0;
+        int lastItem = 0;
+        int minItem = 0;
+        int maxItem = 0;
+        double minY = 0.0;
+        double maxY = 0.0;
+        for (int item = first; item <= last; item++) {
+            double y = dataset.getYValue(series, item);
+            double transX = domainAxis.valueToJava2D(
+                    dataset.getXValue(series, item), dataArea, xAxisLocation);
+            if (Double.isNaN(y) || Double.isNaN(transX)) {
+                if (open) {
+                    addColumn(sample, firstItem, minItem, maxItem, lastItem);
+                    open = false;
+                }
+                sample.addGap();
+                continue;
+            }
+            double c = Math.floor(transX);
+            if (open && c == column) {
+                lastItem = item;
+                if (y < minY) {
+                    minY = y;
+                    minItem = item;
+                }
+                if (y > maxY) {
+                    maxY = y;
+                    maxItem = item;
+                }
+            }
+            else {
+                if (open) {
+                    addColumn(sample, firstItem, minItem, maxItem, lastItem);
+                }
+                open = true;
+                column = c;
+                firstItem = item;
+                lastItem = item;
+                minItem = item;
+                maxItem = item;
+                minY = y;
+                maxY = y;
+            }
+        }
+        if (open) {
+            addColumn(sample, firstItem, minItem, maxItem, lastItem);
+        }
+    }
+
+    /**
+     * Adds the distinct items chosen for one pixel column to a sample, in
+     * item order.
+     *
+     * @param sample  the sample.
+     * @param firstItem  the first item in the column.
+     * @param minItem  the item with the lowest y-value.
+     * @param maxItem  the item with the highest y-value.
+     * @param lastItem  the last item in the column.
+     */
+    private static void addColumn(Sample sample, int firstItem, int minItem,
+            int maxItem, int lastItem) {
+        sample.add(firstItem);
+        int low = Math.min(minItem, maxItem);
+        int high = Math.max(minItem, maxItem);
+        if (low != firstItem) {
+            sample.add(low);
+        }
+        if (high != low && high != lastItem) {
+            sample.add(high);
+        }
+        if (lastItem != firstItem) {
+            sample.add(lastItem);
+        }
+    }
+
+    /**
+     * Chooses items with the Largest-Triangle-Three-Buckets method.  Each run
+     * of items between breaks in the line gets a share of the points in
+     * proportion to its length.
+     *
+     * @param sample  the sample to fill.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param first  the index of the first item.
+     * @param last  the index of the last item.
+     * @param threshold  the number of points to keep.
+     */
+    private static void sampleLTTB(Sample sample, XYDataset dataset,
+            int series, int first, int last, int threshold) {
+
+        int itemCount = last - first + 1;
+        int start = first;
+        while (start <= last) {
+            while (start <= last && isGap(dataset, series, start)) {
+                sample.addGap();
+                start++;
+            }
+            int end = start;
+            while (end <= last && !isGap(dataset, series, end)) {
+                end++;
+            }
+            if (end > start) {
+                int runThreshold = (int) Math.ceil((double) threshold
+                        * (end - start) / itemCount);
+                sampleRunLTTB(sample, dataset, series, start, end - 1,
+                        Math.max(runThreshold, 3));
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Chooses items from a run of items without breaks using the
+     * Largest-Triangle-Three-Buckets method.
+     *
+     * @param sample  the sample to fill.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param first  the index of the first item.
+     * @param last  the index of the last item.
+     * @param threshold  the number of points to keep (at least 3).
+     */
+    private static void sampleRunLTTB(Sample sample, XYDataset dataset,
+            int series, int first, int last, int threshold) {
+
+        int itemCount = last - first + 1;
+        if (itemCount <= threshold) {
+            for (int item = first; item <= last; item++) {
+                sample.add(item);
+            }
+            return;
+        }
+        // the first and last items are always kept, the others are split
+        // into (threshold - 2) buckets...
+        double bucketSize = (double) (itemCount - 2) / (threshold - 2);
+        int a = first;
+        sample.add(a);
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int bucketStart = first + 1 + (int) (bucket * bucketSize);
+            int bucketEnd = first + 1 + (int) ((bucket + 1) * bucketSize);
+            int nextEnd = Math.min(first + 1 + (int) ((bucket + 2)
+                    * bucketSize), last + 1);
+            // the average of the next bucket (or the last item)...
+            double avgX = 0.0;
+            double avgY = 0.0;
+            if (bucket == threshold - 3) {
+                avgX = dataset.getXValue(series, last);
+                avgY = dataset.getYValue(series, last);
+            }
+            else {
+                for (int item = bucketEnd; item < nextEnd; item++) {
+                    avgX += dataset.getXValue(series, item);
+                    avgY += dataset.getYValue(series, item);
+                }
+                avgX /= nextEnd - bucketEnd;
+                avgY /= nextEnd - bucketEnd;
+            }
+            double ax = dataset.getXValue(series, a);
+            double ay = dataset.getYValue(series, a);
+            double maxArea = -1.0;
+            int chosen = bucketStart;
+            for (int item = bucketStart; item < bucketEnd; item++) {
+                double area = Math.abs((ax - avgX)
+                        * (dataset.getYValue(series, item) - ay)
+                        - (ax - dataset.getXValue(series, item))
+                        * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = item;
+                }
+            }
+            sample.add(chosen);
+            a = chosen;
+        }
+        sample.add(last);
+    }
+
+    /**
+     * Returns <code>true</code> if an item breaks the line.
+     *
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return A boolean.
+     */
+    private static boolean isGap(XYDataset dataset, int series, int item) {
+        return Double.isNaN(dataset.getYValue(series, item))
+                || Double.isNaN(dataset.getXValue(series, item));
+    }
+
+    /**
+     * Returns a legend item for the specified series.
+     *
+     * @param datasetIndex  the dataset index (zero-based).
+     * @param series  the series index (zero-based).
+     *
+     * @return A legend item for the series.
+     */
+    public LegendItem getLegendItem(int datasetIndex, int series) {
+
+        XYPlot plot = getPlot();
+        if (plot == null) {
+            return null;
+        }
+
+        LegendItem result = null;
+        XYDataset dataset = plot.getDataset(datasetIndex);
+        if (dataset != null) {
+            if (getItemVisible(series, 0)) {
+                String label = getLegendItemLabelGenerator().generateLabel(
+                        dataset, series);
+                result = new LegendItem(label);
+                result.setLabelFont(lookupLegendTextFont(series));
+                PaintType labelPaintType = lookupLegendTextPaintType(series);
+                if (labelPaintType != null) {
+                    result.setLabelPaintType(labelPaintType);
+                }
+                result.setSeriesKey(dataset.getSeriesKey(series));
+                result.setSeriesIndex(series);
+                result.setDataset(dataset);
+                result.setDatasetIndex(datasetIndex);
+            }
+        }
+        return result;
+
+    }
+
+    /**
+     * Returns a clone of the renderer.  The clone starts with an empty
+     * cache.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if the clone cannot be created.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        DownsamplingXYRenderer clone = (DownsamplingXYRenderer) super.clone();
+        if (this.legendLine != null) {
+            clone.legendLine = ShapeUtilities.clone(this.legendLine);
+        }
+        clone.samples = new Sample[0];
+        return clone;
+    }
+
+    /**
+     * Tests this renderer for equality with an arbitrary object.
+     *
+     * @param obj  the object (<code>null</code> permitted).
+     *
+     * @return <code>true</code> or <code>false</code>.
+     */
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof DownsamplingXYRenderer)) {
+            return false;
+        }
+        if (!super.equals(obj)) {
+            return false;
+        }
+        DownsamplingXYRenderer that = (DownsamplingXYRenderer) obj;
+        if (!ObjectUtilities.equal(this.method, that.method)) {
+            return false;
+        }
+        if (!ShapeUtilities.equal(this.legendLine, that.legendLine)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * The items chosen for one series, with the values they were chosen for.
+     */
+    private static class Sample {
+
+        /** The method used. */
+        private DownsamplingMethod method;
+
+        /** The dataset. */
+        private WeakReference dataset;
+
+        /** The series modification count (-1 if not known). */
+        private long modificationCount;
+
+        /** The number of items in the series. */
+        private int itemCount;
+
+        /** The index of the first item considered. */
+        private int first;
+
+        /** The index of the last item considered. */
+        private int last;
+
+        /** The lower bound of the domain axis. */
+        private double lower;
+
+        /** The upper bound of the domain axis. */
+        private double upper;
+
+        /** The width of the data area in pixels. */
+        private int width;
+
+        /** The chosen item indices, with {@link #GAP} for breaks. */
+        private int[] items;
+
+        /** The number of entries in <code>items</code>. */
+        private int size;
+
+        /**
+         * Creates a new empty sample.
+         *
+         * @param method  the method.
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param first  the index of the first item considered.
+         * @param last  the index of the last item considered.
+         * @param domainAxis  the domain axis.
+         * @param width  the width of the data area in pixels.
+         */
+        Sample(DownsamplingMethod method, XYDataset dataset, int series,
+                int first, int last, ValueAxis domainAxis, int width) {
+            this.method = method;
+            this.dataset = new WeakReference(dataset);
+            this.modificationCount = getModificationCount(dataset, series);
+            this.itemCount = itemCount(dataset);
+            this.first = first;
+            this.last = last;
+            this.lower = domainAxis.getLowerBound();
+            this.upper = domainAxis.getUpperBound();
+            this.width = width;
+            this.items = new int[64];
+        }
+
+        /**
+         * Returns <code>true</code> if the sample was chosen for the
+         * specified values.
+         *
+         * @param method  the method.
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param first  the index of the first item considered.
+         * @param last  the index of the last item considered.
+         * @param domainAxis  the domain axis.
+         * @param width  the width of the data area in pixels.
+         *
+         * @return A boolean.
+         */
+        boolean isValid(DownsamplingMethod method, XYDataset dataset,
+                int series, int first, int last, ValueAxis domainAxis,
+                int width) {
+            if (this.dataset.get() != dataset || this.modificationCount < 0
+                    || this.modificationCount
+                            != getModificationCount(dataset, series)) {
+                return false;
+            }
+            return this.method == method
+                    && this.first == first && this.last == last
+                    && this.width == width
+                    && this.lower == domainAxis.getLowerBound()
+                    && this.upper == domainAxis.getUpperBound()
+                    && this.itemCount == itemCount(dataset);
+        }
+
+        /**
+         * Adds an item index.
+         *
+         * @param item  the item index.
+         */
+        void add(int item) {
+            if (this.size == this.items.length) {
+                int[] grown = new int[this.size * 2];
+                System.arraycopy(this.items, 0, grown, 0, this.size);
+                this.items = grown;
+            }
+            this.items[this.size++] = item;
+        }
+
+        /**
+         * Adds a break in the line, unless the sample is empty or already
+         * ends with a break.
+         */
+        void addGap() {
+            if (this.size > 0 && this.items[this.size - 1] != GAP) {
+                add(GAP);
+            }
+        }
+
+        /**
+         * Returns the total number of items in all series of a dataset.
+         *
+         * @param dataset  the dataset.
+         *
+         * @return The item count.
+         */
+        private static int itemCount(XYDataset dataset) {
+            int result = 0;
+            for (int s = 0; s < dataset.getSeriesCount(); s++) {
+                result += dataset.getItemCount(s);
+            }
+            return result;
+        }
+
+        /**
+         * Returns a number that changes whenever a series in a dataset
+         * changes: the modification count of the dataset plus, for the
+         * collections of {@link Series} that are known here, that of the
+         * series.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         *
+         * @return The modification count (-1 if the dataset does not keep
+         *     one).
+         */
+        private static long getModificationCount(XYDataset dataset,
+                int series) {
+            if (!(dataset instanceof AbstractDataset)) {
+                return -1L;
+            }
+            long result = ((AbstractDataset) dataset).getModificationCount();
+            Series s = null;
+            if (dataset instanceof XYSeriesCollection) {
+                s = ((XYSeriesCollection) dataset).getSeries(series);
+            }
+            else if (dataset instanceof TimeSeriesCollection) {
+                s = ((TimeSeriesCollection) dataset).getSeries(series);
+            }
+            if (s != null) {
+                result += s.getModificationCount();
+            }
+            return result;
+        }
+
+    }
+
+}
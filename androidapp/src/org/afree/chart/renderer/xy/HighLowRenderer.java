@@ -40,6 +40,7 @@
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
  * 14-Jan-2011 : Updated API docs
+ * 18-Oct-2026 : Added isRangeBoundsVisibleDomainOnly()
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2001-2008, by Object Refinery Limited.
@@ -314,6 +315,16 @@ public class HighLowRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Returns <code>false</code>, since the range bounds here include the
+     * high-low interval of every item in the dataset.
+     *
+     * @return <code>false</code>.
+     */
+    public boolean isRangeBoundsVisibleDomainOnly() {
+        return false;
+    }
+
     /**
      * Draws the visual representation of a single data item.
      *
@@ -39,6 +39,7 @@
  * Changes (from 19-Nov-2010)
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
+ * 18-Oct-2026 : Use the dataset's level-of-detail index when available
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2008, 2009, by Object Refinery Limited.
@@ -64,7 +65,10 @@ import org.afree.ui.RectangleEdge;
 import org.afree.util.ShapeUtilities;
 import org.afree.chart.LegendItem;
 import org.afree.chart.axis.ValueAxis;
+import org.afree.data.DomainOrder;
+import org.afree.data.general.MinMaxPyramid;
 import org.afree.data.xy.XYDataset;
+import org.afree.data.xy.XYLevelOfDetailInfo;
 import org.afree.chart.plot.CrosshairState;
 import org.afree.chart.plot.PlotOrientation;
 import org.afree.chart.plot.PlotRenderingInfo;
@@ -79,6 +83,11 @@ import org.afree.graphics.PaintUtility;
 /**
  * A renderer that...  This renderer is designed for use with the {@link XYPlot}
  * class.
+ * <P>
+ * When the dataset implements {@link XYLevelOfDetailInfo}, is sorted by
+ * x-value and has a level-of-detail index for a series, the renderer draws
+ * that series one pixel column at a time, using the index to find the
+ * y-range of each column, instead of visiting every item.
  */
 public class SamplingXYLineRenderer extends AbstractXYItemRenderer
         implements XYItemRenderer, Cloneable, PublicCloneable, Serializable {
@@ -285,6 +294,11 @@ public class SamplingXYLineRenderer extends AbstractXYItemRenderer
         double transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
 
         State s = (State) state;
+        if (item == s.getFirstItemIndex() && drawSeriesFromLevelOfDetail(
+                canvas, s, dataArea, plot, domainAxis, rangeAxis, dataset,
+                series)) {
+            return;
+        }
         // update path to reflect latest point
         if (!Double.isNaN(transX1) && !Double.isNaN(transY1)) {
             float x = (float) transX1;
@@ -341,6 +355,148 @@ public class SamplingXYLineRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Draws all the items of the current series pass with the help of the
+     * dataset's level-of-detail index.  Each pixel column costs O(log n)
+     * time, however many items it covers.  As in {@link #drawItem
+     * drawItem()}, a vertical line covers the minimum and maximum of each
+     * column; the path visits both the first and the last item of the
+     * column, so that it leaves the column where the data does.
+     *
+     * @param canvas  the graphics device.
+     * @param s  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     *
+     * @return <code>true</code> if the series was drawn, and
+     *     <code>false</code> if there is no usable index.
+     */
+    private boolean drawSeriesFromLevelOfDetail(Canvas canvas, State s,
+            RectShape dataArea, XYPlot plot, ValueAxis domainAxis,
+            ValueAxis rangeAxis, XYDataset dataset, int series) {
+
+        if (!(dataset instanceof XYLevelOfDetailInfo)
+                || dataset.getDomainOrder() != DomainOrder.ASCENDING) {
+            return false;
+        }
+        MinMaxPyramid index = ((XYLevelOfDetailInfo) dataset)
+                .getLevelOfDetail(series);
+        int first = s.getFirstItemIndex();
+        int last = s.getLastItemIndex();
+        if (index == null || last >= index.getItemCount()) {
+            return false;
+        }
+        RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
+        RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
+        boolean horizontal = plot.getOrientation()
+                == PlotOrientation.HORIZONTAL;
+        double[] bounds = new double[2];
+        int item = first;
+        while (item <= last) {
+            double transX = domainAxis.valueToJava2D(
+                    dataset.getXValue(series, item), dataArea, xAxisLocation);
+            if (Double.isNaN(transX)) {
+                s.lastPointGood = false;
+                item++;
+                continue;
+            }
+            // the column holds the items within dX of this item...
+            double xEnd = Math.max(
+                    domainAxis.java2DToValue(transX + s.dX, dataArea,
+                            xAxisLocation),
+                    domainAxis.java2DToValue(transX - s.dX, dataArea,
+                            xAxisLocation));
+            int end = Math.max(findLastItemAtOrBelow(dataset, series, xEnd,
+                    item, last), item);
+            double transY = rangeAxis.valueToJava2D(index.getValue(item),
+                    dataArea, yAxisLocation);
+            float x = (float) (horizontal ? transY : transX);
+            float y = (float) (horizontal ? transX : transY);
+            if (Double.isNaN(transY)) {
+                s.lastPointGood = false;
+            }
+            else {
+                if (s.lastPointGood) {
+                    s.seriesPath.lineTo(x, y);
+                }
+                else {
+                    s.seriesPath.moveTo(x, y);
+                }
+                s.lastPointGood = true;
+            }
+            if (end > item) {
+                double closeY = rangeAxis.valueToJava2D(index.getValue(end),
+                        dataArea, yAxisLocation);
+                if (Double.isNaN(closeY)) {
+                    s.lastPointGood = false;
+                }
+                else if (s.lastPointGood) {
+                    s.seriesPath.lineTo((float) (horizontal ? closeY : transX),
+                            (float) (horizontal ? transX : closeY));
+                }
+            }
+            index.findBounds(item, end, bounds);
+            if (bounds[0] < bounds[1]) {
+                float low = (float) rangeAxis.valueToJava2D(bounds[0],
+                        dataArea, yAxisLocation);
+                float high = (float) rangeAxis.valueToJava2D(bounds[1],
+                        dataArea, yAxisLocation);
+                float column = (float) transX;
+                if (horizontal) {
+                    s.intervalPath.moveTo(low, column);
+                    s.intervalPath.lineTo(high, column);
+                }
+                else {
+                    s.intervalPath.moveTo(column, low);
+                    s.intervalPath.lineTo(column, high);
+                }
+            }
+            item = end + 1;
+        }
+        Paint paint = PaintUtility.createPaint(
+                Paint.ANTI_ALIAS_FLAG,
+                getItemPaintType(series, last),
+                getItemStroke(series, last),
+                getItemEffect(series, last));
+        s.seriesPath.draw(canvas, paint);
+        s.intervalPath.draw(canvas, paint);
+        s.setSeriesPassComplete(true);
+        return true;
+    }
+
+    /**
+     * Returns the index of the last item in the range <code>low</code> to
+     * <code>high</code> with an x-value less than or equal to <code>x</code>,
+     * for a series sorted by x-value.
+     *
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param x  the x-value.
+     * @param low  the index of the first item to search.
+     * @param high  the index of the last item to search.
+     *
+     * @return The item index (<code>low - 1</code> if there is no such item).
+     */
+    private static int findLastItemAtOrBelow(XYDataset dataset, int series,
+            double x, int low, int high) {
+        int lo = low;
+        int hi = high + 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dataset.getXValue(series, mid) <= x) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo - 1;
+    }
+
     /**
      * Returns a legend item for the specified series.
      *
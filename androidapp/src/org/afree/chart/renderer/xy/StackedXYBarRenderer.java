@@ -39,6 +39,7 @@
  * Changes (from 19-Nov-2010)
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
+ * 18-Oct-2026 : Added isRangeBoundsVisibleDomainOnly()
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2004-2008, by Andreas Schroeder and Contributors.
@@ -227,6 +228,16 @@ public class StackedXYBarRenderer extends XYBarRenderer {
         }
     }
 
+    /**
+     * Returns <code>false</code>, since the range bounds are the stacked
+     * totals of every item in the dataset.
+     *
+     * @return <code>false</code>.
+     */
+    public boolean isRangeBoundsVisibleDomainOnly() {
+        return false;
+    }
+
     /**
      * Draws the visual representation of a single data item.
      *
@@ -39,6 +39,7 @@
  * Changes (from 19-Nov-2010)
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
+ * 18-Oct-2026 : Added isRangeBoundsVisibleDomainOnly()
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2007, 2008, by Object Refinery Limited.
@@ -221,6 +222,16 @@ public class VectorRenderer extends AbstractXYItemRenderer
             return new Range(minimum, maximum);
         }
     }
+
+    /**
+     * Returns <code>false</code>, since the range bounds include the vectors
+     * of every item in the dataset.
+     *
+     * @return <code>false</code>.
+     */
+    public boolean isRangeBoundsVisibleDomainOnly() {
+        return false;
+    }
     
     /**
      * Draws the block representing the specified item.
@@ -39,6 +39,7 @@
  * Changes (from 19-Nov-2010)
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
+ * 18-Oct-2026 : Added isRangeBoundsVisibleDomainOnly()
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2001-2009, by Object Refinery Limited.
@@ -1237,6 +1238,16 @@ public class XYBarRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Returns <code>false</code>, since the range bounds are taken from every
+     * item in the dataset.
+     *
+     * @return <code>false</code>.
+     */
+    public boolean isRangeBoundsVisibleDomainOnly() {
+        return false;
+    }
+
     /**
      * Returns a clone of the renderer.
      *
@@ -39,6 +39,7 @@
  * Changes (from 19-Nov-2010)
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
+ * 18-Oct-2026 : Draw dots from marker sprites when enabled
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2002-2008, by Object Refinery Limited.
@@ -81,6 +82,7 @@ import org.afree.chart.plot.CrosshairState;
 import org.afree.chart.plot.PlotOrientation;
 import org.afree.chart.plot.PlotRenderingInfo;
 import org.afree.chart.plot.XYPlot;
+import org.afree.chart.renderer.MarkerSpriteCache;
 import org.afree.graphics.geom.RectShape;
 import org.afree.graphics.geom.Shape;
 import org.afree.graphics.PaintType;
@@ -116,6 +118,12 @@ public class XYDotRenderer extends AbstractXYItemRenderer
      */
     private transient Shape legendShape;
 
+    /**
+     * The dot, centred on (0, 0), used as the marker sprite shape
+     * (<code>null</code> until it is needed).
+     */
+    private transient Shape dotShape;
+
     /**
      * Constructs a new renderer.
      */
@@ -154,6 +162,7 @@ public class XYDotRenderer extends AbstractXYItemRenderer
             throw new IllegalArgumentException("Requires w > 0.");
         }
         this.dotWidth = w;
+        this.dotShape = null;
 //        fireChangeEvent();
     }
 
@@ -185,6 +194,7 @@ public class XYDotRenderer extends AbstractXYItemRenderer
             throw new IllegalArgumentException("Requires h > 0.");
         }
         this.dotHeight = h;
+        this.dotShape = null;
 //        fireChangeEvent();
     }
 
@@ -267,29 +277,44 @@ public class XYDotRenderer extends AbstractXYItemRenderer
                     xAxisLocation) - adjx;
             double transY = rangeAxis.valueToJava2D(y, dataArea, yAxisLocation)
                     - adjy;
-
-//            canvas.setPaint(getItemPaint(series, item));
-            Paint paint = PaintUtility.createPaint(
-                    Paint.ANTI_ALIAS_FLAG,
-                    getItemPaintType(series, item));
-            paint.setStyle(Style.FILL);
             PlotOrientation orientation = plot.getOrientation();
-            /*
-            if (orientation == PlotOrientation.HORIZONTAL) {
-                canvas.fillRect((int) transY, (int) transX, this.dotHeight,
-                        this.dotWidth);
-            }
-            else if (orientation == PlotOrientation.VERTICAL) {
-                canvas.fillRect((int) transX, (int) transY, this.dotWidth,
-                        this.dotHeight);
-            }*/
-            if (orientation == PlotOrientation.HORIZONTAL) {
-                canvas.drawRect((int) transX,(int) transY + this.dotHeight, (int)  transX + this.dotWidth,
-                        (int) transY ,paint);
+
+            // stamp a pre-rasterized sprite if possible
+            boolean drawn = false;
+            MarkerSpriteCache sprites = getMarkerSpriteCache();
+            if (sprites != null) {
+                if (this.dotShape == null) {
+                    this.dotShape = new RectShape(-adjx, -adjy, this.dotWidth,
+                            this.dotHeight);
+                }
+                drawn = sprites.draw(canvas, dataArea, this.dotShape,
+                        getItemPaintType(series, item), null, null, null,
+                        transX + adjx, transY + adjy);
             }
-            else if (orientation == PlotOrientation.VERTICAL) {
-                canvas.drawRect((int) transX,(int) transY + this.dotHeight, (int)  transX + this.dotWidth,
-                        (int) transY ,paint);
+
+            if (!drawn) {
+//                canvas.setPaint(getItemPaint(series, item));
+                Paint paint = PaintUtility.createPaint(
+                        Paint.ANTI_ALIAS_FLAG,
+                        getItemPaintType(series, item));
+                paint.setStyle(Style.FILL);
+                /*
+                if (orientation == PlotOrientation.HORIZONTAL) {
+                    canvas.fillRect((int) transY, (int) transX, this.dotHeight,
+                            this.dotWidth);
+                }
+                else if (orientation == PlotOrientation.VERTICAL) {
+                    canvas.fillRect((int) transX, (int) transY, this.dotWidth,
+                            this.dotHeight);
+                }*/
+                if (orientation == PlotOrientation.HORIZONTAL) {
+                    canvas.drawRect((int) transX,(int) transY + this.dotHeight, (int)  transX + this.dotWidth,
+                            (int) transY ,paint);
+                }
+                else if (orientation == PlotOrientation.VERTICAL) {
+                    canvas.drawRect((int) transX,(int) transY + this.dotHeight, (int)  transX + this.dotWidth,
+                            (int) transY ,paint);
+                }
             }
             
 
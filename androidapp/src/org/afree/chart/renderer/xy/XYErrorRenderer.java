@@ -40,6 +40,7 @@
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
  * 14-Jan-2011 : Updated API docs
+ * 18-Oct-2026 : Added isRangeBoundsVisibleDomainOnly()
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2006-2009, by Object Refinery Limited.
@@ -302,6 +303,16 @@ public class XYErrorRenderer extends XYLineAndShapeRenderer {
         }
     }
 
+    /**
+     * Returns <code>false</code>, since the range bounds include the error
+     * intervals of every item in the dataset.
+     *
+     * @return <code>false</code>.
+     */
+    public boolean isRangeBoundsVisibleDomainOnly() {
+        return false;
+    }
+
     /**
      * Draws the visual representation for one data item.
      *
@@ -105,6 +105,12 @@ public class XYItemRendererState extends RendererState {
      */
     private boolean processVisibleItemsOnly;
 
+    /**
+     * A flag that indicates that the renderer has drawn the whole of the
+     * current series pass, so the plot need not pass it any more items.
+     */
+    private boolean seriesPassComplete;
+
     /**
      * Creates a new state.
      *
@@ -167,6 +173,32 @@ public class XYItemRendererState extends RendererState {
         return this.lastItemIndex;
     }
 
+    /**
+     * Returns the flag that indicates that the renderer has drawn the whole
+     * of the current series pass.  The {@link XYPlot} stops passing items to
+     * the renderer once this flag is set.
+     *
+     * @return A boolean.
+     *
+     * @see #setSeriesPassComplete(boolean)
+     */
+    public boolean isSeriesPassComplete() {
+        return this.seriesPassComplete;
+    }
+
+    /**
+     * Sets the flag that indicates that the renderer has drawn the whole of
+     * the current series pass.  The flag is cleared at the start of each
+     * series pass.
+     *
+     * @param complete  the new flag value.
+     *
+     * @see #isSeriesPassComplete()
+     */
+    public void setSeriesPassComplete(boolean complete) {
+        this.seriesPassComplete = complete;
+    }
+
     /**
      * This method is called by the {@link XYPlot} when it starts a pass
      * through the (visible) items in a series.  The default implementation
@@ -188,6 +220,7 @@ public class XYItemRendererState extends RendererState {
             int lastItem, int pass, int passCount) {
         this.firstItemIndex = firstItem;
         this.lastItemIndex = lastItem;
+        this.seriesPassComplete = false;
     }
 
     /**
@@ -39,6 +39,8 @@
  * Changes (from 19-Nov-2010)
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
+ * 18-Oct-2026 : Added drawSeriesLineAsBatch flag
+ * 18-Oct-2026 : Draw shapes from marker sprites when enabled
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2004-2008, by Object Refinery Limited.
@@ -98,6 +100,7 @@ import org.afree.chart.plot.CrosshairState;
 import org.afree.chart.plot.PlotOrientation;
 import org.afree.chart.plot.PlotRenderingInfo;
 import org.afree.chart.plot.XYPlot;
+import org.afree.chart.renderer.MarkerSpriteCache;
 import org.afree.graphics.geom.LineShape;
 import org.afree.graphics.geom.PathShape;
 import org.afree.graphics.geom.RectShape;
@@ -196,6 +199,21 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
      */
     private boolean drawSeriesLineAsPath;
 
+    /**
+     * A flag that controls whether or not the line segments for each series
+     * are collected in a vertex buffer and drawn in batches.
+     */
+    private boolean drawSeriesLineAsBatch;
+
+    /** The number of line segments drawn by each batch. */
+    private static final int LINE_BATCH_SIZE = 1024;
+
+    /**
+     * The vertex buffer for the line segments, reused for every series and
+     * every chart drawing (<code>null</code> until it is needed).
+     */
+    private transient float[] lineBuffer;
+
     /**
      * Creates a new renderer with both lines and shapes visible.
      */
@@ -231,6 +249,7 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
         // default, not outline paint
 
         this.drawSeriesLineAsPath = false;
+        this.drawSeriesLineAsBatch = false;
     }
 
     /**
@@ -262,6 +281,39 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
         }
     }
 
+    /**
+     * Returns a flag that controls whether or not the line segments for each
+     * series are collected in a vertex buffer and drawn in batches.
+     * 
+     * @return A boolean.
+     * 
+     * @see #setDrawSeriesLineAsBatch(boolean)
+     */
+    public boolean getDrawSeriesLineAsBatch() {
+        return this.drawSeriesLineAsBatch;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the line segments for each
+     * series are collected in a vertex buffer and drawn in batches, with one
+     * call to <code>Canvas.drawLines()</code> for every
+     * {@link #LINE_BATCH_SIZE} segments, instead of one line shape for each
+     * item.  As when each series is drawn as a single path, the paint and
+     * stroke for a batch are those of the last item in the batch.  This
+     * flag is ignored if each series is drawn as a single path.
+     * 
+     * @param flag
+     *            the flag.
+     * 
+     * @see #getDrawSeriesLineAsBatch()
+     */
+    public void setDrawSeriesLineAsBatch(boolean flag) {
+        if (this.drawSeriesLineAsBatch != flag) {
+            this.drawSeriesLineAsBatch = flag;
+            // fireChangeEvent();
+        }
+    }
+
     /**
      * Returns the number of passes through the data that the renderer requires
      * in order to draw the chart. Most charts will require a single pass, but
@@ -751,6 +803,21 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
          */
         private boolean lastPointGood;
 
+        /** The vertex buffer for the line segments of the current series. */
+        float[] lineBuffer;
+
+        /** The number of coordinates in the vertex buffer. */
+        int lineBufferCount;
+
+        /**
+         * The index of the item whose Java2D coordinates were last
+         * calculated by the batched line drawing (or -1).
+         */
+        int lineItem;
+
+        /** The Java2D coordinates of that item. */
+        float lineX, lineY;
+
         /**
          * Creates a new state instance.
          * 
@@ -803,6 +870,8 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
                 int pass, int passCount) {
             this.seriesPath.reset();
             this.lastPointGood = false;
+            this.lineBufferCount = 0;
+            this.lineItem = -1;
             super.startSeriesPass(dataset, series, firstItem, lastItem, pass, passCount);
         }
 
@@ -834,6 +903,12 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
 
         State state = new State(info);
         state.seriesPath = new PathShape();
+        if (this.drawSeriesLineAsBatch) {
+            if (this.lineBuffer == null) {
+                this.lineBuffer = new float[4 * LINE_BATCH_SIZE];
+            }
+            state.lineBuffer = this.lineBuffer;
+        }
         return state;
 
     }
@@ -872,8 +947,14 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
             PlotRenderingInfo info, XYPlot plot, ValueAxis domainAxis, ValueAxis rangeAxis,
             XYDataset dataset, int series, int item, CrosshairState crosshairState, int pass) {
 
+        boolean batch = isLinePass(pass) && !this.drawSeriesLineAsPath
+                && ((State) state).lineBuffer != null;
+
         // do nothing if item is not visible
         if (!getItemVisible(series, item)) {
+            if (batch && item == state.getLastItemIndex()) {
+                drawLineBatch((State) state, canvas, series, item);
+            }
             return;
         }
 
@@ -883,11 +964,17 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
                 if (this.drawSeriesLineAsPath) {
                     drawPrimaryLineAsPath(state, canvas, plot, dataset, pass, series, item, domainAxis,
                             rangeAxis, dataArea);
+                } else if (batch) {
+                    drawPrimaryLineAsBatch((State) state, canvas, plot, dataset, series, item,
+                            domainAxis, rangeAxis, dataArea);
                 } else {
                     drawPrimaryLine(state, canvas, plot, dataset, pass, series, item, domainAxis,
                             rangeAxis, dataArea);
                 }
             }
+            if (batch && item == state.getLastItemIndex()) {
+                drawLineBatch((State) state, canvas, series, item);
+            }
         }
         // second pass adds shapes where the items are ..
         else if (isItemPass(pass)) {
@@ -1002,6 +1089,106 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
         }
     }
 
+    /**
+     * Draws the item (first pass) by adding the line connecting it to the
+     * previous item to the vertex buffer in the renderer state.  The buffer
+     * is drawn when it is full, and after the last item in the series.
+     * 
+     * @param state
+     *            the renderer state.
+     * @param canvas
+     *            the graphics device.
+     * @param plot
+     *            the plot.
+     * @param dataset
+     *            the dataset.
+     * @param series
+     *            the series index (zero-based).
+     * @param item
+     *            the item index (zero-based).
+     * @param domainAxis
+     *            the domain axis.
+     * @param rangeAxis
+     *            the range axis.
+     * @param dataArea
+     *            the area within which the data is being drawn.
+     */
+    private void drawPrimaryLineAsBatch(State state, Canvas canvas, XYPlot plot,
+            XYDataset dataset, int series, int item, ValueAxis domainAxis,
+            ValueAxis rangeAxis, RectShape dataArea) {
+        RectangleEdge xAxisLocation = plot.getDomainAxisEdge();
+        RectangleEdge yAxisLocation = plot.getRangeAxisEdge();
+        boolean horizontal = plot.getOrientation() == PlotOrientation.HORIZONTAL;
+
+        // the previous point is usually the one transformed for the last item
+        float x0 = Float.NaN;
+        float y0 = Float.NaN;
+        if (item > 0 && state.lineItem == item - 1) {
+            x0 = state.lineX;
+            y0 = state.lineY;
+        } else if (item > 0) {
+            double transX0 = domainAxis.valueToJava2D(dataset.getXValue(series, item - 1),
+                    dataArea, xAxisLocation);
+            double transY0 = rangeAxis.valueToJava2D(dataset.getYValue(series, item - 1),
+                    dataArea, yAxisLocation);
+            x0 = (float) (horizontal ? transY0 : transX0);
+            y0 = (float) (horizontal ? transX0 : transY0);
+        }
+        double transX1 = domainAxis.valueToJava2D(dataset.getXValue(series, item), dataArea,
+                xAxisLocation);
+        double transY1 = rangeAxis.valueToJava2D(dataset.getYValue(series, item), dataArea,
+                yAxisLocation);
+        float x1 = (float) (horizontal ? transY1 : transX1);
+        float y1 = (float) (horizontal ? transX1 : transY1);
+        state.lineItem = item;
+        state.lineX = x1;
+        state.lineY = y1;
+
+        // only draw if we have good values
+        if (Float.isNaN(x0) || Float.isNaN(y0) || Float.isNaN(x1) || Float.isNaN(y1)) {
+            return;
+        }
+        // skip segments whose bounds miss the data area
+        if (Math.max(x0, x1) < dataArea.getMinX() || Math.min(x0, x1) > dataArea.getMaxX()
+                || Math.max(y0, y1) < dataArea.getMinY()
+                || Math.min(y0, y1) > dataArea.getMaxY()) {
+            return;
+        }
+        if (state.lineBufferCount == state.lineBuffer.length) {
+            drawLineBatch(state, canvas, series, item);
+        }
+        float[] buffer = state.lineBuffer;
+        int i = state.lineBufferCount;
+        buffer[i] = x0;
+        buffer[i + 1] = y0;
+        buffer[i + 2] = x1;
+        buffer[i + 3] = y1;
+        state.lineBufferCount = i + 4;
+    }
+
+    /**
+     * Draws the line segments in the vertex buffer in the renderer state,
+     * then empties the buffer.
+     * 
+     * @param state
+     *            the renderer state.
+     * @param canvas
+     *            the graphics device.
+     * @param series
+     *            the series index.
+     * @param item
+     *            the index of the item that supplies the paint and stroke.
+     */
+    private void drawLineBatch(State state, Canvas canvas, int series, int item) {
+        if (state.lineBufferCount == 0) {
+            return;
+        }
+        Paint paint = PaintUtility.createPaint(Paint.ANTI_ALIAS_FLAG, getItemPaintType(series,
+                item), getItemStroke(series, item), getItemEffect(series, item));
+        canvas.drawLines(state.lineBuffer, 0, state.lineBufferCount, paint);
+        state.lineBufferCount = 0;
+    }
+
     /**
      * Draws the first pass shape.
      * 
@@ -1137,50 +1324,63 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer implements XY
         double transX1 = domainAxis.valueToJava2D(x1, dataArea, xAxisLocation);
         double transY1 = rangeAxis.valueToJava2D(y1, dataArea, yAxisLocation);
 
+        double xx = transX1;
+        double yy = transY1;
+        if (orientation == PlotOrientation.HORIZONTAL) {
+            xx = transY1;
+            yy = transX1;
+        }
+
         if (getItemShapeVisible(series, item)) {
             Shape shape = getItemShape(series, item);
-            if (orientation == PlotOrientation.HORIZONTAL) {
-                shape = ShapeUtilities.createTranslatedShape(shape, transY1, transX1);
-            } else if (orientation == PlotOrientation.VERTICAL) {
-                shape = ShapeUtilities.createTranslatedShape(shape, transX1, transY1);
+            PaintType fillPaintType = null;
+            if (getItemShapeFilled(series, item)) {
+                if (this.useFillPaintType) {
+                    fillPaintType = getItemFillPaintType(series, item);
+                } else {
+                    fillPaintType = getItemPaintType(series, item);
+                }
+            }
+            PaintType outlinePaintType = null;
+            if (this.drawOutlines) {
+                if (getUseOutlinePaint()) {
+                    outlinePaintType = getItemOutlinePaintType(series, item);
+                } else {
+                    outlinePaintType = getItemPaintType(series, item);
+                }
             }
-            entityArea = shape;
-            if (shape.intersects(dataArea)) {
-                if (getItemShapeFilled(series, item)) {
-                    PaintType paintType;
-                    if (this.useFillPaintType) {
-                        paintType = getItemFillPaintType(series, item);
-                    } else {
-                        paintType = getItemPaintType(series, item);
-                    }
 
+            // stamp a pre-rasterized sprite if possible...
+            boolean drawn = false;
+            MarkerSpriteCache sprites = getMarkerSpriteCache();
+            if (sprites != null) {
+                drawn = sprites.draw(canvas, dataArea, shape, fillPaintType,
+                        outlinePaintType, getItemStroke(series, item),
+                        getItemEffect(series, item), xx, yy);
+            }
+
+            // ...the translated shape is still needed for the entity area,
+            // unless no entity is created for the item
+            if (!drawn || (entities != null && !isVirtualEntities()
+                    && getItemCreateEntity(series, item))) {
+                shape = ShapeUtilities.createTranslatedShape(shape, xx, yy);
+                entityArea = shape;
+            }
+            if (!drawn && shape.intersects(dataArea)) {
+                if (fillPaintType != null) {
                     Paint paint = PaintUtility.createPaint(
                             Paint.ANTI_ALIAS_FLAG, 
-                            paintType);
+                            fillPaintType);
                     shape.fill(canvas, paint);
                 }
-                if (this.drawOutlines) {
-                    PaintType paintType;
-                    if (getUseOutlinePaint()) {
-                        paintType = getItemOutlinePaintType(series, item);
-                    } else {
-                        paintType = getItemPaintType(series, item);
-                    }
-
-                    Paint paint = PaintUtility.createPaint(Paint.ANTI_ALIAS_FLAG, paintType,
+                if (outlinePaintType != null) {
+                    Paint paint = PaintUtility.createPaint(Paint.ANTI_ALIAS_FLAG, outlinePaintType,
                             getItemStroke(series, item), getItemEffect(series, item));
                     shape.draw(canvas, paint);
                 }
             }
         }
 
-        double xx = transX1;
-        double yy = transY1;
-        if (orientation == PlotOrientation.HORIZONTAL) {
-            xx = transY1;
-            yy = transX1;
-        }
-
         // draw the item label if there is one...
         if (isItemLabelVisible(series, item)) {
             drawItemLabel(canvas, orientation, dataset, series, item, xx, yy, (y1 < 0.0));
@@ -71,13 +71,14 @@
 
 package org.afree.data.general;
 
+import java.io.IOException;
 import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.ObjectInputValidation;
 import java.io.Serializable;
+import java.util.EventListener;
 
-
-//import org.afree.chart.event.EventListenerList;
-
+import org.afree.chart.event.EventListenerList;
 
 /**
  * An abstract implementation of the {@link Dataset} interface, containing a
@@ -93,7 +94,10 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
     private DatasetGroup group;
 
     /** Storage for registered change listeners. */
-//    private transient EventListenerList listenerList;
+    private transient EventListenerList listenerList;
+
+    /** The number of change events sent by the dataset. */
+    private transient volatile long modificationCount;
     
     /**
      * Constructs a dataset. By default, the dataset is assigned to its own
@@ -101,7 +105,7 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
      */
     protected AbstractDataset() {
         this.group = new DatasetGroup();
-//        this.listenerList = new EventListenerList();
+        this.listenerList = new EventListenerList();
     }
 
     /**
@@ -143,7 +147,7 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
      * @see #removeChangeListener(DatasetChangeListener)
      */
     public void addChangeListener(DatasetChangeListener listener) {
-//        this.listenerList.add(DatasetChangeListener.class, listener);
+        this.listenerList.add(DatasetChangeListener.class, listener);
     }
     
     /**
@@ -157,16 +161,29 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
      */
     protected void notifyListeners(DatasetChangeEvent event) {
 
-//        Object[] listeners = this.listenerList.getListenerList();
-//        for (int i = listeners.length - 2; i >= 0; i -= 2) {
-//            if (listeners[i] == DatasetChangeListener.class) {
-//                ((DatasetChangeListener) listeners[i + 1]).datasetChanged(
-//                        event);
-//            }
-//        }
+        this.modificationCount++;
+        Object[] listeners = this.listenerList.getListenerList();
+        for (int i = listeners.length - 2; i >= 0; i -= 2) {
+            if (listeners[i] == DatasetChangeListener.class) {
+                ((DatasetChangeListener) listeners[i + 1]).datasetChanged(
+                        event);
+            }
+        }
 
     }
     
+    /**
+     * Returns the number of change events the dataset has sent.  Objects
+     * that cache values derived from the dataset can compare this number
+     * with the value recorded when the cache was filled, without having to
+     * register as listeners.
+     *
+     * @return The modification count.
+     */
+    public long getModificationCount() {
+        return this.modificationCount;
+    }
+
     /**
      * Deregisters an object so that it no longer receives notification of
      * changes to the dataset.
@@ -176,7 +193,7 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
      * @see #addChangeListener(DatasetChangeListener)
      */
     public void removeChangeListener(DatasetChangeListener listener) {
-//        this.listenerList.remove(DatasetChangeListener.class, listener);
+        this.listenerList.remove(DatasetChangeListener.class, listener);
     }
 
     /**
@@ -200,8 +217,41 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
      */
     public Object clone() throws CloneNotSupportedException {
         AbstractDataset clone = (AbstractDataset) super.clone();
-//        clone.listenerList = new EventListenerList();
+        clone.listenerList = new EventListenerList();
         return clone;
     }
-    
+
+    /**
+     * Returns <code>true</code> if the specified object is registered with
+     * the dataset as a listener.  Most applications won't need to call this
+     * method, it exists mainly for use by unit testing code.
+     *
+     * @param listener  the listener.
+     *
+     * @return A boolean.
+     */
+    public boolean hasListener(EventListener listener) {
+        Object[] listeners = this.listenerList.getListenerList();
+        for (int i = listeners.length - 1; i >= 0; i -= 2) {
+            if (listeners[i] == listener) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Restores a serialized object.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O problem.
+     * @throws ClassNotFoundException  if there is a problem loading a class.
+     */
+    private void readObject(ObjectInputStream stream)
+        throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.listenerList = new EventListenerList();
+    }
+
 }
@@ -119,12 +119,25 @@ public abstract class AbstractSeriesDataset extends AbstractDataset implements
     }
 
     /**
-     * Called when a series belonging to the dataset changes.
+     * Called when a series belonging to the dataset changes.  The kind of
+     * change and the affected item range are passed on, together with the
+     * index of the series, in the {@link DatasetChangeEvent} sent to all
+     * registered listeners.
      *
      * @param event  information about the change.
      */
     public void seriesChanged(SeriesChangeEvent event) {
-        fireDatasetChanged();
+        int series = -1;
+        Object source = event.getSource();
+        if (source instanceof Series) {
+            series = indexOf(((Series) source).getKey());
+        }
+        if (series < 0) {
+            fireDatasetChanged();
+            return;
+        }
+        notifyListeners(new DatasetChangeEvent(this, this, event.getType(),
+                series, event.getFirstItemIndex(), event.getLastItemIndex()));
     }
 
 }
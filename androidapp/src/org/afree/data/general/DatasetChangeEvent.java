@@ -75,6 +75,18 @@ public class DatasetChangeEvent extends java.util.EventObject {
      */
     private Dataset dataset;
 
+    /** The kind of change. */
+    private DatasetChangeType type;
+
+    /** The index of the series that changed (-1 if unknown or several). */
+    private int seriesIndex;
+
+    /** The index of the first item affected by the change (-1 if unknown). */
+    private int firstItemIndex;
+
+    /** The index of the last item affected by the change (-1 if unknown). */
+    private int lastItemIndex;
+
     /**
      * Constructs a new event.  The source is either the dataset or the
      * {@link org.afree.chart.plot.Plot} class.  The dataset can be
@@ -86,8 +98,36 @@ public class DatasetChangeEvent extends java.util.EventObject {
      *                 permitted).
      */
     public DatasetChangeEvent(Object source, Dataset dataset) {
+        this(source, dataset, DatasetChangeType.GENERAL, -1, -1, -1);
+    }
+
+    /**
+     * Constructs a new event that records the kind of change and the series
+     * and range of items affected by it.
+     *
+     * @param source  the source of the event.
+     * @param dataset  the dataset that generated the event (<code>null</code>
+     *                 permitted).
+     * @param type  the kind of change (<code>null</code> not permitted).
+     * @param seriesIndex  the index of the series that changed (-1 if
+     *                     unknown).
+     * @param firstItemIndex  the index of the first affected item (-1 if
+     *                        unknown).
+     * @param lastItemIndex  the index of the last affected item (-1 if
+     *                       unknown).
+     */
+    public DatasetChangeEvent(Object source, Dataset dataset,
+            DatasetChangeType type, int seriesIndex, int firstItemIndex,
+            int lastItemIndex) {
         super(source);
+        if (type == null) {
+            throw new IllegalArgumentException("Null 'type' argument.");
+        }
         this.dataset = dataset;
+        this.type = type;
+        this.seriesIndex = seriesIndex;
+        this.firstItemIndex = firstItemIndex;
+        this.lastItemIndex = lastItemIndex;
     }
 
     /**
@@ -101,4 +141,41 @@ public class DatasetChangeEvent extends java.util.EventObject {
         return this.dataset;
     }
 
+    /**
+     * Returns the kind of change.
+     *
+     * @return The change type (never <code>null</code>).
+     */
+    public DatasetChangeType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the index of the series that changed.
+     *
+     * @return The series index, or -1 if it is not known (or the change
+     *     affects several series).
+     */
+    public int getSeriesIndex() {
+        return this.seriesIndex;
+    }
+
+    /**
+     * Returns the index of the first item affected by the change.
+     *
+     * @return The item index, or -1 if the range is not known.
+     */
+    public int getFirstItemIndex() {
+        return this.firstItemIndex;
+    }
+
+    /**
+     * Returns the index of the last item affected by the change.
+     *
+     * @return The item index, or -1 if the range is not known.
+     */
+    public int getLastItemIndex() {
+        return this.lastItemIndex;
+    }
+
 }
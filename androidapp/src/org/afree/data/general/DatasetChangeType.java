@@ -0,0 +1,159 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------
+ * DatasetChangeType.java
+ * ----------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.general;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/**
+ * Defines tokens used to indicate the kind of change described by a
+ * {@link SeriesChangeEvent} or {@link DatasetChangeEvent}.
+ */
+public final class DatasetChangeType implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -3920442637346236813L;
+
+    /**
+     * A change that is not described more precisely (any item may have
+     * changed, been added or been removed).
+     */
+    public static final DatasetChangeType GENERAL = new DatasetChangeType(
+            "DatasetChangeType.GENERAL");
+
+    /**
+     * Items were added after the last item of a series, and no other item
+     * changed.
+     */
+    public static final DatasetChangeType APPEND = new DatasetChangeType(
+            "DatasetChangeType.APPEND");
+
+    /**
+     * The values of existing items were changed, and no item was added or
+     * removed.
+     */
+    public static final DatasetChangeType UPDATE = new DatasetChangeType(
+            "DatasetChangeType.UPDATE");
+
+    /**
+     * Items were removed (the item range refers to the indices the items had
+     * before they were removed), and no other item changed.
+     */
+    public static final DatasetChangeType REMOVE = new DatasetChangeType(
+            "DatasetChangeType.REMOVE");
+
+    /** The name. */
+    private String name;
+
+    /**
+     * Private constructor.
+     *
+     * @param name  the name.
+     */
+    private DatasetChangeType(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns a string representing the object.
+     *
+     * @return The string.
+     */
+    public String toString() {
+        return this.name;
+    }
+
+    /**
+     * Returns <code>true</code> if this object is equal to the specified
+     * object, and <code>false</code> otherwise.
+     *
+     * @param obj  the object (<code>null</code> permitted).
+     *
+     * @return A boolean.
+     */
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DatasetChangeType)) {
+            return false;
+        }
+        DatasetChangeType that = (DatasetChangeType) obj;
+        if (!this.name.equals(that.toString())) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code value for the object.
+     *
+     * @return The hashcode
+     */
+    public int hashCode() {
+        return this.name.hashCode();
+    }
+
+    /**
+     * Ensures that serialization returns the unique instances.
+     *
+     * @return The object.
+     *
+     * @throws ObjectStreamException if there is a problem.
+     */
+    private Object readResolve() throws ObjectStreamException {
+        if (this.equals(DatasetChangeType.GENERAL)) {
+            return DatasetChangeType.GENERAL;
+        }
+        else if (this.equals(DatasetChangeType.APPEND)) {
+            return DatasetChangeType.APPEND;
+        }
+        else if (this.equals(DatasetChangeType.UPDATE)) {
+            return DatasetChangeType.UPDATE;
+        }
+        else if (this.equals(DatasetChangeType.REMOVE)) {
+            return DatasetChangeType.REMOVE;
+        }
+        return null;
+    }
+
+}
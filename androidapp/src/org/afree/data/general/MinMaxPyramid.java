@@ -0,0 +1,414 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ------------------
+ * MinMaxPyramid.java
+ * ------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.general;
+
+import java.io.Serializable;
+
+/**
+ * A level-of-detail index over a sequence of values (typically the y-values
+ * of a series, in item order).  The index holds the minimum and maximum
+ * value of each bucket of consecutive items at every power-of-two bucket
+ * size from 8 items upwards, so the bounds of any item range can be found in
+ * O(log n) time.  The first and last values of a bucket are the values of
+ * the items at its ends, which are kept in the index as well.
+ * <P>
+ * Values are added to the end of the index one at a time, in O(log n)
+ * amortised time, and removed from the start in amortised constant time
+ * (the buckets are aligned to the position of an item since the index was
+ * last empty, so removing items from the start leaves them in place).
+ * Changes anywhere else are handled by truncating the index to the
+ * unchanged leading items and adding the remaining items again.
+ * <code>Double.NaN</code> values are ignored by the bounds.
+ */
+public class MinMaxPyramid implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 5264802839118813417L;
+
+    /** The bucket size of the lowest level is 2 to the power of this. */
+    private static final int BASE_LEVEL = 3;
+
+    /** The number of items in a bucket of the lowest level, minus one. */
+    private static final int BASE_MASK = (1 << BASE_LEVEL) - 1;
+
+    /** The position beyond which the index is rebuilt from position 0. */
+    private static final int MAXIMUM_POSITION = 1 << 30;
+
+    /** The values, from position 'base' on. */
+    private double[] values;
+
+    /** The number of values. */
+    private int itemCount;
+
+    /** The position of the first item (the number of items removed). */
+    private int offset;
+
+    /** The position of the first value held in the arrays. */
+    private int base;
+
+    /**
+     * The bucket minimums for each level (positive infinity if none), from
+     * the bucket containing position 'base' on.
+     */
+    private double[][] minimums;
+
+    /** The bucket maximums for each level (negative infinity if none). */
+    private double[][] maximums;
+
+    /** The number of levels in use (the top level has a single bucket). */
+    private int levelCount;
+
+    /**
+     * Creates a new empty index.
+     */
+    public MinMaxPyramid() {
+        this.values = new double[16];
+        this.minimums = new double[4][];
+        this.maximums = new double[4][];
+    }
+
+    /**
+     * Returns the number of values in the index.
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        return this.itemCount;
+    }
+
+    /**
+     * Returns a value from the index.
+     *
+     * @param item  the item index (zero-based).
+     *
+     * @return The value.
+     */
+    public double getValue(int item) {
+        if (item < 0 || item >= this.itemCount) {
+            throw new IndexOutOfBoundsException("Index " + item
+                    + " out of range.");
+        }
+        return this.values[item + this.offset - this.base];
+    }
+
+    /**
+     * Adds a value to the end of the index.
+     *
+     * @param value  the value (<code>Double.NaN</code> permitted).
+     */
+    public void add(double value) {
+        int item = this.offset + this.itemCount;
+        if (item - this.base == this.values.length) {
+            this.values = grow(this.values, item - this.base + 1);
+        }
+        this.values[item - this.base] = value;
+        this.itemCount++;
+        double min = Double.isNaN(value) ? Double.POSITIVE_INFINITY : value;
+        double max = Double.isNaN(value) ? Double.NEGATIVE_INFINITY : value;
+        for (int level = 0; level < this.levelCount; level++) {
+            int shift = BASE_LEVEL + level;
+            int bucket = (item >> shift) - (this.base >> shift);
+            if ((item & ((1 << shift) - 1)) == 0) {
+                ensureBucket(level, bucket);
+                this.minimums[level][bucket] = min;
+                this.maximums[level][bucket] = max;
+            }
+            else {
+                this.minimums[level][bucket] = Math.min(
+                        this.minimums[level][bucket], min);
+                this.maximums[level][bucket] = Math.max(
+                        this.maximums[level][bucket], max);
+            }
+        }
+        if (this.levelCount == 0) {
+            addLevel();
+            this.minimums[0][0] = min;
+            this.maximums[0][0] = max;
+        }
+        else if (item >> (BASE_LEVEL + this.levelCount - 1) == 1) {
+            // the top level has just gained a second bucket...
+            int top = this.levelCount - 1;
+            addLevel();
+            this.minimums[top + 1][0] = Math.min(this.minimums[top][0],
+                    this.minimums[top][1]);
+            this.maximums[top + 1][0] = Math.max(this.maximums[top][0],
+                    this.maximums[top][1]);
+        }
+    }
+
+    /**
+     * Removes all values after the first <code>count</code> values.  If the
+     * index holds <code>count</code> values or fewer, this method does
+     * nothing.
+     *
+     * @param count  the number of values to keep.
+     */
+    public void truncate(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative 'count' argument.");
+        }
+        if (count >= this.itemCount) {
+            return;
+        }
+        if (count == 0) {
+            clear();
+            return;
+        }
+        this.itemCount = count;
+        int last = this.offset + count - 1;
+        while (this.levelCount > 1
+                && last >> (BASE_LEVEL + this.levelCount - 2) == 0) {
+            this.levelCount--;
+        }
+        // the last bucket on each level may have lost some items...
+        int bucket = last >> BASE_LEVEL;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = Math.max(bucket << BASE_LEVEL, this.offset); i <= last;
+                i++) {
+            double v = this.values[i - this.base];
+            if (!Double.isNaN(v)) {
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+        }
+        this.minimums[0][bucket - origin(0)] = min;
+        this.maximums[0][bucket - origin(0)] = max;
+        for (int level = 1; level < this.levelCount; level++) {
+            int child = bucket;
+            bucket = child >> 1;
+            // the sibling is not held if it only covers removed items...
+            int sibling = child - 1 - origin(level - 1);
+            if ((child & 1) == 1 && sibling >= 0) {
+                min = Math.min(this.minimums[level - 1][sibling], min);
+                max = Math.max(this.maximums[level - 1][sibling], max);
+            }
+            this.minimums[level][bucket - origin(level)] = min;
+            this.maximums[level][bucket - origin(level)] = max;
+        }
+    }
+
+    /**
+     * Removes the first <code>count</code> values.  If the index holds
+     * <code>count</code> values or fewer, it is cleared.
+     *
+     * @param count  the number of values to remove.
+     */
+    public void removeFirst(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative 'count' argument.");
+        }
+        if (count >= this.itemCount) {
+            clear();
+            return;
+        }
+        this.offset += count;
+        this.itemCount -= count;
+        int removed = this.offset - this.base;
+        if (removed > BASE_MASK && removed >= this.itemCount) {
+            compact();
+        }
+    }
+
+    /**
+     * Removes all values from the index.
+     */
+    public void clear() {
+        this.itemCount = 0;
+        this.offset = 0;
+        this.base = 0;
+        this.levelCount = 0;
+    }
+
+    /**
+     * Finds the smallest and largest values for the items in the specified
+     * range, ignoring <code>Double.NaN</code> values.
+     *
+     * @param first  the index of the first item.
+     * @param last  the index of the last item.
+     * @param result  an array of length 2 that receives the minimum and the
+     *     maximum (both <code>Double.NaN</code> if there are no values).
+     */
+    public void findBounds(int first, int last, double[] result) {
+        if (first < 0 || last >= this.itemCount) {
+            throw new IndexOutOfBoundsException("Range " + first + " to "
+                    + last + " out of range.");
+        }
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        int lo = first + this.offset;
+        int hi = last + 1 + this.offset;
+        while (lo < hi && (lo & BASE_MASK) != 0) {
+            double v = this.values[lo++ - this.base];
+            if (!Double.isNaN(v)) {
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+        }
+        while (lo < hi && (hi & BASE_MASK) != 0) {
+            double v = this.values[--hi - this.base];
+            if (!Double.isNaN(v)) {
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+        }
+        lo = lo >> BASE_LEVEL;
+        hi = hi >> BASE_LEVEL;
+        for (int level = 0; lo < hi; level++) {
+            int origin = origin(level);
+            if ((lo & 1) == 1) {
+                min = Math.min(min, this.minimums[level][lo - origin]);
+                max = Math.max(max, this.maximums[level][lo - origin]);
+                lo++;
+            }
+            if ((hi & 1) == 1) {
+                hi--;
+                min = Math.min(min, this.minimums[level][hi - origin]);
+                max = Math.max(max, this.maximums[level][hi - origin]);
+            }
+            lo = lo >> 1;
+            hi = hi >> 1;
+        }
+        if (min > max) {
+            result[0] = Double.NaN;
+            result[1] = Double.NaN;
+        }
+        else {
+            result[0] = min;
+            result[1] = max;
+        }
+    }
+
+    /**
+     * Returns the index of the bucket (on the specified level) that is held
+     * at the start of the level's arrays.
+     *
+     * @param level  the level.
+     *
+     * @return The bucket index.
+     */
+    private int origin(int level) {
+        return this.base >> (BASE_LEVEL + level);
+    }
+
+    /**
+     * Moves the values and buckets of the remaining items to the start of
+     * the arrays, after items have been removed from the start of the
+     * index.  Once the item positions get large, the index is rebuilt from
+     * position 0 instead.
+     */
+    private void compact() {
+        int count = this.itemCount;
+        int removed = this.offset - this.base;
+        if (this.offset >= MAXIMUM_POSITION) {
+            double[] remaining = new double[count];
+            System.arraycopy(this.values, removed, remaining, 0, count);
+            clear();
+            for (int i = 0; i < count; i++) {
+                add(remaining[i]);
+            }
+            return;
+        }
+        System.arraycopy(this.values, removed, this.values, 0, count);
+        int last = this.offset + count - 1;
+        for (int level = 0; level < this.levelCount; level++) {
+            int shift = BASE_LEVEL + level;
+            int first = (this.offset >> shift) - (this.base >> shift);
+            int n = (last >> shift) - (this.offset >> shift) + 1;
+            System.arraycopy(this.minimums[level], first,
+                    this.minimums[level], 0, n);
+            System.arraycopy(this.maximums[level], first,
+                    this.maximums[level], 0, n);
+        }
+        this.base = this.offset;
+    }
+
+    /**
+     * Adds a level on top of the existing levels.
+     */
+    private void addLevel() {
+        int level = this.levelCount;
+        if (level == this.minimums.length) {
+            double[][] mins = new double[level * 2][];
+            double[][] maxs = new double[level * 2][];
+            System.arraycopy(this.minimums, 0, mins, 0, level);
+            System.arraycopy(this.maximums, 0, maxs, 0, level);
+            this.minimums = mins;
+            this.maximums = maxs;
+        }
+        ensureBucket(level, 0);
+        this.levelCount = level + 1;
+    }
+
+    /**
+     * Makes sure that the arrays for a level can hold the specified bucket.
+     *
+     * @param level  the level.
+     * @param bucket  the bucket index.
+     */
+    private void ensureBucket(int level, int bucket) {
+        double[] mins = this.minimums[level];
+        if (mins == null) {
+            this.minimums[level] = new double[2];
+            this.maximums[level] = new double[2];
+        }
+        else if (bucket >= mins.length) {
+            this.minimums[level] = grow(mins, bucket + 1);
+            this.maximums[level] = grow(this.maximums[level], bucket + 1);
+        }
+    }
+
+    /**
+     * Returns a copy of an array with at least the specified length.
+     *
+     * @param array  the array.
+     * @param minLength  the minimum length.
+     *
+     * @return The new array.
+     */
+    private static double[] grow(double[] array, int minLength) {
+        double[] result = new double[Math.max(array.length * 2, minLength)];
+        System.arraycopy(array, 0, result, 0, array.length);
+        return result;
+    }
+
+}
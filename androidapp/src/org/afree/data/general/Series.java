@@ -39,6 +39,7 @@
  * Changes (from 19-Nov-2010)
  * --------------------------
  * 19-Nov-2010 : port JFreeChart 1.0.13 to Android as "AFreeChart"
+ * 18-Oct-2026 : Added getModificationCount()
  * 
  * ------------- JFreeChart ---------------------------------------------
  * (C) Copyright 2001-2008, by Object Refinery Limited.
@@ -72,7 +73,7 @@ import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.io.Serializable;
 
-//import org.afree.chart.event.EventListenerList;
+import org.afree.chart.event.EventListenerList;
 
 
 /**
@@ -97,7 +98,7 @@ public abstract class Series implements Cloneable, Serializable {
     private String description;
 
     /** Storage for registered change listeners. */
-//    private EventListenerList listeners;
+    private EventListenerList listeners;
 
     /** Object to support property change notification. */
     private PropertyChangeSupport propertyChangeSupport;
@@ -105,6 +106,9 @@ public abstract class Series implements Cloneable, Serializable {
     /** A flag that controls whether or not changes are notified. */
     private boolean notify;
 
+    /** The number of changes made to the series. */
+    private transient volatile long modificationCount;
+
     /**
      * Creates a new series with the specified key.
      *
@@ -126,7 +130,7 @@ public abstract class Series implements Cloneable, Serializable {
         }
         this.key = key;
         this.description = description;
-//        this.listeners = new EventListenerList();
+        this.listeners = new EventListenerList();
         this.propertyChangeSupport = new PropertyChangeSupport(this);
         this.notify = true;
     }
@@ -253,20 +257,69 @@ public abstract class Series implements Cloneable, Serializable {
     public Object clone() throws CloneNotSupportedException {
 
         Series clone = (Series) super.clone();
-       
+        clone.listeners = new EventListenerList();
         clone.propertyChangeSupport = new PropertyChangeSupport(clone);
         return clone;
 
     }
 
 
+    /**
+     * Returns the number of changes made to the series, counting the
+     * changes that were made without notifying the listeners.  Objects that
+     * cache values derived from the series can compare this number with the
+     * value recorded when the cache was filled.
+     *
+     * @return The modification count.
+     */
+    public long getModificationCount() {
+        return this.modificationCount;
+    }
+
+    /**
+     * Records a change to the series (see {@link #getModificationCount()}).
+     * This is done by {@link #fireSeriesChanged(DatasetChangeType, int, int)},
+     * so subclasses only need to call it for changes that they make without
+     * sending an event.
+     */
+    protected void itemsModified() {
+        this.modificationCount++;
+    }
+
     /**
      * General method for signalling to registered listeners that the series
      * has been changed.
      */
     public void fireSeriesChanged() {
+        fireSeriesChanged(DatasetChangeType.GENERAL, -1, -1);
+    }
+
+    /**
+     * Signals to registered listeners that the items in the specified index
+     * range have been changed.
+     *
+     * @param firstItemIndex  the index of the first affected item.
+     * @param lastItemIndex  the index of the last affected item.
+     */
+    protected void fireSeriesChanged(int firstItemIndex, int lastItemIndex) {
+        fireSeriesChanged(DatasetChangeType.GENERAL, firstItemIndex,
+                lastItemIndex);
+    }
+
+    /**
+     * Signals to registered listeners that the items in the specified index
+     * range have been changed in the way described by <code>type</code>.
+     *
+     * @param type  the kind of change (<code>null</code> not permitted).
+     * @param firstItemIndex  the index of the first affected item.
+     * @param lastItemIndex  the index of the last affected item.
+     */
+    protected void fireSeriesChanged(DatasetChangeType type,
+            int firstItemIndex, int lastItemIndex) {
+        itemsModified();
         if (this.notify) {
-            notifyListeners(new SeriesChangeEvent(this));
+            notifyListeners(new SeriesChangeEvent(this, type, firstItemIndex,
+                    lastItemIndex));
         }
     }
 
@@ -278,13 +331,13 @@ public abstract class Series implements Cloneable, Serializable {
      */
     protected void notifyListeners(SeriesChangeEvent event) {
 
-//        Object[] listenerList = this.listeners.getListenerList();
-//        for (int i = listenerList.length - 2; i >= 0; i -= 2) {
-//            if (listenerList[i] == SeriesChangeListener.class) {
-//                ((SeriesChangeListener) listenerList[i + 1]).seriesChanged(
-//                        event);
-//            }
-//        }
+        Object[] listenerList = this.listeners.getListenerList();
+        for (int i = listenerList.length - 2; i >= 0; i -= 2) {
+            if (listenerList[i] == SeriesChangeListener.class) {
+                ((SeriesChangeListener) listenerList[i + 1]).seriesChanged(
+                        event);
+            }
+        }
 
     }
 
@@ -330,7 +383,7 @@ public abstract class Series implements Cloneable, Serializable {
      * @param listener  the listener to register.
      */
     public void addChangeListener(SeriesChangeListener listener) {
-//        this.listeners.add(SeriesChangeListener.class, listener);
+        this.listeners.add(SeriesChangeListener.class, listener);
     }
 
     /**
@@ -340,6 +393,6 @@ public abstract class Series implements Cloneable, Serializable {
      * @param listener  the listener to deregister.
      */
     public void removeChangeListener(SeriesChangeListener listener) {
-//        this.listeners.remove(SeriesChangeListener.class, listener);
+        this.listeners.remove(SeriesChangeListener.class, listener);
     }
 }
@@ -66,13 +66,87 @@ public class SeriesChangeEvent extends EventObject implements Serializable {
     /** For serialization. */
     private static final long serialVersionUID = 1593866085210089052L;
 
+    /** The kind of change. */
+    private DatasetChangeType type;
+
+    /** The index of the first item affected by the change (-1 if unknown). */
+    private int firstItemIndex;
+
+    /** The index of the last item affected by the change (-1 if unknown). */
+    private int lastItemIndex;
+
     /**
      * Constructs a new event.
      *
      * @param source  the source of the change event.
      */
     public SeriesChangeEvent(Object source) {
+        this(source, DatasetChangeType.GENERAL, -1, -1);
+    }
+
+    /**
+     * Constructs a new event that records the range of items affected by
+     * the change.
+     *
+     * @param source  the source of the change event.
+     * @param firstItemIndex  the index of the first affected item (-1 if
+     *                        unknown).
+     * @param lastItemIndex  the index of the last affected item (-1 if
+     *                       unknown).
+     */
+    public SeriesChangeEvent(Object source, int firstItemIndex,
+            int lastItemIndex) {
+        this(source, DatasetChangeType.GENERAL, firstItemIndex,
+                lastItemIndex);
+    }
+
+    /**
+     * Constructs a new event that records the kind of change and the range
+     * of items affected by it.
+     *
+     * @param source  the source of the change event.
+     * @param type  the kind of change (<code>null</code> not permitted).
+     * @param firstItemIndex  the index of the first affected item (-1 if
+     *                        unknown).
+     * @param lastItemIndex  the index of the last affected item (-1 if
+     *                       unknown).
+     */
+    public SeriesChangeEvent(Object source, DatasetChangeType type,
+            int firstItemIndex, int lastItemIndex) {
         super(source);
+        if (type == null) {
+            throw new IllegalArgumentException("Null 'type' argument.");
+        }
+        this.type = type;
+        this.firstItemIndex = firstItemIndex;
+        this.lastItemIndex = lastItemIndex;
+    }
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return The change type (never <code>null</code>).
+     */
+    public DatasetChangeType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the index of the first item affected by the change.
+     *
+     * @return The item index, or -1 if the range is not known.
+     */
+    public int getFirstItemIndex() {
+        return this.firstItemIndex;
+    }
+
+    /**
+     * Returns the index of the last item affected by the change.
+     *
+     * @return The item index, or -1 if the range is not known.
+     */
+    public int getLastItemIndex() {
+        return this.lastItemIndex;
     }
 
 }
@@ -0,0 +1,73 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * --------------------
+ * SnapshotDataset.java
+ * --------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.general;
+
+/**
+ * A dataset that can pin a snapshot of its data, so that it can be read
+ * consistently (for example, while a chart is drawn) while other threads
+ * continue to modify the underlying series.  A snapshot is pinned for the
+ * thread that calls {@link #pinSnapshot()}, and only that thread reads it;
+ * other threads keep reading the live data.  Calls to
+ * {@link #pinSnapshot()} and {@link #releaseSnapshot()} are counted for
+ * each thread, so that they can be nested; the data is read from the
+ * snapshot taken by the outermost call until the matching release.
+ */
+public interface SnapshotDataset extends Dataset {
+
+    /**
+     * Pins a snapshot of the data for the calling thread, which is returned
+     * to that thread by the dataset's accessor methods until the snapshot is
+     * released.
+     *
+     * @see #releaseSnapshot()
+     */
+    public void pinSnapshot();
+
+    /**
+     * Releases a snapshot pinned by {@link #pinSnapshot()} on the calling
+     * thread.
+     *
+     * @see #pinSnapshot()
+     */
+    public void releaseSnapshot();
+
+}
@@ -0,0 +1,511 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------
+ * SnapshotList.java
+ * -----------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.general;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list that publishes immutable snapshots of its contents, so that one
+ * thread can modify the list while other threads read it without locking.
+ * The elements are held in fixed-size chunks.  A call to {@link #publish()}
+ * makes the current contents available through {@link #getSnapshot()}, and
+ * any chunk that a published snapshot can see is copied before it is next
+ * modified (copy-on-write), so a snapshot never changes once it has been
+ * published.
+ * <P>
+ * Appending an element never copies a chunk, because the new position is
+ * not visible in any snapshot, and removing elements from the start of the
+ * list only moves an offset, so a list that is used as a rolling window
+ * costs O(1) per item (plus one small object per publication).  Insertions
+ * and removals elsewhere move the following elements, as they would in an
+ * <code>ArrayList</code>.
+ * <P>
+ * The list itself is not thread-safe: it must be modified by one thread at
+ * a time, and only that thread may read it directly.  Other threads must
+ * read the snapshots.
+ */
+public class SnapshotList extends AbstractList implements RandomAccess,
+        Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -3102374461478561270L;
+
+    /** The chunk size is 2 to the power of this. */
+    private static final int CHUNK_SHIFT = 8;
+
+    /** The number of elements in a chunk. */
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    /** The chunk size minus one. */
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** The chunk array (which may be shared with published snapshots). */
+    private transient Object[][] chunks;
+
+    /** The epoch in which each chunk was created or copied. */
+    private transient int[] chunkEpochs;
+
+    /** The epoch in which the chunk array was created or copied. */
+    private transient int chunksEpoch;
+
+    /** The current epoch, advanced by each publication. */
+    private transient int epoch;
+
+    /** The position of the first element in the first chunk. */
+    private transient int start;
+
+    /** The number of elements. */
+    private transient int size;
+
+    /**
+     * The end of the positions that a published snapshot may see.  Chunks
+     * and chunk array entries below this position are copied before they
+     * are modified, unless they were created in the current epoch.
+     */
+    private transient int sharedEnd;
+
+    /** A flag indicating that the list has changed since publication. */
+    private transient boolean changed;
+
+    /** The last published snapshot. */
+    private transient volatile List snapshot;
+
+    /**
+     * Creates a new empty list.
+     */
+    public SnapshotList() {
+        init();
+    }
+
+    /**
+     * Creates a new list containing the elements of a collection, and
+     * publishes it.
+     *
+     * @param c  the collection (<code>null</code> not permitted).
+     */
+    public SnapshotList(Collection c) {
+        if (c == null) {
+            throw new IllegalArgumentException("Null 'c' argument.");
+        }
+        init();
+        Iterator iterator = c.iterator();
+        while (iterator.hasNext()) {
+            add(iterator.next());
+        }
+        publish();
+    }
+
+    /**
+     * Initialises an empty list.
+     */
+    private void init() {
+        this.chunks = new Object[4][];
+        this.chunkEpochs = new int[4];
+        this.epoch = 1;
+        this.chunksEpoch = this.epoch;
+        this.start = 0;
+        this.size = 0;
+        this.sharedEnd = 0;
+        this.changed = false;
+        this.snapshot = new Snapshot(this.chunks, 0, 0);
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return The element count.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns an element of the list.
+     *
+     * @param index  the element index.
+     *
+     * @return The element.
+     */
+    public Object get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.size);
+        }
+        int p = this.start + index;
+        return this.chunks[p >> CHUNK_SHIFT][p & CHUNK_MASK];
+    }
+
+    /**
+     * Replaces an element of the list.
+     *
+     * @param index  the element index.
+     * @param element  the new element.
+     *
+     * @return The element that was replaced.
+     */
+    public Object set(int index, Object element) {
+        Object result = get(index);
+        put(this.start + index, element);
+        return result;
+    }
+
+    /**
+     * Adds an element to the end of the list.
+     *
+     * @param element  the element.
+     *
+     * @return <code>true</code>.
+     */
+    public boolean add(Object element) {
+        put(this.start + this.size, element);
+        this.size++;
+        this.modCount++;
+        return true;
+    }
+
+    /**
+     * Inserts an element into the list.
+     *
+     * @param index  the index at which the element is inserted.
+     * @param element  the element.
+     */
+    public void add(int index, Object element) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.size);
+        }
+        if (index == this.size) {
+            add(element);
+            return;
+        }
+        int p = this.start + index;
+        int end = this.start + this.size;
+        put(end, this.chunks[(end - 1) >> CHUNK_SHIFT][(end - 1)
+                & CHUNK_MASK]);
+        for (int q = end - 1; q > p; q--) {
+            put(q, this.chunks[(q - 1) >> CHUNK_SHIFT][(q - 1) & CHUNK_MASK]);
+        }
+        put(p, element);
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * Removes an element from the list.
+     *
+     * @param index  the element index.
+     *
+     * @return The element that was removed.
+     */
+    public Object remove(int index) {
+        Object result = get(index);
+        removeRange(index, index + 1);
+        return result;
+    }
+
+    /**
+     * Removes all the elements from the list.  The chunks are left to the
+     * published snapshots.
+     */
+    public void clear() {
+        this.chunks = new Object[4][];
+        this.chunkEpochs = new int[4];
+        this.chunksEpoch = this.epoch;
+        this.start = 0;
+        this.size = 0;
+        this.sharedEnd = 0;
+        this.changed = true;
+        this.modCount++;
+    }
+
+    /**
+     * Removes the elements from <code>fromIndex</code> (inclusive) to
+     * <code>toIndex</code> (exclusive).  Removing elements from the start
+     * of the list just moves the start offset.
+     *
+     * @param fromIndex  the index of the first element to remove.
+     * @param toIndex  the index after the last element to remove.
+     */
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From: " + fromIndex
+                    + ", To: " + toIndex + ", Size: " + this.size);
+        }
+        int n = toIndex - fromIndex;
+        if (n == 0) {
+            return;
+        }
+        if (fromIndex == 0) {
+            for (int p = this.start; p < this.start + n; p++) {
+                release(p);
+            }
+            this.start += n;
+            this.size -= n;
+            dropLeadingChunks();
+        }
+        else {
+            int end = this.start + this.size;
+            for (int q = this.start + fromIndex; q < end - n; q++) {
+                put(q, this.chunks[(q + n) >> CHUNK_SHIFT][(q + n)
+                        & CHUNK_MASK]);
+            }
+            for (int q = end - n; q < end; q++) {
+                release(q);
+            }
+            this.size -= n;
+        }
+        this.changed = true;
+        this.modCount++;
+    }
+
+    /**
+     * Publishes the current contents of the list as an immutable snapshot,
+     * if they have changed since the last publication.
+     *
+     * @see #getSnapshot()
+     */
+    public void publish() {
+        if (!this.changed) {
+            return;
+        }
+        this.snapshot = new Snapshot(this.chunks, this.start, this.size);
+        this.epoch++;
+        this.sharedEnd = Math.max(this.sharedEnd, this.start + this.size);
+        this.changed = false;
+    }
+
+    /**
+     * Returns the contents of the list at the time of the last call to
+     * {@link #publish()}, as an immutable list that can be read from any
+     * thread.
+     *
+     * @return The snapshot (never <code>null</code>).
+     */
+    public List getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Stores an element at a position, copying the chunk (and the chunk
+     * array) first if a published snapshot may see the position.
+     *
+     * @param p  the position (relative to the start of the first chunk).
+     * @param element  the element.
+     */
+    private void put(int p, Object element) {
+        int c = p >> CHUNK_SHIFT;
+        Object[] chunk = (c < this.chunks.length) ? this.chunks[c] : null;
+        if (chunk == null) {
+            chunk = new Object[CHUNK_SIZE];
+            setChunk(c, chunk);
+        }
+        else if (p < this.sharedEnd && this.chunkEpochs[c] != this.epoch) {
+            chunk = (Object[]) chunk.clone();
+            setChunk(c, chunk);
+        }
+        chunk[p & CHUNK_MASK] = element;
+        this.changed = true;
+    }
+
+    /**
+     * Clears a position that is no longer in use, unless a published
+     * snapshot may see it.
+     *
+     * @param p  the position.
+     */
+    private void release(int p) {
+        int c = p >> CHUNK_SHIFT;
+        if (p >= this.sharedEnd || this.chunkEpochs[c] == this.epoch) {
+            this.chunks[c][p & CHUNK_MASK] = null;
+        }
+    }
+
+    /**
+     * Stores a chunk in the chunk array, first growing the array or copying
+     * it if a published snapshot may see the entry.
+     *
+     * @param c  the chunk index.
+     * @param chunk  the chunk.
+     */
+    private void setChunk(int c, Object[] chunk) {
+        if (c >= this.chunks.length) {
+            int capacity = Math.max(this.chunks.length * 2, c + 1);
+            Object[][] copy = new Object[capacity][];
+            System.arraycopy(this.chunks, 0, copy, 0, this.chunks.length);
+            int[] epochs = new int[capacity];
+            System.arraycopy(this.chunkEpochs, 0, epochs, 0,
+                    this.chunkEpochs.length);
+            this.chunks = copy;
+            this.chunkEpochs = epochs;
+            this.chunksEpoch = this.epoch;
+        }
+        else if (this.chunksEpoch != this.epoch
+                && (c << CHUNK_SHIFT) < this.sharedEnd) {
+            this.chunks = (Object[][]) this.chunks.clone();
+            this.chunksEpoch = this.epoch;
+        }
+        this.chunks[c] = chunk;
+        this.chunkEpochs[c] = this.epoch;
+    }
+
+    /**
+     * Removes the chunks before the one containing the first element.
+     */
+    private void dropLeadingChunks() {
+        int k = this.start >> CHUNK_SHIFT;
+        if (k == 0) {
+            return;
+        }
+        int n = this.chunks.length;
+        Object[][] copy = this.chunks;
+        if (this.chunksEpoch != this.epoch) {
+            copy = new Object[n][];
+            this.chunksEpoch = this.epoch;
+        }
+        System.arraycopy(this.chunks, k, copy, 0, n - k);
+        for (int c = n - k; c < n; c++) {
+            copy[c] = null;
+        }
+        System.arraycopy(this.chunkEpochs, k, this.chunkEpochs, 0, n - k);
+        this.chunks = copy;
+        this.start -= k << CHUNK_SHIFT;
+        this.sharedEnd = Math.max(this.sharedEnd - (k << CHUNK_SHIFT), 0);
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        stream.writeInt(this.size);
+        for (int i = 0; i < this.size; i++) {
+            stream.writeObject(get(i));
+        }
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        init();
+        int n = stream.readInt();
+        for (int i = 0; i < n; i++) {
+            add(stream.readObject());
+        }
+        publish();
+    }
+
+    /**
+     * An immutable view of the list contents at the time of a publication.
+     */
+    private static final class Snapshot extends AbstractList
+            implements RandomAccess {
+
+        /** The chunk array. */
+        private final Object[][] chunks;
+
+        /** The position of the first element in the first chunk. */
+        private final int start;
+
+        /** The number of elements. */
+        private final int size;
+
+        /**
+         * Creates a new snapshot.
+         *
+         * @param chunks  the chunk array.
+         * @param start  the position of the first element.
+         * @param size  the number of elements.
+         */
+        Snapshot(Object[][] chunks, int start, int size) {
+            this.chunks = chunks;
+            this.start = start;
+            this.size = size;
+        }
+
+        /**
+         * Returns the number of elements in the snapshot.
+         *
+         * @return The element count.
+         */
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * Returns an element of the snapshot.
+         *
+         * @param index  the element index.
+         *
+         * @return The element.
+         */
+        public Object get(int index) {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException("Index: " + index
+                        + ", Size: " + this.size);
+            }
+            int p = this.start + index;
+            return this.chunks[p >> CHUNK_SHIFT][p & CHUNK_MASK];
+        }
+
+    }
+
+}
@@ -0,0 +1,190 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------
+ * SnapshotPins.java
+ * -----------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.general;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The snapshots pinned by a {@link SnapshotDataset}, held separately for
+ * each thread that pinned them.  A pin only affects the thread that made
+ * it, so a thread that draws a chart can read a pinned snapshot while the
+ * thread that updates the data (and the listeners that it notifies, such
+ * as a plot that recalculates its axis ranges) keeps reading the live
+ * series.
+ * <P>
+ * The dataset must synchronize the calls to {@link #pin(Object[])},
+ * {@link #release()} and {@link #update(Object[])}.  The pinned snapshots
+ * are read with {@link #getSnapshots()}, which takes no lock.
+ */
+public class SnapshotPins {
+
+    /**
+     * The pin of each thread that has pinned snapshots (a {@link Pin}, kept
+     * with a zero count once it is released).
+     */
+    private ThreadLocal pins;
+
+    /** The pins that are held (guarded by the dataset). */
+    private List activePins;
+
+    /** The number of pins that are held. */
+    private volatile int activeCount;
+
+    /** The pin that was read last, to avoid most thread-local lookups. */
+    private volatile Pin lastPin;
+
+    /**
+     * Creates a new instance with no pins.
+     */
+    public SnapshotPins() {
+        this.pins = new ThreadLocal();
+        this.activePins = new ArrayList();
+    }
+
+    /**
+     * Pins snapshots for the calling thread.  Calls can be nested; the
+     * snapshots passed to the outermost call are kept until the matching
+     * call to {@link #release()}.
+     *
+     * @param snapshots  the snapshots (<code>null</code> permitted).
+     *
+     * @return <code>true</code> if this was the outermost call.
+     */
+    public boolean pin(Object[] snapshots) {
+        Pin pin = (Pin) this.pins.get();
+        if (pin == null) {
+            pin = new Pin(Thread.currentThread());
+            this.pins.set(pin);
+        }
+        if (pin.count++ > 0) {
+            return false;
+        }
+        pin.snapshots = snapshots;
+        this.activePins.add(pin);
+        this.activeCount = this.activePins.size();
+        return true;
+    }
+
+    /**
+     * Releases a pin made by the calling thread with
+     * {@link #pin(Object[])}.  Calls without a matching pin are ignored.
+     */
+    public void release() {
+        Pin pin = (Pin) this.pins.get();
+        if (pin == null || pin.count == 0 || --pin.count > 0) {
+            return;
+        }
+        pin.snapshots = null;
+        this.activePins.remove(pin);
+        this.activeCount = this.activePins.size();
+    }
+
+    /**
+     * Replaces the snapshots of every pin that is held, after a series has
+     * been added to or removed from the dataset, so that they stay aligned
+     * with the series indices.
+     *
+     * @param snapshots  the current snapshots (<code>null</code> permitted).
+     */
+    public void update(Object[] snapshots) {
+        for (int i = 0; i < this.activePins.size(); i++) {
+            ((Pin) this.activePins.get(i)).snapshots = snapshots;
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if any thread holds a pin.
+     *
+     * @return A boolean.
+     */
+    public boolean isPinned() {
+        return this.activeCount > 0;
+    }
+
+    /**
+     * Returns the snapshots pinned by the calling thread.
+     *
+     * @return The snapshots (<code>null</code> if the calling thread holds
+     *     no pin).
+     */
+    public Object[] getSnapshots() {
+        if (this.activeCount == 0) {
+            return null;
+        }
+        Pin pin = this.lastPin;
+        if (pin == null || pin.thread != Thread.currentThread()) {
+            pin = (Pin) this.pins.get();
+            if (pin == null) {
+                return null;
+            }
+            this.lastPin = pin;
+        }
+        return pin.snapshots;
+    }
+
+    /**
+     * The pin of one thread.
+     */
+    private static final class Pin {
+
+        /** The thread that holds the pin. */
+        final Thread thread;
+
+        /** The number of calls to pin() not yet released (owner only). */
+        int count;
+
+        /** The pinned snapshots (<code>null</code> when not pinned). */
+        volatile Object[] snapshots;
+
+        /**
+         * Creates a pin for a thread.
+         *
+         * @param thread  the thread.
+         */
+        Pin(Thread thread) {
+            this.thread = thread;
+        }
+
+    }
+
+}
@@ -0,0 +1,163 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * --------------------
+ * AggregationType.java
+ * --------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.time;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/**
+ * Used to indicate how a {@link TimeSeriesAggregator} combines the values
+ * that fall in one time period: <code>COUNT</code>, <code>SUM</code>,
+ * <code>MINIMUM</code>, <code>MAXIMUM</code>, <code>MEAN</code> or
+ * <code>LAST</code>.
+ */
+public final class AggregationType implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 5196730284061853772L;
+
+    /** The number of values. */
+    public static final AggregationType COUNT
+        = new AggregationType("AggregationType.COUNT");
+
+    /** The sum of the values. */
+    public static final AggregationType SUM
+        = new AggregationType("AggregationType.SUM");
+
+    /** The smallest value. */
+    public static final AggregationType MINIMUM
+        = new AggregationType("AggregationType.MINIMUM");
+
+    /** The largest value. */
+    public static final AggregationType MAXIMUM
+        = new AggregationType("AggregationType.MAXIMUM");
+
+    /** The mean of the values. */
+    public static final AggregationType MEAN
+        = new AggregationType("AggregationType.MEAN");
+
+    /** The value with the latest time. */
+    public static final AggregationType LAST
+        = new AggregationType("AggregationType.LAST");
+
+    /** The name. */
+    private String name;
+
+    /**
+     * Private constructor.
+     *
+     * @param name  the name.
+     */
+    private AggregationType(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns a string representing the object.
+     *
+     * @return The string.
+     */
+    public String toString() {
+        return this.name;
+    }
+
+    /**
+     * Returns <code>true</code> if this object is equal to the specified
+     * object, and <code>false</code> otherwise.
+     *
+     * @param obj  the other object.
+     *
+     * @return A boolean.
+     */
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof AggregationType)) {
+            return false;
+        }
+        AggregationType that = (AggregationType) obj;
+        if (!this.name.equals(that.name)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code value for the object.
+     *
+     * @return The hashcode
+     */
+    public int hashCode() {
+        return this.name.hashCode();
+    }
+
+    /**
+     * Ensures that serialization returns the unique instances.
+     *
+     * @return The object.
+     *
+     * @throws ObjectStreamException if there is a problem.
+     */
+    private Object readResolve() throws ObjectStreamException {
+        if (this.equals(AggregationType.COUNT)) {
+            return AggregationType.COUNT;
+        }
+        else if (this.equals(AggregationType.SUM)) {
+            return AggregationType.SUM;
+        }
+        else if (this.equals(AggregationType.MINIMUM)) {
+            return AggregationType.MINIMUM;
+        }
+        else if (this.equals(AggregationType.MAXIMUM)) {
+            return AggregationType.MAXIMUM;
+        }
+        else if (this.equals(AggregationType.MEAN)) {
+            return AggregationType.MEAN;
+        }
+        else if (this.equals(AggregationType.LAST)) {
+            return AggregationType.LAST;
+        }
+        return null;
+    }
+
+}
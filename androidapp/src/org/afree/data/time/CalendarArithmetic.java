@@ -0,0 +1,483 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -----------------------
+ * CalendarArithmetic.java
+ * -----------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.time;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+
+/**
+ * Converts between calendar fields and milliseconds with plain epoch
+ * arithmetic, for use by the {@link RegularTimePeriod} subclasses.  A
+ * <code>Calendar</code> has to recompute all of its fields on every
+ * conversion, which dominates the cost of creating and pegging time periods.
+ * <P>
+ * The arithmetic is only used for a plain <code>GregorianCalendar</code> with
+ * the default cut-over date, and only for years from 1583.  The offset of a
+ * time zone is taken from the zone itself (a <code>ZoneInfo</code> looks it
+ * up in its own table of transitions).  A local time within
+ * {@link #TRANSITION_MARGIN} of a change in the offset is left to the
+ * calendar, so that the result in a daylight saving gap or overlap is always
+ * the calendar's own.  In every other case the results are identical to the
+ * calendar.  This assumes that no time zone changes its offset and changes
+ * it back again within {@link #TRANSITION_MARGIN}.
+ */
+final class CalendarArithmetic {
+
+    /**
+     * The value returned by {@link #getMillisecond(Calendar, int, int, int,
+     * int, int, int, int)} when the calendar has to do the conversion.
+     */
+    static final long UNKNOWN = Long.MIN_VALUE;
+
+    /** The number of milliseconds in one day. */
+    private static final long DAY = 24L * 60L * 60L * 1000L;
+
+    /**
+     * The distance from a change in the offset of a time zone within which
+     * local times are left to the calendar.  This is larger than the biggest
+     * change of offset on record (24 hours, in Samoa and Kwajalein).
+     */
+    private static final long TRANSITION_MARGIN = 26L * 60L * 60L * 1000L;
+
+    /** The first year handled by the arithmetic. */
+    private static final int FIRST_YEAR = 1583;
+
+    /** The last year handled by the arithmetic. */
+    private static final int LAST_YEAR = 9999;
+
+    /** The first millisecond handled by the arithmetic (in UTC). */
+    private static final long FIRST_MILLISECOND
+            = daysFromCivil(FIRST_YEAR, 1, 1) * DAY + TRANSITION_MARGIN;
+
+    /** The default Gregorian cut-over date. */
+    private static final long GREGORIAN_CHANGE
+            = new GregorianCalendar().getGregorianChange().getTime();
+
+    /** A calendar (and its locale) per thread, for pegging time periods. */
+    private static final ThreadLocal calendars = new ThreadLocal();
+
+    /** The number of time zones for which a window is kept. */
+    private static final int MAXIMUM_ZONES = 4;
+
+    /**
+     * The most recent range with a constant offset for each of the time
+     * zones used last, the most recently used first (<code>null</code> until
+     * the first window is found).  The array is replaced, never modified, so
+     * it can be read without locking; a window published by one thread can
+     * be lost to a concurrent update, which only costs a later lookup.
+     */
+    private static volatile OffsetWindow[] windows;
+
+    private CalendarArithmetic() {
+    }
+
+    /**
+     * Returns a calendar for the default time zone and locale.  The same
+     * calendar is handed out to every call made on the current thread, so
+     * it must not be kept beyond the call that asked for it.
+     *
+     * @return A calendar.
+     */
+    static Calendar getDefaultCalendar() {
+        return getCalendar(TimeZone.getDefault(), Locale.getDefault());
+    }
+
+    /**
+     * Returns a calendar for the given time zone and locale.  The same
+     * calendar is handed out to every call made on the current thread, so
+     * it must not be kept beyond the call that asked for it.
+     *
+     * @param zone  the time zone (<code>null</code> not permitted).
+     * @param locale  the locale (<code>null</code> not permitted).
+     *
+     * @return A calendar.
+     */
+    static Calendar getCalendar(TimeZone zone, Locale locale) {
+        Object[] holder = (Object[]) calendars.get();
+        if (holder == null || !locale.equals(holder[0])) {
+            Calendar calendar = Calendar.getInstance(zone, locale);
+            calendars.set(new Object[] {locale, calendar});
+            return calendar;
+        }
+        Calendar calendar = (Calendar) holder[1];
+        TimeZone current = calendar.getTimeZone();
+        if (current != zone && !current.equals(zone)) {
+            calendar.setTimeZone(zone);
+        }
+        return calendar;
+    }
+
+    /**
+     * Returns the millisecond for the given local date and time in the
+     * calendar's time zone, the same value as
+     * <code>calendar.set(year, month - 1, day, hour, minute, second)</code>
+     * followed by <code>calendar.set(Calendar.MILLISECOND, millisecond)</code>
+     * and <code>calendar.getTime().getTime()</code>.  The calendar is not
+     * modified.
+     *
+     * @param calendar  the calendar (<code>null</code> not permitted).
+     * @param year  the year.
+     * @param month  the month (1 to 12).
+     * @param day  the day of the month.
+     * @param hour  the hour (0 to 23).
+     * @param minute  the minute (0 to 59).
+     * @param second  the second (0 to 59).
+     * @param millisecond  the millisecond (0 to 999).
+     *
+     * @return The millisecond, or {@link #UNKNOWN} if the caller has to ask
+     *         the calendar.
+     */
+    static long getMillisecond(Calendar calendar, int year, int month,
+            int day, int hour, int minute, int second, int millisecond) {
+        if (year < FIRST_YEAR || year > LAST_YEAR || !isGregorian(calendar)) {
+            return UNKNOWN;
+        }
+        long local = daysFromCivil(year, month, day) * DAY
+                + ((hour * 60L + minute) * 60L + second) * 1000L
+                + millisecond;
+        return toUTC(calendar.getTimeZone(), local);
+    }
+
+    /**
+     * Returns the fields of the given time in the calendar's time zone: the
+     * year, the month (1 to 12), the day of the month, the hour of the day,
+     * the minute, the second and the millisecond.
+     *
+     * @param calendar  the calendar (<code>null</code> not permitted).
+     * @param time  the time (<code>null</code> not permitted).
+     *
+     * @return The fields.
+     */
+    static int[] getFields(Calendar calendar, Date time) {
+        long millis = time.getTime();
+        if (millis < FIRST_MILLISECOND || !isGregorian(calendar)) {
+            calendar.setTime(time);
+            return new int[] {calendar.get(Calendar.YEAR),
+                    calendar.get(Calendar.MONTH) + 1,
+                    calendar.get(Calendar.DAY_OF_MONTH),
+                    calendar.get(Calendar.HOUR_OF_DAY),
+                    calendar.get(Calendar.MINUTE),
+                    calendar.get(Calendar.SECOND),
+                    calendar.get(Calendar.MILLISECOND)};
+        }
+        long local = millis + getOffset(calendar.getTimeZone(), millis);
+        long days = local / DAY;
+        int rest = (int) (local - days * DAY);
+        if (rest < 0) {
+            days--;
+            rest += DAY;
+        }
+        int[] fields = civilFromDays(days);
+        return new int[] {fields[0], fields[1], fields[2],
+                rest / 3600000, rest / 60000 % 60, rest / 1000 % 60,
+                rest % 1000};
+    }
+
+    /**
+     * Returns <code>true</code> if the arithmetic gives the same results as
+     * the calendar, and <code>false</code> otherwise.
+     *
+     * @param calendar  the calendar.
+     *
+     * @return A boolean.
+     */
+    private static boolean isGregorian(Calendar calendar) {
+        return calendar.getClass() == GregorianCalendar.class
+                && ((GregorianCalendar) calendar).getGregorianChange()
+                        .getTime() == GREGORIAN_CHANGE;
+    }
+
+    /**
+     * Returns the offset of the time zone at the given time.
+     *
+     * @param zone  the time zone.
+     * @param utc  the time.
+     *
+     * @return The offset (in milliseconds).
+     */
+    private static int getOffset(TimeZone zone, long utc) {
+        if (isFixed(zone)) {
+            return zone.getRawOffset();
+        }
+        OffsetWindow w = getWindow(zone);
+        if (w != null && utc >= w.start && utc <= w.end) {
+            return w.offset;
+        }
+        return zone.getOffset(utc);
+    }
+
+    /**
+     * Converts a local time to UTC.
+     *
+     * @param zone  the time zone.
+     * @param local  the local time.
+     *
+     * @return The time in UTC, or {@link #UNKNOWN} if the local time is too
+     *         close to a change in the offset of the time zone.
+     */
+    private static long toUTC(TimeZone zone, long local) {
+        if (isFixed(zone)) {
+            return local - zone.getRawOffset();
+        }
+        OffsetWindow w = getWindow(zone);
+        int offset;
+        if (w != null) {
+            offset = w.offset;
+        }
+        else {
+            offset = zone.getOffset(local - zone.getRawOffset());
+        }
+        for (int attempt = 0; attempt < 2; attempt++) {
+            long utc = local - offset;
+            w = findWindow(zone, utc - TRANSITION_MARGIN,
+                    utc + TRANSITION_MARGIN);
+            if (w == null) {
+                return UNKNOWN;
+            }
+            if (w.offset == offset) {
+                return utc;
+            }
+            offset = w.offset;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Returns a window with a constant offset that covers the given range,
+     * extending the most recent window for the time zone where possible.
+     *
+     * @param zone  the time zone.
+     * @param from  the start of the range (UTC).
+     * @param to  the end of the range (UTC).
+     *
+     * @return The window, or <code>null</code> if the offset changes within
+     *         the range.
+     */
+    private static OffsetWindow findWindow(TimeZone zone, long from,
+            long to) {
+        OffsetWindow w = getWindow(zone);
+        if (w != null) {
+            if (from >= w.start && to <= w.end) {
+                return w;
+            }
+            if (to >= w.start && from <= w.end) {
+                OffsetWindow extended = w.extend(from, to);
+                if (extended != null) {
+                    putWindow(extended);
+                    return extended;
+                }
+            }
+        }
+        // the window keeps its own copy, in case the caller's zone is changed
+        TimeZone copy = (TimeZone) zone.clone();
+        OffsetWindow fresh = new OffsetWindow(copy, from, from,
+                copy.getOffset(from)).extend(from, to);
+        if (fresh != null) {
+            putWindow(fresh);
+        }
+        return fresh;
+    }
+
+    /**
+     * Returns the most recent window for a time zone.
+     *
+     * @param zone  the time zone.
+     *
+     * @return The window (possibly <code>null</code>).
+     */
+    private static OffsetWindow getWindow(TimeZone zone) {
+        OffsetWindow[] all = windows;
+        if (all != null) {
+            for (int i = 0; i < all.length; i++) {
+                if (all[i].isFor(zone)) {
+                    return all[i];
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Makes a window the most recent one for its time zone.  The window of
+     * the least recently used zone are dropped once {@link #MAXIMUM_ZONES}
+     * zones are kept.
+     *
+     * @param w  the window.
+     */
+    private static void putWindow(OffsetWindow w) {
+        OffsetWindow[] all = windows;
+        int n = (all != null ? all.length : 0);
+        int found = n;
+        for (int i = 0; i < n; i++) {
+            if (all[i].isFor(w.zone)) {
+                found = i;
+                break;
+            }
+        }
+        int size = (found < n ? n : Math.min(n + 1, MAXIMUM_ZONES));
+        OffsetWindow[] updated = new OffsetWindow[size];
+        updated[0] = w;
+        for (int i = 0, j = 1; j < size; i++) {
+            if (i != found) {
+                updated[j++] = all[i];
+            }
+        }
+        windows = updated;
+    }
+
+    /**
+     * Returns <code>true</code> if the offset of the time zone never changes.
+     *
+     * @param zone  the time zone.
+     *
+     * @return A boolean.
+     */
+    private static boolean isFixed(TimeZone zone) {
+        return zone.getClass() == SimpleTimeZone.class
+                && !zone.useDaylightTime();
+    }
+
+    /**
+     * Returns the number of days from 1-Jan-1970 to the given date in the
+     * proleptic Gregorian calendar.  Days beyond the end of the month carry
+     * over into the following months.
+     *
+     * @param year  the year.
+     * @param month  the month (1 to 12).
+     * @param day  the day of the month.
+     *
+     * @return The number of days.
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5
+                + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100
+                + dayOfYear;
+        return era * 146097L + dayOfEra - 719468L;
+    }
+
+    /**
+     * Returns the year, month (1 to 12) and day of the month for the given
+     * number of days from 1-Jan-1970.
+     *
+     * @param days  the number of days.
+     *
+     * @return The year, month and day.
+     */
+    private static int[] civilFromDays(long days) {
+        long z = days + 719468L;
+        long era = (z >= 0 ? z : z - 146096L) / 146097L;
+        int dayOfEra = (int) (z - era * 146097L);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524
+                - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra
+                - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+        return new int[] {year, month, day};
+    }
+
+    /**
+     * A range of time (in UTC) over which a time zone has a constant offset.
+     * The offset has been checked at points no more than
+     * {@link #TRANSITION_MARGIN} apart across the range.
+     */
+    private static final class OffsetWindow {
+
+        /** The time zone. */
+        final TimeZone zone;
+
+        /** The start of the range. */
+        final long start;
+
+        /** The end of the range. */
+        final long end;
+
+        /** The offset over the range. */
+        final int offset;
+
+        OffsetWindow(TimeZone zone, long start, long end, int offset) {
+            this.zone = zone;
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+        }
+
+        boolean isFor(TimeZone zone) {
+            return this.zone.equals(zone);
+        }
+
+        /**
+         * Returns a window that also covers the given range, or
+         * <code>null</code> if the offset changes between this window and
+         * the end of the range.  The range must overlap this window.
+         */
+        OffsetWindow extend(long from, long to) {
+            long s = this.start;
+            long e = this.end;
+            while (e < to) {
+                e = Math.min(e + TRANSITION_MARGIN, to);
+                if (this.zone.getOffset(e) != this.offset) {
+                    return null;
+                }
+            }
+            while (s > from) {
+                s = Math.max(s - TRANSITION_MARGIN, from);
+                if (this.zone.getOffset(s) != this.offset) {
+                    return null;
+                }
+            }
+            return new OffsetWindow(this.zone, s, e, this.offset);
+        }
+
+    }
+
+}
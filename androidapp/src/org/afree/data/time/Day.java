@@ -72,6 +72,7 @@
  * 06-Oct-2006 : Refactored to cache first and last millisecond values (DG);
  * 16-Sep-2008 : Deprecated DEFAULT_TIME_ZONE (DG);
  * 02-Mar-2009 : Added new constructor with Locale (DG);
+ * 18-Oct-2026 : Use CalendarArithmetic instead of a Calendar where possible;
  *
  */
 
@@ -141,7 +142,7 @@ public class Day extends RegularTimePeriod implements Serializable {
      */
     public Day(int day, int month, int year) {
         this.serialDate = SerialDate.createInstance(day, month, year);
-        peg(Calendar.getInstance());
+        peg(CalendarArithmetic.getDefaultCalendar());
     }
 
     /**
@@ -154,7 +155,7 @@ public class Day extends RegularTimePeriod implements Serializable {
             throw new IllegalArgumentException("Null 'serialDate' argument.");
         }
         this.serialDate = serialDate;
-        peg(Calendar.getInstance());
+        peg(CalendarArithmetic.getDefaultCalendar());
     }
 
     /**
@@ -187,11 +188,11 @@ public class Day extends RegularTimePeriod implements Serializable {
         if (locale == null) {
             throw new IllegalArgumentException("Null 'locale' argument.");
         }
-        Calendar calendar = Calendar.getInstance(zone, locale);
-        calendar.setTime(time);
-        int d = calendar.get(Calendar.DAY_OF_MONTH);
-        int m = calendar.get(Calendar.MONTH) + 1;
-        int y = calendar.get(Calendar.YEAR);
+        Calendar calendar = CalendarArithmetic.getCalendar(zone, locale);
+        int[] fields = CalendarArithmetic.getFields(calendar, time);
+        int d = fields[2];
+        int m = fields[1];
+        int y = fields[0];
         this.serialDate = SerialDate.createInstance(d, m, y);
         peg(calendar);
     }
@@ -339,6 +340,11 @@ public class Day extends RegularTimePeriod implements Serializable {
         int year = this.serialDate.getYYYY();
         int month = this.serialDate.getMonth();
         int day = this.serialDate.getDayOfMonth();
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                year, month, day, 0, 0, 0, 0);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.clear();
         calendar.set(year, month - 1, day, 0, 0, 0);
         calendar.set(Calendar.MILLISECOND, 0);
@@ -361,6 +367,11 @@ public class Day extends RegularTimePeriod implements Serializable {
         int year = this.serialDate.getYYYY();
         int month = this.serialDate.getMonth();
         int day = this.serialDate.getDayOfMonth();
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                year, month, day, 23, 59, 59, 999);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.clear();
         calendar.set(year, month - 1, day, 23, 59, 59);
         calendar.set(Calendar.MILLISECOND, 999);
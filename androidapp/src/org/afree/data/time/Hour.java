@@ -73,6 +73,7 @@
  *               time zone (DG);
  * 16-Sep-2008 : Deprecated DEFAULT_TIME_ZONE (DG);
  * 02-Mar-2009 : Added new constructor with Locale (DG);
+ * 18-Oct-2026 : Use CalendarArithmetic instead of a Calendar where possible;
  *
  */
 
@@ -130,7 +131,7 @@ public class Hour extends RegularTimePeriod implements Serializable {
         }
         this.hour = (byte) hour;
         this.day = day;
-        peg(Calendar.getInstance());
+        peg(CalendarArithmetic.getDefaultCalendar());
     }
 
     /**
@@ -178,9 +179,9 @@ public class Hour extends RegularTimePeriod implements Serializable {
         if (locale == null) {
             throw new IllegalArgumentException("Null 'locale' argument.");
         }
-        Calendar calendar = Calendar.getInstance(zone, locale);
-        calendar.setTime(time);
-        this.hour = (byte) calendar.get(Calendar.HOUR_OF_DAY);
+        Calendar calendar = CalendarArithmetic.getCalendar(zone, locale);
+        int[] fields = CalendarArithmetic.getFields(calendar, time);
+        this.hour = (byte) fields[3];
         this.day = new Day(time, zone, locale);
         peg(calendar);
     }
@@ -338,6 +339,11 @@ public class Hour extends RegularTimePeriod implements Serializable {
         int year = this.day.getYear();
         int month = this.day.getMonth() - 1;
         int dom = this.day.getDayOfMonth();
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                year, month + 1, dom, this.hour, 0, 0, 0);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.set(year, month, dom, this.hour, 0, 0);
         calendar.set(Calendar.MILLISECOND, 0);
         //return calendar.getTimeInMillis();  // this won't work for JDK 1.3
@@ -358,6 +364,11 @@ public class Hour extends RegularTimePeriod implements Serializable {
         int year = this.day.getYear();
         int month = this.day.getMonth() - 1;
         int dom = this.day.getDayOfMonth();
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                year, month + 1, dom, this.hour, 59, 59, 999);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.set(year, month, dom, this.hour, 59, 59);
         calendar.set(Calendar.MILLISECOND, 999);
         //return calendar.getTimeInMillis();  // this won't work for JDK 1.3
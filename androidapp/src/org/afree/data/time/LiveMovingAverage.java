@@ -0,0 +1,492 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------
+ * LiveMovingAverage.java
+ * ----------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.time;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.SeriesChangeEvent;
+import org.afree.data.general.SeriesChangeListener;
+
+/**
+ * Keeps moving averages (and related statistics, see
+ * {@link MovingAverageType}) of a {@link TimeSeries} up to date as the
+ * series changes.  The window is the last <code>pointCount</code> items with
+ * a finite value (items with a <code>null</code>, <code>NaN</code> or
+ * infinite value are skipped), and a result is written for each item once
+ * the window is full.  The running sums are added up again from the window
+ * every <code>pointCount</code> items (and when a value much larger than
+ * the rest leaves the window), so rounding errors do not build up over a
+ * long-running series.
+ * <P>
+ * Items appended to the source series are added to the results in constant
+ * time per item, with one change event per result series.  When the source
+ * series also drops its oldest items (see
+ * {@link TimeSeries#setMaximumItemCount(int)}) the window is checked against
+ * the source first, and the results for the dropped time periods are
+ * removed; the window keeps the values of the dropped items, so the results
+ * carry on as if the source series still had them.  Any other change to the
+ * source series recalculates the results from the items that remain.
+ * <P>
+ * The results are updated on the thread that changes the source series.
+ * Call {@link #dispose()} to stop listening to the source series.
+ */
+public class LiveMovingAverage implements SeriesChangeListener {
+
+    /** The source series. */
+    private TimeSeries source;
+
+    /** The number of values in the window. */
+    private int pointCount;
+
+    /** The number of standard deviations between the bands and the mean. */
+    private double bandWidth;
+
+    /** The series that receive the results. */
+    private List seriesList;
+
+    /** The statistic for each series. */
+    private List types;
+
+    /** The values in the window (a ring, oldest first from 'windowStart'). */
+    private double[] windowValues;
+
+    /** The time periods of the values in the window. */
+    private RegularTimePeriod[] windowPeriods;
+
+    /** The position of the oldest value in the window. */
+    private int windowStart;
+
+    /** The number of values in the window. */
+    private int windowCount;
+
+    /** The sum of the values in the window. */
+    private double sum;
+
+    /** The sum of the values in the window weighted 1 (oldest) to n. */
+    private double weightedSum;
+
+    /** The running mean, for the standard deviation. */
+    private double mean;
+
+    /** The running sum of squared differences from the mean. */
+    private double squares;
+
+    /** The number of values replaced since the sums were added up. */
+    private int replacements;
+
+    /** The exponential moving average (valid once the window first fills). */
+    private double exponential;
+
+    /** Has the window been full? */
+    private boolean filled;
+
+    /** The index of the last item read from the source series. */
+    private int lastIndex;
+
+    /** The time period of the last item read (<code>null</code> if none). */
+    private RegularTimePeriod lastPeriod;
+
+    /** The time period of the first item in the source series. */
+    private RegularTimePeriod firstPeriod;
+
+    /**
+     * Creates a new instance that listens to the source series.
+     *
+     * @param source  the source series (<code>null</code> not permitted).
+     * @param pointCount  the number of values in the window (at least 2).
+     */
+    public LiveMovingAverage(TimeSeries source, int pointCount) {
+        if (source == null) {
+            throw new IllegalArgumentException("Null 'source' argument.");
+        }
+        if (pointCount < 2) {
+            throw new IllegalArgumentException("Requires pointCount >= 2.");
+        }
+        this.source = source;
+        this.pointCount = pointCount;
+        this.bandWidth = 2.0;
+        this.seriesList = new ArrayList();
+        this.types = new ArrayList();
+        this.windowValues = new double[pointCount];
+        this.windowPeriods = new RegularTimePeriod[pointCount];
+        this.lastIndex = -1;
+        source.addChangeListener(this);
+    }
+
+    /**
+     * Returns the source series.
+     *
+     * @return The source series (never <code>null</code>).
+     */
+    public TimeSeries getSource() {
+        return this.source;
+    }
+
+    /**
+     * Returns the number of values in the window.
+     *
+     * @return The number of values.
+     */
+    public int getPointCount() {
+        return this.pointCount;
+    }
+
+    /**
+     * Returns the number of standard deviations between the bands and the
+     * simple moving average.
+     *
+     * @return The band width.
+     *
+     * @see #setBandWidth(double)
+     */
+    public double getBandWidth() {
+        return this.bandWidth;
+    }
+
+    /**
+     * Sets the number of standard deviations between the bands and the
+     * simple moving average, and recalculates the results.  The default is
+     * 2.0.
+     *
+     * @param width  the band width.
+     *
+     * @see #getBandWidth()
+     */
+    public void setBandWidth(double width) {
+        this.bandWidth = width;
+        recalculate();
+    }
+
+    /**
+     * Adds a series to receive one of the statistics, and recalculates the
+     * results.  The series is cleared first.
+     *
+     * @param series  the series (<code>null</code> not permitted).
+     * @param type  the statistic (<code>null</code> not permitted).
+     */
+    public void addSeries(TimeSeries series, MovingAverageType type) {
+        if (series == null) {
+            throw new IllegalArgumentException("Null 'series' argument.");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Null 'type' argument.");
+        }
+        this.seriesList.add(series);
+        this.types.add(type);
+        recalculate();
+    }
+
+    /**
+     * Stops listening to the source series.  The results are no longer
+     * updated.
+     */
+    public void dispose() {
+        this.source.removeChangeListener(this);
+    }
+
+    /**
+     * Receives notification of a change to the source series, and updates the
+     * results.
+     *
+     * @param event  information about the change.
+     */
+    public void seriesChanged(SeriesChangeEvent event) {
+        int last;
+        if (event.getType() == DatasetChangeType.APPEND
+                && event.getFirstItemIndex() == this.lastIndex + 1) {
+            last = this.lastIndex;
+        }
+        else if (event.getType() == DatasetChangeType.GENERAL
+                && event.getFirstItemIndex() == 0 && this.lastPeriod != null) {
+            // an append that dropped the oldest items reports every item as
+            // changed, so check that the items were appended and trimmed...
+            last = this.source.getIndex(this.lastPeriod);
+            if (last < 0 || last == this.source.getItemCount() - 1
+                    || this.source.getTimePeriod(0).compareTo(
+                            this.firstPeriod) <= 0 || !checkLastItem(last)) {
+                recalculate();
+                return;
+            }
+            removeDroppedResults();
+        }
+        else {
+            recalculate();
+            return;
+        }
+        addResults(last + 1);
+    }
+
+    /**
+     * Clears the results and calculates them again from the source series.
+     */
+    public void recalculate() {
+        this.windowStart = 0;
+        this.windowCount = 0;
+        this.sum = 0.0;
+        this.weightedSum = 0.0;
+        this.mean = 0.0;
+        this.squares = 0.0;
+        this.replacements = 0;
+        this.exponential = 0.0;
+        this.filled = false;
+        this.lastIndex = -1;
+        this.lastPeriod = null;
+        this.firstPeriod = null;
+        for (int i = 0; i < this.seriesList.size(); i++) {
+            ((TimeSeries) this.seriesList.get(i)).clear();
+        }
+        addResults(0);
+    }
+
+    /**
+     * Reads the source items from the specified index on, and adds the
+     * results for them (in one batch per series).
+     *
+     * @param first  the index of the first new item.
+     */
+    private void addResults(int first) {
+        int itemCount = this.source.getItemCount();
+        if (first >= itemCount) {
+            return;
+        }
+        int seriesCount = this.seriesList.size();
+        RegularTimePeriod[] periods = new RegularTimePeriod[itemCount - first];
+        double[][] values = new double[seriesCount][itemCount - first];
+        int n = 0;
+        for (int i = first; i < itemCount; i++) {
+            TimeSeriesDataItem item = this.source.getDataItem(i);
+            Number value = item.getValue();
+            if (!isFinite(value)) {
+                continue;
+            }
+            add(item.getPeriod(), value.doubleValue());
+            if (this.windowCount < this.pointCount) {
+                continue;
+            }
+            periods[n] = item.getPeriod();
+            for (int s = 0; s < seriesCount; s++) {
+                values[s][n] = getResult(
+                        (MovingAverageType) this.types.get(s));
+            }
+            n++;
+        }
+        this.lastIndex = itemCount - 1;
+        this.lastPeriod = this.source.getTimePeriod(itemCount - 1);
+        this.firstPeriod = this.source.getTimePeriod(0);
+        if (n == 0) {
+            return;
+        }
+        if (n < periods.length) {
+            RegularTimePeriod[] p = new RegularTimePeriod[n];
+            System.arraycopy(periods, 0, p, 0, n);
+            periods = p;
+        }
+        for (int s = 0; s < seriesCount; s++) {
+            double[] v = values[s];
+            if (n < v.length) {
+                v = new double[n];
+                System.arraycopy(values[s], 0, v, 0, n);
+            }
+            ((TimeSeries) this.seriesList.get(s)).addOrUpdate(periods, v);
+        }
+    }
+
+    /**
+     * Adds a value to the window, dropping the oldest value if the window is
+     * full.
+     *
+     * @param period  the time period.
+     * @param value  the value.
+     */
+    private void add(RegularTimePeriod period, double value) {
+        int n = this.pointCount;
+        if (this.windowCount < n) {
+            int i = (this.windowStart + this.windowCount) % n;
+            this.windowValues[i] = value;
+            this.windowPeriods[i] = period;
+            this.windowCount++;
+            this.sum += value;
+            this.weightedSum += this.windowCount * value;
+            double delta = value - this.mean;
+            this.mean += delta / this.windowCount;
+            this.squares += delta * (value - this.mean);
+        }
+        else {
+            double old = this.windowValues[this.windowStart];
+            this.windowValues[this.windowStart] = value;
+            this.windowPeriods[this.windowStart] = period;
+            this.windowStart = (this.windowStart + 1) % n;
+            this.weightedSum += n * value - this.sum;
+            this.sum += value - old;
+            double oldMean = this.mean;
+            this.mean += (value - old) / n;
+            this.squares += (value - old) * (value - this.mean + old - oldMean);
+            if (++this.replacements >= n
+                    || Math.abs(old) > 1024.0 * Math.abs(this.sum)) {
+                // the oldest value may have taken most of the precision of
+                // the sums with it
+                sumWindow();
+            }
+        }
+        if (this.windowCount == n) {
+            if (this.filled) {
+                this.exponential += 2.0 / (n + 1) * (value - this.exponential);
+            }
+            else {
+                this.exponential = this.sum / n;
+                this.filled = true;
+            }
+        }
+    }
+
+    /**
+     * Adds up the sums of the values in the window again, discarding the
+     * rounding errors of the running updates.
+     */
+    private void sumWindow() {
+        int n = this.pointCount;
+        this.sum = 0.0;
+        this.weightedSum = 0.0;
+        this.mean = 0.0;
+        this.squares = 0.0;
+        for (int k = 0; k < this.windowCount; k++) {
+            double value = this.windowValues[(this.windowStart + k) % n];
+            this.sum += value;
+            this.weightedSum += (k + 1) * value;
+            double delta = value - this.mean;
+            this.mean += delta / (k + 1);
+            this.squares += delta * (value - this.mean);
+        }
+        this.replacements = 0;
+    }
+
+    /**
+     * Returns <code>true</code> if a value is neither <code>null</code>,
+     * <code>NaN</code> nor infinite.
+     *
+     * @param value  the value (<code>null</code> permitted).
+     *
+     * @return A boolean.
+     */
+    private static boolean isFinite(Number value) {
+        if (value == null) {
+            return false;
+        }
+        double v = value.doubleValue();
+        return !Double.isNaN(v) && !Double.isInfinite(v);
+    }
+
+    /**
+     * Checks that the last item read from the source series is unchanged,
+     * after the source series has dropped its oldest items.  Trimming only
+     * removes items from the start of the series, so the other values in the
+     * window are not checked.
+     *
+     * @param last  the index of the last item read from the source series.
+     *
+     * @return <code>false</code> if the item has changed.
+     */
+    private boolean checkLastItem(int last) {
+        Number value = this.source.getValue(last);
+        if (!isFinite(value)) {
+            // the window only holds finite values, so other items can't be
+            // checked
+            return true;
+        }
+        int w = (this.windowStart + this.windowCount - 1) % this.pointCount;
+        return this.windowCount > 0
+                && this.lastPeriod.equals(this.windowPeriods[w])
+                && value.doubleValue() == this.windowValues[w];
+    }
+
+    /**
+     * Removes the results for the time periods that have been dropped from
+     * the source series.
+     */
+    private void removeDroppedResults() {
+        if (this.source.getItemCount() == 0) {
+            return;
+        }
+        RegularTimePeriod first = this.source.getTimePeriod(0);
+        for (int s = 0; s < this.seriesList.size(); s++) {
+            TimeSeries series = (TimeSeries) this.seriesList.get(s);
+            int index = series.getIndex(first);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            if (index > 0) {
+                series.delete(0, index - 1);
+            }
+        }
+    }
+
+    /**
+     * Returns the current value of a statistic (the window must be full).
+     *
+     * @param type  the statistic.
+     *
+     * @return The value.
+     */
+    private double getResult(MovingAverageType type) {
+        int n = this.pointCount;
+        if (type == MovingAverageType.SIMPLE) {
+            return this.sum / n;
+        }
+        else if (type == MovingAverageType.EXPONENTIAL) {
+            return this.exponential;
+        }
+        else if (type == MovingAverageType.WEIGHTED) {
+            return this.weightedSum / (n * (n + 1) / 2.0);
+        }
+        double deviation = Math.sqrt(Math.max(this.squares / n, 0.0));
+        if (type == MovingAverageType.STANDARD_DEVIATION) {
+            return deviation;
+        }
+        else if (type == MovingAverageType.UPPER_BAND) {
+            return this.sum / n + this.bandWidth * deviation;
+        }
+        return this.sum / n - this.bandWidth * deviation;
+    }
+
+}
@@ -68,6 +68,7 @@
  *               see http://www.jfree.org/phpBB2/viewtopic.php?t=24805 (DG);
  * 16-Sep-2008 : Deprecated DEFAULT_TIME_ZONE (DG);
  * 02-Mar-2009 : Added new constructor with Locale (DG);
+ * 18-Oct-2026 : Use CalendarArithmetic instead of a Calendar where possible;
  *
  */
 
@@ -134,7 +135,7 @@ public class Millisecond extends RegularTimePeriod implements Serializable {
         this.minute = (byte) second.getMinute().getMinute();
         this.hour = (byte) second.getMinute().getHourValue();
         this.day = second.getMinute().getDay();
-        peg(Calendar.getInstance());
+        peg(CalendarArithmetic.getDefaultCalendar());
     }
 
     /**
@@ -176,12 +177,12 @@ public class Millisecond extends RegularTimePeriod implements Serializable {
      * @since JFreeChart 1.0.13
      */
     public Millisecond(Date time, TimeZone zone, Locale locale) {
-        Calendar calendar = Calendar.getInstance(zone, locale);
-        calendar.setTime(time);
-        this.millisecond = calendar.get(Calendar.MILLISECOND);
-        this.second = (byte) calendar.get(Calendar.SECOND);
-        this.minute = (byte) calendar.get(Calendar.MINUTE);
-        this.hour = (byte) calendar.get(Calendar.HOUR_OF_DAY);
+        Calendar calendar = CalendarArithmetic.getCalendar(zone, locale);
+        int[] fields = CalendarArithmetic.getFields(calendar, time);
+        this.millisecond = fields[6];
+        this.second = (byte) fields[5];
+        this.minute = (byte) fields[4];
+        this.hour = (byte) fields[3];
         this.day = new Day(time, zone, locale);
         peg(calendar);
     }
@@ -415,6 +416,12 @@ public class Millisecond extends RegularTimePeriod implements Serializable {
         int year = this.day.getYear();
         int month = this.day.getMonth() - 1;
         int day = this.day.getDayOfMonth();
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                year, month + 1, day, this.hour, this.minute, this.second,
+                this.millisecond);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.clear();
         calendar.set(year, month, day, this.hour, this.minute, this.second);
         calendar.set(Calendar.MILLISECOND, this.millisecond);
@@ -74,6 +74,7 @@
  * 11-Dec-2006 : Fix for previous() - bug 1611872 (DG);
  * 16-Sep-2008 : Deprecated DEFAULT_TIME_ZONE (DG);
  * 02-Mar-2009 : Added new constructor that specifies Locale (DG);
+ * 18-Oct-2026 : Use CalendarArithmetic instead of a Calendar where possible;
  *
  */
 
@@ -136,7 +137,7 @@ public class Minute extends RegularTimePeriod implements Serializable {
         this.minute = (byte) minute;
         this.hour = (byte) hour.getHour();
         this.day = hour.getDay();
-        peg(Calendar.getInstance());
+        peg(CalendarArithmetic.getDefaultCalendar());
     }
 
     /**
@@ -171,11 +172,11 @@ public class Minute extends RegularTimePeriod implements Serializable {
         if (locale == null) {
             throw new IllegalArgumentException("Null 'locale' argument.");
         }
-        Calendar calendar = Calendar.getInstance(zone, locale);
-        calendar.setTime(time);
-        int min = calendar.get(Calendar.MINUTE);
+        Calendar calendar = CalendarArithmetic.getCalendar(zone, locale);
+        int[] fields = CalendarArithmetic.getFields(calendar, time);
+        int min = fields[4];
         this.minute = (byte) min;
-        this.hour = (byte) calendar.get(Calendar.HOUR_OF_DAY);
+        this.hour = (byte) fields[3];
         this.day = new Day(time, zone, locale);
         peg(calendar);
     }
@@ -344,6 +345,11 @@ public class Minute extends RegularTimePeriod implements Serializable {
         int month = this.day.getMonth() - 1;
         int day = this.day.getDayOfMonth();
 
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                year, month + 1, day, this.hour, this.minute, 0, 0);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.clear();
         calendar.set(year, month, day, this.hour, this.minute, 0);
         calendar.set(Calendar.MILLISECOND, 0);
@@ -368,6 +374,11 @@ public class Minute extends RegularTimePeriod implements Serializable {
         int month = this.day.getMonth() - 1;
         int day = this.day.getDayOfMonth();
 
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                year, month + 1, day, this.hour, this.minute, 59, 999);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.clear();
         calendar.set(year, month, day, this.hour, this.minute, 59);
         calendar.set(Calendar.MILLISECOND, 999);
@@ -74,6 +74,7 @@
  *               extended range in Year (DG);
  * 25-Nov-2008 : Added new constructor with Locale (DG);
  * 04-Feb-2009 : Fix for new constructor with Locale - bug 2564636 (DG);
+ * 18-Oct-2026 : Use CalendarArithmetic instead of a Calendar where possible;
  *
  */
 
@@ -129,7 +130,7 @@ public class Month extends RegularTimePeriod implements Serializable {
         }
         this.month = month;
         this.year = year;
-        peg(Calendar.getInstance());
+        peg(CalendarArithmetic.getDefaultCalendar());
     }
 
     /**
@@ -144,7 +145,7 @@ public class Month extends RegularTimePeriod implements Serializable {
         }
         this.month = month;
         this.year = year.getYear();
-        peg(Calendar.getInstance());
+        peg(CalendarArithmetic.getDefaultCalendar());
     }
 
     /**
@@ -185,10 +186,10 @@ public class Month extends RegularTimePeriod implements Serializable {
      * @since JFreeChart 1.0.12
      */
     public Month(Date time, TimeZone zone, Locale locale) {
-        Calendar calendar = Calendar.getInstance(zone, locale);
-        calendar.setTime(time);
-        this.month = calendar.get(Calendar.MONTH) + 1;
-        this.year = calendar.get(Calendar.YEAR);
+        Calendar calendar = CalendarArithmetic.getCalendar(zone, locale);
+        int[] fields = CalendarArithmetic.getFields(calendar, time);
+        this.month = fields[1];
+        this.year = fields[0];
         peg(calendar);
     }
 
@@ -424,6 +425,11 @@ public class Month extends RegularTimePeriod implements Serializable {
      *     <code>null</code>.
      */
     public long getFirstMillisecond(Calendar calendar) {
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                this.year, this.month, 1, 0, 0, 0, 0);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.set(this.year, this.month - 1, 1, 0, 0, 0);
         calendar.set(Calendar.MILLISECOND, 0);
         // in the following line, we'd rather call calendar.getTimeInMillis()
@@ -444,6 +450,11 @@ public class Month extends RegularTimePeriod implements Serializable {
      */
     public long getLastMillisecond(Calendar calendar) {
         int eom = SerialDate.lastDayOfMonth(this.month, this.year);
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                this.year, this.month, eom, 23, 59, 59, 999);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.set(this.year, this.month - 1, eom, 23, 59, 59);
         calendar.set(Calendar.MILLISECOND, 999);
         // in the following line, we'd rather call calendar.getTimeInMillis()
@@ -57,6 +57,10 @@
  *               getYValue() (DG);
  * 11-Jan-2005 : Removed deprecated code in preparation for the 1.0.0
  *               release (DG);
+ * 18-Oct-2026 : Replaced the nested loops with O(n) sliding windows, and
+ *               added LiveMovingAverage and MovingAverageType;
+ * 18-Oct-2026 : Keep non-finite values out of the window sums, and add up
+ *               the window again when the sum loses precision;
  *
  */
 
@@ -142,42 +146,44 @@ public class MovingAverage {
             long firstSerial
                     = source.getDataItem(0).getPeriod().getSerialIndex() + skip;
 
-            for (int i = source.getItemCount() - 1; i >= 0; i--) {
+            // the window is the items from 'start' to 'i' (at most
+            // periodCount items, and less than periodCount periods apart),
+            // and moves forward one item at a time...
+            int start = 0;
+            WindowSum window = new WindowSum();
+            for (int i = 0; i < source.getItemCount(); i++) {
 
                 // get the current data item...
                 TimeSeriesDataItem current = source.getDataItem(i);
                 RegularTimePeriod period = current.getPeriod();
                 long serial = period.getSerialIndex();
-
-                if (serial >= firstSerial) {
-                    // work out the average for the earlier values...
-                    int n = 0;
-                    double sum = 0.0;
-                    long serialLimit = period.getSerialIndex() - periodCount;
-                    int offset = 0;
-                    boolean finished = false;
-
-                    while ((offset < periodCount) && (!finished)) {
-                        if ((i - offset) >= 0) {
-                            TimeSeriesDataItem item = source.getDataItem(
-                                    i - offset);
-                            RegularTimePeriod p = item.getPeriod();
-                            Number v = item.getValue();
-                            long currentIndex = p.getSerialIndex();
-                            if (currentIndex > serialLimit) {
-                                if (v != null) {
-                                    sum = sum + v.doubleValue();
-                                    n = n + 1;
-                                }
-                            }
-                            else {
-                                finished = true;
-                            }
+                Number v = current.getValue();
+                if (v != null) {
+                    window.add(v.doubleValue());
+                }
+                long serialLimit = serial - periodCount;
+                boolean resum = false;
+                while (i - start >= periodCount || source.getDataItem(
+                        start).getPeriod().getSerialIndex() <= serialLimit) {
+                    Number old = source.getDataItem(start).getValue();
+                    if (old != null) {
+                        resum = window.remove(old.doubleValue()) || resum;
+                    }
+                    start++;
+                }
+                if (resum) {
+                    window.clearSum();
+                    for (int j = start; j <= i; j++) {
+                        Number value = source.getDataItem(j).getValue();
+                        if (value != null) {
+                            window.addToSum(value.doubleValue());
                         }
-                        offset = offset + 1;
                     }
-                    if (n > 0) {
-                        result.add(period, sum / n);
+                }
+
+                if (serial >= firstSerial) {
+                    if (window.getCount() > 0) {
+                        result.add(period, window.getAverage());
                     }
                     else {
                         result.add(period, null);
@@ -319,6 +325,88 @@ public class MovingAverage {
         }
 
         XYSeries result = new XYSeries(name);
+        int itemCount = source.getItemCount(series);
+        for (int i = 1; i < itemCount; i++) {
+            if (!(source.getXValue(series, i - 1)
+                    <= source.getXValue(series, i))) {
+                // the window can only slide over x-values in ascending
+                // order...
+                addMovingAverageUnordered(source, series, result, period,
+                        skip);
+                return result;
+            }
+        }
+
+        if (itemCount > 0) {
+
+            // if the initial averaging period is to be excluded, then
+            // calculate the lowest x-value to have an average calculated...
+            double first = source.getXValue(series, 0) + skip;
+
+            // the window is the items from 'start' to 'i' (x-values within
+            // 'period' of the current x-value)...
+            int start = 0;
+            WindowSum window = new WindowSum();
+            for (int i = 0; i < itemCount; i++) {
+
+                // get the current data item...
+                double x = source.getXValue(series, i);
+                Number y = source.getY(series, i);
+                if (y != null) {
+                    window.add(y.doubleValue());
+                }
+                // if x - period == x (an infinite x-value, or a period too
+                // small to change x) the window can empty, and the average
+                // is null...
+                double limit = x - period;
+                boolean resum = false;
+                while (start <= i
+                        && source.getXValue(series, start) <= limit) {
+                    Number old = source.getY(series, start);
+                    if (old != null) {
+                        resum = window.remove(old.doubleValue()) || resum;
+                    }
+                    start++;
+                }
+                if (resum) {
+                    window.clearSum();
+                    for (int j = start; j <= i; j++) {
+                        Number value = source.getY(series, j);
+                        if (value != null) {
+                            window.addToSum(value.doubleValue());
+                        }
+                    }
+                }
+
+                if (x >= first) {
+                    if (window.getCount() > 0) {
+                        result.add(x, window.getAverage());
+                    }
+                    else {
+                        result.add(x, null);
+                    }
+                }
+
+            }
+        }
+
+        return result;
+
+    }
+
+    /**
+     * Adds the moving averages of a series whose x-values are not in
+     * ascending order to a series, averaging back from each item until
+     * the first x-value that is not within the averaging period.
+     *
+     * @param source  the source dataset.
+     * @param series  the series index (zero based).
+     * @param result  the series for the moving averages.
+     * @param period  the averaging period.
+     * @param skip  the length of the initial skip period.
+     */
+    private static void addMovingAverageUnordered(XYDataset source,
+            int series, XYSeries result, double period, double skip) {
 
         if (source.getItemCount(series) > 0) {
 
@@ -369,7 +457,141 @@ public class MovingAverage {
             }
         }
 
-        return result;
+    }
+
+    /**
+     * The running sum of the values in a sliding window.  Non-finite values
+     * are counted rather than added to the sum, so that the average is
+     * <code>NaN</code> or infinite only while they are in the window, and
+     * the caller is asked to add up the window again when a value that is
+     * much larger than the remaining sum leaves it (the subtraction would
+     * leave mostly rounding error), and after enough removals to bound the
+     * accumulated rounding error, so each item still costs amortised
+     * constant time.
+     */
+    private static final class WindowSum {
+
+        /**
+         * A value leaving the window that is more than this multiple of the
+         * remaining sum triggers a new sum.
+         */
+        private static final double RESUM_RATIO = 1024.0;
+
+        /** The sum of the finite values in the window. */
+        private double sum;
+
+        /** The number of (non-null) values in the window. */
+        private int count;
+
+        /** The number of NaN values in the window. */
+        private int nanCount;
+
+        /** The number of positive infinite values in the window. */
+        private int positiveInfinityCount;
+
+        /** The number of negative infinite values in the window. */
+        private int negativeInfinityCount;
+
+        /** The number of finite values removed since the last new sum. */
+        private int removals;
+
+        /**
+         * Adds a value to the window.
+         *
+         * @param value  the value.
+         */
+        void add(double value) {
+            this.count++;
+            if (Double.isNaN(value)) {
+                this.nanCount++;
+            }
+            else if (value == Double.POSITIVE_INFINITY) {
+                this.positiveInfinityCount++;
+            }
+            else if (value == Double.NEGATIVE_INFINITY) {
+                this.negativeInfinityCount++;
+            }
+            else {
+                this.sum += value;
+            }
+        }
+
+        /**
+         * Removes a value from the window.
+         *
+         * @param value  the value.
+         *
+         * @return <code>true</code> if the sum should be calculated again
+         *     (see {@link #clearSum()}).
+         */
+        boolean remove(double value) {
+            this.count--;
+            if (Double.isNaN(value)) {
+                this.nanCount--;
+                return false;
+            }
+            else if (value == Double.POSITIVE_INFINITY) {
+                this.positiveInfinityCount--;
+                return false;
+            }
+            else if (value == Double.NEGATIVE_INFINITY) {
+                this.negativeInfinityCount--;
+                return false;
+            }
+            this.sum -= value;
+            this.removals++;
+            return Math.abs(value) > RESUM_RATIO * Math.abs(this.sum)
+                    || this.removals > this.count;
+        }
+
+        /**
+         * Clears the sum, so that the caller can add the values that remain
+         * in the window with {@link #addToSum(double)}.
+         */
+        void clearSum() {
+            this.sum = 0.0;
+            this.removals = 0;
+        }
+
+        /**
+         * Adds a value that is already counted in the window to the sum.
+         *
+         * @param value  the value.
+         */
+        void addToSum(double value) {
+            if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+                this.sum += value;
+            }
+        }
+
+        /**
+         * Returns the number of values in the window.
+         *
+         * @return The number of values.
+         */
+        int getCount() {
+            return this.count;
+        }
+
+        /**
+         * Returns the average of the values in the window (which must not be
+         * empty).
+         *
+         * @return The average.
+         */
+        double getAverage() {
+            if (this.nanCount > 0 || (this.positiveInfinityCount > 0
+                    && this.negativeInfinityCount > 0)) {
+                return Double.NaN;
+            }
+            else if (this.positiveInfinityCount > 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            else if (this.negativeInfinityCount > 0) {
+                return Double.NEGATIVE_INFINITY;
+            }
+            return this.sum / this.count;
+        }
 
     }
 
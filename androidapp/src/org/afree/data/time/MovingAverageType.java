@@ -0,0 +1,171 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------
+ * MovingAverageType.java
+ * ----------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.time;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/**
+ * Used to indicate the statistic that a {@link LiveMovingAverage} writes to a
+ * series: the <code>SIMPLE</code>, <code>EXPONENTIAL</code> or
+ * <code>WEIGHTED</code> moving average, or the <code>STANDARD_DEVIATION</code>
+ * of the values in the window and the <code>UPPER_BAND</code> and
+ * <code>LOWER_BAND</code> that it puts around the simple moving average
+ * (Bollinger bands).
+ */
+public final class MovingAverageType implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -2476613941027580175L;
+
+    /** The mean of the values in the window. */
+    public static final MovingAverageType SIMPLE
+        = new MovingAverageType("MovingAverageType.SIMPLE");
+
+    /**
+     * The exponential moving average, with a smoothing factor of
+     * 2 / (n + 1) for a window of n values.
+     */
+    public static final MovingAverageType EXPONENTIAL
+        = new MovingAverageType("MovingAverageType.EXPONENTIAL");
+
+    /**
+     * The weighted moving average, with weights 1 (the oldest value) to n
+     * (the newest value) for a window of n values.
+     */
+    public static final MovingAverageType WEIGHTED
+        = new MovingAverageType("MovingAverageType.WEIGHTED");
+
+    /** The (population) standard deviation of the values in the window. */
+    public static final MovingAverageType STANDARD_DEVIATION
+        = new MovingAverageType("MovingAverageType.STANDARD_DEVIATION");
+
+    /** The simple moving average plus a multiple of the standard deviation. */
+    public static final MovingAverageType UPPER_BAND
+        = new MovingAverageType("MovingAverageType.UPPER_BAND");
+
+    /** The simple moving average less a multiple of the standard deviation. */
+    public static final MovingAverageType LOWER_BAND
+        = new MovingAverageType("MovingAverageType.LOWER_BAND");
+
+    /** The name. */
+    private String name;
+
+    /**
+     * Private constructor.
+     *
+     * @param name  the name.
+     */
+    private MovingAverageType(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns a string representing the object.
+     *
+     * @return The string.
+     */
+    public String toString() {
+        return this.name;
+    }
+
+    /**
+     * Returns <code>true</code> if this object is equal to the specified
+     * object, and <code>false</code> otherwise.
+     *
+     * @param obj  the other object.
+     *
+     * @return A boolean.
+     */
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof MovingAverageType)) {
+            return false;
+        }
+        MovingAverageType that = (MovingAverageType) obj;
+        if (!this.name.equals(that.name)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code value for the object.
+     *
+     * @return The hashcode
+     */
+    public int hashCode() {
+        return this.name.hashCode();
+    }
+
+    /**
+     * Ensures that serialization returns the unique instances.
+     *
+     * @return The object.
+     *
+     * @throws ObjectStreamException if there is a problem.
+     */
+    private Object readResolve() throws ObjectStreamException {
+        if (this.equals(MovingAverageType.SIMPLE)) {
+            return MovingAverageType.SIMPLE;
+        }
+        else if (this.equals(MovingAverageType.EXPONENTIAL)) {
+            return MovingAverageType.EXPONENTIAL;
+        }
+        else if (this.equals(MovingAverageType.WEIGHTED)) {
+            return MovingAverageType.WEIGHTED;
+        }
+        else if (this.equals(MovingAverageType.STANDARD_DEVIATION)) {
+            return MovingAverageType.STANDARD_DEVIATION;
+        }
+        else if (this.equals(MovingAverageType.UPPER_BAND)) {
+            return MovingAverageType.UPPER_BAND;
+        }
+        else if (this.equals(MovingAverageType.LOWER_BAND)) {
+            return MovingAverageType.LOWER_BAND;
+        }
+        return null;
+    }
+
+}
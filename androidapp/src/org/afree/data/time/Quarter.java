@@ -69,6 +69,7 @@
  * 06-Oct-2006 : Refactored to cache first and last millisecond values (DG);
  * 16-Sep-2008 : Deprecated DEFAULT_TIME_ZONE (DG);
  * 25-Nov-2008 : Added new constructor with Locale (DG);
+ * 18-Oct-2026 : Use CalendarArithmetic instead of a Calendar where possible;
  *
  */
 
@@ -143,7 +144,7 @@ public class Quarter extends RegularTimePeriod implements Serializable {
         }
         this.year = (short) year;
         this.quarter = (byte) quarter;
-        peg(Calendar.getInstance());
+        peg(CalendarArithmetic.getDefaultCalendar());
     }
 
     /**
@@ -158,7 +159,7 @@ public class Quarter extends RegularTimePeriod implements Serializable {
         }
         this.year = (short) year.getYear();
         this.quarter = (byte) quarter;
-        peg(Calendar.getInstance());
+        peg(CalendarArithmetic.getDefaultCalendar());
     }
 
     /**
@@ -197,11 +198,11 @@ public class Quarter extends RegularTimePeriod implements Serializable {
      * @since JFreeChart 1.0.12
      */
     public Quarter(Date time, TimeZone zone, Locale locale) {
-        Calendar calendar = Calendar.getInstance(zone, locale);
-        calendar.setTime(time);
-        int month = calendar.get(Calendar.MONTH) + 1;
+        Calendar calendar = CalendarArithmetic.getCalendar(zone, locale);
+        int[] fields = CalendarArithmetic.getFields(calendar, time);
+        int month = fields[1];
         this.quarter = (byte) SerialDate.monthCodeToQuarter(month);
-        this.year = (short) calendar.get(Calendar.YEAR);
+        this.year = (short) fields[0];
         peg(calendar);
     }
 
@@ -436,6 +437,11 @@ public class Quarter extends RegularTimePeriod implements Serializable {
      */
     public long getFirstMillisecond(Calendar calendar) {
         int month = Quarter.FIRST_MONTH_IN_QUARTER[this.quarter];
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                this.year, month, 1, 0, 0, 0, 0);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.set(this.year, month - 1, 1, 0, 0, 0);
         calendar.set(Calendar.MILLISECOND, 0);
         // in the following line, we'd rather call calendar.getTimeInMillis()
@@ -457,6 +463,11 @@ public class Quarter extends RegularTimePeriod implements Serializable {
     public long getLastMillisecond(Calendar calendar) {
         int month = Quarter.LAST_MONTH_IN_QUARTER[this.quarter];
         int eom = SerialDate.lastDayOfMonth(month, this.year);
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                this.year, month, eom, 23, 59, 59, 999);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.set(this.year, month - 1, eom, 23, 59, 59);
         calendar.set(Calendar.MILLISECOND, 999);
         // in the following line, we'd rather call calendar.getTimeInMillis()
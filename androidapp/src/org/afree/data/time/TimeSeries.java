@@ -90,23 +90,37 @@
  *               1864222) (DG);
  * 13-Jan-2009 : Fixed constructors so that timePeriodClass doesn't need to
  *               be specified in advance (DG);
+ * 18-Oct-2026 : Added snapshot mode for reading from other threads;
+ * 18-Oct-2026 : Cache the first and last millisecond of each time period;
+ * 18-Oct-2026 : Find items by the serial index of their time periods;
+ * 18-Oct-2026 : Added addOrUpdate(RegularTimePeriod[], double[], boolean);
+ * 18-Oct-2026 : Cache the milliseconds for each time zone under the series
+ *               lock, and added clone() override;
+ * 18-Oct-2026 : Read the cached milliseconds without locking, from columns
+ *               that are replaced rather than modified;
  *
  */
 
 package org.afree.data.time;
 
 import java.io.Serializable;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
 
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.MinMaxPyramid;
 import org.afree.data.general.Series;
 import org.afree.data.general.SeriesChangeEvent;
 import org.afree.data.general.SeriesException;
+import org.afree.data.general.SnapshotList;
 
 /**
  * Represents a sequence of zero or more data items in the form (period, value)
@@ -147,6 +161,33 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      */
     private long maximumItemAge;
 
+    /**
+     * The level-of-detail index for the values (<code>null</code> unless
+     * enabled).
+     */
+    private transient MinMaxPyramid levelOfDetail;
+
+    /** The number of time zones for which milliseconds are cached. */
+    private static final int MAXIMUM_MILLIS_ZONES = 4;
+
+    /**
+     * The cached millisecond columns for each time zone that has been used
+     * recently, the most recently filled first (<code>null</code> until the
+     * columns are first used).  The array and the columns are never
+     * modified once published; they are replaced while holding the lock
+     * on the series.
+     */
+    private transient volatile MillisecondColumns[] millisColumns;
+
+    /** The serial index of the time period of each cached item. */
+    private transient long[] serials;
+
+    /** The position in the serial index column of the first item. */
+    private transient int serialStart;
+
+    /** The number of items (from the first) with cached serial indices. */
+    private transient int serialCount;
+
     /**
      * Creates a new (empty) time series.  By default, a daily time series is
      * created.  Use one of the other constructors if you require a different
@@ -316,6 +357,439 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         removeAgedItems(true);  // remove old items and notify if necessary
     }
 
+    /**
+     * Returns <code>true</code> if the series maintains a level-of-detail
+     * index for its values.
+     *
+     * @return A boolean.
+     *
+     * @see #setLevelOfDetailEnabled(boolean)
+     */
+    public boolean isLevelOfDetailEnabled() {
+        return this.levelOfDetail != null;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the series maintains a
+     * level-of-detail index for its values.  The index lets renderers find
+     * the value range of any run of items in O(log n) time, at the cost of a
+     * copy of the values.  It is updated incrementally when items are
+     * appended, and partly rebuilt (on the next call to
+     * {@link #getLevelOfDetail()}) after any other change.
+     *
+     * @param enabled  the new flag value.
+     */
+    public void setLevelOfDetailEnabled(boolean enabled) {
+        if (enabled && this.levelOfDetail == null) {
+            this.levelOfDetail = new MinMaxPyramid();
+        }
+        else if (!enabled) {
+            this.levelOfDetail = null;
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the series publishes snapshots of its
+     * items.
+     *
+     * @return A boolean.
+     *
+     * @see #setSnapshotEnabled(boolean)
+     */
+    public boolean isSnapshotEnabled() {
+        return this.data instanceof SnapshotList;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the series publishes an
+     * immutable snapshot of its items after every change, so that other
+     * threads (a chart being drawn, for example) can read the series while
+     * it is modified.  The items are then held in a {@link SnapshotList},
+     * and an item whose value is updated is replaced by a copy, so a
+     * published snapshot never changes.  The series itself must still be
+     * modified by one thread at a time.
+     *
+     * @param enabled  the new flag value.
+     *
+     * @see #getSnapshot()
+     */
+    public void setSnapshotEnabled(boolean enabled) {
+        if (enabled && !isSnapshotEnabled()) {
+            this.data = new SnapshotList(this.data);
+        }
+        else if (!enabled && isSnapshotEnabled()) {
+            this.data = new java.util.ArrayList(this.data);
+        }
+    }
+
+    /**
+     * Returns the items of the series ({@link TimeSeriesDataItem}
+     * instances) as they were after the last change, in a list that does not
+     * change and can be read from any thread.
+     *
+     * @return The snapshot (<code>null</code> if snapshots are not enabled).
+     *
+     * @see #setSnapshotEnabled(boolean)
+     */
+    public List getSnapshot() {
+        if (this.data instanceof SnapshotList) {
+            return ((SnapshotList) this.data).getSnapshot();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the level-of-detail index for the values, brought up to date
+     * with the series.  Changes made directly to a data item (rather than
+     * through the series) are not seen by the index.
+     *
+     * @return The index (<code>null</code> if not enabled).
+     *
+     * @see #setLevelOfDetailEnabled(boolean)
+     */
+    public MinMaxPyramid getLevelOfDetail() {
+        MinMaxPyramid index = this.levelOfDetail;
+        if (index != null) {
+            int count = getItemCount();
+            index.truncate(count);
+            for (int i = index.getItemCount(); i < count; i++) {
+                Number value = getValue(i);
+                index.add(value != null ? value.doubleValue() : Double.NaN);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the x-value of an item in milliseconds: the first, middle or
+     * last millisecond of its time period, evaluated in the specified time
+     * zone.  The first and last milliseconds are cached in two primitive
+     * columns, so that a dataset can read the x-values of a large series
+     * on every redraw without any calendar arithmetic.  The columns are
+     * extended when items are appended, shifted when items are removed from
+     * the start of the series, and partly recalculated (on the next call to
+     * this method) after any other change to the time periods.  Columns are
+     * kept for the last few time zones requested, so datasets in different
+     * time zones can share the series.  Cached x-values are read without
+     * locking; only a call that has to calculate new values takes the lock
+     * on the series.  Changes made directly to the list of data items are
+     * not seen by the cache.
+     *
+     * @param index  the item index (zero-based).
+     * @param anchor  the point within the time period (<code>null</code>
+     *     not permitted).
+     * @param zone  the time zone (<code>null</code> not permitted).
+     *
+     * @return The x-value.
+     */
+    public long getMillisecond(int index, TimePeriodAnchor anchor,
+            TimeZone zone) {
+        MillisecondColumns columns = findMillisecondColumns(zone);
+        if (columns == null || index < 0 || index >= columns.count) {
+            columns = fillMillisecondColumns(index, zone);
+        }
+        int i = columns.start + index;
+        if (anchor == TimePeriodAnchor.START) {
+            return columns.first[i];
+        }
+        else if (anchor == TimePeriodAnchor.END) {
+            return columns.last[i];
+        }
+        else if (anchor == TimePeriodAnchor.MIDDLE) {
+            long m1 = columns.first[i];
+            return m1 + (columns.last[i] - m1) / 2;
+        }
+        throw new IllegalArgumentException("Null 'anchor' argument.");
+    }
+
+    /**
+     * Returns the published millisecond columns for a time zone, without
+     * locking.
+     *
+     * @param zone  the time zone.
+     *
+     * @return The columns (<code>null</code> if there are none for the
+     *     zone).
+     */
+    private MillisecondColumns findMillisecondColumns(TimeZone zone) {
+        MillisecondColumns[] all = this.millisColumns;
+        if (all == null || zone == null) {
+            return null;
+        }
+        for (int i = 0; i < all.length; i++) {
+            if (all[i].zone == zone) {
+                return all[i];
+            }
+        }
+        for (int i = 0; i < all.length; i++) {
+            if (all[i].zone.equals(zone)) {
+                return all[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Calculates the milliseconds of the items not yet cached for a time
+     * zone, and publishes the extended columns at the front of the list of
+     * columns.  If there are no columns for the zone, the columns for the
+     * least recently filled zone are dropped once
+     * {@link #MAXIMUM_MILLIS_ZONES} zones are cached.
+     *
+     * @param index  the index of the item that is needed.
+     * @param zone  the time zone (<code>null</code> not permitted).
+     *
+     * @return The columns, covering the item.
+     */
+    private synchronized MillisecondColumns fillMillisecondColumns(
+            int index, TimeZone zone) {
+        if (zone == null) {
+            throw new IllegalArgumentException("Null 'zone' argument.");
+        }
+        MillisecondColumns[] all = this.millisColumns;
+        int n = (all != null ? all.length : 0);
+        int found = n;
+        for (int i = 0; i < n; i++) {
+            if (all[i].zone.equals(zone)) {
+                found = i;
+                break;
+            }
+        }
+        MillisecondColumns columns = (found < n ? all[found]
+                : new MillisecondColumns(zone));
+        if (index >= columns.count) {
+            columns = columns.extend(this);
+        }
+        if (index < 0 || index >= columns.count) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + columns.count);
+        }
+        if (n > 0 && all[0] == columns) {
+            return columns;
+        }
+        int size = (found < n ? n : Math.min(n + 1, MAXIMUM_MILLIS_ZONES));
+        MillisecondColumns[] updated = new MillisecondColumns[size];
+        updated[0] = columns;
+        for (int i = 0, j = 1; j < size; i++) {
+            if (i != found) {
+                updated[j++] = all[i];
+            }
+        }
+        this.millisColumns = updated;
+        return columns;
+    }
+
+    /**
+     * Discards the cached milliseconds of the items from the specified item
+     * on, after a change to the time periods of the series.
+     *
+     * @param firstItemIndex  the index of the first changed item.
+     */
+    private void periodsChanged(int firstItemIndex) {
+        int first = Math.max(firstItemIndex, 0);
+        synchronized (this) {
+            MillisecondColumns[] all = this.millisColumns;
+            if (all != null) {
+                MillisecondColumns[] updated = new MillisecondColumns[
+                        all.length];
+                for (int i = 0; i < all.length; i++) {
+                    updated[i] = all[i].truncate(first);
+                }
+                this.millisColumns = updated;
+            }
+        }
+        this.serialCount = Math.min(this.serialCount, first);
+    }
+
+    /**
+     * Removes items from the start of the series, and from the start of the
+     * cached milliseconds.
+     *
+     * @param count  the number of items to remove.
+     */
+    private void removeFirstItems(int count) {
+        if (count == 1) {
+            this.data.remove(0);
+        }
+        else {
+            this.data.subList(0, count).clear();
+        }
+        synchronized (this) {
+            MillisecondColumns[] all = this.millisColumns;
+            if (all != null) {
+                MillisecondColumns[] updated = new MillisecondColumns[
+                        all.length];
+                for (int i = 0; i < all.length; i++) {
+                    updated[i] = all[i].removeFirst(count);
+                }
+                this.millisColumns = updated;
+            }
+        }
+        if (count >= this.serialCount) {
+            this.serialStart = 0;
+            this.serialCount = 0;
+        }
+        else {
+            this.serialStart += count;
+            this.serialCount -= count;
+        }
+    }
+
+    /**
+     * Returns the index of the item for a time period, in the same form as
+     * <code>Collections.binarySearch()</code>.  For the time period classes
+     * in this package the items are found by the serial index of their time
+     * periods, in a primitive column that is extended when items are
+     * appended and shifted when items are removed from the start of the
+     * series, so that appending to or updating the last item of a series
+     * takes constant time and creates no objects.
+     *
+     * @param period  the time period (<code>null</code> not permitted).
+     *
+     * @return The index of the item, or
+     *         <code>(-(insertion point) - 1)</code> if there is no item for
+     *         the time period.
+     */
+    private int findIndex(RegularTimePeriod period) {
+        int count = this.data.size();
+        Class c = period.getClass();
+        if (!hasOrderedSerialIndex(c)
+                || (count > 0 && c != this.timePeriodClass)) {
+            TimeSeriesDataItem dummy = new TimeSeriesDataItem(period,
+                    Integer.MIN_VALUE);
+            return Collections.binarySearch(this.data, dummy);
+        }
+        if (count == 0) {
+            return -1;
+        }
+        if (count != this.serialCount) {
+            updateSerials(count);
+        }
+        long key = period.getSerialIndex();
+        int low = this.serialStart;
+        int high = low + count - 1;
+        if (key > this.serials[high]) {
+            return -(count + 1);
+        }
+        if (key == this.serials[high]) {
+            return count - 1;
+        }
+        high--;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long serial = this.serials[mid];
+            if (serial < key) {
+                low = mid + 1;
+            }
+            else if (serial > key) {
+                high = mid - 1;
+            }
+            else {
+                return mid - this.serialStart;
+            }
+        }
+        return -(low - this.serialStart + 1);
+    }
+
+    /**
+     * Calculates the cached serial indices of the items after the last one
+     * cached, moving the cached values to the start of a (possibly larger)
+     * array when the array is full.
+     *
+     * @param count  the number of items in the series.
+     */
+    private void updateSerials(int count) {
+        if (count < this.serialCount) {
+            // the list was changed directly, so start again
+            this.serialStart = 0;
+            this.serialCount = 0;
+        }
+        if (this.serials == null
+                || this.serialStart + count > this.serials.length) {
+            long[] column = new long[Math.max(count + (count >> 1), 16)];
+            if (this.serialCount > 0) {
+                System.arraycopy(this.serials, this.serialStart, column, 0,
+                        this.serialCount);
+            }
+            this.serials = column;
+            this.serialStart = 0;
+        }
+        for (int i = this.serialCount; i < count; i++) {
+            this.serials[this.serialStart + i]
+                    = getTimePeriod(i).getSerialIndex();
+        }
+        this.serialCount = count;
+    }
+
+    /**
+     * Returns <code>true</code> if the serial indices of the time periods of
+     * the specified class are in the same order as the time periods, and
+     * equal only for equal time periods.
+     *
+     * @param c  the time period class.
+     *
+     * @return A boolean.
+     */
+    private static boolean hasOrderedSerialIndex(Class c) {
+        return c == Millisecond.class || c == Second.class
+                || c == Minute.class || c == Hour.class || c == Day.class
+                || c == Week.class || c == Month.class || c == Quarter.class
+                || c == Year.class || c == FixedMillisecond.class;
+    }
+
+    /**
+     * Signals to registered listeners that the items in the specified index
+     * range have been changed, after discarding the affected part of the
+     * level-of-detail index (if there is one) and publishing the items (if
+     * snapshots are enabled).
+     *
+     * @param type  the kind of change (<code>null</code> not permitted).
+     * @param firstItemIndex  the index of the first affected item.
+     * @param lastItemIndex  the index of the last affected item.
+     */
+    protected void fireSeriesChanged(DatasetChangeType type,
+            int firstItemIndex, int lastItemIndex) {
+        itemsChanged(Math.max(firstItemIndex, 0));
+        super.fireSeriesChanged(type, firstItemIndex, lastItemIndex);
+    }
+
+    /**
+     * Records a change to the items of the series, starting at the
+     * specified item: the part of the level-of-detail index (if there is
+     * one) from that item on is discarded, so that it is rebuilt from the
+     * series on the next call to {@link #getLevelOfDetail()}, and the items
+     * are published if snapshots are enabled.
+     *
+     * @param firstItemIndex  the index of the first changed item.
+     */
+    private void itemsChanged(int firstItemIndex) {
+        itemsModified();
+        if (this.levelOfDetail != null) {
+            this.levelOfDetail.truncate(firstItemIndex);
+        }
+        if (this.data instanceof SnapshotList) {
+            ((SnapshotList) this.data).publish();
+        }
+    }
+
+    /**
+     * Sets the value of a data item.  If snapshots are enabled, the item is
+     * replaced by a copy instead, because the snapshots share the items.
+     *
+     * @param index  the item index.
+     * @param item  the item.
+     * @param value  the new value (<code>null</code> permitted).
+     */
+    private void setValue(int index, TimeSeriesDataItem item, Number value) {
+        if (this.data instanceof SnapshotList) {
+            this.data.set(index, new TimeSeriesDataItem(item.getPeriod(),
+                    value));
+        }
+        else {
+            item.setValue(value);
+        }
+    }
+
     /**
      * Returns the time period class for this series.
      * <p>
@@ -430,9 +904,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         if (period == null) {
             throw new IllegalArgumentException("Null 'period' argument.");
         }
-        TimeSeriesDataItem dummy = new TimeSeriesDataItem(
-              period, Integer.MIN_VALUE);
-        return Collections.binarySearch(this.data, dummy);
+        return findIndex(period);
     }
 
     /**
@@ -505,50 +977,256 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         // make the change (if it's not a duplicate time period)...
         boolean added = false;
         int count = getItemCount();
-        if (count == 0) {
-            this.data.add(item);
-            added = true;
-        }
-        else {
-            RegularTimePeriod last = getTimePeriod(getItemCount() - 1);
-            if (item.getPeriod().compareTo(last) > 0) {
+        int index = findIndex(item.getPeriod());
+        if (index < 0) {
+            index = -index - 1;
+            if (index == count) {
                 this.data.add(item);
-                added = true;
             }
             else {
-                int index = Collections.binarySearch(this.data, item);
-                if (index < 0) {
-                    this.data.add(-index - 1, item);
-                    added = true;
-                }
-                else {
-                    StringBuffer b = new StringBuffer();
-                    b.append("You are attempting to add an observation for ");
-                    b.append("the time period ");
-                    b.append(item.getPeriod().toString());
-                    b.append(" but the series already contains an observation");
-                    b.append(" for that time period. Duplicates are not ");
-                    b.append("permitted.  Try using the addOrUpdate() method.");
-                    throw new SeriesException(b.toString());
-                }
+                this.data.add(index, item);
+                periodsChanged(index);
             }
+            added = true;
+        }
+        else {
+            throw duplicatePeriodException(item.getPeriod());
         }
         if (added) {
             // check if this addition will exceed the maximum item count...
             if (getItemCount() > this.maximumItemCount) {
-                this.data.remove(0);
+                removeFirstItems(1);
             }
 
             removeAgedItems(false);  // remove old items if necessary, but
                                      // don't notify anyone, because that
                                      // happens next anyway...
+            itemsChanged(getItemCount() <= count ? 0 : index);
             if (notify) {
-                fireSeriesChanged();
+                fireSeriesChangedForAdd(index, index,
+                        getItemCount() <= count);
             }
         }
 
     }
 
+    /**
+     * Adds a batch of observations to the series and sends a single
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param millis  the observation times, in milliseconds since the epoch
+     *                (<code>null</code> not permitted).
+     * @param values  the values (<code>null</code> not permitted, must have
+     *                the same length as <code>millis</code>).
+     *
+     * @see #addAll(long[], double[], boolean)
+     */
+    public void addAll(long[] millis, double[] values) {
+        addAll(millis, values, true);
+    }
+
+    /**
+     * Adds a batch of observations to the series and, if requested, sends a
+     * single {@link SeriesChangeEvent} (carrying the range of affected item
+     * indices) to all registered listeners.  Each time is converted to an
+     * instance of the series' time period class in the default time zone
+     * (a series that has no time period class yet uses {@link Millisecond}).
+     * The batch is sorted and then merged into the existing items in one
+     * pass, and the maximum item count and age are applied once at the end.
+     * <P>
+     * The whole batch is checked before the series is modified, so if an
+     * exception is thrown the series is unchanged.
+     *
+     * @param millis  the observation times, in milliseconds since the epoch
+     *                (<code>null</code> not permitted).
+     * @param values  the values (<code>null</code> not permitted, must have
+     *                the same length as <code>millis</code>).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     *
+     * @throws SeriesException if two observations fall in the same time
+     *     period, or in a time period that the series already contains.
+     */
+    public void addAll(long[] millis, double[] values, boolean notify) {
+        if (millis == null) {
+            throw new IllegalArgumentException("Null 'millis' argument.");
+        }
+        if (values == null) {
+            throw new IllegalArgumentException("Null 'values' argument.");
+        }
+        if (millis.length != values.length) {
+            throw new IllegalArgumentException(
+                "The 'millis' and 'values' arrays must have the same length.");
+        }
+        int n = millis.length;
+        if (n == 0) {
+            return;
+        }
+        Class c = this.timePeriodClass;
+        if (c == null) {
+            c = Millisecond.class;
+        }
+        Constructor constructor;
+        try {
+            constructor = c.getDeclaredConstructor(new Class[] {Date.class});
+        }
+        catch (NoSuchMethodException e) {
+            throw new SeriesException("The time period class "
+                    + c.getName() + " has no (Date) constructor.");
+        }
+        TimeSeriesDataItem[] batch = new TimeSeriesDataItem[n];
+        for (int i = 0; i < n; i++) {
+            RegularTimePeriod period;
+            try {
+                period = (RegularTimePeriod) constructor.newInstance(
+                        new Object[] {new Date(millis[i])});
+            }
+            catch (InvocationTargetException e) {
+                Throwable cause = e.getTargetException();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw createPeriodException(c, cause);
+            }
+            catch (InstantiationException e) {
+                throw createPeriodException(c, e);
+            }
+            catch (IllegalAccessException e) {
+                throw createPeriodException(c, e);
+            }
+            batch[i] = new TimeSeriesDataItem(period, values[i]);
+        }
+
+        // sort the batch and check for duplicate time periods before making
+        // any change...
+        Arrays.sort(batch);
+        int count = this.data.size();
+        int first;
+        if (count == 0 || batch[0].compareTo(this.data.get(count - 1)) > 0) {
+            first = count;
+        }
+        else {
+            first = Collections.binarySearch(this.data, batch[0]);
+            if (first >= 0) {
+                throw duplicatePeriodException(batch[0].getPeriod());
+            }
+            first = -first - 1;
+        }
+        int k = first;
+        for (int j = 0; j < n; j++) {
+            if (j > 0 && batch[j].compareTo(batch[j - 1]) == 0) {
+                throw duplicatePeriodException(batch[j].getPeriod());
+            }
+            while (k < count && batch[j].compareTo(this.data.get(k)) > 0) {
+                k++;
+            }
+            if (k < count && batch[j].compareTo(this.data.get(k)) == 0) {
+                throw duplicatePeriodException(batch[j].getPeriod());
+            }
+        }
+        this.timePeriodClass = c;
+        periodsChanged(first);
+
+        // grow the list, then merge from the back so that each existing item
+        // after the insertion point moves exactly once...
+        for (int i = 0; i < n; i++) {
+            this.data.add(null);
+        }
+        k = count - 1;
+        int j = n - 1;
+        int w = count + n - 1;
+        while (j >= 0) {
+            if (k >= first && batch[j].compareTo(this.data.get(k)) < 0) {
+                this.data.set(w--, this.data.get(k--));
+            }
+            else {
+                this.data.set(w--, batch[j--]);
+            }
+        }
+
+        // apply the maximum item count and age in a single removal...
+        int size = this.data.size();
+        int removed = Math.max(size - this.maximumItemCount, 0);
+        long latest = getTimePeriod(size - 1).getSerialIndex();
+        while (removed < size - 1 && (latest
+                - getTimePeriod(removed).getSerialIndex())
+                > this.maximumItemAge) {
+            removed++;
+        }
+        if (removed > 0) {
+            removeFirstItems(removed);
+        }
+        itemsChanged(removed > 0 ? 0 : first);
+        if (notify) {
+            fireSeriesChangedForAdd(first, count + n - 1, removed > 0);
+        }
+    }
+
+    /**
+     * Creates the exception thrown when a time period can't be created by
+     * reflection, keeping the cause.
+     *
+     * @param c  the time period class.
+     * @param cause  the cause.
+     *
+     * @return The exception.
+     */
+    private static SeriesException createPeriodException(Class c,
+            Throwable cause) {
+        SeriesException e = new SeriesException("Unable to create time "
+                + "periods of class " + c.getName() + ".");
+        e.initCause(cause);
+        return e;
+    }
+
+    /**
+     * Sends a {@link SeriesChangeEvent} describing the addition of the items
+     * that were placed at the specified indices.  The event has the type
+     * {@link DatasetChangeType#APPEND} when the items are the last items in
+     * the series and no item was removed because of the maximum item count
+     * or age.
+     *
+     * @param first  the index of the first added item (before trimming).
+     * @param last  the index of the last added item (before trimming).
+     * @param trimmed  a flag indicating whether or not items were removed
+     *                 from the start of the series.
+     */
+    private void fireSeriesChangedForAdd(int first, int last,
+            boolean trimmed) {
+        int count = getItemCount();
+        if (trimmed) {
+            // every item has moved
+            fireSeriesChanged(DatasetChangeType.GENERAL, 0, count - 1);
+        }
+        else if (last == count - 1) {
+            fireSeriesChanged(DatasetChangeType.APPEND, first, last);
+        }
+        else {
+            fireSeriesChanged(DatasetChangeType.GENERAL, first, count - 1);
+        }
+    }
+
+    /**
+     * Creates the exception thrown when an observation is added for a time
+     * period that the series already contains.
+     *
+     * @param period  the time period.
+     *
+     * @return The exception.
+     */
+    private static SeriesException duplicatePeriodException(
+            RegularTimePeriod period) {
+        StringBuffer b = new StringBuffer();
+        b.append("You are attempting to add an observation for ");
+        b.append("the time period ");
+        b.append(period.toString());
+        b.append(" but the series already contains an observation");
+        b.append(" for that time period. Duplicates are not ");
+        b.append("permitted.  Try using the addOrUpdate() method.");
+        return new SeriesException(b.toString());
+    }
+
     /**
      * Adds a new data item to the series and sends a {@link SeriesChangeEvent}
      * to all registered listeners.
@@ -610,12 +1288,14 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      * @param value  the value (<code>null</code> permitted).
      */
     public void update(RegularTimePeriod period, Number value) {
-        TimeSeriesDataItem temp = new TimeSeriesDataItem(period, value);
-        int index = Collections.binarySearch(this.data, temp);
+        if (period == null) {
+            throw new IllegalArgumentException("Null 'period' argument.");
+        }
+        int index = findIndex(period);
         if (index >= 0) {
             TimeSeriesDataItem pair = (TimeSeriesDataItem) this.data.get(index);
-            pair.setValue(value);
-            fireSeriesChanged();
+            setValue(index, pair, value);
+            fireSeriesChanged(DatasetChangeType.UPDATE, index, index);
         }
         else {
             throw new SeriesException("There is no existing value for the "
@@ -632,8 +1312,8 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      */
     public void update(int index, Number value) {
         TimeSeriesDataItem item = getDataItem(index);
-        item.setValue(value);
-        fireSeriesChanged();
+        setValue(index, item, value);
+        fireSeriesChanged(DatasetChangeType.UPDATE, index, index);
     }
 
     /**
@@ -695,25 +1375,33 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         }
         TimeSeriesDataItem overwritten = null;
 
-        TimeSeriesDataItem key = new TimeSeriesDataItem(period, value);
-        int index = Collections.binarySearch(this.data, key);
+        int index = findIndex(period);
         if (index >= 0) {
             TimeSeriesDataItem existing
                     = (TimeSeriesDataItem) this.data.get(index);
             overwritten = (TimeSeriesDataItem) existing.clone();
-            existing.setValue(value);
+            setValue(index, existing, value);
+            int count = getItemCount();
             removeAgedItems(false);  // remove old items if necessary, but
                                      // don't notify anyone, because that
                                      // happens next anyway...
-            fireSeriesChanged();
+            if (getItemCount() == count) {
+                fireSeriesChanged(DatasetChangeType.UPDATE, index, index);
+            }
+            else {
+                fireSeriesChanged();
+            }
         }
         else {
-            this.data.add(-index - 1, new TimeSeriesDataItem(period, value));
+            int count = getItemCount();
+            index = -index - 1;
+            this.data.add(index, new TimeSeriesDataItem(period, value));
+            periodsChanged(index);
             this.timePeriodClass = period.getClass();
 
             // check if this addition will exceed the maximum item count...
             if (getItemCount() > this.maximumItemCount) {
-                this.data.remove(0);
+                removeFirstItems(1);
                 if (this.data.isEmpty()) {
                     this.timePeriodClass = null;
                 }
@@ -722,12 +1410,149 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
             removeAgedItems(false);  // remove old items if necessary, but
                                      // don't notify anyone, because that
                                      // happens next anyway...
-            fireSeriesChanged();
+            fireSeriesChangedForAdd(index, index, getItemCount() <= count);
         }
         return overwritten;
 
     }
 
+    /**
+     * Adds or updates a batch of items and sends a single
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param periods  the time periods (<code>null</code> not permitted, and
+     *                 all of the same class).
+     * @param values  the values (<code>null</code> not permitted, must have
+     *                the same length as <code>periods</code>).
+     *
+     * @see #addOrUpdate(RegularTimePeriod[], double[], boolean)
+     */
+    public void addOrUpdate(RegularTimePeriod[] periods, double[] values) {
+        addOrUpdate(periods, values, true);
+    }
+
+    /**
+     * Adds or updates a batch of items and, if requested, sends a single
+     * {@link SeriesChangeEvent} to all registered listeners.  Items are
+     * added for the time periods that are not yet in the series, and the
+     * values of the other items are replaced.  The event has the type
+     * {@link DatasetChangeType#APPEND} when the batch only adds items after
+     * the last item of the series (the usual case when the periods are
+     * in order and newer than the series), or
+     * {@link DatasetChangeType#UPDATE} when it only replaces values.
+     *
+     * @param periods  the time periods (<code>null</code> not permitted, and
+     *                 all of the same class).
+     * @param values  the values (<code>null</code> not permitted, must have
+     *                the same length as <code>periods</code>).
+     * @param notify  notify listeners?
+     */
+    public void addOrUpdate(RegularTimePeriod[] periods, double[] values,
+            boolean notify) {
+        if (periods == null) {
+            throw new IllegalArgumentException("Null 'periods' argument.");
+        }
+        if (values == null) {
+            throw new IllegalArgumentException("Null 'values' argument.");
+        }
+        if (periods.length != values.length) {
+            throw new IllegalArgumentException(
+                "The 'periods' and 'values' arrays must have the same length.");
+        }
+        int n = periods.length;
+        if (n == 0) {
+            return;
+        }
+
+        // check the time periods before making any change...
+        Class c = null;
+        for (int i = 0; i < n; i++) {
+            if (periods[i] == null) {
+                throw new IllegalArgumentException(
+                        "Null element in 'periods' argument.");
+            }
+            if (c == null) {
+                c = periods[i].getClass();
+            }
+            else if (c != periods[i].getClass()) {
+                throw new IllegalArgumentException("The 'periods' must all "
+                        + "have the same class.");
+            }
+        }
+        int count = getItemCount();
+        if (count > 0 && this.timePeriodClass != null
+                && !this.timePeriodClass.equals(c)) {
+            throw new SeriesException("You are trying to add data where the "
+                    + "time period class is " + c.getName() + ", but the "
+                    + "TimeSeries is expecting an instance of "
+                    + this.timePeriodClass.getName() + ".");
+        }
+
+        int first = Integer.MAX_VALUE;
+        int last = -1;
+        int added = 0;
+        boolean appended = true;
+        for (int i = 0; i < n; i++) {
+            int index = findIndex(periods[i]);
+            if (index >= 0) {
+                setValue(index, (TimeSeriesDataItem) this.data.get(index),
+                        new Double(values[i]));
+                last = Math.max(last, index);
+            }
+            else {
+                index = -index - 1;
+                TimeSeriesDataItem item = new TimeSeriesDataItem(periods[i],
+                        values[i]);
+                if (index == this.data.size()) {
+                    this.data.add(item);
+                }
+                else {
+                    this.data.add(index, item);
+                    periodsChanged(index);
+                }
+                added++;
+            }
+            first = Math.min(first, index);
+            if (index < count) {
+                appended = false;
+            }
+        }
+        if (added == 0) {
+            if (notify) {
+                fireSeriesChanged(DatasetChangeType.UPDATE, first, last);
+            }
+            else {
+                itemsChanged(first);
+            }
+            return;
+        }
+        this.timePeriodClass = c;
+
+        // check if the additions exceed the maximum item count...
+        int size = getItemCount();
+        if (size > this.maximumItemCount) {
+            removeFirstItems(size - this.maximumItemCount);
+        }
+        removeAgedItems(false);  // remove old items if necessary, but
+                                 // don't notify anyone, because that
+                                 // happens next anyway...
+        size = getItemCount();
+        if (size < count + added) {
+            // every item has moved
+            itemsChanged(0);
+            if (notify) {
+                fireSeriesChanged(DatasetChangeType.GENERAL, 0, size - 1);
+            }
+        }
+        else {
+            itemsChanged(first);
+            if (notify) {
+                fireSeriesChanged(appended ? DatasetChangeType.APPEND
+                        : DatasetChangeType.GENERAL, first, size - 1);
+            }
+        }
+    }
+
     /**
      * Age items in the series.  Ensure that the timespan from the youngest to
      * the oldest record in the series does not exceed maximumItemAge time
@@ -741,11 +1566,15 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         // count...
         if (getItemCount() > 1) {
             long latest = getTimePeriod(getItemCount() - 1).getSerialIndex();
-            boolean removed = false;
-            while ((latest - getTimePeriod(0).getSerialIndex())
+            int count = 0;
+            while ((latest - getTimePeriod(count).getSerialIndex())
                     > this.maximumItemAge) {
-                this.data.remove(0);
-                removed = true;
+                count++;
+            }
+            boolean removed = count > 0;
+            if (removed) {
+                removeFirstItems(count);
+                itemsChanged(0);
             }
             if (removed && notify) {
                 fireSeriesChanged();
@@ -790,11 +1619,15 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 
         // check if there are any values earlier than specified by the history
         // count...
-        boolean removed = false;
-        while (getItemCount() > 0 && (index
-                - getTimePeriod(0).getSerialIndex()) > this.maximumItemAge) {
-            this.data.remove(0);
-            removed = true;
+        int count = 0;
+        while (count < getItemCount() && (index - getTimePeriod(
+                count).getSerialIndex()) > this.maximumItemAge) {
+            count++;
+        }
+        boolean removed = count > 0;
+        if (removed) {
+            removeFirstItems(count);
+            itemsChanged(0);
         }
         if (removed && notify) {
             fireSeriesChanged();
@@ -806,10 +1639,12 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      * {@link SeriesChangeEvent} to all registered listeners.
      */
     public void clear() {
-        if (this.data.size() > 0) {
+        int count = this.data.size();
+        if (count > 0) {
             this.data.clear();
+            periodsChanged(0);
             this.timePeriodClass = null;
-            fireSeriesChanged();
+            fireSeriesChanged(DatasetChangeType.REMOVE, 0, count - 1);
         }
     }
 
@@ -825,10 +1660,11 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         int index = getIndex(period);
         if (index >= 0) {
             this.data.remove(index);
+            periodsChanged(index);
             if (this.data.isEmpty()) {
                 this.timePeriodClass = null;
             }
-            fireSeriesChanged();
+            fireSeriesChanged(DatasetChangeType.REMOVE, index, index);
         }
     }
 
@@ -842,13 +1678,19 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         if (end < start) {
             throw new IllegalArgumentException("Requires start <= end.");
         }
-        for (int i = 0; i <= (end - start); i++) {
-            this.data.remove(start);
+        if (start == 0) {
+            removeFirstItems(end + 1);
+        }
+        else {
+            for (int i = 0; i <= (end - start); i++) {
+                this.data.remove(start);
+            }
+            periodsChanged(start);
         }
         if (this.data.isEmpty()) {
             this.timePeriodClass = null;
         }
-        fireSeriesChanged();
+        fireSeriesChanged(DatasetChangeType.REMOVE, start, end);
     }
 
     /**
@@ -858,7 +1700,8 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      * <ul>
      *   <li>no need to clone the domain and range descriptions, since String
      *     object is immutable;</li>
-     *   <li>we pass over to the more general method clone(start, end).</li>
+     *   <li>the data items are cloned, and the clone has its own (empty)
+     *     caches and level-of-detail index.</li>
      * </ul>
      *
      * @return A clone of the time series.
@@ -866,11 +1709,23 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      * @throws CloneNotSupportedException not thrown by this class, but
      *         subclasses may differ.
      */
-//    public Object clone() throws CloneNotSupportedException {
-//        TimeSeries clone = (TimeSeries) super.clone();
-//        clone.data = (List) ObjectUtilities.deepClone(this.data);
-//        return clone;
-//    }
+    public Object clone() throws CloneNotSupportedException {
+        TimeSeries clone = (TimeSeries) super.clone();
+        List items = new java.util.ArrayList(this.data.size());
+        for (int i = 0; i < this.data.size(); i++) {
+            items.add(((TimeSeriesDataItem) this.data.get(i)).clone());
+        }
+        clone.data = (this.data instanceof SnapshotList
+                ? new SnapshotList(items) : items);
+        if (clone.levelOfDetail != null) {
+            clone.levelOfDetail = new MinMaxPyramid();
+        }
+        clone.millisColumns = null;
+        clone.serials = null;
+        clone.serialStart = 0;
+        clone.serialCount = 0;
+        return clone;
+    }
 
     /**
      * Creates a new timeseries by copying a subset of the data in this time
@@ -896,6 +1751,13 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         TimeSeries copy = (TimeSeries) super.clone();
 
         copy.data = new java.util.ArrayList();
+        if (copy.levelOfDetail != null) {
+            copy.levelOfDetail = new MinMaxPyramid();
+        }
+        copy.millisColumns = null;
+        copy.serials = null;
+        copy.serialStart = 0;
+        copy.serialCount = 0;
         if (this.data.size() > 0) {
             for (int index = start; index <= end; index++) {
                 TimeSeriesDataItem item
@@ -958,6 +1820,13 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         if (emptyRange) {
             TimeSeries copy = (TimeSeries) super.clone();
             copy.data = new java.util.ArrayList();
+            if (copy.levelOfDetail != null) {
+                copy.levelOfDetail = new MinMaxPyramid();
+            }
+            copy.millisColumns = null;
+            copy.serials = null;
+            copy.serialStart = 0;
+            copy.serialCount = 0;
             return copy;
         }
         else {
@@ -1088,4 +1957,140 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         this.maximumItemAge = Long.MAX_VALUE;
     }
 
+    /**
+     * The first and last milliseconds of the time periods of the items of a
+     * series, evaluated in one time zone.  Instances are immutable once
+     * published; a change returns new columns, which share the arrays as
+     * long as no value that older columns can read is overwritten.
+     */
+    private static final class MillisecondColumns {
+
+        /** The time zone. */
+        final TimeZone zone;
+
+        /** A calendar for the time zone (used with the series lock held). */
+        final Calendar calendar;
+
+        /** The first millisecond of the time period of each cached item. */
+        final long[] first;
+
+        /** The last millisecond of the time period of each cached item. */
+        final long[] last;
+
+        /** The position in the columns of the first item. */
+        final int start;
+
+        /** The number of items (from the first) with cached milliseconds. */
+        final int count;
+
+        /**
+         * The end of the positions in the arrays that any columns sharing
+         * them can read.  Positions before this are never written again.
+         */
+        final int limit;
+
+        /**
+         * Creates empty columns for a time zone.
+         *
+         * @param zone  the time zone.
+         */
+        MillisecondColumns(TimeZone zone) {
+            this(zone, Calendar.getInstance(zone), null, null, 0, 0, 0);
+        }
+
+        /**
+         * Creates columns.
+         *
+         * @param zone  the time zone.
+         * @param calendar  a calendar for the time zone.
+         * @param first  the first milliseconds.
+         * @param last  the last milliseconds.
+         * @param start  the position of the first item.
+         * @param count  the number of cached items.
+         * @param limit  the end of the readable positions.
+         */
+        private MillisecondColumns(TimeZone zone, Calendar calendar,
+                long[] first, long[] last, int start, int count, int limit) {
+            this.zone = zone;
+            this.calendar = calendar;
+            this.first = first;
+            this.last = last;
+            this.start = start;
+            this.count = count;
+            this.limit = limit;
+        }
+
+        /**
+         * Returns columns that also cover the items after the last one
+         * cached.  The cached values are copied to the start of new arrays
+         * when the arrays are full, or when the new values would overwrite
+         * positions that other columns can still read.
+         *
+         * @param series  the series.
+         *
+         * @return The columns.
+         */
+        MillisecondColumns extend(TimeSeries series) {
+            int n = series.data.size();
+            long[] f = this.first;
+            long[] l = this.last;
+            int s = this.start;
+            int end = this.limit;
+            if (f == null || s + n > f.length || s + this.count < end) {
+                int capacity = Math.max(n + (n >> 1), 16);
+                f = new long[capacity];
+                l = new long[capacity];
+                if (this.count > 0) {
+                    System.arraycopy(this.first, s, f, 0, this.count);
+                    System.arraycopy(this.last, s, l, 0, this.count);
+                }
+                s = 0;
+                end = 0;
+            }
+            for (int i = this.count; i < n; i++) {
+                RegularTimePeriod period = series.getTimePeriod(i);
+                f[s + i] = period.getFirstMillisecond(this.calendar);
+                l[s + i] = period.getLastMillisecond(this.calendar);
+            }
+            return new MillisecondColumns(this.zone, this.calendar, f, l, s,
+                    n, Math.max(end, s + n));
+        }
+
+        /**
+         * Returns columns without the cached milliseconds of the items from
+         * the specified item on.
+         *
+         * @param n  the number of items to keep.
+         *
+         * @return The columns.
+         */
+        MillisecondColumns truncate(int n) {
+            if (n >= this.count) {
+                return this;
+            }
+            return new MillisecondColumns(this.zone, this.calendar,
+                    this.first, this.last, this.start, n, this.limit);
+        }
+
+        /**
+         * Returns columns without the cached milliseconds of items removed
+         * from the start of the series.
+         *
+         * @param removed  the number of items removed.
+         *
+         * @return The columns.
+         */
+        MillisecondColumns removeFirst(int removed) {
+            if (removed >= this.count) {
+                return new MillisecondColumns(this.zone, this.calendar,
+                        this.first, this.last, this.start + this.count, 0,
+                        this.limit);
+            }
+            return new MillisecondColumns(this.zone, this.calendar,
+                    this.first, this.last, this.start + removed,
+                    this.count - removed, this.limit);
+        }
+
+    }
+
 }
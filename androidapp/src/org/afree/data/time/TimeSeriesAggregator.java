@@ -0,0 +1,541 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * -------------------------
+ * TimeSeriesAggregator.java
+ * -------------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.time;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.afree.data.general.SeriesException;
+
+/**
+ * Rolls a stream of (time, value) observations up into time periods (for
+ * example, one {@link Minute} per item) and writes the aggregates to one or
+ * more {@link TimeSeries}.
+ * <P>
+ * The observations may arrive out of order, up to the <i>allowed lateness</i>:
+ * the <i>watermark</i> is the latest time seen so far less the allowed
+ * lateness, a time period is complete once it ends before the watermark, and
+ * an observation earlier than the watermark, or in a time period that is
+ * already complete, is dropped (see
+ * {@link #getDroppedItemCount()}).  Complete time periods are written to the
+ * series in batches of {@link #getBatchSize()} periods, with one
+ * {@link org.afree.data.general.SeriesChangeEvent} per series and batch.
+ * Periods without observations are not written.
+ * <P>
+ * An observation in the same time period as the previous one is added in
+ * constant time, without creating any objects.
+ * <P>
+ * This class is not thread-safe.
+ */
+public class TimeSeriesAggregator {
+
+    /** The time period class. */
+    private Class timePeriodClass;
+
+    /** The time zone of the time periods. */
+    private TimeZone zone;
+
+    /** The locale of the time periods. */
+    private Locale locale;
+
+    /** The (Date, TimeZone, Locale) constructor of the time period class. */
+    private Constructor constructor;
+
+    /** A calendar for the time zone, for finding the time period bounds. */
+    private Calendar calendar;
+
+    /** The series that receive the aggregates. */
+    private List seriesList;
+
+    /** The aggregation type for each series. */
+    private List types;
+
+    /** The allowed lateness (in milliseconds). */
+    private long allowedLateness;
+
+    /** The number of complete time periods written to the series at once. */
+    private int batchSize;
+
+    /** The incomplete time periods (buckets), in time order. */
+    private List openBuckets;
+
+    /** The complete time periods that have not been written yet. */
+    private List completeBuckets;
+
+    /** The bucket that received the last observation (may be null). */
+    private Bucket current;
+
+    /** The latest time seen (<code>Long.MIN_VALUE</code> before any). */
+    private long latest;
+
+    /** The last millisecond of the latest complete time period. */
+    private long completedUntil;
+
+    /** The number of observations dropped for being too late. */
+    private long droppedItemCount;
+
+    /**
+     * Creates a new aggregator for time periods in the default time zone and
+     * locale.
+     *
+     * @param timePeriodClass  the time period class (<code>null</code> not
+     *     permitted).
+     */
+    public TimeSeriesAggregator(Class timePeriodClass) {
+        this(timePeriodClass, TimeZone.getDefault(), Locale.getDefault());
+    }
+
+    /**
+     * Creates a new aggregator.
+     *
+     * @param timePeriodClass  the time period class (<code>null</code> not
+     *     permitted, must have a (Date, TimeZone, Locale) constructor).
+     * @param zone  the time zone (<code>null</code> not permitted).
+     * @param locale  the locale (<code>null</code> not permitted).
+     */
+    public TimeSeriesAggregator(Class timePeriodClass, TimeZone zone,
+            Locale locale) {
+        if (timePeriodClass == null) {
+            throw new IllegalArgumentException(
+                    "Null 'timePeriodClass' argument.");
+        }
+        if (zone == null) {
+            throw new IllegalArgumentException("Null 'zone' argument.");
+        }
+        if (locale == null) {
+            throw new IllegalArgumentException("Null 'locale' argument.");
+        }
+        if (!RegularTimePeriod.class.isAssignableFrom(timePeriodClass)) {
+            throw new IllegalArgumentException("The 'timePeriodClass' must "
+                    + "be a subclass of RegularTimePeriod.");
+        }
+        try {
+            this.constructor = timePeriodClass.getConstructor(new Class[] {
+                    Date.class, TimeZone.class, Locale.class});
+        }
+        catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("The 'timePeriodClass' has no "
+                    + "(Date, TimeZone, Locale) constructor.");
+        }
+        this.timePeriodClass = timePeriodClass;
+        this.zone = zone;
+        this.locale = locale;
+        this.calendar = Calendar.getInstance(zone, locale);
+        this.seriesList = new ArrayList();
+        this.types = new ArrayList();
+        this.batchSize = 1;
+        this.openBuckets = new ArrayList();
+        this.completeBuckets = new ArrayList();
+        this.latest = Long.MIN_VALUE;
+        this.completedUntil = Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns the time period class.
+     *
+     * @return The time period class (never <code>null</code>).
+     */
+    public Class getTimePeriodClass() {
+        return this.timePeriodClass;
+    }
+
+    /**
+     * Adds a series to receive the aggregates of the complete time periods.
+     *
+     * @param series  the series (<code>null</code> not permitted).
+     * @param type  the aggregation type (<code>null</code> not permitted).
+     */
+    public void addSeries(TimeSeries series, AggregationType type) {
+        if (series == null) {
+            throw new IllegalArgumentException("Null 'series' argument.");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Null 'type' argument.");
+        }
+        if (series.getItemCount() > 0 && !this.timePeriodClass.equals(
+                series.getTimePeriodClass())) {
+            throw new IllegalArgumentException("The 'series' has a "
+                    + "different time period class.");
+        }
+        this.seriesList.add(series);
+        this.types.add(type);
+    }
+
+    /**
+     * Returns the allowed lateness.
+     *
+     * @return The allowed lateness (in milliseconds).
+     *
+     * @see #setAllowedLateness(long)
+     */
+    public long getAllowedLateness() {
+        return this.allowedLateness;
+    }
+
+    /**
+     * Sets the allowed lateness: how far an observation may be behind the
+     * latest time seen and still be counted.  The default is zero, so that
+     * a time period is complete as soon as a later time period receives an
+     * observation.
+     *
+     * @param millis  the allowed lateness (in milliseconds, zero or more).
+     *
+     * @see #getAllowedLateness()
+     */
+    public void setAllowedLateness(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Requires millis >= 0.");
+        }
+        this.allowedLateness = millis;
+    }
+
+    /**
+     * Returns the number of complete time periods that are written to the
+     * series at once.
+     *
+     * @return The batch size.
+     *
+     * @see #setBatchSize(int)
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Sets the number of complete time periods that are written to the series
+     * at once.  The default is 1.
+     *
+     * @param size  the batch size (at least 1).
+     *
+     * @see #getBatchSize()
+     */
+    public void setBatchSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Requires size >= 1.");
+        }
+        this.batchSize = size;
+    }
+
+    /**
+     * Returns the watermark: the latest time seen less the allowed lateness.
+     *
+     * @return The watermark (in milliseconds), or <code>Long.MIN_VALUE</code>
+     *     if no observation has been added.
+     */
+    public long getWatermark() {
+        long watermark = this.latest - this.allowedLateness;
+        return watermark > this.latest ? Long.MIN_VALUE : watermark;
+    }
+
+    /**
+     * Returns the number of observations that were dropped because they were
+     * earlier than the watermark or in a complete time period.
+     *
+     * @return The number of observations.
+     */
+    public long getDroppedItemCount() {
+        return this.droppedItemCount;
+    }
+
+    /**
+     * Adds an observation.
+     *
+     * @param millis  the time (in milliseconds since the epoch).
+     * @param value  the value.
+     */
+    public void add(long millis, double value) {
+        if (millis < getWatermark() || millis <= this.completedUntil) {
+            this.droppedItemCount++;
+            return;
+        }
+        findBucket(millis).add(millis, value);
+        if (millis > this.latest) {
+            this.latest = millis;
+            completeBuckets(getWatermark());
+        }
+    }
+
+    /**
+     * Adds a sequence of observations.
+     *
+     * @param millis  the times (in milliseconds since the epoch,
+     *     <code>null</code> not permitted).
+     * @param values  the values (<code>null</code> not permitted, must have
+     *     the same length as <code>millis</code>).
+     */
+    public void add(long[] millis, double[] values) {
+        if (millis == null) {
+            throw new IllegalArgumentException("Null 'millis' argument.");
+        }
+        if (values == null) {
+            throw new IllegalArgumentException("Null 'values' argument.");
+        }
+        if (millis.length != values.length) {
+            throw new IllegalArgumentException(
+                "The 'millis' and 'values' arrays must have the same length.");
+        }
+        for (int i = 0; i < millis.length; i++) {
+            add(millis[i], values[i]);
+        }
+    }
+
+    /**
+     * Writes the complete time periods to the series now, without waiting for
+     * a full batch.
+     */
+    public void flush() {
+        if (this.completeBuckets.isEmpty()) {
+            return;
+        }
+        int n = this.completeBuckets.size();
+        RegularTimePeriod[] periods = new RegularTimePeriod[n];
+        for (int i = 0; i < n; i++) {
+            periods[i] = ((Bucket) this.completeBuckets.get(i)).period;
+        }
+        double[] values = new double[n];
+        for (int s = 0; s < this.seriesList.size(); s++) {
+            AggregationType type = (AggregationType) this.types.get(s);
+            for (int i = 0; i < n; i++) {
+                values[i] = ((Bucket) this.completeBuckets.get(i)).getValue(
+                        type);
+            }
+            ((TimeSeries) this.seriesList.get(s)).addOrUpdate(periods,
+                    values);
+        }
+        this.completeBuckets.clear();
+    }
+
+    /**
+     * Treats every time period that has received an observation as complete
+     * (for example, at the end of the stream) and writes them all to the
+     * series.  Observations in those time periods (or earlier) are dropped
+     * from then on.
+     */
+    public void flushAll() {
+        if (!this.openBuckets.isEmpty()) {
+            Bucket bucket = (Bucket) this.openBuckets.get(
+                    this.openBuckets.size() - 1);
+            this.completedUntil = bucket.last;
+            this.completeBuckets.addAll(this.openBuckets);
+            this.openBuckets.clear();
+            this.current = null;
+        }
+        flush();
+    }
+
+    /**
+     * Returns the bucket for the time period that contains the specified
+     * time, creating it if necessary.
+     *
+     * @param millis  the time (not earlier than the watermark).
+     *
+     * @return The bucket.
+     */
+    private Bucket findBucket(long millis) {
+        Bucket bucket = this.current;
+        if (bucket != null && millis >= bucket.first
+                && millis <= bucket.last) {
+            return bucket;
+        }
+        // late observations are usually for one of the latest buckets, so
+        // search from the end...
+        for (int i = this.openBuckets.size() - 1; i >= 0; i--) {
+            bucket = (Bucket) this.openBuckets.get(i);
+            if (millis > bucket.last) {
+                break;
+            }
+            if (millis >= bucket.first) {
+                this.current = bucket;
+                return bucket;
+            }
+        }
+        RegularTimePeriod period = createPeriod(millis);
+        long first = period.getFirstMillisecond(this.calendar);
+        long last = period.getLastMillisecond(this.calendar);
+        if (millis < first || millis > last) {
+            // a local time that occurs twice when the clocks go back, where
+            // the time period only covers one of the occurrences...
+            for (int i = this.openBuckets.size() - 1; i >= 0; i--) {
+                bucket = (Bucket) this.openBuckets.get(i);
+                if (bucket.period.equals(period)) {
+                    this.current = bucket;
+                    return bucket;
+                }
+            }
+        }
+        bucket = new Bucket(period, first, last);
+        int i = this.openBuckets.size();
+        while (i > 0 && ((Bucket) this.openBuckets.get(i - 1)).first > first) {
+            i--;
+        }
+        this.openBuckets.add(i, bucket);
+        this.current = bucket;
+        return bucket;
+    }
+
+    /**
+     * Creates the time period that contains the specified time.
+     *
+     * @param millis  the time.
+     *
+     * @return The time period.
+     */
+    private RegularTimePeriod createPeriod(long millis) {
+        try {
+            return (RegularTimePeriod) this.constructor.newInstance(
+                    new Object[] {new Date(millis), this.zone, this.locale});
+        }
+        catch (InvocationTargetException e) {
+            if (e.getTargetException() instanceof RuntimeException) {
+                throw (RuntimeException) e.getTargetException();
+            }
+            throw new SeriesException("Unable to create a time period of "
+                    + "class " + this.timePeriodClass.getName() + ".");
+        }
+        catch (Exception e) {
+            throw new SeriesException("Unable to create a time period of "
+                    + "class " + this.timePeriodClass.getName() + ".");
+        }
+    }
+
+    /**
+     * Moves the buckets that end before the watermark to the complete
+     * buckets, and writes the complete buckets to the series if there is a
+     * full batch.
+     *
+     * @param watermark  the watermark.
+     */
+    private void completeBuckets(long watermark) {
+        while (!this.openBuckets.isEmpty()) {
+            Bucket bucket = (Bucket) this.openBuckets.get(0);
+            if (bucket.last >= watermark) {
+                break;
+            }
+            this.openBuckets.remove(0);
+            this.completeBuckets.add(bucket);
+            this.completedUntil = bucket.last;
+            if (bucket == this.current) {
+                this.current = null;
+            }
+        }
+        if (this.completeBuckets.size() >= this.batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * The running aggregates for one time period.
+     */
+    private static class Bucket {
+
+        /** The time period. */
+        RegularTimePeriod period;
+
+        /** The first millisecond of the time period. */
+        long first;
+
+        /** The last millisecond of the time period. */
+        long last;
+
+        /** The number of values. */
+        int count;
+
+        /** The sum of the values. */
+        double sum;
+
+        /** The smallest value. */
+        double minimum = Double.POSITIVE_INFINITY;
+
+        /** The largest value. */
+        double maximum = Double.NEGATIVE_INFINITY;
+
+        /** The value with the latest time. */
+        double lastValue;
+
+        /** The latest time. */
+        long lastTime = Long.MIN_VALUE;
+
+        Bucket(RegularTimePeriod period, long first, long last) {
+            this.period = period;
+            this.first = first;
+            this.last = last;
+        }
+
+        void add(long millis, double value) {
+            this.count++;
+            this.sum += value;
+            this.minimum = Math.min(this.minimum, value);
+            this.maximum = Math.max(this.maximum, value);
+            if (millis >= this.lastTime) {
+                this.lastValue = value;
+                this.lastTime = millis;
+            }
+        }
+
+        double getValue(AggregationType type) {
+            if (type == AggregationType.COUNT) {
+                return this.count;
+            }
+            else if (type == AggregationType.SUM) {
+                return this.sum;
+            }
+            else if (type == AggregationType.MINIMUM) {
+                return this.minimum;
+            }
+            else if (type == AggregationType.MAXIMUM) {
+                return this.maximum;
+            }
+            else if (type == AggregationType.MEAN) {
+                return this.sum / this.count;
+            }
+            return this.lastValue;
+        }
+
+    }
+
+}
@@ -91,11 +91,20 @@
  *               by x-value (ascending) (DG);
  * 08-May-2007 : Added indexOf(TimeSeries) method (DG);
  * 18-Jan-2008 : Changed getSeries(String) to getSeries(Comparable) (DG);
+ * 18-Oct-2026 : Implemented XYLevelOfDetailInfo;
+ * 18-Oct-2026 : Implemented XYRangeInfo;
+ * 18-Oct-2026 : Implemented SnapshotDataset;
+ * 18-Oct-2026 : Read the x-values from the cached milliseconds of the series;
+ * 18-Oct-2026 : Pin snapshots for the calling thread only;
+ * 18-Oct-2026 : Restore the time zone from the working calendar after
+ *               deserialization;
  *
  */
 
 package org.afree.data.time;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -110,7 +119,12 @@ import org.afree.data.DomainOrder;
 import org.afree.data.xy.IntervalXYDataset;
 import org.afree.data.Range;
 import org.afree.data.xy.XYDataset;
+import org.afree.data.xy.XYLevelOfDetailInfo;
+import org.afree.data.xy.XYRangeInfo;
 import org.afree.data.general.DatasetChangeEvent;
+import org.afree.data.general.MinMaxPyramid;
+import org.afree.data.general.SnapshotDataset;
+import org.afree.data.general.SnapshotPins;
 import org.afree.data.xy.AbstractIntervalXYDataset;
 
 /**
@@ -118,9 +132,17 @@ import org.afree.data.xy.AbstractIntervalXYDataset;
  * {@link org.afree.data.xy.XYDataset} interface, as well as the extended
  * {@link IntervalXYDataset} interface.  This makes it a convenient dataset for
  * use with the {@link org.afree.chart.plot.XYPlot} class.
+ * <P>
+ * While a thread has a snapshot pinned (see {@link #pinSnapshot()}), that
+ * thread reads the items of each series that has snapshots enabled from the
+ * snapshot that was current when it was pinned, so a chart can be drawn
+ * while another thread adds data to the series.  Other threads (including
+ * the one that adds the data) read the live series.
  */
 public class TimeSeriesCollection extends AbstractIntervalXYDataset
-        implements XYDataset, IntervalXYDataset, DomainInfo, Serializable {
+        implements XYDataset, IntervalXYDataset, DomainInfo,
+                   XYRangeInfo, XYLevelOfDetailInfo, SnapshotDataset,
+                   Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = 834149929022371137L;
@@ -131,6 +153,12 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
     /** A working calendar (to recycle) */
     private Calendar workingCalendar;
 
+    /**
+     * The time zone of the working calendar (not serialized, so that
+     * instances saved before it was added can still be read).
+     */
+    private transient TimeZone zone;
+
     /**
      * The point within each time period that is used for the X value when this
      * collection is used as an {@link org.afree.data.xy.XYDataset}.  This can
@@ -147,6 +175,13 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
      */
     private boolean domainIsPointsInTime;
 
+    /**
+     * The snapshots pinned by each thread, indexed by series (the entries
+     * are <code>null</code> for series that do not have snapshots enabled),
+     * or <code>null</code> if no snapshot has been pinned yet.
+     */
+    private transient SnapshotPins pins;
+
     /**
      * Constructs an empty dataset, tied to the default timezone.
      */
@@ -190,6 +225,7 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
             zone = TimeZone.getDefault();
         }
         this.workingCalendar = Calendar.getInstance(zone);
+        this.zone = zone;
         this.data = new ArrayList();
         if (series != null) {
             this.data.add(series);
@@ -285,6 +321,206 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
         return (TimeSeries) this.data.get(series);
     }
 
+    /**
+     * Returns the level-of-detail index for the y-values of a series.  The
+     * index is kept up to date with the live series, which may have moved
+     * on from a pinned snapshot, so a thread with a snapshot of the series
+     * pinned does not get it and reads the pinned items instead.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The index (<code>null</code> if it is not enabled for the
+     *     series, or the calling thread has a snapshot of it pinned).
+     *
+     * @see TimeSeries#setLevelOfDetailEnabled(boolean)
+     */
+    public MinMaxPyramid getLevelOfDetail(int series) {
+        if (getPinnedItems(series) != null) {
+            return null;
+        }
+        return getSeries(series).getLevelOfDetail();
+    }
+
+    /**
+     * Pins a snapshot of every series that has snapshots enabled (see
+     * {@link TimeSeries#setSnapshotEnabled(boolean)}) for the calling
+     * thread.  Until the matching call to {@link #releaseSnapshot()} on the
+     * same thread, that thread reads the items of those series from the
+     * pinned snapshot.  Calls can be nested.
+     */
+    public synchronized void pinSnapshot() {
+        if (this.pins == null) {
+            this.pins = new SnapshotPins();
+        }
+        this.pins.pin(takeSnapshots());
+    }
+
+    /**
+     * Releases a snapshot pinned by {@link #pinSnapshot()} on the calling
+     * thread.
+     */
+    public synchronized void releaseSnapshot() {
+        if (this.pins != null) {
+            this.pins.release();
+        }
+    }
+
+    /**
+     * Re-pins the snapshots (if they are pinned) after a series has been
+     * added or removed, so that they stay aligned with the series indices.
+     */
+    private synchronized void updateSnapshots() {
+        if (this.pins != null && this.pins.isPinned()) {
+            this.pins.update(takeSnapshots());
+        }
+    }
+
+    /**
+     * Returns the current snapshot of each series.
+     *
+     * @return The snapshots (<code>null</code> if no series has snapshots
+     *     enabled).
+     */
+    private List[] takeSnapshots() {
+        List[] result = null;
+        for (int i = 0; i < this.data.size(); i++) {
+            List snapshot = ((TimeSeries) this.data.get(i)).getSnapshot();
+            if (snapshot != null) {
+                if (result == null) {
+                    result = new List[this.data.size()];
+                }
+                result[i] = snapshot;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the items of a series pinned by the calling thread.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The items ({@link TimeSeriesDataItem} instances), or
+     *     <code>null</code> if the calling thread has no snapshot of the
+     *     series pinned.
+     */
+    private List getPinnedItems(int series) {
+        SnapshotPins p = this.pins;
+        if (p == null) {
+            return null;
+        }
+        Object[] pinned = p.getSnapshots();
+        if (pinned == null || series < 0 || series >= pinned.length) {
+            return null;
+        }
+        return (List) pinned[series];
+    }
+
+    /**
+     * Returns a data item, from the pinned snapshot of the series if there
+     * is one.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The data item.
+     */
+    private TimeSeriesDataItem getDataItem(int series, int item) {
+        List items = getPinnedItems(series);
+        if (items != null) {
+            return (TimeSeriesDataItem) items.get(item);
+        }
+        TimeSeries ts = (TimeSeries) this.data.get(series);
+        return ts.getDataItem(item);
+    }
+
+    /**
+     * Returns the range of the values in the visible series, for the items
+     * with x-values inside <code>xRange</code>.  The items inside
+     * <code>xRange</code> are located with a binary search, then their bounds
+     * are found with the series' level-of-detail index in O(log n) time (if
+     * the index is enabled) or by visiting just those items.  The index is
+     * not used for a series while a snapshot of it is pinned.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series
+     *     (<code>null</code> not permitted).
+     * @param xRange  the x-range (<code>null</code> not permitted).
+     * @param includeInterval  ignored (the y-interval is always zero).
+     *
+     * @return The range (or <code>null</code> if the dataset contains no
+     *     values).
+     */
+    public Range getRangeBounds(List visibleSeriesKeys, Range xRange,
+            boolean includeInterval) {
+        if (visibleSeriesKeys == null) {
+            throw new IllegalArgumentException(
+                    "Null 'visibleSeriesKeys' argument.");
+        }
+        if (xRange == null) {
+            throw new IllegalArgumentException("Null 'xRange' argument.");
+        }
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        double[] bounds = new double[2];
+        Iterator iterator = visibleSeriesKeys.iterator();
+        while (iterator.hasNext()) {
+            Comparable seriesKey = (Comparable) iterator.next();
+            int series = indexOf(seriesKey);
+            int start = findFirstItemAtOrAbove(series, xRange.getLowerBound());
+            int end = findFirstItemAtOrAbove(series, Math.nextUp(
+                    xRange.getUpperBound())) - 1;
+            if (start > end) {
+                continue;
+            }
+            MinMaxPyramid index = getLevelOfDetail(series);
+            if (index != null) {
+                index.findBounds(start, end, bounds);
+                if (!Double.isNaN(bounds[0])) {
+                    lower = Math.min(lower, bounds[0]);
+                    upper = Math.max(upper, bounds[1]);
+                }
+            }
+            else {
+                for (int item = start; item <= end; item++) {
+                    double y = getYValue(series, item);
+                    if (!Double.isNaN(y)) {
+                        lower = Math.min(lower, y);
+                        upper = Math.max(upper, y);
+                    }
+                }
+            }
+        }
+        if (lower > upper) {
+            return null;
+        }
+        return new Range(lower, upper);
+    }
+
+    /**
+     * Returns the index of the first item in a series with an x-value
+     * greater than or equal to <code>x</code>.
+     *
+     * @param series  the series index (zero-based).
+     * @param x  the x-value.
+     *
+     * @return The item index (equal to the item count if every x-value is
+     *     less than <code>x</code>).
+     */
+    private int findFirstItemAtOrAbove(int series, double x) {
+        int low = 0;
+        int high = getItemCount(series);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getXValue(series, mid) < x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     /**
      * Returns the series with the specified key, or <code>null</code> if
      * there is no such series.
@@ -331,6 +567,7 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
         }
         this.data.add(series);
         series.addChangeListener(this);
+        updateSnapshots();
         fireDatasetChanged();
     }
 
@@ -346,6 +583,7 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
         }
         this.data.remove(series);
         series.removeChangeListener(this);
+        updateSnapshots();
         fireDatasetChanged();
     }
 
@@ -376,6 +614,7 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
 
         // remove all the series from the collection and notify listeners.
         this.data.clear();
+        updateSnapshots();
         fireDatasetChanged();
 
     }
@@ -389,11 +628,19 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
      * @return The item count.
      */
     public int getItemCount(int series) {
+        List items = getPinnedItems(series);
+        if (items != null) {
+            return items.size();
+        }
         return getSeries(series).getItemCount();
     }
 
     /**
      * Returns the x-value (as a double primitive) for an item within a series.
+     * Unless a snapshot of the series is pinned, the value is read from the
+     * milliseconds cached by the series (see
+     * {@link TimeSeries#getMillisecond(int, TimePeriodAnchor, TimeZone)}),
+     * without any calendar arithmetic once the cache is filled.
      *
      * @param series  the series (zero-based index).
      * @param item  the item (zero-based index).
@@ -401,8 +648,11 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
      * @return The x-value.
      */
     public double getXValue(int series, int item) {
-        TimeSeries s = (TimeSeries) this.data.get(series);
-        TimeSeriesDataItem i = s.getDataItem(item);
+        if (getPinnedItems(series) == null) {
+            return getSeries(series).getMillisecond(item, this.xPosition,
+                    this.zone);
+        }
+        TimeSeriesDataItem i = getDataItem(series, item);
         RegularTimePeriod period = i.getPeriod();
         return getX(period);
     }
@@ -416,10 +666,7 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
      * @return The value.
      */
     public Number getX(int series, int item) {
-        TimeSeries ts = (TimeSeries) this.data.get(series);
-        TimeSeriesDataItem dp = ts.getDataItem(item);
-        RegularTimePeriod period = dp.getPeriod();
-        return new Long(getX(period));
+        return new Long((long) getXValue(series, item));
     }
 
     /**
@@ -451,11 +698,16 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
      *
      * @return The value.
      */
-    public synchronized Number getStartX(int series, int item) {
-        TimeSeries ts = (TimeSeries) this.data.get(series);
-        TimeSeriesDataItem dp = ts.getDataItem(item);
-        return new Long(dp.getPeriod().getFirstMillisecond(
-                this.workingCalendar));
+    public Number getStartX(int series, int item) {
+        if (getPinnedItems(series) == null) {
+            return new Long(getSeries(series).getMillisecond(item,
+                    TimePeriodAnchor.START, this.zone));
+        }
+        TimeSeriesDataItem dp = getDataItem(series, item);
+        synchronized (this) {
+            return new Long(dp.getPeriod().getFirstMillisecond(
+                    this.workingCalendar));
+        }
     }
 
     /**
@@ -466,11 +718,16 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
      *
      * @return The value.
      */
-    public synchronized Number getEndX(int series, int item) {
-        TimeSeries ts = (TimeSeries) this.data.get(series);
-        TimeSeriesDataItem dp = ts.getDataItem(item);
-        return new Long(dp.getPeriod().getLastMillisecond(
-                this.workingCalendar));
+    public Number getEndX(int series, int item) {
+        if (getPinnedItems(series) == null) {
+            return new Long(getSeries(series).getMillisecond(item,
+                    TimePeriodAnchor.END, this.zone));
+        }
+        TimeSeriesDataItem dp = getDataItem(series, item);
+        synchronized (this) {
+            return new Long(dp.getPeriod().getLastMillisecond(
+                    this.workingCalendar));
+        }
     }
 
     /**
@@ -482,8 +739,7 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
      * @return The value (possibly <code>null</code>).
      */
     public Number getY(int series, int item) {
-        TimeSeries ts = (TimeSeries) this.data.get(series);
-        TimeSeriesDataItem dp = ts.getDataItem(item);
+        TimeSeriesDataItem dp = getDataItem(series, item);
         return dp.getValue();
     }
 
@@ -583,13 +839,12 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
      */
     public Range getDomainBounds(boolean includeInterval) {
         Range result = null;
-        Iterator iterator = this.data.iterator();
-        while (iterator.hasNext()) {
-            TimeSeries series = (TimeSeries) iterator.next();
-            int count = series.getItemCount();
+        for (int series = 0; series < this.data.size(); series++) {
+            int count = getItemCount(series);
             if (count > 0) {
-                RegularTimePeriod start = series.getTimePeriod(0);
-                RegularTimePeriod end = series.getTimePeriod(count - 1);
+                RegularTimePeriod start = getDataItem(series, 0).getPeriod();
+                RegularTimePeriod end = getDataItem(series,
+                        count - 1).getPeriod();
                 Range temp;
                 if (!includeInterval) {
                     temp = new Range(getX(start), getX(end));
@@ -648,4 +903,18 @@ public class TimeSeriesCollection extends AbstractIntervalXYDataset
         return result;
     }
 
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.zone = this.workingCalendar.getTimeZone();
+    }
+
 }
@@ -81,6 +81,7 @@
  *               instances (DG);
  * 19-Dec-2007 : Fixed bug in deprecated constructor (DG);
  * 16-Sep-2008 : Deprecated DEFAULT_TIME_ZONE (DG);
+ * 18-Oct-2026 : Peg with a per-thread calendar instead of a new one;
  *
  */
 
@@ -146,7 +147,7 @@ public class Week extends RegularTimePeriod implements Serializable {
         }
         this.week = (byte) week;
         this.year = (short) year;
-        peg(Calendar.getInstance());
+        peg(CalendarArithmetic.getDefaultCalendar());
     }
 
     /**
@@ -162,7 +163,7 @@ public class Week extends RegularTimePeriod implements Serializable {
         }
         this.week = (byte) week;
         this.year = (short) year.getYear();
-        peg(Calendar.getInstance());
+        peg(CalendarArithmetic.getDefaultCalendar());
    }
 
     /**
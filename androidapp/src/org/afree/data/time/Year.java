@@ -70,6 +70,7 @@
  * 16-Sep-2008 : Extended range of valid years, and deprecated
  *               DEFAULT_TIME_ZONE (DG);
  * 25-Nov-2008 : Added new constructor with Locale (DG);
+ * 18-Oct-2026 : Use CalendarArithmetic instead of a Calendar where possible;
  *
  */
 
@@ -132,7 +133,7 @@ public class Year extends RegularTimePeriod implements Serializable {
                 "Year constructor: year (" + year + ") outside valid range.");
         }
         this.year = (short) year;
-        peg(Calendar.getInstance());
+        peg(CalendarArithmetic.getDefaultCalendar());
     }
 
     /**
@@ -171,9 +172,9 @@ public class Year extends RegularTimePeriod implements Serializable {
      * @since JFreeChart 1.0.12
      */
     public Year(Date time, TimeZone zone, Locale locale) {
-        Calendar calendar = Calendar.getInstance(zone, locale);
-        calendar.setTime(time);
-        this.year = (short) calendar.get(Calendar.YEAR);
+        Calendar calendar = CalendarArithmetic.getCalendar(zone, locale);
+        int[] fields = CalendarArithmetic.getFields(calendar, time);
+        this.year = (short) fields[0];
         peg(calendar);
     }
 
@@ -280,6 +281,11 @@ public class Year extends RegularTimePeriod implements Serializable {
      *     <code>null</code>.
      */
     public long getFirstMillisecond(Calendar calendar) {
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                this.year, 1, 1, 0, 0, 0, 0);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.set(this.year, Calendar.JANUARY, 1, 0, 0, 0);
         calendar.set(Calendar.MILLISECOND, 0);
         // in the following line, we'd rather call calendar.getTimeInMillis()
@@ -299,6 +305,11 @@ public class Year extends RegularTimePeriod implements Serializable {
      *     <code>null</code>.
      */
     public long getLastMillisecond(Calendar calendar) {
+        long millis = CalendarArithmetic.getMillisecond(calendar,
+                this.year, 12, 31, 23, 59, 59, 999);
+        if (millis != CalendarArithmetic.UNKNOWN) {
+            return millis;
+        }
         calendar.set(this.year, Calendar.DECEMBER, 31, 23, 59, 59);
         calendar.set(Calendar.MILLISECOND, 999);
         // in the following line, we'd rather call calendar.getTimeInMillis()
@@ -0,0 +1,1470 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ----------------------
+ * PrimitiveXYSeries.java
+ * ----------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.xy;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.SeriesChangeEvent;
+import org.afree.data.general.SeriesException;
+
+/**
+ * An {@link XYSeries} that stores its x and y values in growable
+ * <code>double[]</code> columns instead of a list of {@link XYDataItem}
+ * objects.  This avoids one object (plus two boxed numbers) per data item,
+ * which matters for series with hundreds of thousands of points.
+ * <P>
+ * The columns are used as a circular buffer, so removing the first item is
+ * a constant time operation.  When a maximum item count is set (see
+ * {@link #setMaximumItemCount(int)}) the series behaves as a rolling window:
+ * appending an item and evicting the oldest one are both O(1), and the
+ * cached bounds are maintained in amortized O(1) with monotonic deques
+ * instead of rescanning the remaining items.
+ * <P>
+ * The series supports the same <code>autoSort</code> and
+ * <code>allowDuplicateXValues</code> semantics as {@link XYSeries}.  There
+ * are two differences to be aware of:
+ * <ul>
+ * <li><code>null</code> y-values are stored as <code>Double.NaN</code>, so
+ * {@link #getY(int)} never returns <code>null</code>;</li>
+ * <li>{@link #getDataItem(int)} and {@link #getItems()} return copies of the
+ * data, so modifying a returned {@link XYDataItem} does not change the
+ * series.</li>
+ * </ul>
+ */
+public class PrimitiveXYSeries extends XYSeries implements Cloneable,
+        Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 3245318729457830717L;
+
+    /** The initial capacity of the value arrays. */
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /** Storage for the x-values (a circular buffer). */
+    private double[] xValues;
+
+    /** Storage for the y-values (<code>null</code> stored as NaN). */
+    private double[] yValues;
+
+    /** The capacity of the value arrays minus one (always 2^n - 1). */
+    private int mask;
+
+    /** The position of the first item in the value arrays. */
+    private int head;
+
+    /** The number of items in the series. */
+    private int count;
+
+    /**
+     * The sequence number of the first item.  Sequence numbers identify
+     * items in the rolling window deques and increase by one for each item
+     * evicted from the front of the series.
+     */
+    private long firstSequence;
+
+    /** Rolling window minimum x-values (<code>null</code> if not used). */
+    private MonotonicDeque minXDeque;
+
+    /** Rolling window maximum x-values (<code>null</code> if not used). */
+    private MonotonicDeque maxXDeque;
+
+    /** Rolling window minimum y-values (<code>null</code> if not used). */
+    private MonotonicDeque minYDeque;
+
+    /** Rolling window maximum y-values (<code>null</code> if not used). */
+    private MonotonicDeque maxYDeque;
+
+    /** The lowest x-value in the series, excluding Double.NaN values. */
+    private double minX;
+
+    /** The highest x-value in the series, excluding Double.NaN values. */
+    private double maxX;
+
+    /** The lowest y-value in the series, excluding Double.NaN values. */
+    private double minY;
+
+    /** The highest y-value in the series, excluding Double.NaN values. */
+    private double maxY;
+
+    /**
+     * Creates a new empty series.  By default, items added to the series will
+     * be sorted into ascending order by x-value, and duplicate x-values will
+     * be allowed.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     */
+    public PrimitiveXYSeries(Comparable key) {
+        this(key, true, true);
+    }
+
+    /**
+     * Constructs a new empty series, with the auto-sort flag set as requested,
+     * and duplicate values allowed.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     */
+    public PrimitiveXYSeries(Comparable key, boolean autoSort) {
+        this(key, autoSort, true);
+    }
+
+    /**
+     * Constructs a new series that contains no data.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     * @param allowDuplicateXValues  a flag that controls whether duplicate
+     *                               x-values are allowed.
+     */
+    public PrimitiveXYSeries(Comparable key, boolean autoSort,
+            boolean allowDuplicateXValues) {
+        this(key, autoSort, allowDuplicateXValues, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new series that contains no data, with storage
+     * preallocated for the specified number of items.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     * @param allowDuplicateXValues  a flag that controls whether duplicate
+     *                               x-values are allowed.
+     * @param initialCapacity  the initial capacity (must be positive).
+     */
+    public PrimitiveXYSeries(Comparable key, boolean autoSort,
+            boolean allowDuplicateXValues, int initialCapacity) {
+        super(key, autoSort, allowDuplicateXValues);
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException(
+                    "Requires 'initialCapacity' > 0.");
+        }
+        int capacity = powerOfTwoCapacity(initialCapacity);
+        this.xValues = new double[capacity];
+        this.yValues = new double[capacity];
+        this.mask = capacity - 1;
+        this.head = 0;
+        this.count = 0;
+        this.firstSequence = 0L;
+        this.minX = Double.NaN;
+        this.maxX = Double.NaN;
+        this.minY = Double.NaN;
+        this.maxY = Double.NaN;
+    }
+
+    /**
+     * Creates a new rolling window series, sorted by x-value with duplicate
+     * x-values permitted, that retains at most <code>maximumItemCount</code>
+     * items.  Storage for the whole window is allocated up front.
+     *
+     * @param key  the series key (<code>null</code> not permitted).
+     * @param maximumItemCount  the maximum number of items (must be
+     *     positive).
+     *
+     * @return The series.
+     */
+    public static PrimitiveXYSeries createRollingSeries(Comparable key,
+            int maximumItemCount) {
+        if (maximumItemCount <= 0) {
+            throw new IllegalArgumentException(
+                    "Requires 'maximumItemCount' > 0.");
+        }
+        PrimitiveXYSeries series = new PrimitiveXYSeries(key, true, true,
+                maximumItemCount + 1);
+        series.setMaximumItemCount(maximumItemCount);
+        return series;
+    }
+
+    /**
+     * Returns the smallest x-value in the series, ignoring any Double.NaN
+     * values.
+     *
+     * @return The smallest x-value.
+     */
+    public double getMinX() {
+        return this.minX;
+    }
+
+    /**
+     * Returns the largest x-value in the series, ignoring any Double.NaN
+     * values.
+     *
+     * @return The largest x-value.
+     */
+    public double getMaxX() {
+        return this.maxX;
+    }
+
+    /**
+     * Returns the smallest y-value in the series, ignoring any Double.NaN
+     * values.
+     *
+     * @return The smallest y-value.
+     */
+    public double getMinY() {
+        return this.minY;
+    }
+
+    /**
+     * Returns the largest y-value in the series, ignoring any Double.NaN
+     * values.
+     *
+     * @return The largest y-value.
+     */
+    public double getMaxY() {
+        return this.maxY;
+    }
+
+    /**
+     * Returns the number of items in the series.
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns an unmodifiable view of the data items in the series.  Each
+     * call to <code>get()</code> on the returned list creates a new
+     * {@link XYDataItem}.
+     *
+     * @return The list of data items.
+     */
+    public List getItems() {
+        return Collections.unmodifiableList(new AbstractList() {
+            public Object get(int index) {
+                return getDataItem(index);
+            }
+            public int size() {
+                return getItemCount();
+            }
+        });
+    }
+
+    /**
+     * Sets the maximum number of items that will be retained in the series.
+     * If the series currently holds more items, the oldest (lowest index)
+     * items are removed and a {@link SeriesChangeEvent} is sent to all
+     * registered listeners.
+     * <P>
+     * Any value other than <code>Integer.MAX_VALUE</code> switches the series
+     * into rolling window mode, where the bounds are tracked with monotonic
+     * deques so that evicting the oldest item never requires a rescan.
+     *
+     * @param maximum  the maximum number of items for the series.
+     */
+    public void setMaximumItemCount(int maximum) {
+        super.setMaximumItemCount(maximum);
+        if (maximum == Integer.MAX_VALUE) {
+            this.minXDeque = null;
+            this.maxXDeque = null;
+            this.minYDeque = null;
+            this.maxYDeque = null;
+        }
+        else if (this.minYDeque == null) {
+            if (!getAutoSort()) {
+                this.minXDeque = new MonotonicDeque(true);
+                this.maxXDeque = new MonotonicDeque(false);
+            }
+            this.minYDeque = new MonotonicDeque(true);
+            this.maxYDeque = new MonotonicDeque(false);
+        }
+        int remove = this.count - maximum;
+        if (remove > 0) {
+            removeRange(0, remove);
+        }
+        findBoundsByIteration();
+        if (remove > 0) {
+            fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the series is in rolling window mode (that
+     * is, a maximum item count has been set), and <code>false</code>
+     * otherwise.
+     *
+     * @return A boolean.
+     */
+    public boolean isRolling() {
+        return this.minYDeque != null;
+    }
+
+    /**
+     * Does nothing, because the values of this series are held in arrays
+     * that are modified in place, so no snapshot of them can be published.
+     * {@link #isSnapshotEnabled()} always returns <code>false</code>, and a
+     * collection reads the series directly even while a snapshot is pinned,
+     * so the series should only be modified on the thread that draws the
+     * chart.
+     *
+     * @param enabled  the new flag value (ignored).
+     */
+    public void setSnapshotEnabled(boolean enabled) {
+        // snapshots are not supported, see above
+    }
+
+    /**
+     * Adds a data item to the series and, if requested, sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param item  the (x, y) item (<code>null</code> not permitted).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     */
+    public void add(XYDataItem item, boolean notify) {
+        if (item == null) {
+            throw new IllegalArgumentException("Null 'item' argument.");
+        }
+        add(item.getXValue(), item.getYValue(), notify);
+    }
+
+    /**
+     * Adds new data to the series and, if requested, sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-value (<code>null</code> not permitted).
+     * @param y  the y-value (<code>null</code> permitted).
+     * @param notify  a flag the controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     */
+    public void add(Number x, Number y, boolean notify) {
+        if (x == null) {
+            throw new IllegalArgumentException("Null 'x' argument.");
+        }
+        add(x.doubleValue(), toDouble(y), notify);
+    }
+
+    /**
+     * Adds a data item to the series and, if requested, sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x value.
+     * @param y  the y value (<code>null</code> permitted).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     */
+    public void add(double x, Number y, boolean notify) {
+        add(x, toDouble(y), notify);
+    }
+
+    /**
+     * Adds a data item to the series (in the correct position if the
+     * <code>autoSort</code> flag is set for the series) and, if requested,
+     * sends a {@link SeriesChangeEvent} to all registered listeners.  Adding
+     * an item with an x-value greater than or equal to the last x-value in a
+     * sorted series (or any item to an unsorted series that permits
+     * duplicates) is an amortized constant time operation, including the
+     * eviction of the oldest item when the maximum item count is exceeded.
+     *
+     * @param x  the x value.
+     * @param y  the y value.
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     *
+     * @throws SeriesException if the x-value is a duplicate and the
+     *     <code>allowDuplicateXValues</code> flag is not set for this series.
+     */
+    public void add(double x, double y, boolean notify) {
+        int index;
+        if (getAutoSort()) {
+            if (this.count == 0 || x > getXValueAt(this.count - 1)) {
+                index = this.count;
+            }
+            else {
+                index = binarySearch(x);
+                if (index >= 0) {
+                    if (!getAllowDuplicateXValues()) {
+                        throw new SeriesException("X-value already exists.");
+                    }
+                    // need to make sure we are adding *after* any duplicates
+                    while (index < this.count && getXValueAt(index) == x) {
+                        index++;
+                    }
+                }
+                else {
+                    index = -index - 1;
+                }
+            }
+        }
+        else {
+            if (!getAllowDuplicateXValues() && indexOf(x) >= 0) {
+                throw new SeriesException("X-value already exists.");
+            }
+            index = this.count;
+        }
+        if (index == this.count) {
+            append(x, y);
+        }
+        else {
+            insert(index, x, y);
+        }
+        boolean trimmed = false;
+        if (this.count > getMaximumItemCount()) {
+            removeFirst();
+            trimmed = true;
+        }
+        itemsAdded(index, trimmed ? 1 : 0);
+        if (notify) {
+            fireSeriesChangedForAdd(index, index, trimmed);
+        }
+    }
+
+    /**
+     * Adds a batch of data items to the series and, if requested, sends a
+     * single {@link SeriesChangeEvent} to all registered listeners.  A batch
+     * that lies entirely after the last item of a sorted series is appended
+     * directly (evicting the oldest items as it goes in rolling window mode),
+     * any other batch is merged into the value arrays in a single pass.
+     *
+     * @param xs  the x-values (<code>null</code> not permitted).
+     * @param ys  the y-values (<code>null</code> not permitted, must have the
+     *            same length as <code>xs</code>).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     *
+     * @throws SeriesException if the batch contains an x-value that is a
+     *     duplicate and the <code>allowDuplicateXValues</code> flag is not
+     *     set for this series.
+     */
+    public void addAll(double[] xs, double[] ys, boolean notify) {
+        if (xs == null) {
+            throw new IllegalArgumentException("Null 'xs' argument.");
+        }
+        if (ys == null) {
+            throw new IllegalArgumentException("Null 'ys' argument.");
+        }
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException(
+                    "The 'xs' and 'ys' arrays must have the same length.");
+        }
+        int n = xs.length;
+        if (n == 0) {
+            return;
+        }
+        int first;
+        if (getAutoSort()) {
+            final double[] bx = new double[n];
+            final double[] by = new double[n];
+            sortBatch(xs, ys, bx, by);
+            first = insertionPoint(bx[0]);
+            if (!getAllowDuplicateXValues()) {
+                checkNoDuplicates(bx, first);
+            }
+            xs = bx;
+            ys = by;
+        }
+        else {
+            if (!getAllowDuplicateXValues()) {
+                Set seen = new HashSet();
+                for (int i = 0; i < this.count; i++) {
+                    seen.add(new Double(getXValueAt(i)));
+                }
+                for (int i = 0; i < n; i++) {
+                    if (!seen.add(new Double(xs[i]))) {
+                        throw new SeriesException("X-value already exists.");
+                    }
+                }
+            }
+            first = this.count;
+        }
+        int oldCount = this.count;
+        int removed = 0;
+        int maximum = getMaximumItemCount();
+        if (first == this.count) {
+            for (int i = 0; i < n; i++) {
+                append(xs[i], ys[i]);
+                if (this.count > maximum) {
+                    removeFirst();
+                    removed++;
+                }
+            }
+        }
+        else {
+            merge(first, xs, ys);
+            if (this.count > maximum) {
+                removed = this.count - maximum;
+                removeRange(0, removed);
+            }
+            findBoundsByIteration();
+        }
+        itemsAdded(first, removed);
+        if (notify) {
+            fireSeriesChangedForAdd(first, oldCount + n - 1, removed > 0);
+        }
+    }
+
+    /**
+     * Deletes a range of items from the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param start  the start index (zero-based).
+     * @param end  the end index (zero-based).
+     */
+    public void delete(int start, int end) {
+        checkIndex(start);
+        checkIndex(end);
+        if (end < start) {
+            throw new IllegalArgumentException("Requires start <= end.");
+        }
+        removeRange(start, end + 1);
+        findBoundsByIteration();
+        fireSeriesChanged(DatasetChangeType.REMOVE, start, end);
+    }
+
+    /**
+     * Removes the item at the specified index and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param index  the index.
+     *
+     * @return A copy of the item removed.
+     */
+    public XYDataItem remove(int index) {
+        XYDataItem removed = getDataItem(index);
+        if (index == 0) {
+            removeFirst();
+        }
+        else {
+            removeRange(index, index + 1);
+            if (isRolling()) {
+                findBoundsByIteration();
+            }
+            else {
+                updateBoundsForRemovedItem(removed.getXValue(),
+                        removed.getYValue());
+            }
+        }
+        fireSeriesChanged(DatasetChangeType.REMOVE, index, index);
+        return removed;
+    }
+
+    /**
+     * Removes all data items from the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     */
+    public void clear() {
+        if (this.count > 0) {
+            int removed = this.count;
+            this.firstSequence += this.count;
+            this.head = 0;
+            this.count = 0;
+            findBoundsByIteration();
+            fireSeriesChanged(DatasetChangeType.REMOVE, 0, removed - 1);
+        }
+    }
+
+    /**
+     * Returns a new data item holding the values at the specified index.
+     *
+     * @param index  the index.
+     *
+     * @return The data item with the specified index.
+     */
+    public XYDataItem getDataItem(int index) {
+        checkIndex(index);
+        return new XYDataItem(getXValueAt(index), getYValueAt(index));
+    }
+
+    /**
+     * Returns the x-value at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The x-value (never <code>null</code>).
+     */
+    public Number getX(int index) {
+        return new Double(getXValue(index));
+    }
+
+    /**
+     * Returns the y-value at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The y-value (never <code>null</code>, missing values are
+     *     returned as <code>Double.NaN</code>).
+     */
+    public Number getY(int index) {
+        return new Double(getYValue(index));
+    }
+
+    /**
+     * Returns the x-value at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getXValue(int index) {
+        checkIndex(index);
+        return getXValueAt(index);
+    }
+
+    /**
+     * Returns the y-value at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The y-value.
+     */
+    public double getYValue(int index) {
+        checkIndex(index);
+        return getYValueAt(index);
+    }
+
+    /**
+     * Updates the value of an item in the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param index  the item (zero based index).
+     * @param y  the new value (<code>null</code> permitted).
+     */
+    public void update(int index, Number y) {
+        checkIndex(index);
+        updateValue(index, toDouble(y));
+        fireSeriesChanged(DatasetChangeType.UPDATE, index, index);
+    }
+
+    /**
+     * Adds or updates an item in the series and sends a
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-value (<code>null</code> not permitted).
+     * @param y  the y-value (<code>null</code> permitted).
+     *
+     * @return A copy of the overwritten data item, or <code>null</code> if no
+     *         item was overwritten.
+     */
+    public XYDataItem addOrUpdate(Number x, Number y) {
+        if (x == null) {
+            throw new IllegalArgumentException("Null 'x' argument.");
+        }
+        if (getAllowDuplicateXValues()) {
+            add(x, y);
+            return null;
+        }
+        double xx = x.doubleValue();
+        int index = indexOf(xx);
+        if (index >= 0) {
+            XYDataItem overwritten = getDataItem(index);
+            updateValue(index, toDouble(y));
+            fireSeriesChanged(DatasetChangeType.UPDATE, index, index);
+            return overwritten;
+        }
+        add(xx, toDouble(y), true);
+        return null;
+    }
+
+    /**
+     * Returns the index of the item with the specified x-value, or a negative
+     * index if the series does not contain an item with that x-value.
+     *
+     * @param x  the x-value (<code>null</code> not permitted).
+     *
+     * @return The index.
+     */
+    public int indexOf(Number x) {
+        if (x == null) {
+            throw new IllegalArgumentException("Null 'x' argument.");
+        }
+        return indexOf(x.doubleValue());
+    }
+
+    /**
+     * Returns the index of the item with the specified x-value, or a negative
+     * index if the series does not contain an item with that x-value.  For a
+     * sorted series the negative value encodes the insertion point, in the
+     * same way as <code>Arrays.binarySearch()</code>.
+     *
+     * @param x  the x-value.
+     *
+     * @return The index.
+     */
+    public int indexOf(double x) {
+        if (getAutoSort()) {
+            return binarySearch(x);
+        }
+        for (int i = 0; i < this.count; i++) {
+            if (getXValueAt(i) == x) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a new array containing the x and y values from this series.
+     *
+     * @return A new array containing the x and y values from this series.
+     */
+    public double[][] toArray() {
+        double[][] result = new double[2][this.count];
+        copyOut(this.xValues, 0, result[0], 0, this.count);
+        copyOut(this.yValues, 0, result[1], 0, this.count);
+        return result;
+    }
+
+    /**
+     * Creates a new series by copying a subset of the data in this series.
+     *
+     * @param start  the index of the first item to copy.
+     * @param end  the index of the last item to copy.
+     *
+     * @return A series containing a copy of this series from start until end.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    public XYSeries createCopy(int start, int end)
+            throws CloneNotSupportedException {
+        PrimitiveXYSeries copy = (PrimitiveXYSeries) super.clone();
+        int n = (this.count > 0 ? end - start + 1 : 0);
+        int capacity = powerOfTwoCapacity(Math.max(n,
+                DEFAULT_INITIAL_CAPACITY));
+        copy.xValues = new double[capacity];
+        copy.yValues = new double[capacity];
+        copy.mask = capacity - 1;
+        copy.head = 0;
+        if (n > 0) {
+            copyOut(this.xValues, start, copy.xValues, 0, n);
+            copyOut(this.yValues, start, copy.yValues, 0, n);
+        }
+        copy.count = n;
+        copy.firstSequence = 0L;
+        copy.copyDeques();
+        copy.findBoundsByIteration();
+        return copy;
+    }
+
+    /**
+     * Returns a clone of the series.  The value arrays are copied, so the
+     * clone is independent of this series.
+     *
+     * @return A clone of the series.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        PrimitiveXYSeries clone = (PrimitiveXYSeries) super.clone();
+        clone.xValues = (double[]) this.xValues.clone();
+        clone.yValues = (double[]) this.yValues.clone();
+        clone.copyDeques();
+        return clone;
+    }
+
+    /**
+     * Replaces the deque references (shared after a shallow clone) with
+     * copies.
+     */
+    private void copyDeques() {
+        if (this.minXDeque != null) {
+            this.minXDeque = new MonotonicDeque(this.minXDeque);
+            this.maxXDeque = new MonotonicDeque(this.maxXDeque);
+        }
+        if (this.minYDeque != null) {
+            this.minYDeque = new MonotonicDeque(this.minYDeque);
+            this.maxYDeque = new MonotonicDeque(this.maxYDeque);
+        }
+    }
+
+    /**
+     * Converts a y-value to a double primitive.
+     *
+     * @param y  the value (<code>null</code> permitted).
+     *
+     * @return The value, or <code>Double.NaN</code> for <code>null</code>.
+     */
+    private static double toDouble(Number y) {
+        return (y != null ? y.doubleValue() : Double.NaN);
+    }
+
+    /**
+     * Returns the smallest power of two that is greater than or equal to the
+     * specified capacity.
+     *
+     * @param capacity  the capacity (positive).
+     *
+     * @return The power of two.
+     */
+    private static int powerOfTwoCapacity(int capacity) {
+        int result = Integer.highestOneBit(capacity);
+        if (result < capacity) {
+            result <<= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Checks that an index is within the bounds of the series.
+     *
+     * @param index  the index.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.count);
+        }
+    }
+
+    /**
+     * Returns the x-value at a (valid) index without range checking.
+     *
+     * @param index  the index.
+     *
+     * @return The x-value.
+     */
+    private double getXValueAt(int index) {
+        return this.xValues[(this.head + index) & this.mask];
+    }
+
+    /**
+     * Returns the y-value at a (valid) index without range checking.
+     *
+     * @param index  the index.
+     *
+     * @return The y-value.
+     */
+    private double getYValueAt(int index) {
+        return this.yValues[(this.head + index) & this.mask];
+    }
+
+    /**
+     * Copies a range of items from a circular value array into a linear
+     * array.
+     *
+     * @param src  the circular source array.
+     * @param start  the index (relative to the first item) to copy from.
+     * @param dest  the destination array.
+     * @param destPos  the position in the destination array.
+     * @param length  the number of values to copy.
+     */
+    private void copyOut(double[] src, int start, double[] dest, int destPos,
+            int length) {
+        int from = (this.head + start) & this.mask;
+        int first = Math.min(length, src.length - from);
+        System.arraycopy(src, from, dest, destPos, first);
+        if (first < length) {
+            System.arraycopy(src, 0, dest, destPos + first, length - first);
+        }
+    }
+
+    /**
+     * Performs a binary search for the specified x-value over a sorted
+     * series.
+     *
+     * @param x  the x-value.
+     *
+     * @return The index of an item with the x-value, or
+     *     <code>-(insertion point) - 1</code>.
+     */
+    private int binarySearch(double x) {
+        int low = 0;
+        int high = this.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            double midX = getXValueAt(mid);
+            if (midX < x) {
+                low = mid + 1;
+            }
+            else if (midX > x) {
+                high = mid - 1;
+            }
+            else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Copies a batch of value pairs into the destination arrays in ascending
+     * order of x-value.  Pairs with equal x-values keep their relative order,
+     * and a batch that is already sorted is copied without sorting.
+     *
+     * @param xs  the batch x-values.
+     * @param ys  the batch y-values.
+     * @param bx  the array for the sorted x-values.
+     * @param by  the array for the sorted y-values.
+     */
+    private static void sortBatch(final double[] xs, double[] ys,
+            double[] bx, double[] by) {
+        int n = xs.length;
+        boolean sorted = true;
+        for (int i = 1; i < n && sorted; i++) {
+            sorted = !(xs[i] < xs[i - 1]);
+        }
+        if (sorted) {
+            System.arraycopy(xs, 0, bx, 0, n);
+            System.arraycopy(ys, 0, by, 0, n);
+            return;
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = new Integer(i);
+        }
+        // Arrays.sort() on objects is stable
+        Arrays.sort(order, new Comparator() {
+            public int compare(Object o1, Object o2) {
+                double x1 = xs[((Integer) o1).intValue()];
+                double x2 = xs[((Integer) o2).intValue()];
+                return x1 < x2 ? -1 : (x1 > x2 ? 1 : 0);
+            }
+        });
+        for (int i = 0; i < n; i++) {
+            int index = order[i].intValue();
+            bx[i] = xs[index];
+            by[i] = ys[index];
+        }
+    }
+
+    /**
+     * Returns the index at which an item with the specified x-value would be
+     * inserted into this (sorted) series, after any existing items with the
+     * same x-value.
+     *
+     * @param x  the x-value.
+     *
+     * @return The insertion index.
+     */
+    private int insertionPoint(double x) {
+        if (this.count == 0 || x > getXValueAt(this.count - 1)) {
+            return this.count;
+        }
+        int index = binarySearch(x);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index < this.count && getXValueAt(index) == x) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Throws an exception if the sorted batch contains an x-value that
+     * appears twice in the batch or already exists in this (sorted) series.
+     *
+     * @param bx  the sorted batch x-values.
+     * @param first  the insertion point of the first batch item.
+     */
+    private void checkNoDuplicates(double[] bx, int first) {
+        int k = Math.max(first - 1, 0);
+        for (int j = 0; j < bx.length; j++) {
+            if (j > 0 && bx[j] == bx[j - 1]) {
+                throw new SeriesException("X-value already exists.");
+            }
+            while (k < this.count && getXValueAt(k) < bx[j]) {
+                k++;
+            }
+            if (k < this.count && getXValueAt(k) == bx[j]) {
+                throw new SeriesException("X-value already exists.");
+            }
+        }
+    }
+
+    /**
+     * Merges a sorted batch into this (sorted) series, working back from the
+     * end so that each existing item after the insertion point moves once.
+     * The cached bounds are not updated.
+     *
+     * @param first  the insertion point of the first batch item.
+     * @param bx  the sorted batch x-values.
+     * @param by  the batch y-values.
+     */
+    private void merge(int first, double[] bx, double[] by) {
+        ensureCapacity(this.count + bx.length);
+        int k = this.count - 1;
+        int j = bx.length - 1;
+        int w = this.count + bx.length - 1;
+        while (j >= 0) {
+            int to = (this.head + w--) & this.mask;
+            if (k >= first && getXValueAt(k) > bx[j]) {
+                int from = (this.head + k--) & this.mask;
+                this.xValues[to] = this.xValues[from];
+                this.yValues[to] = this.yValues[from];
+            }
+            else {
+                this.xValues[to] = bx[j];
+                this.yValues[to] = by[j--];
+            }
+        }
+        this.count += bx.length;
+    }
+
+    /**
+     * Appends a value pair to the end of the series, growing the arrays if
+     * necessary, and updates the cached bounds.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    private void append(double x, double y) {
+        ensureCapacity(this.count + 1);
+        int slot = (this.head + this.count) & this.mask;
+        this.xValues[slot] = x;
+        this.yValues[slot] = y;
+        long sequence = this.firstSequence + this.count;
+        this.count++;
+        if (isRolling()) {
+            if (this.minXDeque != null) {
+                this.minXDeque.add(sequence, x);
+                this.maxXDeque.add(sequence, x);
+            }
+            this.minYDeque.add(sequence, y);
+            this.maxYDeque.add(sequence, y);
+            updateBoundsFromDeques();
+        }
+        else {
+            updateBoundsForAddedItem(x, y);
+        }
+    }
+
+    /**
+     * Inserts a value pair before the end of the series, shifting the
+     * following items along, and updates the cached bounds.
+     *
+     * @param index  the index (in the range 0 to count - 1).
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    private void insert(int index, double x, double y) {
+        ensureCapacity(this.count + 1);
+        for (int i = this.count; i > index; i--) {
+            int to = (this.head + i) & this.mask;
+            int from = (this.head + i - 1) & this.mask;
+            this.xValues[to] = this.xValues[from];
+            this.yValues[to] = this.yValues[from];
+        }
+        int slot = (this.head + index) & this.mask;
+        this.xValues[slot] = x;
+        this.yValues[slot] = y;
+        this.count++;
+        if (isRolling()) {
+            // the sequence numbers of the shifted items have changed...
+            findBoundsByIteration();
+        }
+        else {
+            updateBoundsForAddedItem(x, y);
+        }
+    }
+
+    /**
+     * Removes the first item in the series (in constant time) and updates
+     * the cached bounds.
+     */
+    private void removeFirst() {
+        double x = getXValueAt(0);
+        double y = getYValueAt(0);
+        long sequence = this.firstSequence;
+        this.head = (this.head + 1) & this.mask;
+        this.firstSequence++;
+        this.count--;
+        if (isRolling()) {
+            if (this.minXDeque != null) {
+                this.minXDeque.evict(sequence);
+                this.maxXDeque.evict(sequence);
+            }
+            this.minYDeque.evict(sequence);
+            this.maxYDeque.evict(sequence);
+            updateBoundsFromDeques();
+        }
+        else {
+            updateBoundsForRemovedItem(x, y);
+        }
+    }
+
+    /**
+     * Removes the items from <code>start</code> (inclusive) to
+     * <code>end</code> (exclusive) without updating the bounds.  Removing
+     * items from the front of the series does not move any values.
+     *
+     * @param start  the first index.
+     * @param end  the index after the last item to remove.
+     */
+    private void removeRange(int start, int end) {
+        int removed = end - start;
+        if (start == 0) {
+            this.head = (this.head + removed) & this.mask;
+            this.firstSequence += removed;
+        }
+        else {
+            for (int i = end; i < this.count; i++) {
+                int to = (this.head + i - removed) & this.mask;
+                int from = (this.head + i) & this.mask;
+                this.xValues[to] = this.xValues[from];
+                this.yValues[to] = this.yValues[from];
+            }
+        }
+        this.count -= removed;
+    }
+
+    /**
+     * Grows the value arrays so that they can hold at least the specified
+     * number of items.  The items are moved to the start of the new arrays.
+     *
+     * @param capacity  the required capacity.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.xValues.length) {
+            int newCapacity = powerOfTwoCapacity(capacity);
+            double[] x = new double[newCapacity];
+            double[] y = new double[newCapacity];
+            copyOut(this.xValues, 0, x, 0, this.count);
+            copyOut(this.yValues, 0, y, 0, this.count);
+            this.xValues = x;
+            this.yValues = y;
+            this.mask = newCapacity - 1;
+            this.head = 0;
+        }
+    }
+
+    /**
+     * Sets the y-value at the specified index and updates the cached bounds.
+     *
+     * @param index  the index.
+     * @param y  the new y-value.
+     */
+    private void updateValue(int index, double y) {
+        int slot = (this.head + index) & this.mask;
+        double oldY = this.yValues[slot];
+        this.yValues[slot] = y;
+        if (isRolling() || (!Double.isNaN(oldY)
+                && (oldY <= this.minY || oldY >= this.maxY))) {
+            findBoundsByIteration();
+        }
+        else {
+            this.minY = minIgnoreNaN(this.minY, y);
+            this.maxY = maxIgnoreNaN(this.maxY, y);
+        }
+    }
+
+    /**
+     * Updates the cached values for the minimum and maximum data values.
+     *
+     * @param x  the x-value added.
+     * @param y  the y-value added.
+     */
+    private void updateBoundsForAddedItem(double x, double y) {
+        this.minX = minIgnoreNaN(this.minX, x);
+        this.maxX = maxIgnoreNaN(this.maxX, x);
+        this.minY = minIgnoreNaN(this.minY, y);
+        this.maxY = maxIgnoreNaN(this.maxY, y);
+    }
+
+    /**
+     * Updates the cached values for the minimum and maximum data values on
+     * the basis that the specified item has just been removed.
+     *
+     * @param x  the x-value removed.
+     * @param y  the y-value removed.
+     */
+    private void updateBoundsForRemovedItem(double x, double y) {
+        boolean itemContributesToXBounds = !Double.isNaN(x)
+                && (x <= this.minX || x >= this.maxX);
+        boolean itemContributesToYBounds = !Double.isNaN(y)
+                && (y <= this.minY || y >= this.maxY);
+        if (itemContributesToYBounds) {
+            findBoundsByIteration();
+        }
+        else if (itemContributesToXBounds) {
+            if (getAutoSort()) {
+                updateSortedXBounds();
+            }
+            else {
+                findBoundsByIteration();
+            }
+        }
+    }
+
+    /**
+     * Sets the cached x-bounds from the first and last items of a sorted
+     * series.
+     */
+    private void updateSortedXBounds() {
+        if (this.count > 0) {
+            this.minX = getXValueAt(0);
+            this.maxX = getXValueAt(this.count - 1);
+        }
+        else {
+            this.minX = Double.NaN;
+            this.maxX = Double.NaN;
+        }
+    }
+
+    /**
+     * Sets the cached bounds from the fronts of the rolling window deques.
+     */
+    private void updateBoundsFromDeques() {
+        if (this.minXDeque != null) {
+            this.minX = this.minXDeque.peek();
+            this.maxX = this.maxXDeque.peek();
+        }
+        else {
+            updateSortedXBounds();
+        }
+        this.minY = this.minYDeque.peek();
+        this.maxY = this.maxYDeque.peek();
+    }
+
+    /**
+     * Finds the bounds of the x and y values for the series, by iterating
+     * through all the data items.  In rolling window mode, the deques are
+     * rebuilt at the same time.
+     */
+    private void findBoundsByIteration() {
+        this.minX = Double.NaN;
+        this.maxX = Double.NaN;
+        this.minY = Double.NaN;
+        this.maxY = Double.NaN;
+        if (isRolling()) {
+            if (this.minXDeque != null) {
+                this.minXDeque.clear();
+                this.maxXDeque.clear();
+            }
+            this.minYDeque.clear();
+            this.maxYDeque.clear();
+            for (int i = 0; i < this.count; i++) {
+                long sequence = this.firstSequence + i;
+                if (this.minXDeque != null) {
+                    this.minXDeque.add(sequence, getXValueAt(i));
+                    this.maxXDeque.add(sequence, getXValueAt(i));
+                }
+                this.minYDeque.add(sequence, getYValueAt(i));
+                this.maxYDeque.add(sequence, getYValueAt(i));
+            }
+            updateBoundsFromDeques();
+        }
+        else {
+            for (int i = 0; i < this.count; i++) {
+                updateBoundsForAddedItem(getXValueAt(i), getYValueAt(i));
+            }
+        }
+    }
+
+    /**
+     * A function to find the minimum of two values, but ignoring any
+     * Double.NaN values.
+     *
+     * @param a  the first value.
+     * @param b  the second value.
+     *
+     * @return The minimum of the two values.
+     */
+    private static double minIgnoreNaN(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        if (Double.isNaN(b)) {
+            return a;
+        }
+        return Math.min(a, b);
+    }
+
+    /**
+     * A function to find the maximum of two values, but ignoring any
+     * Double.NaN values.
+     *
+     * @param a  the first value.
+     * @param b  the second value.
+     *
+     * @return The maximum of the two values.
+     */
+    private static double maxIgnoreNaN(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        if (Double.isNaN(b)) {
+            return a;
+        }
+        return Math.max(a, b);
+    }
+
+    /**
+     * A monotonic deque of (sequence, value) pairs, used to track the minimum
+     * or maximum of a sliding window.  Values are added at the back and
+     * evicted from the front in sequence order; the front of the deque always
+     * holds the extreme value of the window.  Each value is added and removed
+     * at most once, so the amortized cost per item is constant.
+     */
+    private static final class MonotonicDeque implements Serializable {
+
+        /** For serialization. */
+        private static final long serialVersionUID = -2204417356918617437L;
+
+        /** Track the minimum (<code>true</code>) or maximum. */
+        private final boolean minimum;
+
+        /** The sequence numbers (circular buffer). */
+        private long[] sequences;
+
+        /** The values (circular buffer). */
+        private double[] values;
+
+        /** The position of the front of the deque. */
+        private int front;
+
+        /** The number of entries in the deque. */
+        private int size;
+
+        /**
+         * Creates a new empty deque.
+         *
+         * @param minimum  track the minimum (<code>true</code>) or the
+         *     maximum (<code>false</code>) value.
+         */
+        MonotonicDeque(boolean minimum) {
+            this.minimum = minimum;
+            this.sequences = new long[DEFAULT_INITIAL_CAPACITY];
+            this.values = new double[DEFAULT_INITIAL_CAPACITY];
+        }
+
+        /**
+         * Creates a copy of a deque.
+         *
+         * @param source  the deque to copy.
+         */
+        MonotonicDeque(MonotonicDeque source) {
+            this.minimum = source.minimum;
+            this.sequences = (long[]) source.sequences.clone();
+            this.values = (double[]) source.values.clone();
+            this.front = source.front;
+            this.size = source.size;
+        }
+
+        /**
+         * Removes all entries.
+         */
+        void clear() {
+            this.front = 0;
+            this.size = 0;
+        }
+
+        /**
+         * Adds a value to the back of the deque, first discarding any
+         * values that can no longer be the extreme value of the window.
+         * NaN values are ignored.
+         *
+         * @param sequence  the sequence number of the value.
+         * @param value  the value.
+         */
+        void add(long sequence, double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            int mask = this.values.length - 1;
+            while (this.size > 0) {
+                double last = this.values[(this.front + this.size - 1) & mask];
+                if (this.minimum ? last >= value : last <= value) {
+                    this.size--;
+                }
+                else {
+                    break;
+                }
+            }
+            if (this.size == this.values.length) {
+                grow();
+                mask = this.values.length - 1;
+            }
+            int slot = (this.front + this.size) & mask;
+            this.sequences[slot] = sequence;
+            this.values[slot] = value;
+            this.size++;
+        }
+
+        /**
+         * Removes the front entry if it has the specified sequence number
+         * (that is, if the item leaving the window is the current extreme).
+         *
+         * @param sequence  the sequence number of the item being removed.
+         */
+        void evict(long sequence) {
+            if (this.size > 0 && this.sequences[this.front] == sequence) {
+                this.front = (this.front + 1) & (this.values.length - 1);
+                this.size--;
+            }
+        }
+
+        /**
+         * Returns the extreme value in the window.
+         *
+         * @return The value (<code>Double.NaN</code> if the deque is empty).
+         */
+        double peek() {
+            return (this.size > 0 ? this.values[this.front] : Double.NaN);
+        }
+
+        /**
+         * Doubles the capacity of the deque.
+         */
+        private void grow() {
+            int capacity = this.values.length;
+            long[] s = new long[capacity * 2];
+            double[] v = new double[capacity * 2];
+            for (int i = 0; i < this.size; i++) {
+                int slot = (this.front + i) & (capacity - 1);
+                s[i] = this.sequences[slot];
+                v[i] = this.values[slot];
+            }
+            this.sequences = s;
+            this.values = v;
+            this.front = 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,812 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ------------------------
+ * RingBufferXYDataset.java
+ * ------------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.xy;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.afree.data.DomainInfo;
+import org.afree.data.DomainOrder;
+import org.afree.data.Range;
+import org.afree.data.RangeInfo;
+import org.afree.data.general.SnapshotDataset;
+import org.afree.data.general.SnapshotPins;
+
+/**
+ * An {@link XYDataset} for high-rate streams, which holds the most recent
+ * items in preallocated <code>double[]</code> ring buffers.  One producer
+ * thread appends items (the series share the x-values, which must be
+ * appended in ascending order) and any number of other threads read them.
+ * Appending an item takes no locks and allocates nothing: the values are
+ * written to the buffers, then the item is published by advancing a
+ * volatile sequence number.  When the dataset is full, each new item
+ * replaces the oldest one.
+ * <P>
+ * The item indices seen by readers shift as items are appended, so a chart
+ * should read the dataset through a pinned snapshot (see
+ * {@link #pinSnapshot()}), which {@link org.afree.chart.AFreeChart} takes
+ * for the duration of each draw.  The buffers have room for
+ * <code>margin</code> items more than the capacity, and the items of a
+ * pinned snapshot are not overwritten until that many items have been
+ * appended after it was pinned.
+ * <P>
+ * The dataset does not send a change event for each item.  Call
+ * {@link #fireDatasetChanged()} when the chart should be redrawn, for
+ * example from a timer on the UI thread.
+ */
+public class RingBufferXYDataset extends AbstractIntervalXYDataset
+        implements IntervalXYDataset, DomainInfo, XYDomainInfo, RangeInfo,
+                   XYRangeInfo, SnapshotDataset {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -3915783016418734582L;
+
+    /** The series keys. */
+    private Comparable[] seriesKeys;
+
+    /** The maximum number of items in the dataset. */
+    private int capacity;
+
+    /** The length of the buffers minus one (always 2^n - 1). */
+    private int mask;
+
+    /** The x-values, indexed by sequence number modulo the buffer length. */
+    private double[] xValues;
+
+    /** The y-values for each series, indexed like the x-values. */
+    private double[][] yValues;
+
+    /**
+     * The sequence number of the next item to be appended (the number of
+     * items appended since the dataset was created).
+     */
+    private volatile long end;
+
+    /** The sequence number of the first item after the last clear(). */
+    private volatile long start;
+
+    /**
+     * The snapshot (a {@link Window}) pinned by each thread, or
+     * <code>null</code> if no snapshot has been pinned yet.
+     */
+    private transient SnapshotPins pins;
+
+    /**
+     * Creates a new dataset with a single series.  The buffers have room
+     * for <code>capacity</code> extra items.
+     *
+     * @param seriesKey  the series key (<code>null</code> not permitted).
+     * @param capacity  the maximum number of items (must be positive).
+     */
+    public RingBufferXYDataset(Comparable seriesKey, int capacity) {
+        this(new Comparable[] {seriesKey}, capacity, capacity);
+    }
+
+    /**
+     * Creates a new dataset.
+     *
+     * @param seriesKeys  the series keys (<code>null</code> not permitted).
+     * @param capacity  the maximum number of items (must be positive).
+     * @param margin  the number of items that can be appended while a
+     *     snapshot is pinned before its items are overwritten (zero or
+     *     greater).  The buffer length is rounded up to a power of two, so
+     *     the actual margin may be larger.
+     */
+    public RingBufferXYDataset(Comparable[] seriesKeys, int capacity,
+            int margin) {
+        if (seriesKeys == null) {
+            throw new IllegalArgumentException("Null 'seriesKeys' argument.");
+        }
+        for (int i = 0; i < seriesKeys.length; i++) {
+            if (seriesKeys[i] == null) {
+                throw new IllegalArgumentException(
+                        "Null key in 'seriesKeys' argument.");
+            }
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Requires capacity > 0.");
+        }
+        if (margin < 0 || capacity + margin > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid 'margin' argument.");
+        }
+        int length = Integer.highestOneBit(capacity + margin);
+        if (length < capacity + margin) {
+            length = length << 1;
+        }
+        this.seriesKeys = (Comparable[]) seriesKeys.clone();
+        this.capacity = capacity;
+        this.mask = length - 1;
+        this.xValues = new double[length];
+        this.yValues = new double[seriesKeys.length][length];
+    }
+
+    /**
+     * Returns the maximum number of items in the dataset.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Appends an item to a dataset with a single series.  This method must
+     * only be called by the producer thread.
+     *
+     * @param x  the x-value (not less than the x-value of the last item).
+     * @param y  the y-value (<code>Double.NaN</code> for a missing value).
+     *
+     * @throws IllegalStateException if the dataset does not have exactly one
+     *     series.
+     */
+    public void append(double x, double y) {
+        if (this.yValues.length != 1) {
+            throw new IllegalStateException(
+                    "The dataset does not have exactly one series.");
+        }
+        long e = this.end;
+        checkX(x, e);
+        int slot = (int) e & this.mask;
+        this.xValues[slot] = x;
+        this.yValues[0][slot] = y;
+        this.end = e + 1;
+    }
+
+    /**
+     * Appends an item with a y-value for each series.  This method must
+     * only be called by the producer thread.
+     *
+     * @param x  the x-value (not less than the x-value of the last item).
+     * @param y  the y-values, one per series (<code>null</code> not
+     *     permitted).
+     */
+    public void append(double x, double[] y) {
+        if (y == null) {
+            throw new IllegalArgumentException("Null 'y' argument.");
+        }
+        if (y.length != this.yValues.length) {
+            throw new IllegalArgumentException(
+                    "Requires one y-value per series.");
+        }
+        long e = this.end;
+        checkX(x, e);
+        int slot = (int) e & this.mask;
+        this.xValues[slot] = x;
+        for (int s = 0; s < y.length; s++) {
+            this.yValues[s][slot] = y[s];
+        }
+        this.end = e + 1;
+    }
+
+    /**
+     * Appends a run of items to a dataset with a single series, publishing
+     * them together.  This method must only be called by the producer
+     * thread.
+     *
+     * @param x  the x-values (<code>null</code> not permitted).
+     * @param y  the y-values (<code>null</code> not permitted).
+     * @param offset  the index of the first value to append.
+     * @param length  the number of values to append.
+     *
+     * @throws IllegalStateException if the dataset does not have exactly one
+     *     series.
+     */
+    public void append(double[] x, double[] y, int offset, int length) {
+        if (x == null) {
+            throw new IllegalArgumentException("Null 'x' argument.");
+        }
+        if (y == null) {
+            throw new IllegalArgumentException("Null 'y' argument.");
+        }
+        if (this.yValues.length != 1) {
+            throw new IllegalStateException(
+                    "The dataset does not have exactly one series.");
+        }
+        if (offset < 0 || length < 0 || offset + length > x.length
+                || offset + length > y.length) {
+            throw new IndexOutOfBoundsException("Offset: " + offset
+                    + ", Length: " + length);
+        }
+        long e = this.end;
+        double[] ys = this.yValues[0];
+        for (int i = offset; i < offset + length; i++) {
+            checkX(x[i], e);
+            int slot = (int) e & this.mask;
+            this.xValues[slot] = x[i];
+            ys[slot] = y[i];
+            e++;
+        }
+        this.end = e;
+    }
+
+    /**
+     * Checks that an x-value can be appended.
+     *
+     * @param x  the x-value.
+     * @param e  the sequence number of the new item.
+     */
+    private void checkX(double x, long e) {
+        if (Double.isNaN(x)) {
+            throw new IllegalArgumentException("The x-value is NaN.");
+        }
+        if (e > this.start && x < this.xValues[(int) (e - 1) & this.mask]) {
+            throw new IllegalArgumentException(
+                    "The x-values must be appended in ascending order.");
+        }
+    }
+
+    /**
+     * Removes all the items from the dataset.  This method must only be
+     * called by the producer thread.
+     */
+    public void clear() {
+        this.start = this.end;
+    }
+
+    /**
+     * Sends a {@link org.afree.data.general.DatasetChangeEvent} to all
+     * registered listeners.  This method can be called from any thread, but
+     * the listeners are notified on the calling thread.
+     */
+    public void fireDatasetChanged() {
+        super.fireDatasetChanged();
+    }
+
+    /**
+     * Pins a snapshot of the dataset for the calling thread: until the
+     * matching call to {@link #releaseSnapshot()} on the same thread, the
+     * dataset presents to that thread the items it held when the snapshot
+     * was pinned.  Calls can be nested.
+     */
+    public synchronized void pinSnapshot() {
+        if (this.pins == null) {
+            this.pins = new SnapshotPins();
+        }
+        this.pins.pin(new Object[] {currentWindow()});
+    }
+
+    /**
+     * Releases a snapshot pinned by {@link #pinSnapshot()} on the calling
+     * thread.
+     */
+    public synchronized void releaseSnapshot() {
+        if (this.pins != null) {
+            this.pins.release();
+        }
+    }
+
+    /**
+     * Returns the snapshot pinned by the calling thread.
+     *
+     * @return The snapshot (<code>null</code> if the calling thread has none
+     *     pinned).
+     */
+    private Window getPinnedWindow() {
+        SnapshotPins p = this.pins;
+        if (p == null) {
+            return null;
+        }
+        Object[] pinned = p.getSnapshots();
+        return (pinned != null ? (Window) pinned[0] : null);
+    }
+
+    /**
+     * Returns the items that the dataset currently holds.
+     *
+     * @return The window.
+     */
+    private Window currentWindow() {
+        long e = this.end;
+        long s = Math.min(Math.max(this.start, e - this.capacity), e);
+        return new Window(s, (int) (e - s));
+    }
+
+    /**
+     * Returns the sequence number of the first item presented by the
+     * dataset (the snapshot pinned by the calling thread if there is one,
+     * otherwise the current items).
+     *
+     * @return The sequence number.
+     */
+    private long first() {
+        Window w = getPinnedWindow();
+        if (w != null) {
+            return w.first;
+        }
+        long e = this.end;
+        return Math.min(Math.max(this.start, e - this.capacity), e);
+    }
+
+    /**
+     * Returns the buffer slot of an item.
+     *
+     * @param item  the item index (zero-based).
+     *
+     * @return The slot.
+     */
+    private int slot(int item) {
+        return (int) (first() + item) & this.mask;
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    public int getSeriesCount() {
+        return this.seriesKeys.length;
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (in the range <code>0</code> to
+     *     <code>getSeriesCount() - 1</code>).
+     *
+     * @return The key for the series.
+     */
+    public Comparable getSeriesKey(int series) {
+        if ((series < 0) || (series >= getSeriesCount())) {
+            throw new IllegalArgumentException("Series index out of bounds");
+        }
+        return this.seriesKeys[series];
+    }
+
+    /**
+     * Returns {@link DomainOrder#ASCENDING}, since the x-values are appended
+     * in ascending order.
+     *
+     * @return {@link DomainOrder#ASCENDING}.
+     */
+    public DomainOrder getDomainOrder() {
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of items in a series (the same for every series).
+     *
+     * @param series  the series index (ignored).
+     *
+     * @return The item count.
+     */
+    public int getItemCount(int series) {
+        Window w = getPinnedWindow();
+        if (w != null) {
+            return w.count;
+        }
+        long e = this.end;
+        return (int) (e - Math.min(Math.max(this.start, e - this.capacity),
+                e));
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getXValue(int series, int item) {
+        return this.xValues[slot(item)];
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public Number getX(int series, int item) {
+        return new Double(getXValue(series, item));
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    public double getYValue(int series, int item) {
+        return this.yValues[series][slot(item)];
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    public Number getY(int series, int item) {
+        return new Double(getYValue(series, item));
+    }
+
+    /**
+     * Returns the starting x-value for an item, which is the x-value (the
+     * dataset has no x-intervals).
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getStartXValue(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    /**
+     * Returns the starting x-value for an item, which is the x-value.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public Number getStartX(int series, int item) {
+        return getX(series, item);
+    }
+
+    /**
+     * Returns the ending x-value for an item, which is the x-value (the
+     * dataset has no x-intervals).
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public double getEndXValue(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    /**
+     * Returns the ending x-value for an item, which is the x-value.
+     *
+     * @param series  the series index (ignored).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    public Number getEndX(int series, int item) {
+        return getX(series, item);
+    }
+
+    /**
+     * Returns the starting y-value for an item, which is the y-value (the
+     * dataset has no y-intervals).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    public double getStartYValue(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    /**
+     * Returns the starting y-value for an item, which is the y-value.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    public Number getStartY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the ending y-value for an item, which is the y-value (the
+     * dataset has no y-intervals).
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    public double getEndYValue(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    /**
+     * Returns the ending y-value for an item, which is the y-value.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    public Number getEndY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the minimum x-value in the dataset.
+     *
+     * @param includeInterval  ignored (the dataset has no x-intervals).
+     *
+     * @return The minimum value (<code>Double.NaN</code> if the dataset is
+     *     empty).
+     */
+    public double getDomainLowerBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return (r != null) ? r.getLowerBound() : Double.NaN;
+    }
+
+    /**
+     * Returns the maximum x-value in the dataset.
+     *
+     * @param includeInterval  ignored (the dataset has no x-intervals).
+     *
+     * @return The maximum value (<code>Double.NaN</code> if the dataset is
+     *     empty).
+     */
+    public double getDomainUpperBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return (r != null) ? r.getUpperBound() : Double.NaN;
+    }
+
+    /**
+     * Returns the range of the x-values in the dataset, which are the
+     * x-values of the first and last items.
+     *
+     * @param includeInterval  ignored (the dataset has no x-intervals).
+     *
+     * @return The range (<code>null</code> if the dataset is empty).
+     */
+    public Range getDomainBounds(boolean includeInterval) {
+        Window w = getPinnedWindow();
+        if (w == null) {
+            w = currentWindow();
+        }
+        if (w.count == 0) {
+            return null;
+        }
+        return new Range(this.xValues[(int) w.first & this.mask],
+                this.xValues[(int) (w.first + w.count - 1) & this.mask]);
+    }
+
+    /**
+     * Returns the range of the x-values in the dataset, if any of the
+     * visible series belongs to the dataset (the series share the
+     * x-values).
+     *
+     * @param visibleSeriesKeys  the keys of the visible series
+     *     (<code>null</code> not permitted).
+     * @param includeInterval  ignored (the dataset has no x-intervals).
+     *
+     * @return The range (<code>null</code> if the dataset is empty or none
+     *     of the series is visible).
+     */
+    public Range getDomainBounds(List visibleSeriesKeys,
+            boolean includeInterval) {
+        if (visibleSeriesKeys == null) {
+            throw new IllegalArgumentException(
+                    "Null 'visibleSeriesKeys' argument.");
+        }
+        Iterator iterator = visibleSeriesKeys.iterator();
+        while (iterator.hasNext()) {
+            if (indexOf((Comparable) iterator.next()) >= 0) {
+                return getDomainBounds(includeInterval);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the minimum y-value in the dataset.
+     *
+     * @param includeInterval  ignored (the dataset has no y-intervals).
+     *
+     * @return The minimum value (<code>Double.NaN</code> if there are no
+     *     y-values).
+     */
+    public double getRangeLowerBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return (r != null) ? r.getLowerBound() : Double.NaN;
+    }
+
+    /**
+     * Returns the maximum y-value in the dataset.
+     *
+     * @param includeInterval  ignored (the dataset has no y-intervals).
+     *
+     * @return The maximum value (<code>Double.NaN</code> if there are no
+     *     y-values).
+     */
+    public double getRangeUpperBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return (r != null) ? r.getUpperBound() : Double.NaN;
+    }
+
+    /**
+     * Returns the range of the y-values in all the series, by scanning the
+     * buffers.
+     *
+     * @param includeInterval  ignored (the dataset has no y-intervals).
+     *
+     * @return The range (<code>null</code> if there are no y-values).
+     */
+    public Range getRangeBounds(boolean includeInterval) {
+        Window w = getPinnedWindow();
+        if (w == null) {
+            w = currentWindow();
+        }
+        double[] bounds = {Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY};
+        for (int s = 0; s < this.yValues.length; s++) {
+            findBounds(this.yValues[s], w.first, w.count, bounds);
+        }
+        if (bounds[0] > bounds[1]) {
+            return null;
+        }
+        return new Range(bounds[0], bounds[1]);
+    }
+
+    /**
+     * Returns the range of the y-values in the visible series, for the
+     * items with x-values inside <code>xRange</code>.  The items are located
+     * with a binary search, so only the items inside <code>xRange</code> are
+     * visited.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series
+     *     (<code>null</code> not permitted).
+     * @param xRange  the x-range (<code>null</code> not permitted).
+     * @param includeInterval  ignored (the dataset has no y-intervals).
+     *
+     * @return The range (<code>null</code> if there are no y-values).
+     */
+    public Range getRangeBounds(List visibleSeriesKeys, Range xRange,
+            boolean includeInterval) {
+        if (visibleSeriesKeys == null) {
+            throw new IllegalArgumentException(
+                    "Null 'visibleSeriesKeys' argument.");
+        }
+        if (xRange == null) {
+            throw new IllegalArgumentException("Null 'xRange' argument.");
+        }
+        Window w = getPinnedWindow();
+        if (w == null) {
+            w = currentWindow();
+        }
+        long first = findFirstItemAtOrAbove(w, xRange.getLowerBound());
+        long last = findFirstItemAtOrAbove(w, Math.nextUp(
+                xRange.getUpperBound()));
+        double[] bounds = {Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY};
+        Iterator iterator = visibleSeriesKeys.iterator();
+        while (iterator.hasNext()) {
+            int s = indexOf((Comparable) iterator.next());
+            if (s >= 0) {
+                findBounds(this.yValues[s], first, (int) (last - first),
+                        bounds);
+            }
+        }
+        if (bounds[0] > bounds[1]) {
+            return null;
+        }
+        return new Range(bounds[0], bounds[1]);
+    }
+
+    /**
+     * Returns the sequence number of the first item in a window with an
+     * x-value greater than or equal to <code>x</code>.
+     *
+     * @param w  the window.
+     * @param x  the x-value.
+     *
+     * @return The sequence number (the end of the window if every x-value is
+     *     less than <code>x</code>).
+     */
+    private long findFirstItemAtOrAbove(Window w, double x) {
+        long low = w.first;
+        long high = w.first + w.count;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (this.xValues[(int) mid & this.mask] < x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Widens a pair of bounds to include a run of values from a buffer,
+     * ignoring <code>Double.NaN</code> values.
+     *
+     * @param values  the buffer.
+     * @param first  the sequence number of the first value.
+     * @param count  the number of values.
+     * @param bounds  the bounds (lower, upper), updated by this method.
+     */
+    private void findBounds(double[] values, long first, int count,
+            double[] bounds) {
+        double lower = bounds[0];
+        double upper = bounds[1];
+        for (int i = 0; i < count; i++) {
+            double v = values[(int) (first + i) & this.mask];
+            if (v < lower) {
+                lower = v;
+            }
+            if (v > upper) {
+                upper = v;
+            }
+        }
+        bounds[0] = lower;
+        bounds[1] = upper;
+    }
+
+    /**
+     * The items presented by the dataset: a run of sequence numbers.
+     */
+    private static final class Window {
+
+        /** The sequence number of the first item. */
+        private final long first;
+
+        /** The number of items. */
+        private final int count;
+
+        /**
+         * Creates a new window.
+         *
+         * @param first  the sequence number of the first item.
+         * @param count  the number of items.
+         */
+        Window(long first, int count) {
+            this.first = first;
+            this.count = count;
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+/* ===========================================================
+ * AFreeChart : a free chart library for Android(tm) platform.
+ *              (based on JFreeChart and JCommon)
+ * ===========================================================
+ *
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Project Info:
+ *    AFreeChart: http://code.google.com/p/afreechart/
+ *    JFreeChart: http://www.jfree.org/jfreechart/index.html
+ *    JCommon   : http://www.jfree.org/jcommon/index.html
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * [Android is a trademark of Google Inc.]
+ *
+ * ------------------------
+ * XYLevelOfDetailInfo.java
+ * ------------------------
+ * (C) Copyright 2010, by Icom Systech Co., Ltd.
+ *
+ * Original Author:  -;
+ * Contributor(s):   -;
+ *
+ * Changes
+ * -------
+ * 18-Oct-2026 : Version 1;
+ *
+ */
+
+package org.afree.data.xy;
+
+import org.afree.data.general.MinMaxPyramid;
+
+/**
+ * An interface that can (optionally) be implemented by a dataset to give
+ * renderers access to a level-of-detail index over the y-values of a series,
+ * so that they can find the y-range of a run of items without visiting each
+ * item.
+ */
+public interface XYLevelOfDetailInfo {
+
+    /**
+     * Returns the level-of-detail index for the y-values of a series.  The
+     * items in the index correspond one-to-one with the items in the series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The index (<code>null</code> if the series does not maintain
+     *     one).
+     */
+    public MinMaxPyramid getLevelOfDetail(int series);
+
+}
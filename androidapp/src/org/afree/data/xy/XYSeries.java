@@ -86,19 +86,31 @@
  *               Ted Schwartz (DG);
  * 24-Nov-2008 : Further fix for 1955483 (DG);
  * 06-Mar-2009 : Added minX, maxX, minY and maxY fields (DG);
+ * 18-Oct-2026 : Added snapshot mode for reading from other threads;
+ * 18-Oct-2026 : Keep the level-of-detail index when items are removed from
+ *               the start of the series;
+ * 18-Oct-2026 : Publish the bounds of the series with each snapshot;
  *
  */
 
 package org.afree.data.xy;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
+import org.afree.data.general.DatasetChangeType;
+import org.afree.data.general.MinMaxPyramid;
 import org.afree.data.general.Series;
 import org.afree.data.general.SeriesChangeEvent;
 import org.afree.data.general.SeriesException;
+import org.afree.data.general.SnapshotList;
 
 
 
@@ -145,6 +157,18 @@ public class XYSeries extends Series implements Cloneable, Serializable {
     /** The highest y-value in the series, excluding Double.NaN values. */
     private double maxY;
 
+    /**
+     * The level-of-detail index for the y-values (<code>null</code> unless
+     * enabled).
+     */
+    private transient MinMaxPyramid levelOfDetail;
+
+    /**
+     * The last published snapshot, with the bounds of the series at the time
+     * (<code>null</code> unless snapshots are enabled).
+     */
+    private transient volatile SnapshotItems snapshotItems;
+
     /**
      * Creates a new empty series.  By default, items added to the series will
      * be sorted into ascending order by x-value, and duplicate x-values will
@@ -250,6 +274,218 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         return this.maxY;
     }
 
+    /**
+     * Returns <code>true</code> if the series maintains a level-of-detail
+     * index for its y-values.
+     *
+     * @return A boolean.
+     *
+     * @see #setLevelOfDetailEnabled(boolean)
+     */
+    public boolean isLevelOfDetailEnabled() {
+        return this.levelOfDetail != null;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the series maintains a
+     * level-of-detail index for its y-values.  The index lets renderers find
+     * the y-range of any run of items in O(log n) time, at the cost of a
+     * copy of the y-values.  It is updated incrementally when items are
+     * appended, and partly rebuilt (on the next call to
+     * {@link #getLevelOfDetail()}) after any other change.
+     *
+     * @param enabled  the new flag value.
+     */
+    public void setLevelOfDetailEnabled(boolean enabled) {
+        if (enabled && this.levelOfDetail == null) {
+            this.levelOfDetail = new MinMaxPyramid();
+        }
+        else if (!enabled) {
+            this.levelOfDetail = null;
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the series publishes snapshots of its
+     * items.
+     *
+     * @return A boolean.
+     *
+     * @see #setSnapshotEnabled(boolean)
+     */
+    public boolean isSnapshotEnabled() {
+        return this.data instanceof SnapshotList;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the series publishes an
+     * immutable snapshot of its items after every change, so that other
+     * threads (a chart being drawn, for example) can read the series while
+     * it is modified.  The items are then held in a {@link SnapshotList},
+     * and an item whose y-value is updated is replaced by a copy, so a
+     * published snapshot never changes.  The series itself must still be
+     * modified by one thread at a time.
+     *
+     * @param enabled  the new flag value.
+     *
+     * @see #getSnapshot()
+     */
+    public void setSnapshotEnabled(boolean enabled) {
+        if (enabled && !isSnapshotEnabled()) {
+            this.data = new SnapshotList(this.data);
+            publishSnapshot();
+        }
+        else if (!enabled && isSnapshotEnabled()) {
+            this.data = new java.util.ArrayList(this.data);
+            this.snapshotItems = null;
+        }
+    }
+
+    /**
+     * Returns the items of the series ({@link XYDataItem} instances) as they
+     * were after the last change, in a list that does not change and can be
+     * read from any thread.
+     *
+     * @return The snapshot (<code>null</code> if snapshots are not enabled).
+     *
+     * @see #setSnapshotEnabled(boolean)
+     */
+    public List getSnapshot() {
+        SnapshotItems snapshot = this.snapshotItems;
+        return (snapshot != null ? snapshot.items : null);
+    }
+
+    /**
+     * Returns the last published snapshot together with the bounds of the
+     * series when it was published, so that a reader on another thread sees
+     * bounds that match the items.
+     *
+     * @return The snapshot (<code>null</code> if snapshots are not enabled).
+     */
+    SnapshotItems getSnapshotItems() {
+        return this.snapshotItems;
+    }
+
+    /**
+     * Publishes the items of the series (which must be held in a
+     * {@link SnapshotList}) and, if they have changed, the current bounds.
+     */
+    private void publishSnapshot() {
+        SnapshotList list = (SnapshotList) this.data;
+        list.publish();
+        List items = list.getSnapshot();
+        SnapshotItems current = this.snapshotItems;
+        if (current == null || current.items != items) {
+            this.snapshotItems = new SnapshotItems(items, this.minX,
+                    this.maxX, this.minY, this.maxY);
+        }
+    }
+
+    /**
+     * Returns the level-of-detail index for the y-values, brought up to date
+     * with the series.  Changes made directly to a data item (rather than
+     * through the series) are not seen by the index.
+     *
+     * @return The index (<code>null</code> if not enabled).
+     *
+     * @see #setLevelOfDetailEnabled(boolean)
+     */
+    public MinMaxPyramid getLevelOfDetail() {
+        MinMaxPyramid index = this.levelOfDetail;
+        if (index != null) {
+            int count = getItemCount();
+            index.truncate(count);
+            for (int i = index.getItemCount(); i < count; i++) {
+                index.add(getYValue(i));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Signals to registered listeners that the items in the specified index
+     * range have been changed, after discarding the affected part of the
+     * level-of-detail index (if there is one).
+     *
+     * @param type  the kind of change (<code>null</code> not permitted).
+     * @param firstItemIndex  the index of the first affected item.
+     * @param lastItemIndex  the index of the last affected item.
+     */
+    protected void fireSeriesChanged(DatasetChangeType type,
+            int firstItemIndex, int lastItemIndex) {
+        if (type == DatasetChangeType.REMOVE && firstItemIndex == 0) {
+            // the items were removed from the start of the series
+            itemsChanged(lastItemIndex + 1, getItemCount());
+        }
+        else {
+            itemsChanged(Math.max(firstItemIndex, 0));
+        }
+        super.fireSeriesChanged(type, firstItemIndex, lastItemIndex);
+    }
+
+    /**
+     * Records a change to the items of the series, starting at the
+     * specified item: the affected part of the level-of-detail index (if
+     * there is one) is discarded and, if snapshots are enabled, the items
+     * are published.  Subclasses must call this method for changes that are
+     * made without sending a {@link SeriesChangeEvent}.
+     *
+     * @param firstItemIndex  the index of the first changed item.
+     */
+    protected void itemsChanged(int firstItemIndex) {
+        itemsChanged(0, firstItemIndex);
+    }
+
+    /**
+     * Records a change to the items of the series in which the specified
+     * number of items were removed from the start of the series, and the
+     * items from <code>firstItemIndex</code> (an index after the removal) on
+     * have changed.  The level-of-detail index (if there is one) drops the
+     * removed items rather than being rebuilt, so a rolling series keeps its
+     * index up to date in amortised constant time per item.
+     *
+     * @param removedCount  the number of items removed from the start.
+     * @param firstItemIndex  the index of the first changed item.
+     */
+    protected void itemsChanged(int removedCount, int firstItemIndex) {
+        itemsModified();
+        discardLevelOfDetail(removedCount, firstItemIndex);
+        if (this.data instanceof SnapshotList) {
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * Discards the part of the level-of-detail index (if there is one) that
+     * starts at the specified item, so that it is rebuilt from the series on
+     * the next call to {@link #getLevelOfDetail()}.
+     *
+     * @param firstItemIndex  the index of the first changed item.
+     */
+    protected void discardLevelOfDetail(int firstItemIndex) {
+        discardLevelOfDetail(0, firstItemIndex);
+    }
+
+    /**
+     * Removes the first <code>removedCount</code> items from the
+     * level-of-detail index (if there is one), then discards the part of it
+     * that starts at the specified item.
+     *
+     * @param removedCount  the number of items removed from the start of the
+     *     series.
+     * @param firstItemIndex  the index (after the removal) of the first
+     *     changed item.
+     */
+    protected void discardLevelOfDetail(int removedCount,
+            int firstItemIndex) {
+        if (this.levelOfDetail != null) {
+            if (removedCount > 0) {
+                this.levelOfDetail.removeFirst(removedCount);
+            }
+            this.levelOfDetail.truncate(firstItemIndex);
+        }
+    }
+
     /**
      * Updates the cached values for the minimum and maximum data values.
      *
@@ -390,6 +626,10 @@ public class XYSeries extends Series implements Cloneable, Serializable {
      * but if it is applied later, it may cause some items to be removed from
      * the series (in which case a {@link SeriesChangeEvent} will be sent to
      * all registered listeners).
+     * <p>
+     * Each item removed this way shifts the whole list, so for large
+     * scrolling windows use {@link PrimitiveXYSeries} instead, which evicts
+     * the oldest item in constant time.
      *
      * @param maximum  the maximum number of items for the series.
      */
@@ -517,10 +757,12 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         if (item == null) {
             throw new IllegalArgumentException("Null 'item' argument.");
         }
+        int index;
         if (this.autoSort) {
-            int index = Collections.binarySearch(this.data, item);
+            index = Collections.binarySearch(this.data, item);
             if (index < 0) {
-                this.data.add(-index - 1, item);
+                index = -index - 1;
+                this.data.add(index, item);
             }
             else {
                 if (this.allowDuplicateXValues) {
@@ -546,20 +788,239 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             if (!this.allowDuplicateXValues) {
                 // can't allow duplicate values, so we need to check whether
                 // there is an item with the given x-value already
-                int index = indexOf(item.getX());
-                if (index >= 0) {
+                if (indexOf(item.getX()) >= 0) {
                     throw new SeriesException("X-value already exists.");
                 }
             }
+            index = this.data.size();
             this.data.add(item);
         }
         updateBoundsForAddedItem(item);
+        boolean trimmed = false;
         if (getItemCount() > this.maximumItemCount) {
             XYDataItem removed = (XYDataItem) this.data.remove(0);
             updateBoundsForRemovedItem(removed);
+            trimmed = true;
         }
+        itemsAdded(index, trimmed ? 1 : 0);
         if (notify) {
-            fireSeriesChanged();
+            fireSeriesChangedForAdd(index, index, trimmed);
+        }
+    }
+
+    /**
+     * Sends a {@link SeriesChangeEvent} describing the addition of the items
+     * that were placed at the specified indices.  The event has the type
+     * {@link DatasetChangeType#APPEND} when the items are the last items in
+     * the series and no item was removed to respect the maximum item count.
+     *
+     * The change must already have been recorded with
+     * {@link #itemsAdded(int, int)}.
+     *
+     * @param first  the index of the first added item (before trimming).
+     * @param last  the index of the last added item (before trimming).
+     * @param trimmed  a flag indicating whether or not items were removed
+     *                 from the start of the series.
+     */
+    protected void fireSeriesChangedForAdd(int first, int last,
+            boolean trimmed) {
+        int count = getItemCount();
+        if (trimmed) {
+            // every item has moved
+            super.fireSeriesChanged(DatasetChangeType.GENERAL, 0, count - 1);
+        }
+        else if (last == count - 1) {
+            super.fireSeriesChanged(DatasetChangeType.APPEND, first, last);
+        }
+        else {
+            super.fireSeriesChanged(DatasetChangeType.GENERAL, first,
+                    count - 1);
+        }
+    }
+
+    /**
+     * Records the addition of items at the specified index (before
+     * trimming), after which the specified number of items were removed from
+     * the start of the series to respect the maximum item count.
+     *
+     * @param first  the index of the first added item (before trimming).
+     * @param removedCount  the number of items removed from the start.
+     */
+    protected void itemsAdded(int first, int removedCount) {
+        // the items before the first added item are unchanged, apart from
+        // those that were removed...
+        itemsChanged(Math.min(removedCount, first),
+                Math.max(first - removedCount, 0));
+    }
+
+    /**
+     * Adds a batch of data items to the series and sends a single
+     * {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param xs  the x-values (<code>null</code> not permitted).
+     * @param ys  the y-values (<code>null</code> not permitted, must have the
+     *            same length as <code>xs</code>).
+     *
+     * @throws SeriesException if the batch contains an x-value that is a
+     *     duplicate and the <code>allowDuplicateXValues</code> flag is not
+     *     set for this series.
+     *
+     * @see #addAll(double[], double[], boolean)
+     */
+    public void addAll(double[] xs, double[] ys) {
+        addAll(xs, ys, true);
+    }
+
+    /**
+     * Adds a batch of data items to the series and, if requested, sends a
+     * single {@link SeriesChangeEvent} (carrying the range of affected item
+     * indices) to all registered listeners.  For a sorted series the batch
+     * is sorted and then merged into the existing items in one pass, so
+     * loading <code>n</code> items into a series of <code>m</code> items
+     * costs O(n log n + m) rather than <code>n</code> separate insertions.
+     * Items in the batch are placed after any existing items with the same
+     * x-value, as they would be by {@link #add(XYDataItem, boolean)}.
+     * <P>
+     * The batch is checked for duplicate x-values before the series is
+     * modified, so if an exception is thrown the series is unchanged.
+     *
+     * @param xs  the x-values (<code>null</code> not permitted).
+     * @param ys  the y-values (<code>null</code> not permitted, must have the
+     *            same length as <code>xs</code>).
+     * @param notify  a flag that controls whether or not a
+     *                {@link SeriesChangeEvent} is sent to all registered
+     *                listeners.
+     *
+     * @throws SeriesException if the batch contains an x-value that is a
+     *     duplicate and the <code>allowDuplicateXValues</code> flag is not
+     *     set for this series.
+     */
+    public void addAll(double[] xs, double[] ys, boolean notify) {
+        if (xs == null) {
+            throw new IllegalArgumentException("Null 'xs' argument.");
+        }
+        if (ys == null) {
+            throw new IllegalArgumentException("Null 'ys' argument.");
+        }
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException(
+                    "The 'xs' and 'ys' arrays must have the same length.");
+        }
+        int n = xs.length;
+        if (n == 0) {
+            return;
+        }
+        XYDataItem[] batch = new XYDataItem[n];
+        for (int i = 0; i < n; i++) {
+            batch[i] = new XYDataItem(xs[i], ys[i]);
+        }
+        int oldCount = this.data.size();
+        int first;
+        if (this.autoSort) {
+            // Arrays.sort() on objects is stable, so items with equal
+            // x-values keep their order within the batch
+            Arrays.sort(batch);
+            first = insertionPoint(batch[0]);
+            if (!this.allowDuplicateXValues) {
+                checkNoDuplicates(batch, first);
+            }
+            // grow the list, then merge from the back so that each existing
+            // item at or after the insertion point moves exactly once
+            for (int i = 0; i < n; i++) {
+                this.data.add(null);
+            }
+            int k = oldCount - 1;
+            int j = n - 1;
+            int w = oldCount + n - 1;
+            while (j >= 0) {
+                if (k >= first && ((XYDataItem) this.data.get(k)).compareTo(
+                        batch[j]) > 0) {
+                    this.data.set(w--, this.data.get(k--));
+                }
+                else {
+                    this.data.set(w--, batch[j--]);
+                }
+            }
+        }
+        else {
+            if (!this.allowDuplicateXValues) {
+                Set seen = new HashSet();
+                for (int i = 0; i < oldCount; i++) {
+                    seen.add(new Double(getXValue(i)));
+                }
+                for (int i = 0; i < n; i++) {
+                    if (!seen.add(new Double(xs[i]))) {
+                        throw new SeriesException("X-value already exists.");
+                    }
+                }
+            }
+            first = oldCount;
+            this.data.addAll(Arrays.asList(batch));
+        }
+        int removed = this.data.size() - this.maximumItemCount;
+        if (removed > 0) {
+            this.data.subList(0, removed).clear();
+            findBoundsByIteration();
+        }
+        else {
+            removed = 0;
+            for (int i = 0; i < n; i++) {
+                updateBoundsForAddedItem(batch[i]);
+            }
+        }
+        itemsAdded(first, removed);
+        if (notify) {
+            fireSeriesChangedForAdd(first, oldCount + n - 1, removed > 0);
+        }
+    }
+
+    /**
+     * Returns the index at which the specified item would be inserted into
+     * this (sorted) series, after any existing items with the same x-value.
+     *
+     * @param item  the item (<code>null</code> not permitted).
+     *
+     * @return The insertion index.
+     */
+    private int insertionPoint(XYDataItem item) {
+        int size = this.data.size();
+        if (size == 0 || item.compareTo(this.data.get(size - 1)) > 0) {
+            return size;
+        }
+        int index = Collections.binarySearch(this.data, item);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index < size && item.compareTo(this.data.get(index)) == 0) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Throws an exception if the sorted batch contains an x-value that
+     * appears twice in the batch or already exists in this (sorted) series.
+     *
+     * @param batch  the sorted batch.
+     * @param first  the insertion point of the first batch item.
+     */
+    private void checkNoDuplicates(XYDataItem[] batch, int first) {
+        // an existing item just before the insertion point may share the
+        // first batch item's x-value
+        int k = Math.max(first - 1, 0);
+        int size = this.data.size();
+        for (int j = 0; j < batch.length; j++) {
+            if (j > 0 && batch[j].compareTo(batch[j - 1]) == 0) {
+                throw new SeriesException("X-value already exists.");
+            }
+            while (k < size && ((XYDataItem) this.data.get(k)).compareTo(
+                    batch[j]) < 0) {
+                k++;
+            }
+            if (k < size && ((XYDataItem) this.data.get(k)).compareTo(
+                    batch[j]) == 0) {
+                throw new SeriesException("X-value already exists.");
+            }
         }
     }
 
@@ -573,7 +1034,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
     public void delete(int start, int end) {
         this.data.subList(start, end + 1).clear();
         findBoundsByIteration();
-        fireSeriesChanged();
+        fireSeriesChanged(DatasetChangeType.REMOVE, start, end);
     }
 
     /**
@@ -587,7 +1048,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
     public XYDataItem remove(int index) {
         XYDataItem removed = (XYDataItem) this.data.remove(index);
         updateBoundsForRemovedItem(removed);
-        fireSeriesChanged();
+        fireSeriesChanged(DatasetChangeType.REMOVE, index, index);
         return removed;
     }
 
@@ -611,12 +1072,13 @@ public class XYSeries extends Series implements Cloneable, Serializable {
      */
     public void clear() {
         if (this.data.size() > 0) {
+            int count = this.data.size();
             this.data.clear();
             this.minX = Double.NaN;
             this.maxX = Double.NaN;
             this.minY = Double.NaN;
             this.maxY = Double.NaN;
-            fireSeriesChanged();
+            fireSeriesChanged(DatasetChangeType.REMOVE, 0, count - 1);
         }
     }
 
@@ -653,6 +1115,33 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         return getDataItem(index).getY();
     }
 
+    /**
+     * Returns the x-value (as a double primitive) at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The x-value.
+     *
+     * @see #getX(int)
+     */
+    public double getXValue(int index) {
+        return getDataItem(index).getXValue();
+    }
+
+    /**
+     * Returns the y-value (as a double primitive) at the specified index.
+     * A <code>null</code> y-value is returned as <code>Double.NaN</code>.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The y-value.
+     *
+     * @see #getY(int)
+     */
+    public double getYValue(int index) {
+        return getDataItem(index).getYValue();
+    }
+
     /**
      * Updates the value of an item in the series and sends a
      * {@link SeriesChangeEvent} to all registered listeners.
@@ -672,7 +1161,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         if (!Double.isNaN(oldY)) {
             iterate = oldY <= this.minY || oldY >= this.maxY;
         }
-        item.setY(y);
+        setY(index, item, y);
 
         if (iterate) {
             findBoundsByIteration();
@@ -682,7 +1171,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             this.minY = minIgnoreNaN(this.minY, yy);
             this.maxY = maxIgnoreNaN(this.maxY, yy);
         }
-        fireSeriesChanged();
+        fireSeriesChanged(DatasetChangeType.UPDATE, index, index);
     }
 
     /**
@@ -763,6 +1252,23 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Sets the y-value of an item.  If snapshots are enabled, the item is
+     * replaced by a copy instead, because the snapshots share the items.
+     *
+     * @param index  the item index.
+     * @param item  the item.
+     * @param y  the new y-value (<code>null</code> permitted).
+     */
+    private void setY(int index, XYDataItem item, Number y) {
+        if (this.data instanceof SnapshotList) {
+            this.data.set(index, new XYDataItem(item.getX(), y));
+        }
+        else {
+            item.setY(y);
+        }
+    }
+
     /**
      * Adds or updates an item in the series and sends a
      * {@link SeriesChangeEvent} to all registered listeners.
@@ -814,7 +1320,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             if (!Double.isNaN(oldY)) {
                 iterate = oldY <= this.minY || oldY >= this.maxY;
             }
-            existing.setY(y);
+            setY(index, existing, y);
 
             if (iterate) {
                 findBoundsByIteration();
@@ -822,8 +1328,9 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             else if (y != null) {
                 double yy = y.doubleValue();
                 this.minY = minIgnoreNaN(this.minY, yy);
-                this.maxY = minIgnoreNaN(this.maxY, yy);
+                this.maxY = maxIgnoreNaN(this.maxY, yy);
             }
+            fireSeriesChanged(DatasetChangeType.UPDATE, index, index);
         }
         else {
             // if the series is sorted, the negative index is a result from
@@ -832,20 +1339,25 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             // append the value to the list...
             XYDataItem item = new XYDataItem(x, y);
             if (this.autoSort) {
-                this.data.add(-index - 1, item);
+                index = -index - 1;
+                this.data.add(index, item);
             }
             else {
+                index = this.data.size();
                 this.data.add(item);
             }
             updateBoundsForAddedItem(item);
 
             // check if this addition will exceed the maximum item count...
+            boolean trimmed = false;
             if (getItemCount() > this.maximumItemCount) {
                 XYDataItem removed = (XYDataItem) this.data.remove(0);
                 updateBoundsForRemovedItem(removed);
+                trimmed = true;
             }
+            itemsAdded(index, trimmed ? 1 : 0);
+            fireSeriesChangedForAdd(index, index, trimmed);
         }
-        fireSeriesChanged();
         return overwritten;
     }
 
@@ -897,6 +1409,28 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         return result;
     }
 
+    /**
+     * Returns a clone of the series.  The clone shares the data items with
+     * this series, but has its own change listener list and level-of-detail
+     * index.
+     *
+     * @return A clone of the series.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    public Object clone() throws CloneNotSupportedException {
+        XYSeries clone = (XYSeries) super.clone();
+        if (clone.data instanceof SnapshotList) {
+            clone.data = new SnapshotList(clone.data);
+            clone.snapshotItems = null;
+            clone.publishSnapshot();
+        }
+        if (clone.levelOfDetail != null) {
+            clone.levelOfDetail = new MinMaxPyramid();
+        }
+        return clone;
+    }
+
     /**
      * Creates a new series by copying a subset of the data in this time series.
      *
@@ -912,6 +1446,10 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 
         XYSeries copy = (XYSeries) super.clone();
         copy.data = new java.util.ArrayList();
+        copy.snapshotItems = null;
+        if (copy.levelOfDetail != null) {
+            copy.levelOfDetail = new MinMaxPyramid();
+        }
         if (this.data.size() > 0) {
             for (int index = start; index <= end; index++) {
                 XYDataItem item = (XYDataItem) this.data.get(index);
@@ -958,5 +1496,62 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         return result;
     }
 
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        if (this.data instanceof SnapshotList) {
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * A published snapshot of the items of a series, with the bounds of the
+     * series when it was published.  Instances are immutable.
+     */
+    static final class SnapshotItems {
+
+        /** The items ({@link XYDataItem} instances). */
+        final List items;
+
+        /** The lowest x-value, excluding Double.NaN values. */
+        final double minX;
+
+        /** The highest x-value, excluding Double.NaN values. */
+        final double maxX;
+
+        /** The lowest y-value, excluding Double.NaN values. */
+        final double minY;
+
+        /** The highest y-value, excluding Double.NaN values. */
+        final double maxY;
+
+        /**
+         * Creates a new snapshot.
+         *
+         * @param items  the items.
+         * @param minX  the lowest x-value.
+         * @param maxX  the highest x-value.
+         * @param minY  the lowest y-value.
+         * @param maxY  the highest y-value.
+         */
+        SnapshotItems(List items, double minX, double maxX, double minY,
+                double maxY) {
+            this.items = items;
+            this.minX = minX;
+            this.maxX = maxX;
+            this.minY = minY;
+            this.maxY = maxY;
+        }
+
+    }
+
 }
 
@@ -70,6 +70,12 @@
  *               sorted in ascending order (DG);
  * 06-Mar-2009 : Implemented RangeInfo (DG);
  * 06-Mar-2009 : Fixed equals() implementation (DG);
+ * 18-Oct-2026 : Implemented XYDomainInfo and XYRangeInfo using the cached
+ *               series bounds;
+ * 18-Oct-2026 : Implemented XYLevelOfDetailInfo;
+ * 18-Oct-2026 : Implemented SnapshotDataset;
+ * 18-Oct-2026 : Read the bounds of a series from its pinned snapshot;
+ * 18-Oct-2026 : Pin snapshots for the calling thread only;
  *
  */
 
@@ -88,15 +94,28 @@ import org.afree.data.Range;
 import org.afree.data.RangeInfo;
 import org.afree.data.UnknownKeyException;
 import org.afree.data.general.DatasetChangeEvent;
+import org.afree.data.general.DatasetUtilities;
+import org.afree.data.general.MinMaxPyramid;
+import org.afree.data.general.SnapshotDataset;
+import org.afree.data.general.SnapshotPins;
 
 
 
 /**
  * Represents a collection of {@link XYSeries} objects that can be used as a
  * dataset.
+ * <P>
+ * While a thread has a snapshot pinned (see {@link #pinSnapshot()}), that
+ * thread reads the items of each series that has snapshots enabled from the
+ * snapshot that was current when it was pinned, so a chart can be drawn
+ * while another thread adds data to the series.  Other threads (including
+ * the one that adds the data) read the live series.  The bounds of those series (for the
+ * axis ranges) are the bounds published with the pinned snapshot, so they
+ * always match the items that are drawn.
  */
 public class XYSeriesCollection extends AbstractIntervalXYDataset
-        implements IntervalXYDataset, DomainInfo, RangeInfo, 
+        implements IntervalXYDataset, DomainInfo, RangeInfo, XYDomainInfo,
+                   XYRangeInfo, XYLevelOfDetailInfo, SnapshotDataset,
                    Serializable {
 
     /** For serialization. */
@@ -108,6 +127,13 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
     /** The interval delegate (used to calculate the start and end x-values). */
     private IntervalXYDelegate intervalDelegate;
 
+    /**
+     * The snapshots pinned by each thread, indexed by series (the entries
+     * are <code>null</code> for series that do not have snapshots enabled),
+     * or <code>null</code> if no snapshot has been pinned yet.
+     */
+    private transient SnapshotPins pins;
+
     /**
      * Constructs an empty dataset.
      */
@@ -158,6 +184,7 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         }
         this.data.add(series);
         series.addChangeListener(this);
+        updateSnapshots();
         fireDatasetChanged();
     }
 
@@ -176,6 +203,7 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         XYSeries ts = (XYSeries) this.data.get(series);
         ts.removeChangeListener(this);
         this.data.remove(series);
+        updateSnapshots();
         fireDatasetChanged();
     }
 
@@ -192,6 +220,7 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         if (this.data.contains(series)) {
             series.removeChangeListener(this);
             this.data.remove(series);
+            updateSnapshots();
             fireDatasetChanged();
         }
     }
@@ -210,6 +239,7 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
 
         // Remove all the series from the collection and notify listeners.
         this.data.clear();
+        updateSnapshots();
         fireDatasetChanged();
     }
 
@@ -265,6 +295,179 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         return (XYSeries) this.data.get(series);
     }
 
+    /**
+     * Returns the level-of-detail index for the y-values of a series.  The
+     * index follows the live series, so it is not available to a thread
+     * that has a snapshot of the series pinned: that thread reads the
+     * pinned items instead (for a chart, the renderer draws every item).
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The index (<code>null</code> if it is not enabled for the
+     *     series, or the calling thread has a snapshot of it pinned).
+     *
+     * @see XYSeries#setLevelOfDetailEnabled(boolean)
+     */
+    public MinMaxPyramid getLevelOfDetail(int series) {
+        if (getPinnedItems(series) != null) {
+            return null;
+        }
+        return getSeries(series).getLevelOfDetail();
+    }
+
+    /**
+     * Pins a snapshot of every series that has snapshots enabled (see
+     * {@link XYSeries#setSnapshotEnabled(boolean)}) for the calling
+     * thread.  Until the matching call to {@link #releaseSnapshot()} on the
+     * same thread, that thread reads the item count, the x- and y-values
+     * and the bounds of those series from the pinned snapshot.  Calls can
+     * be nested.
+     */
+    public synchronized void pinSnapshot() {
+        if (this.pins == null) {
+            this.pins = new SnapshotPins();
+        }
+        this.pins.pin(takeSnapshots());
+    }
+
+    /**
+     * Releases a snapshot pinned by {@link #pinSnapshot()} on the calling
+     * thread.
+     */
+    public synchronized void releaseSnapshot() {
+        if (this.pins != null) {
+            this.pins.release();
+        }
+    }
+
+    /**
+     * Re-pins the snapshots (if they are pinned) after a series has been
+     * added or removed, so that they stay aligned with the series indices.
+     */
+    private synchronized void updateSnapshots() {
+        if (this.pins != null && this.pins.isPinned()) {
+            this.pins.update(takeSnapshots());
+        }
+    }
+
+    /**
+     * Returns the current snapshot of each series.
+     *
+     * @return The snapshots (<code>null</code> if no series has snapshots
+     *     enabled).
+     */
+    private XYSeries.SnapshotItems[] takeSnapshots() {
+        XYSeries.SnapshotItems[] result = null;
+        for (int i = 0; i < this.data.size(); i++) {
+            XYSeries.SnapshotItems snapshot
+                    = ((XYSeries) this.data.get(i)).getSnapshotItems();
+            if (snapshot != null) {
+                if (result == null) {
+                    result = new XYSeries.SnapshotItems[this.data.size()];
+                }
+                result[i] = snapshot;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the pinned items of a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The items ({@link XYDataItem} instances), or <code>null</code>
+     *     if the calling thread has no snapshot of the series pinned.
+     */
+    private List getPinnedItems(int series) {
+        XYSeries.SnapshotItems snapshot = getPinnedSnapshot(series);
+        return (snapshot != null ? snapshot.items : null);
+    }
+
+    /**
+     * Returns the snapshot of a series pinned by the calling thread.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The snapshot, or <code>null</code> if the calling thread has
+     *     no snapshot of the series pinned.
+     */
+    private XYSeries.SnapshotItems getPinnedSnapshot(int series) {
+        SnapshotPins p = this.pins;
+        if (p == null) {
+            return null;
+        }
+        Object[] pinned = p.getSnapshots();
+        if (pinned == null || series < 0 || series >= pinned.length) {
+            return null;
+        }
+        return (XYSeries.SnapshotItems) pinned[series];
+    }
+
+    /**
+     * Returns the smallest x-value in a series, from the pinned snapshot of
+     * the series if there is one.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The smallest x-value (possibly <code>Double.NaN</code>).
+     */
+    private double getMinX(int series) {
+        XYSeries.SnapshotItems snapshot = getPinnedSnapshot(series);
+        if (snapshot != null) {
+            return snapshot.minX;
+        }
+        return getSeries(series).getMinX();
+    }
+
+    /**
+     * Returns the largest x-value in a series, from the pinned snapshot of
+     * the series if there is one.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The largest x-value (possibly <code>Double.NaN</code>).
+     */
+    private double getMaxX(int series) {
+        XYSeries.SnapshotItems snapshot = getPinnedSnapshot(series);
+        if (snapshot != null) {
+            return snapshot.maxX;
+        }
+        return getSeries(series).getMaxX();
+    }
+
+    /**
+     * Returns the smallest y-value in a series, from the pinned snapshot of
+     * the series if there is one.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The smallest y-value (possibly <code>Double.NaN</code>).
+     */
+    private double getMinY(int series) {
+        XYSeries.SnapshotItems snapshot = getPinnedSnapshot(series);
+        if (snapshot != null) {
+            return snapshot.minY;
+        }
+        return getSeries(series).getMinY();
+    }
+
+    /**
+     * Returns the largest y-value in a series, from the pinned snapshot of
+     * the series if there is one.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The largest y-value (possibly <code>Double.NaN</code>).
+     */
+    private double getMaxY(int series) {
+        XYSeries.SnapshotItems snapshot = getPinnedSnapshot(series);
+        if (snapshot != null) {
+            return snapshot.maxY;
+        }
+        return getSeries(series).getMaxY();
+    }
+
     /**
      * Returns a series from the collection.
      *
@@ -318,6 +521,10 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
      *     range <code>0</code> to <code>getSeriesCount() - 1</code>.
      */
     public int getItemCount(int series) {
+        List items = getPinnedItems(series);
+        if (items != null) {
+            return items.size();
+        }
         // defer argument checking
         return getSeries(series).getItemCount();
     }
@@ -331,9 +538,32 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
      * @return The value.
      */
     public Number getX(int series, int item) {
+        List items = getPinnedItems(series);
+        if (items != null) {
+            return ((XYDataItem) items.get(item)).getX();
+        }
+        XYSeries ts = (XYSeries) this.data.get(series);
+        return ts.getX(item);
+    }
+
+    /**
+     * Returns the x-value (as a double primitive) for the specified series
+     * and item.  The value is read directly from the series, so no
+     * intermediate {@link XYDataItem} or <code>Number</code> is created for
+     * series that store their values as primitives.
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The value.
+     */
+    public double getXValue(int series, int item) {
+        List items = getPinnedItems(series);
+        if (items != null) {
+            return ((XYDataItem) items.get(item)).getXValue();
+        }
         XYSeries ts = (XYSeries) this.data.get(series);
-        XYDataItem xyItem = ts.getDataItem(item);
-        return xyItem.getX();
+        return ts.getXValue(item);
     }
 
     /**
@@ -369,9 +599,31 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
      * @return The value (possibly <code>null</code>).
      */
     public Number getY(int series, int index) {
+        List items = getPinnedItems(series);
+        if (items != null) {
+            return ((XYDataItem) items.get(index)).getY();
+        }
         XYSeries ts = (XYSeries) this.data.get(series);
-        XYDataItem xyItem = ts.getDataItem(index);
-        return xyItem.getY();
+        return ts.getY(index);
+    }
+
+    /**
+     * Returns the y-value (as a double primitive) for the specified series
+     * and item.
+     *
+     * @param series  the series (zero-based index).
+     * @param index  the index of the item of interest (zero-based).
+     *
+     * @return The value (<code>Double.NaN</code> for a <code>null</code>
+     *     y-value).
+     */
+    public double getYValue(int series, int index) {
+        List items = getPinnedItems(series);
+        if (items != null) {
+            return ((XYDataItem) items.get(index)).getYValue();
+        }
+        XYSeries ts = (XYSeries) this.data.get(series);
+        return ts.getYValue(index);
     }
 
     /**
@@ -416,8 +668,7 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
             double result = Double.NaN;
             int seriesCount = getSeriesCount();
             for (int s = 0; s < seriesCount; s++) {
-                XYSeries series = getSeries(s);
-                double lowX = series.getMinX();
+                double lowX = getMinX(s);
                 if (Double.isNaN(result)) {
                     result = lowX;
                 }
@@ -447,8 +698,7 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
             double result = Double.NaN;
             int seriesCount = getSeriesCount();
             for (int s = 0; s < seriesCount; s++) {
-                XYSeries series = getSeries(s);
-                double hiX = series.getMaxX();
+                double hiX = getMaxX(s);
                 if (Double.isNaN(result)) {
                     result = hiX;
                 }
@@ -480,12 +730,11 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
             double upper = Double.NEGATIVE_INFINITY;
             int seriesCount = getSeriesCount();
             for (int s = 0; s < seriesCount; s++) {
-                XYSeries series = getSeries(s);
-                double minX = series.getMinX();
+                double minX = getMinX(s);
                 if (!Double.isNaN(minX)) {
                     lower = Math.min(lower, minX);
                 }
-                double maxX = series.getMaxX();
+                double maxX = getMaxX(s);
                 if (!Double.isNaN(maxX)) {
                     upper = Math.max(upper, maxX);
                 }
@@ -577,12 +826,11 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         double upper = Double.NEGATIVE_INFINITY;
         int seriesCount = getSeriesCount();
         for (int s = 0; s < seriesCount; s++) {
-            XYSeries series = getSeries(s);
-            double minY = series.getMinY();
+            double minY = getMinY(s);
             if (!Double.isNaN(minY)) {
                 lower = Math.min(lower, minY);
             }
-            double maxY = series.getMaxY();
+            double maxY = getMaxY(s);
             if (!Double.isNaN(maxY)) {
                 upper = Math.max(upper, maxY);
             }
@@ -607,8 +855,7 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         double result = Double.NaN;
         int seriesCount = getSeriesCount();
         for (int s = 0; s < seriesCount; s++) {
-            XYSeries series = getSeries(s);
-            double lowY = series.getMinY();
+            double lowY = getMinY(s);
             if (Double.isNaN(result)) {
                 result = lowY;
             }
@@ -633,8 +880,7 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         double result = Double.NaN;
         int seriesCount = getSeriesCount();
         for (int s = 0; s < seriesCount; s++) {
-            XYSeries series = getSeries(s);
-            double hiY = series.getMaxY();
+            double hiY = getMaxY(s);
             if (Double.isNaN(result)) {
                 result = hiY;
             }
@@ -647,6 +893,162 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         return result;
     }
 
+    /**
+     * Returns the range of the x-values in the visible series.  Unless the
+     * x-interval is requested, this uses the bounds cached by each series so
+     * no items are visited.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series
+     *     (<code>null</code> not permitted).
+     * @param includeInterval  a flag that determines whether or not the
+     *                         x-interval is taken into account.
+     *
+     * @return The range (or <code>null</code> if the dataset contains no
+     *     values).
+     */
+    public Range getDomainBounds(List visibleSeriesKeys,
+            boolean includeInterval) {
+        if (visibleSeriesKeys == null) {
+            throw new IllegalArgumentException(
+                    "Null 'visibleSeriesKeys' argument.");
+        }
+        if (includeInterval) {
+            return DatasetUtilities.iterateToFindDomainBounds(this,
+                    visibleSeriesKeys, includeInterval);
+        }
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        Iterator iterator = visibleSeriesKeys.iterator();
+        while (iterator.hasNext()) {
+            Comparable seriesKey = (Comparable) iterator.next();
+            int s = indexOf(getSeries(seriesKey));
+            double minX = getMinX(s);
+            if (!Double.isNaN(minX)) {
+                lower = Math.min(lower, minX);
+            }
+            double maxX = getMaxX(s);
+            if (!Double.isNaN(maxX)) {
+                upper = Math.max(upper, maxX);
+            }
+        }
+        if (lower > upper) {
+            return null;
+        }
+        return new Range(lower, upper);
+    }
+
+    /**
+     * Returns the range of the y-values in the visible series, for the items
+     * with x-values inside <code>xRange</code>.  A series that lies entirely
+     * inside <code>xRange</code> contributes its cached bounds; otherwise
+     * a series that is sorted by x-value locates the items inside
+     * <code>xRange</code> with a binary search, then finds their bounds with
+     * its level-of-detail index in O(log n) time (if the index is enabled) or
+     * by visiting just those items.  While the calling thread has a snapshot
+     * of a series pinned, the bounds published with the snapshot are used
+     * instead of the cached bounds, and the index is not used.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series
+     *     (<code>null</code> not permitted).
+     * @param xRange  the x-range (<code>null</code> not permitted).
+     * @param includeInterval  ignored (the y-interval is always zero).
+     *
+     * @return The range (or <code>null</code> if the dataset contains no
+     *     values).
+     */
+    public Range getRangeBounds(List visibleSeriesKeys, Range xRange,
+            boolean includeInterval) {
+        if (visibleSeriesKeys == null) {
+            throw new IllegalArgumentException(
+                    "Null 'visibleSeriesKeys' argument.");
+        }
+        if (xRange == null) {
+            throw new IllegalArgumentException("Null 'xRange' argument.");
+        }
+        double lower = Double.POSITIVE_INFINITY;
+        double upper = Double.NEGATIVE_INFINITY;
+        double[] bounds = new double[2];
+        Iterator iterator = visibleSeriesKeys.iterator();
+        while (iterator.hasNext()) {
+            Comparable seriesKey = (Comparable) iterator.next();
+            XYSeries series = getSeries(seriesKey);
+            int s = indexOf(series);
+            int itemCount = getItemCount(s);
+            if (itemCount == 0) {
+                continue;
+            }
+            double minX = getMinX(s);
+            double maxX = getMaxX(s);
+            if (xRange.contains(minX) && xRange.contains(maxX)) {
+                double minY = getMinY(s);
+                if (!Double.isNaN(minY)) {
+                    lower = Math.min(lower, minY);
+                }
+                double maxY = getMaxY(s);
+                if (!Double.isNaN(maxY)) {
+                    upper = Math.max(upper, maxY);
+                }
+                continue;
+            }
+            int start = 0;
+            int end = itemCount - 1;
+            if (series.getAutoSort()) {
+                start = findFirstItemAtOrAbove(s, xRange.getLowerBound());
+                end = findFirstItemAtOrAbove(s, Math.nextUp(
+                        xRange.getUpperBound())) - 1;
+                MinMaxPyramid index = getLevelOfDetail(s);
+                if (index != null) {
+                    if (start <= end) {
+                        index.findBounds(start, end, bounds);
+                        if (!Double.isNaN(bounds[0])) {
+                            lower = Math.min(lower, bounds[0]);
+                            upper = Math.max(upper, bounds[1]);
+                        }
+                    }
+                    continue;
+                }
+            }
+            for (int item = start; item <= end; item++) {
+                double x = getXValue(s, item);
+                double y = getYValue(s, item);
+                if (!Double.isNaN(y) && xRange.contains(x)) {
+                    lower = Math.min(lower, y);
+                    upper = Math.max(upper, y);
+                }
+            }
+        }
+        if (lower > upper) {
+            return null;
+        }
+        return new Range(lower, upper);
+    }
+
+    /**
+     * Returns the index of the first item in a sorted series with an x-value
+     * greater than or equal to <code>x</code>.
+     *
+     * @param series  the series index (the series must be sorted by
+     *     x-value).
+     * @param x  the x-value.
+     *
+     * @return The item index (equal to the item count if every x-value is
+     *     less than <code>x</code>).
+     */
+    private int findFirstItemAtOrAbove(int series, double x) {
+        int low = 0;
+        int high = getItemCount(series);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getXValue(series, mid) < x) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     @Override
     public void validateObject() throws InvalidObjectException {
         // TODO Auto-generated method stub